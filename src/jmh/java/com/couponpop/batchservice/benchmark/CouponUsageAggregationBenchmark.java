@@ -0,0 +1,78 @@
+package com.couponpop.batchservice.benchmark;
+
+import com.couponpop.batchservice.batch.reader.MemberCouponUsageStatsItemReader;
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 일 단위 롤업을 회원별 최다 사용 동·시간대로 집계하는 {@link MemberCouponUsageStatsItemReader}의 벤치마크입니다.
+ * 사용 이력 생성과 롤업 합산·member_id 정렬은 {@link Setup}에서 끝내고, 측정 구간에서는 couponUsageStatsJob의 파티션 Reader처럼
+ * member_id 순 롤업 커서를 끝까지 읽습니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class CouponUsageAggregationBenchmark {
+
+    private static final LocalDate AGGREGATED_AT = SyntheticCouponHistories.WINDOW_END.toLocalDate();
+    private static final int USAGE_COUNT_THRESHOLD = 5; // CouponUsageStatsJobConfig와 같은 값
+    private static final int STORE_COUNT = 5_000;
+    private static final int DONG_COUNT = 400;
+
+    /**
+     * 롤업으로 합산하기 전 사용 이력 수입니다.
+     */
+    @Param({"10000", "100000", "1000000", "10000000"})
+    private int rows;
+
+    /**
+     * Zipf 지수. 0.0은 균등 분포, 1.1은 상위 회원·매장에 이력이 몰린 분포입니다.
+     */
+    @Param({"0.0", "1.1"})
+    private double skew;
+
+    private SyntheticCouponUsageRollups rollups;
+
+    @Setup
+    public void setUp() {
+        // 회원 한 명당 평균 20건
+        int memberCount = Math.max(1, rows / 20);
+        SyntheticCouponHistories histories = SyntheticCouponHistories.generate(rows, memberCount, STORE_COUNT, DONG_COUNT, skew, 42L);
+        rollups = SyntheticCouponUsageRollups.from(histories);
+    }
+
+    @Benchmark
+    public int readStats(Blackhole blackhole) throws Exception {
+
+        MemberCouponUsageStatsItemReader reader = new MemberCouponUsageStatsItemReader(rollups.cursor(), AGGREGATED_AT, USAGE_COUNT_THRESHOLD);
+        reader.open(new ExecutionContext());
+
+        int aggregatedMembers = 0;
+        CouponUsageStatsDto stats;
+        while ((stats = reader.read()) != null) {
+            blackhole.consume(stats);
+            aggregatedMembers++;
+        }
+
+        reader.close();
+        return aggregatedMembers;
+    }
+}
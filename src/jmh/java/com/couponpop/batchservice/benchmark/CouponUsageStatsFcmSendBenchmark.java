@@ -0,0 +1,212 @@
+package com.couponpop.batchservice.benchmark;
+
+import com.couponpop.batchservice.common.client.NotificationSystemFeignClient;
+import com.couponpop.batchservice.common.client.StoreSystemFeignClient;
+import com.couponpop.batchservice.common.rabbitmq.publisher.CouponUsageStatsFcmSendPublisher;
+import com.couponpop.batchservice.common.response.ApiResponse;
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsDto;
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsFcmSendItem;
+import com.couponpop.batchservice.domain.coupon.dto.FcmSendRun;
+import com.couponpop.batchservice.domain.coupon.repository.CouponUsageStatsFcmSendLedgerJdbcRepository;
+import com.couponpop.batchservice.domain.coupon.service.CouponUsageStatsFcmSendService;
+import com.couponpop.batchservice.domain.coupon.service.FcmSendLedger;
+import com.couponpop.batchservice.domain.couponevent.repository.CouponEventJdbcRepository;
+import com.couponpop.batchservice.domain.store.directory.StoreRegionDirectory;
+import com.couponpop.batchservice.domain.store.directory.StoreRegionFetcher;
+import com.couponpop.couponpopcoremodule.dto.coupon.event.model.CouponUsageStatsFcmSendMessage;
+import com.couponpop.couponpopcoremodule.dto.fcmtoken.response.FcmTokensResponse;
+import com.couponpop.couponpopcoremodule.dto.store.response.StoreIdsByDongResponse;
+import com.couponpop.couponpopcoremodule.dto.store.response.StoreRegionInfoResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * couponUsageStatsFcmSendWriter가 청크 하나를 처리하는 경로의 벤치마크입니다.
+ * 토큰·매장 맵 구성과 회원별 팬아웃 루프만 측정하도록 Feign, DB, RabbitMQ는 미리 만든 응답을 돌려주는 스텁으로 바꿉니다.
+ * 매장-동 디렉터리는 정상 운영처럼 캐시가 채워진 상태에서 측정합니다.
+ * 발송 원장은 빈 원장 스텁을 쓰며, 호출마다 새 잡 실행으로 보고 Bloom 필터를 만드는 비용까지 포함합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CouponUsageStatsFcmSendBenchmark {
+
+    private static final LocalDateTime REFERENCE_TIME = LocalDateTime.of(2025, 10, 31, 18, 0);
+    private static final int DONG_COUNT = 400;
+    private static final int STORES_PER_DONG = 12;
+
+    @Param({"100", "1000"})
+    private int chunkSize;
+
+    @Param({"1", "3"})
+    private int tokensPerMember;
+
+    private CouponUsageStatsFcmSendService couponUsageStatsFcmSendService;
+    private List<CouponUsageStatsDto> items;
+    private CountingPublisher publisher;
+    private long jobExecutionId;
+
+    @Setup
+    public void setUp() {
+
+        SplittableRandom random = new SplittableRandom(42L);
+        SyntheticCouponHistories.ZipfSampler dongSampler = new SyntheticCouponHistories.ZipfSampler(DONG_COUNT, 1.1);
+        items = LongStream.rangeClosed(1, chunkSize)
+                .mapToObj(memberId -> new CouponUsageStatsDto(
+                        memberId,
+                        SyntheticCouponHistories.dongName((int) dongSampler.sample(random) - 1),
+                        REFERENCE_TIME.getHour(),
+                        REFERENCE_TIME.toLocalDate()
+                ))
+                .toList();
+
+        NotificationSystemFeignClient notificationSystemFeignClient = memberIds -> ApiResponse.success(memberIds.stream()
+                .map(memberId -> new FcmTokensResponse(memberId, IntStream.range(0, tokensPerMember)
+                        .mapToObj(i -> "token-" + memberId + "-" + i)
+                        .toList()))
+                .toList()).getBody();
+
+        StoreSystemFeignClient storeSystemFeignClient = new StubStoreSystemFeignClient();
+        StoreRegionFetcher storeRegionFetcher = new StoreRegionFetcher(storeSystemFeignClient, new SyncTaskExecutor(),
+                1, 200, 50, 1000, Duration.ofMillis(500), 1, Duration.ZERO);
+        StoreRegionDirectory storeRegionDirectory = new StoreRegionDirectory(storeSystemFeignClient, storeRegionFetcher,
+                new SimpleMeterRegistry(), Clock.systemUTC(), Duration.ofHours(6), 200_000, "");
+        storeRegionDirectory.findStoreIdsByDongs(IntStream.range(0, DONG_COUNT).mapToObj(SyntheticCouponHistories::dongName).toList());
+
+        publisher = new CountingPublisher();
+        couponUsageStatsFcmSendService = new CouponUsageStatsFcmSendService(
+                notificationSystemFeignClient,
+                storeRegionDirectory,
+                new StubCouponEventJdbcRepository(),
+                publisher,
+                new FcmSendLedger(new EmptyLedgerJdbcRepository(), new ResourcelessTransactionManager(), Clock.systemUTC(),
+                        (long) chunkSize * tokensPerMember, 0.01, Duration.ofHours(6)),
+                new SimpleMeterRegistry(),
+                new SimpleAsyncTaskExecutor(),
+                200,
+                2
+        );
+    }
+
+    /**
+     * 한 청크를 processor(청크의 동별 묶음 조회, 회원별 판단)와 writer(토큰 조회, 게시) 순서로 처리합니다.
+     */
+    @Benchmark
+    public long fanOut() {
+        Map<String, CompletableFuture<Integer>> activeEventCountByDong = new HashMap<>();
+        FcmSendRun run = new FcmSendRun(1L, ++jobExecutionId);
+        couponUsageStatsFcmSendService.countActiveCouponEvents(
+                items.stream().map(CouponUsageStatsDto::topDong).distinct().toList(), REFERENCE_TIME, activeEventCountByDong);
+        List<CouponUsageStatsFcmSendItem> sendItems = items.stream()
+                .map(item -> couponUsageStatsFcmSendService.enrich(item, REFERENCE_TIME, run, activeEventCountByDong))
+                .filter(Objects::nonNull)
+                .toList();
+        couponUsageStatsFcmSendService.send(sendItems);
+        return publisher.published;
+    }
+
+    private static class StubStoreSystemFeignClient implements StoreSystemFeignClient {
+
+        @Override
+        public ApiResponse<List<StoreRegionInfoResponse>> fetchStoresRegionByIds(List<Long> storeIds) {
+            List<StoreRegionInfoResponse> responses = storeIds.stream()
+                    .map(storeId -> new StoreRegionInfoResponse(storeId, SyntheticCouponHistories.dongName((int) (storeId / STORES_PER_DONG))))
+                    .toList();
+            return ApiResponse.success(responses).getBody();
+        }
+
+        @Override
+        public ApiResponse<List<StoreIdsByDongResponse>> fetchStoreIdsByDongs(List<String> dongs) {
+            List<StoreIdsByDongResponse> responses = new ArrayList<>();
+            for (int index = 0; index < DONG_COUNT; index++) {
+                String dong = SyntheticCouponHistories.dongName(index);
+                if (dongs.contains(dong)) {
+                    long firstStoreId = (long) index * STORES_PER_DONG;
+                    responses.add(new StoreIdsByDongResponse(dong, LongStream.range(firstStoreId, firstStoreId + STORES_PER_DONG).boxed().toList()));
+                }
+            }
+            return ApiResponse.success(responses).getBody();
+        }
+    }
+
+    private static class StubCouponEventJdbcRepository extends CouponEventJdbcRepository {
+
+        StubCouponEventJdbcRepository() {
+            super(null);
+        }
+
+        @Override
+        public Map<String, Integer> countActiveCouponEventsByDongs(Map<String, ? extends Collection<Long>> storeIdsByDong, LocalDateTime referenceTime) {
+            Map<String, Integer> counts = new HashMap<>();
+            storeIdsByDong.forEach((dong, storeIds) -> counts.put(dong, storeIds.size() % 3 + 1));
+            return counts;
+        }
+    }
+
+    private static class EmptyLedgerJdbcRepository extends CouponUsageStatsFcmSendLedgerJdbcRepository {
+
+        EmptyLedgerJdbcRepository() {
+            super(null);
+        }
+
+        @Override
+        public void insertSentTraceIds(long jobInstanceId, Collection<String> traceIds) {
+        }
+
+        @Override
+        public Set<String> findSentTraceIds(long jobInstanceId, Collection<String> traceIds) {
+            return Set.of();
+        }
+
+        @Override
+        public void forEachSentTraceId(long jobInstanceId, Consumer<String> consumer) {
+        }
+    }
+
+    private static class CountingPublisher extends CouponUsageStatsFcmSendPublisher {
+
+        private long published;
+
+        CountingPublisher() {
+            super(null, null, null, null, 1, Duration.ZERO, 1, Duration.ZERO, 1, 0, Duration.ZERO);
+        }
+
+        @Override
+        public void publishAll(List<CouponUsageStatsFcmSendMessage> messages) {
+            published += messages.size();
+        }
+    }
+}
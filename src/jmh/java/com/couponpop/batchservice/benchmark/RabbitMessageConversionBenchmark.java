@@ -0,0 +1,113 @@
+package com.couponpop.batchservice.benchmark;
+
+import com.couponpop.batchservice.common.config.RabbitMqConfig;
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsFcmSendEnvelope;
+import com.couponpop.couponpopcoremodule.dto.coupon.event.model.CouponUsageStatsFcmSendMessage;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.converter.SmartMessageConverter;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link RabbitMqConfig}의 메시지 컨버터로 FCM 발송 요청 메시지를 직렬화·역직렬화하는 비용을 측정합니다.
+ * ObjectMapper는 Spring Boot 기본 설정과 같은 방식으로 만듭니다.
+ * {@code wireFormat}별 메시지 한 건의 본문 크기는 {@code serialize}의 {@code bodyBytes} 보조 지표로,
+ * {@value #ENVELOPE_ENTRIES}건을 담은 봉투의 항목당 크기는 {@code serializeEnvelope}의 {@code bodyBytes}로 남습니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RabbitMessageConversionBenchmark {
+
+    private static final ParameterizedTypeReference<CouponUsageStatsFcmSendMessage> MESSAGE_TYPE = new ParameterizedTypeReference<>() {
+    };
+
+    private static final int ENVELOPE_ENTRIES = 100;
+
+    @Param({"json", "binary"})
+    private String wireFormat;
+
+    private MessageConverter messageConverter;
+    private CouponUsageStatsFcmSendMessage payload;
+    private Message message;
+    private CouponUsageStatsFcmSendEnvelope envelope;
+
+    @Setup
+    public void setUp() {
+        messageConverter = new RabbitMqConfig().rabbitMessageConverter(Jackson2ObjectMapperBuilder.json().build(), wireFormat, 1024);
+        payload = CouponUsageStatsFcmSendMessage.of(
+                "20251031-1234567-" + "a".repeat(32),
+                1_234_567L,
+                "fcm-token-" + "x".repeat(140),
+                "서교동",
+                18,
+                7
+        );
+        message = messageConverter.toMessage(payload, new MessageProperties());
+        envelope = new CouponUsageStatsFcmSendEnvelope(IntStream.range(0, ENVELOPE_ENTRIES)
+                .mapToObj(i -> CouponUsageStatsFcmSendMessage.of(
+                        "20251031-" + (1_234_567 + i) + "-" + "a".repeat(32),
+                        1_234_567L + i,
+                        "fcm-token-" + i + "-" + "x".repeat(140),
+                        "서교동",
+                        18,
+                        7
+                ))
+                .toList());
+    }
+
+    @Benchmark
+    public Message serialize(BodySize bodySize) {
+        Message converted = messageConverter.toMessage(payload, new MessageProperties());
+        bodySize.bodyBytes = converted.getBody().length;
+        return converted;
+    }
+
+    @Benchmark
+    public Message serializeEnvelope(BodySize bodySize) {
+        Message converted = messageConverter.toMessage(envelope, new MessageProperties());
+        bodySize.bodyBytes = converted.getBody().length / ENVELOPE_ENTRIES;
+        return converted;
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return ((SmartMessageConverter) messageConverter).fromMessage(message, MESSAGE_TYPE);
+    }
+
+    @Benchmark
+    public Object roundTrip() {
+        Message converted = messageConverter.toMessage(payload, new MessageProperties());
+        return ((SmartMessageConverter) messageConverter).fromMessage(converted, MESSAGE_TYPE);
+    }
+
+    /**
+     * 마지막으로 직렬화한 메시지 한 건당 본문 크기(바이트)입니다. 시간으로 나누지 않고 그대로 보고됩니다.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class BodySize {
+
+        public long bodyBytes;
+    }
+}
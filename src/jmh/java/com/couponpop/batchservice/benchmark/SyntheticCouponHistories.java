@@ -0,0 +1,112 @@
+package com.couponpop.batchservice.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크용 쿠폰 사용 이력을 만듭니다.
+ * 회원과 매장은 Zipf 분포로 뽑아 일부 회원·매장에 이력이 몰리는 실제 분포를 흉내 냅니다.
+ *
+ * <p>천만 건까지 만들 수 있도록 원시 배열로 보관합니다.</p>
+ */
+final class SyntheticCouponHistories {
+
+    static final LocalDateTime WINDOW_END = LocalDateTime.of(2025, 10, 31, 23, 59, 59);
+    private static final long WINDOW_SECONDS = 20L * 24 * 60 * 60;
+
+    private final long[] memberIds;
+    private final long[] storeIds;
+    private final long[] usedAtEpochSeconds;
+    private final Map<Long, String> storeDongMap;
+
+    private SyntheticCouponHistories(long[] memberIds, long[] storeIds, long[] usedAtEpochSeconds, Map<Long, String> storeDongMap) {
+        this.memberIds = memberIds;
+        this.storeIds = storeIds;
+        this.usedAtEpochSeconds = usedAtEpochSeconds;
+        this.storeDongMap = storeDongMap;
+    }
+
+    /**
+     * @param rows        이력 수
+     * @param memberCount 회원 수
+     * @param storeCount  매장 수
+     * @param dongCount   동 수. 매장은 동에 고르게 나뉜다.
+     * @param skew        Zipf 지수. 0이면 균등 분포이고 클수록 상위 회원·매장에 몰린다.
+     */
+    static SyntheticCouponHistories generate(int rows, int memberCount, int storeCount, int dongCount, double skew, long seed) {
+
+        SplittableRandom random = new SplittableRandom(seed);
+        ZipfSampler memberSampler = new ZipfSampler(memberCount, skew);
+        ZipfSampler storeSampler = new ZipfSampler(storeCount, skew);
+        long windowEnd = WINDOW_END.toEpochSecond(ZoneOffset.UTC);
+
+        long[] memberIds = new long[rows];
+        long[] storeIds = new long[rows];
+        long[] usedAtEpochSeconds = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            memberIds[i] = memberSampler.sample(random);
+            storeIds[i] = storeSampler.sample(random);
+            usedAtEpochSeconds[i] = windowEnd - random.nextLong(WINDOW_SECONDS);
+        }
+
+        Map<Long, String> storeDongMap = new HashMap<>();
+        for (long storeId = 1; storeId <= storeCount; storeId++) {
+            storeDongMap.put(storeId, dongName((int) (storeId % dongCount)));
+        }
+
+        return new SyntheticCouponHistories(memberIds, storeIds, usedAtEpochSeconds, storeDongMap);
+    }
+
+    static String dongName(int index) {
+        return "벤치" + index + "동";
+    }
+
+    int size() {
+        return memberIds.length;
+    }
+
+    long memberId(int index) {
+        return memberIds[index];
+    }
+
+    long storeId(int index) {
+        return storeIds[index];
+    }
+
+    long usedAtEpochSecond(int index) {
+        return usedAtEpochSeconds[index];
+    }
+
+    Map<Long, String> storeDongMap() {
+        return storeDongMap;
+    }
+
+    /**
+     * 1~n 순위를 P(k) ∝ 1 / k^skew 로 뽑습니다. 누적 분포를 미리 계산해 두고 이진 탐색합니다.
+     */
+    static final class ZipfSampler {
+
+        private final double[] cumulative;
+
+        ZipfSampler(int n, double skew) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int k = 1; k <= n; k++) {
+                sum += 1.0 / Math.pow(k, skew);
+                cumulative[k - 1] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        long sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return (index >= 0 ? index : -index - 1) + 1L;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.couponpop.batchservice.benchmark;
+
+import com.couponpop.batchservice.batch.reader.CouponUsageRollupCursor;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 벤치마크용 사용 이력을 일 단위 롤업 단계와 같이 (날짜, 회원, 동, 시간대)로 합산하고 member_id 순으로 정렬해 둡니다.
+ * couponUsageStatsJob의 롤업 조회 결과와 같은 순서이므로 {@link #cursor()}로 Reader에 그대로 넣을 수 있습니다.
+ */
+final class SyntheticCouponUsageRollups {
+
+    private static final long SECONDS_PER_DAY = 24L * 60 * 60;
+    private static final int INDEX_BITS = 24;
+
+    private final long[] memberIds;
+    private final String[] dongs;
+    private final int[] usageHours;
+    private final long[] usageCounts;
+    private final long[] lastUsedEpochSeconds;
+    private final int size;
+
+    private SyntheticCouponUsageRollups(long[] memberIds, String[] dongs, int[] usageHours, long[] usageCounts, long[] lastUsedEpochSeconds, int size) {
+        this.memberIds = memberIds;
+        this.dongs = dongs;
+        this.usageHours = usageHours;
+        this.usageCounts = usageCounts;
+        this.lastUsedEpochSeconds = lastUsedEpochSeconds;
+        this.size = size;
+    }
+
+    static SyntheticCouponUsageRollups from(SyntheticCouponHistories histories) {
+
+        int rows = histories.size();
+        if (rows >= 1 << INDEX_BITS) {
+            throw new IllegalArgumentException("이력 수는 " + (1 << INDEX_BITS) + "건 미만이어야 합니다. rows: " + rows);
+        }
+
+        // (member_id, 이력 인덱스)를 long 하나로 묶어 원시 배열 정렬로 member_id 순서를 만든다.
+        long[] order = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            order[i] = histories.memberId(i) << INDEX_BITS | i;
+        }
+        Arrays.sort(order);
+
+        Map<Long, String> storeDongMap = histories.storeDongMap();
+        long[] memberIds = new long[rows];
+        String[] dongs = new String[rows];
+        int[] usageHours = new int[rows];
+        long[] usageCounts = new long[rows];
+        long[] lastUsedEpochSeconds = new long[rows];
+        int size = 0;
+
+        Map<RollupKey, long[]> memberRollups = new LinkedHashMap<>();
+        int i = 0;
+        while (i < rows) {
+            long memberId = order[i] >>> INDEX_BITS;
+            memberRollups.clear();
+            for (; i < rows && order[i] >>> INDEX_BITS == memberId; i++) {
+                int index = (int) (order[i] & ((1 << INDEX_BITS) - 1));
+                long usedAt = histories.usedAtEpochSecond(index);
+                String dong = storeDongMap.get(histories.storeId(index));
+                RollupKey key = new RollupKey(Math.floorDiv(usedAt, SECONDS_PER_DAY), dong, (int) (Math.floorMod(usedAt, SECONDS_PER_DAY) / 3600));
+
+                // {사용 횟수, 최근 사용 시각}
+                long[] value = memberRollups.computeIfAbsent(key, k -> new long[]{0L, Long.MIN_VALUE});
+                value[0]++;
+                value[1] = Math.max(value[1], usedAt);
+            }
+
+            for (Map.Entry<RollupKey, long[]> rollup : memberRollups.entrySet()) {
+                memberIds[size] = memberId;
+                dongs[size] = rollup.getKey().dong();
+                usageHours[size] = rollup.getKey().usageHour();
+                usageCounts[size] = rollup.getValue()[0];
+                lastUsedEpochSeconds[size] = rollup.getValue()[1];
+                size++;
+            }
+        }
+
+        return new SyntheticCouponUsageRollups(memberIds, dongs, usageHours, usageCounts, lastUsedEpochSeconds, size);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 롤업을 처음부터 읽는 새 커서를 만듭니다.
+     */
+    CouponUsageRollupCursor cursor() {
+        return new ArrayRollupCursor();
+    }
+
+    private record RollupKey(long epochDay, String dong, int usageHour) {
+    }
+
+    private final class ArrayRollupCursor implements CouponUsageRollupCursor {
+
+        private int index = -1;
+
+        @Override
+        public void open() {
+            index = -1;
+        }
+
+        @Override
+        public boolean next() {
+            return ++index < size;
+        }
+
+        @Override
+        public long memberId() {
+            return memberIds[index];
+        }
+
+        @Override
+        public String dong() {
+            return dongs[index];
+        }
+
+        @Override
+        public int usageHour() {
+            return usageHours[index];
+        }
+
+        @Override
+        public long usageCount() {
+            return usageCounts[index];
+        }
+
+        @Override
+        public long lastUsedEpochSecond() {
+            return lastUsedEpochSeconds[index];
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
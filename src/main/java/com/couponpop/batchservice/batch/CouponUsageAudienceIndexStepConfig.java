@@ -0,0 +1,74 @@
+package com.couponpop.batchservice.batch;
+
+import com.couponpop.batchservice.domain.couponusagestats.audience.CouponUsageAudienceIndex;
+import com.couponpop.batchservice.domain.couponusagestats.repository.CouponUsageAudienceBitmapJdbcRepository;
+import com.couponpop.batchservice.domain.couponusagestats.repository.CouponUsageStatsJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+
+/**
+ * couponUsageStatsJob의 발송 대상 비트맵 단계입니다.
+ * 회원별 통계를 저장한 뒤, 최신 결과가 runDate인 회원을 top_hour별·top_dong별 비트맵으로 만들어 집계 날짜 단위로 저장합니다.
+ *
+ * <p>FCM 발송 Reader는 이 비트맵으로 대상 시간대 회원을 읽고, 비트맵이 없는 기간에만 통계 테이블을 조회합니다.
+ * 비트맵은 다음 날 발송에만 쓰이므로 {@value #AUDIENCE_INDEX_RETENTION_DAYS}일보다 오래된 것은 함께 지웁니다.</p>
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class CouponUsageAudienceIndexStepConfig {
+
+    public static final String COUPON_USAGE_AUDIENCE_INDEX_STEP = "couponUsageAudienceIndexStep";
+    private static final int AUDIENCE_INDEX_RETENTION_DAYS = 7;
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager txManager;
+
+    @Bean
+    public Step couponUsageAudienceIndexStep(
+            @Qualifier("couponUsageAudienceIndexTasklet")
+            Tasklet couponUsageAudienceIndexTasklet
+    ) {
+
+        return new StepBuilder(COUPON_USAGE_AUDIENCE_INDEX_STEP, jobRepository)
+                .tasklet(couponUsageAudienceIndexTasklet, txManager)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public Tasklet couponUsageAudienceIndexTasklet(
+            CouponUsageStatsJdbcRepository couponUsageStatsJdbcRepository,
+            CouponUsageAudienceBitmapJdbcRepository couponUsageAudienceBitmapJdbcRepository,
+            @Value("#{jobParameters['runDate']}") LocalDate runDateParam
+    ) {
+
+        return (contribution, chunkContext) -> {
+            // 최신 결과를 스트리밍으로 읽어 비트맵에만 담으므로 회원 수만큼 객체를 쌓아 두지 않는다.
+            CouponUsageAudienceIndex index = new CouponUsageAudienceIndex();
+            couponUsageStatsJdbcRepository.forEachLatestStats(runDateParam,
+                    stats -> index.add(stats.memberId(), stats.topDong(), stats.topHour()));
+
+            couponUsageAudienceBitmapJdbcRepository.replaceIndex(runDateParam, index);
+            int deletedRows = couponUsageAudienceBitmapJdbcRepository.deleteIndexesBefore(runDateParam.minusDays(AUDIENCE_INDEX_RETENTION_DAYS));
+
+            log.info("발송 대상 비트맵 저장 완료 - 집계 날짜: {}, 회원: {}명, 시간대: {}개, 동: {}개, 만료 삭제: {}행",
+                    runDateParam, index.memberCount(), index.membersByHour().size(), index.membersByDong().size(), deletedRows);
+
+            return RepeatStatus.FINISHED;
+        };
+    }
+}
@@ -0,0 +1,250 @@
+package com.couponpop.batchservice.batch;
+
+import com.couponpop.batchservice.batch.aggregation.MemberCouponUsage;
+import com.couponpop.batchservice.batch.listener.BatchStepMetricsListener;
+import com.couponpop.batchservice.batch.writer.CouponUsageDailyRollupItemWriter;
+import com.couponpop.batchservice.domain.coupon.enums.CouponStatus;
+import com.couponpop.batchservice.domain.couponhistory.repository.CouponHistoryJdbcRepository;
+import com.couponpop.batchservice.domain.couponhistory.repository.projection.CouponHistoryUsedInfoProjection;
+import com.couponpop.batchservice.domain.couponusagestats.repository.CouponUsageDailyRollupJdbcRepository;
+import com.couponpop.batchservice.domain.store.directory.StoreRegionDirectory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.batch.item.database.support.MySqlPagingQueryProvider;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static com.couponpop.batchservice.batch.CouponUsageStatsJobConfig.STATS_AGGREGATION_DAYS;
+
+/**
+ * couponUsageStatsJob의 일 단위 롤업 단계입니다.
+ * 집계 기간 중 아직 롤업되지 않은 날짜부터 runDate까지만 원본 이력을 읽어 (회원, 동, 시간대)별 사용량을 저장합니다.
+ * 정상 운영 시에는 매일 전날 하루치 이력만 읽습니다.
+ *
+ * <p>원본 이력은 {@code (created_at, id)} 기준 키셋 페이지로 읽고, 커밋마다 마지막 키를 Step ExecutionContext에 남깁니다.
+ * 실패한 잡을 같은 파라미터로 재시작하면 마지막으로 커밋된 페이지 다음부터 이어 읽으며, 롤업은 누적 저장되므로 끊김 없이 실행한 것과 같은 결과가 됩니다.</p>
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class CouponUsageDailyRollupStepConfig {
+
+    public static final String COUPON_USAGE_DAILY_ROLLUP_PREPARE_STEP = "couponUsageDailyRollupPrepareStep";
+    public static final String COUPON_USAGE_DAILY_ROLLUP_STEP = "couponUsageDailyRollupStep";
+    public static final String COUPON_USAGE_DAILY_ROLLUP_COMPLETE_STEP = "couponUsageDailyRollupCompleteStep";
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+    private static final String ROLLUP_FROM_KEY = "rollupFrom";
+
+    private final DataSource dataSource;
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager txManager;
+
+    @Bean
+    public Step couponUsageDailyRollupPrepareStep(
+            @Qualifier("couponUsageDailyRollupPrepareTasklet")
+            Tasklet couponUsageDailyRollupPrepareTasklet
+    ) {
+
+        return new StepBuilder(COUPON_USAGE_DAILY_ROLLUP_PREPARE_STEP, jobRepository)
+                .tasklet(couponUsageDailyRollupPrepareTasklet, txManager)
+                .build();
+    }
+
+    @Bean
+    @JobScope
+    public Step couponUsageDailyRollupStep(
+            @Qualifier("couponUsageDailyRollupReader")
+            JdbcPagingItemReader<CouponHistoryUsedInfoProjection> couponUsageDailyRollupReader,
+            @Qualifier("couponUsageDailyRollupProcessor")
+            ItemProcessor<CouponHistoryUsedInfoProjection, MemberCouponUsage> couponUsageDailyRollupProcessor,
+            @Qualifier("couponUsageDailyRollupWriter")
+            CouponUsageDailyRollupItemWriter couponUsageDailyRollupWriter,
+            BatchStepMetricsListener batchStepMetricsListener,
+            @Value("#{jobParameters['rollupPageSize'] ?: null}") Long rollupPageSizeParam
+    ) {
+
+        // 청크 크기를 페이지 크기와 맞춰 페이지마다 커밋(체크포인트)되게 한다.
+        int pageSize = rollupPageSizeParam != null ? rollupPageSizeParam.intValue() : DEFAULT_PAGE_SIZE;
+
+        return new StepBuilder(COUPON_USAGE_DAILY_ROLLUP_STEP, jobRepository)
+                .<CouponHistoryUsedInfoProjection, MemberCouponUsage>chunk(pageSize, txManager)
+                .reader(couponUsageDailyRollupReader)
+                .processor(couponUsageDailyRollupProcessor)
+                .writer(couponUsageDailyRollupWriter)
+                .listener((ChunkListener) batchStepMetricsListener)
+                .listener((ItemReadListener<Object>) batchStepMetricsListener)
+                .listener((ItemProcessListener<Object, Object>) batchStepMetricsListener)
+                .listener((ItemWriteListener<Object>) batchStepMetricsListener)
+                .build();
+    }
+
+    @Bean
+    public Step couponUsageDailyRollupCompleteStep(
+            @Qualifier("couponUsageDailyRollupCompleteTasklet")
+            Tasklet couponUsageDailyRollupCompleteTasklet
+    ) {
+
+        return new StepBuilder(COUPON_USAGE_DAILY_ROLLUP_COMPLETE_STEP, jobRepository)
+                .tasklet(couponUsageDailyRollupCompleteTasklet, txManager)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public Tasklet couponUsageDailyRollupPrepareTasklet(
+            CouponUsageDailyRollupJdbcRepository couponUsageDailyRollupJdbcRepository,
+            @Value("#{jobParameters['runDate']}") LocalDate runDateParam
+    ) {
+
+        return (contribution, chunkContext) -> {
+            LocalDate windowFrom = runDateParam.minusDays(STATS_AGGREGATION_DAYS);
+            Set<LocalDate> completedDates = new HashSet<>(
+                    couponUsageDailyRollupJdbcRepository.findCompletedRollupDates(windowFrom, runDateParam.minusDays(1))
+            );
+
+            // 집계 기간 중 롤업이 비어 있는 첫 날짜부터 runDate까지 다시 만든다. runDate 당일은 재실행에 대비해 항상 다시 만든다.
+            LocalDate rollupFrom = Stream.iterate(windowFrom, date -> date.isBefore(runDateParam), date -> date.plusDays(1))
+                    .filter(date -> !completedDates.contains(date))
+                    .findFirst()
+                    .orElse(runDateParam);
+
+            couponUsageDailyRollupJdbcRepository.deleteRollups(rollupFrom, runDateParam);
+
+            chunkContext.getStepContext().getStepExecution().getJobExecution().getExecutionContext()
+                    .putString(ROLLUP_FROM_KEY, rollupFrom.toString());
+
+            log.info("쿠폰 사용 일 단위 롤업 대상 기간: {} ~ {}", rollupFrom, runDateParam);
+
+            return RepeatStatus.FINISHED;
+        };
+    }
+
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<CouponHistoryUsedInfoProjection> couponUsageDailyRollupReader(
+            @Value("#{jobExecutionContext['rollupFrom']}") String rollupFromParam,
+            @Value("#{jobParameters['runDate']}") LocalDate runDateParam,
+            @Value("#{jobParameters['rollupPageSize'] ?: null}") Long rollupPageSizeParam
+    ) {
+
+        LocalDateTime from = LocalDate.parse(rollupFromParam).atStartOfDay();
+        LocalDateTime to = runDateParam.atStartOfDay().plusDays(1).minusSeconds(1); // Job 실행 당일 23:59:59
+        int pageSize = rollupPageSizeParam != null ? rollupPageSizeParam.intValue() : DEFAULT_PAGE_SIZE;
+
+        return new JdbcPagingItemReaderBuilder<CouponHistoryUsedInfoProjection>()
+                .name("couponUsageDailyRollupReader")
+                .dataSource(dataSource)
+                .queryProvider(couponUsageDailyRollupQueryProvider())
+                .parameterValues(Map.of(
+                        "status", CouponStatus.USED.name(),
+                        "from", Timestamp.valueOf(from),
+                        "to", Timestamp.valueOf(to)
+                ))
+                .pageSize(pageSize)
+                .rowMapper((rs, rowNum) -> new CouponHistoryUsedInfoProjection(
+                        rs.getLong("id"),
+                        rs.getLong("store_id"),
+                        rs.getLong("member_id"),
+                        rs.getTimestamp("created_at").toLocalDateTime()
+                ))
+                .build();
+    }
+
+    /**
+     * 롤업 Reader의 페이지 조회 SQL을 만듭니다. 기동 시 실행 계획 점검에서도 같은 SQL을 사용합니다.
+     *
+     * <p>페이지마다 "(created_at, id) > 직전 페이지 마지막 값"으로 조회하므로 OFFSET 없이 이어 읽습니다.
+     * 정렬 키를 {@code (coupon_status, created_at, id, ...)} 인덱스 순서와 맞춰 페이지마다 filesort가 생기지 않게 합니다.</p>
+     */
+    public static MySqlPagingQueryProvider couponUsageDailyRollupQueryProvider() {
+
+        Map<String, Order> sortKeys = new LinkedHashMap<>();
+        sortKeys.put("ch.created_at", Order.ASCENDING);
+        sortKeys.put("ch.id", Order.ASCENDING);
+
+        MySqlPagingQueryProvider queryProvider = new MySqlPagingQueryProvider();
+        queryProvider.setSelectClause("ch.id, ch.store_id, ch.member_id, ch.created_at");
+        queryProvider.setFromClause("coupon_histories ch");
+        queryProvider.setWhereClause("ch.coupon_status = :status AND ch.created_at BETWEEN :from AND :to");
+        queryProvider.setSortKeys(sortKeys);
+        return queryProvider;
+    }
+
+    @Bean
+    @StepScope
+    public ItemProcessor<CouponHistoryUsedInfoProjection, MemberCouponUsage> couponUsageDailyRollupProcessor(
+            CouponHistoryJdbcRepository couponHistoryJdbcRepository,
+            StoreRegionDirectory storeRegionDirectory,
+            @Value("#{jobExecutionContext['rollupFrom']}") String rollupFromParam,
+            @Value("#{jobParameters['runDate']}") LocalDate runDateParam
+    ) {
+
+        LocalDateTime from = LocalDate.parse(rollupFromParam).atStartOfDay();
+        LocalDateTime to = runDateParam.atStartOfDay().plusDays(1).minusSeconds(1); // Job 실행 당일 23:59:59
+
+        // 매장 수는 이력 수보다 훨씬 작으므로 동 정보만 먼저 메모리에 올리고, 이력은 스트리밍으로 읽는다.
+        List<Long> storeIds = couponHistoryJdbcRepository.findDistinctStoreIds(CouponStatus.USED, from, to);
+        Map<Long, String> storeDongMap = storeRegionDirectory.findDongsByStoreIds(storeIds);
+
+        return history -> {
+            String dong = storeDongMap.get(history.storeId());
+
+            // 동 정보 없는 데이터는 제외
+            if (dong == null) {
+                return null;
+            }
+
+            return MemberCouponUsage.from(history.memberId(), dong, history.createdAt());
+        };
+    }
+
+    @Bean
+    public CouponUsageDailyRollupItemWriter couponUsageDailyRollupWriter(
+            CouponUsageDailyRollupJdbcRepository couponUsageDailyRollupJdbcRepository
+    ) {
+        return new CouponUsageDailyRollupItemWriter(couponUsageDailyRollupJdbcRepository);
+    }
+
+    @Bean
+    @StepScope
+    public Tasklet couponUsageDailyRollupCompleteTasklet(
+            CouponUsageDailyRollupJdbcRepository couponUsageDailyRollupJdbcRepository,
+            @Value("#{jobExecutionContext['rollupFrom']}") String rollupFromParam,
+            @Value("#{jobParameters['runDate']}") LocalDate runDateParam
+    ) {
+
+        return (contribution, chunkContext) -> {
+            couponUsageDailyRollupJdbcRepository.markRollupDatesCompleted(LocalDate.parse(rollupFromParam), runDateParam);
+            return RepeatStatus.FINISHED;
+        };
+    }
+}
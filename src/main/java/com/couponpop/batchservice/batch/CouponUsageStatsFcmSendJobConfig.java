@@ -1,28 +1,43 @@
 package com.couponpop.batchservice.batch;
 
-import com.couponpop.batchservice.common.client.NotificationSystemFeignClient;
-import com.couponpop.batchservice.common.client.StoreSystemFeignClient;
-import com.couponpop.batchservice.common.rabbitmq.publisher.CouponUsageStatsFcmSendPublisher;
+import com.couponpop.batchservice.batch.listener.BatchStepMetricsListener;
+import com.couponpop.batchservice.batch.processor.CouponUsageStatsFcmSendItemProcessor;
+import com.couponpop.batchservice.batch.reader.CouponUsageAudienceItemReader;
+import com.couponpop.batchservice.batch.tuning.AdaptiveChunkCompletionPolicy;
+import com.couponpop.batchservice.batch.tuning.ChunkSizeSettingsRegistry;
+import com.couponpop.batchservice.batch.writer.CouponUsageStatsFcmSendItemWriter;
 import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsDto;
-import com.couponpop.batchservice.domain.couponevent.repository.CouponEventJdbcRepository;
-import com.couponpop.couponpopcoremodule.dto.coupon.event.model.CouponUsageStatsFcmSendMessage;
-import com.couponpop.couponpopcoremodule.dto.fcmtoken.response.FcmTokensResponse;
-import com.couponpop.couponpopcoremodule.dto.store.response.StoreIdsByDongResponse;
-import com.couponpop.couponpopcoremodule.utils.NotificationTraceIdGenerator;
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsFcmSendItem;
+import com.couponpop.batchservice.domain.coupon.dto.FcmSendRun;
+import com.couponpop.batchservice.domain.coupon.service.CouponUsageStatsFcmSendService;
+import com.couponpop.batchservice.domain.couponusagestats.repository.CouponUsageAudienceBitmapJdbcRepository;
+import com.couponpop.batchservice.domain.couponusagestats.repository.CouponUsageDailyRollupJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.database.JdbcCursorItemReader;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.integration.async.AsyncItemWriter;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
@@ -31,9 +46,11 @@ import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.Future;
+
+import static com.couponpop.batchservice.common.constants.BatchJdbcConstants.MYSQL_STREAMING_FETCH_SIZE;
 
 @Slf4j
 @Configuration
@@ -43,9 +60,28 @@ public class CouponUsageStatsFcmSendJobConfig {
     public static final String COUPON_USAGE_STATS_FCM_SEND_JOB = "couponUsageStatsFcmSendJob";
     public static final String COUPON_USAGE_STATS_FCM_SEND_STEP = "couponUsageStatsFcmSendStep";
 
-    private static final int CHUNK_SIZE = 1000;
+    static final int CHUNK_SIZE = 1000;
     private static final int DEFAULT_LOOKBACK_DAYS = 2;
 
+    /**
+     * 집계 기간 안에 집계된 회원별 최신 결과 중 대상 시간대인 회원을 읽습니다.
+     * 파라미터는 대상 시간대, 기간 시작일, 기간 종료일 순입니다.
+     *
+     * <p>최신 결과는 집계 Writer가 {@code coupon_usage_stats_latest}에 회원당 한 행으로 유지하므로 이력을 다시 훑지 않습니다.
+     * {@code (top_hour, member_id, aggregated_at, top_dong)} 인덱스 범위 스캔 하나로 member_id 순서대로 읽으며,
+     * 조회 비용은 이력 크기와 무관하게 대상 시간대 회원 수에만 비례합니다.</p>
+     */
+    public static final String COUPON_USAGE_STATS_FCM_SEND_SQL = """
+            SELECT cusl.member_id,
+                   cusl.top_dong,
+                   cusl.top_hour,
+                   cusl.aggregated_at
+            FROM coupon_usage_stats_latest cusl
+            WHERE cusl.top_hour = ?
+              AND cusl.aggregated_at BETWEEN ? AND ?
+            ORDER BY cusl.member_id
+            """;
+
     private final DataSource dataSource;
     private final JobRepository jobRepository;
     private final PlatformTransactionManager txManager;
@@ -57,63 +93,100 @@ public class CouponUsageStatsFcmSendJobConfig {
                 .build();
     }
 
+    /**
+     * 단일 노드에서 읽기와 발송을 모두 처리하는 Step입니다.
+     * 원격 청킹 매니저 모드에서는 {@link CouponUsageStatsFcmSendRemoteChunkingConfig}의 매니저 Step이 대신 등록됩니다.
+     *
+     * <p>회원별 판단은 {@link AsyncItemProcessor}로 스레드 풀에서 처리하고, {@link AsyncItemWriter}가 청크의 결과를 모두 기다린 뒤 writer에 넘깁니다.
+     * 청크에 나온 동의 매장 조회와 진행 중 이벤트 개수 조회는 그 전에 Step 스레드에서 {@link CouponUsageStatsFcmSendItemProcessor}가 묶어서 한 번에 합니다.
+     * 리더는 청크를 처리하는 Step 스레드에서만 호출되므로 따로 동기화할 필요가 없고,
+     * 커밋 전에 청크의 모든 아이템 처리가 끝나므로 ExecutionContext에 저장되는 리더 위치로 재시작하는 동작도 그대로입니다.</p>
+     *
+     * <p>skip/retry를 두지 않는 일반 청크 Step입니다. 한 회원의 처리가 실패하면 {@link AsyncItemWriter}가 그 Future의 원인 예외를 다시 던지므로
+     * 청크 전체가 롤백되고 Step이 실패합니다. 건너뛰는 회원은 없으며, 재시작하면 마지막으로 커밋한 청크 다음부터 다시 읽습니다.</p>
+     *
+     * <p>가공 단계 지표 리스너는 등록하지 않습니다. 비동기 처리에서는 작업을 넘기는 시간만 재므로,
+     * 회원별 처리 시간은 {@link CouponUsageStatsFcmSendItemProcessor}가 {@code batch.fcm.send.process}로 따로 기록합니다.</p>
+     */
     @Bean
+    @ConditionalOnProperty(prefix = "batch.fcm-send.remote-chunking", name = "manager", havingValue = "false", matchIfMissing = true)
     public Step couponUsageStatsFcmSendStep(
-            JdbcCursorItemReader<CouponUsageStatsDto> couponUsageStatsFcmSendReader,
-            ItemWriter<CouponUsageStatsDto> couponUsageStatsFcmSendWriter
+            ItemStreamReader<CouponUsageStatsDto> couponUsageStatsFcmSendReader,
+            CouponUsageStatsFcmSendItemProcessor couponUsageStatsFcmSendProcessor,
+            AsyncItemProcessor<CouponUsageStatsDto, CouponUsageStatsFcmSendItem> couponUsageStatsFcmSendAsyncProcessor,
+            AsyncItemWriter<CouponUsageStatsFcmSendItem> couponUsageStatsFcmSendAsyncWriter,
+            AdaptiveChunkCompletionPolicy couponUsageStatsFcmSendChunkPolicy,
+            BatchStepMetricsListener batchStepMetricsListener
     ) {
         return new StepBuilder(COUPON_USAGE_STATS_FCM_SEND_STEP, jobRepository)
-                .<CouponUsageStatsDto, CouponUsageStatsDto>chunk(CHUNK_SIZE, txManager)
+                .<CouponUsageStatsDto, Future<CouponUsageStatsFcmSendItem>>chunk(couponUsageStatsFcmSendChunkPolicy, txManager)
                 .reader(couponUsageStatsFcmSendReader)
-                .writer(couponUsageStatsFcmSendWriter)
+                .processor(couponUsageStatsFcmSendAsyncProcessor)
+                .writer(couponUsageStatsFcmSendAsyncWriter)
+                .listener((ItemReadListener<CouponUsageStatsDto>) couponUsageStatsFcmSendProcessor)
+                .listener((ItemProcessListener<CouponUsageStatsDto, Object>) couponUsageStatsFcmSendProcessor)
+                .listener((ChunkListener) couponUsageStatsFcmSendChunkPolicy)
+                .listener((StepExecutionListener) couponUsageStatsFcmSendChunkPolicy)
+                .listener((ChunkListener) batchStepMetricsListener)
+                .listener((ItemReadListener<Object>) batchStepMetricsListener)
+                .listener((ItemWriteListener<Object>) batchStepMetricsListener)
                 .build();
     }
 
     @Bean
     @StepScope
-    public JdbcCursorItemReader<CouponUsageStatsDto> couponUsageStatsFcmSendReader(
+    public AdaptiveChunkCompletionPolicy couponUsageStatsFcmSendChunkPolicy(ChunkSizeSettingsRegistry chunkSizeSettingsRegistry) {
+        // 발송 Step은 Feign 조회와 메시지 게시 비중이 커서 집계 Step과 따로 조정한다.
+        return new AdaptiveChunkCompletionPolicy(chunkSizeSettingsRegistry, COUPON_USAGE_STATS_FCM_SEND_STEP);
+    }
+
+    /**
+     * 발송 대상 회원을 읽는 Reader입니다.
+     *
+     * <p>조회 기간에 롤업을 마친 집계 날짜마다 발송 대상 비트맵이 저장되어 있으면 {@link CouponUsageAudienceItemReader}로 비트맵만 읽습니다.
+     * 비트맵이 없는 날짜가 있으면(비트맵 도입 전, 집계 잡 실행 중이나 실패) 최신 결과 테이블을 조회하는 커서 Reader를 씁니다.</p>
+     */
+    @Bean
+    @StepScope
+    public ItemStreamReader<CouponUsageStatsDto> couponUsageStatsFcmSendReader(
             Clock clock,
+            CouponUsageAudienceBitmapJdbcRepository couponUsageAudienceBitmapJdbcRepository,
+            CouponUsageDailyRollupJdbcRepository couponUsageDailyRollupJdbcRepository,
             @Value("#{jobParameters['runDate'] ?: null}") LocalDate runDateParam,
             @Value("#{jobParameters['targetHour'] ?: null}") Long targetHourParam
     ) {
-        // 커서 기반 스트리밍으로 대량 데이터를 안정적으로 읽고, 복잡한 최신 통계 조회 SQL을 실행한 결과를
+
+        LocalDate endDate = runDateParam != null ? runDateParam : LocalDate.now(clock);
+        LocalDate startDate = endDate.minusDays(DEFAULT_LOOKBACK_DAYS);
+        int targetHour = targetHourParam != null ? targetHourParam.intValue() : LocalDateTime.now(clock).getHour();
+
+        List<LocalDate> indexedDates = couponUsageAudienceBitmapJdbcRepository.findIndexedDates(startDate, endDate);
+        List<LocalDate> aggregatedDates = couponUsageDailyRollupJdbcRepository.findCompletedRollupDates(startDate, endDate);
+        if (!indexedDates.isEmpty() && indexedDates.containsAll(aggregatedDates)) {
+            log.info("쿠폰 사용 통계 FCM 알림 발송 대상을 발송 대상 비트맵에서 읽습니다. 집계 날짜: {}", indexedDates);
+            return new CouponUsageAudienceItemReader(
+                    couponUsageAudienceBitmapJdbcRepository,
+                    indexedDates.stream().sorted(Comparator.reverseOrder()).toList(),
+                    targetHour
+            );
+        }
+
+        // 커서 기반 스트리밍으로 대량 데이터를 안정적으로 읽고, 최신 통계 조회 SQL을 실행한 결과를
         // 그대로 순차 처리하기 위해 JdbcCursorItemReader를 사용한다. 페이징 방식 대비 커넥션 재생성이나
         // 오프셋 계산 비용이 없어 성능 부담이 적고, 정렬·집계 조건을 유지한 채 chunk 처리 흐름을 단순화할 수 있다.
+        // MySQL 드라이버는 기본적으로 전체 결과를 메모리에 적재하므로 행 스트리밍 fetchSize를 지정한다.
 
-        log.info("쿠폰 사용 통계 FCM 알림 발송을 위한 데이터 조회를 시작합니다.");
-
-        String sql = """
-                SELECT cus.member_id,
-                       cus.top_dong,
-                       cus.top_hour,
-                       cus.aggregated_at
-                FROM coupon_usage_stats cus
-                INNER JOIN (
-                    SELECT member_id,
-                           MAX(aggregated_at) AS latest_aggregated_at
-                    FROM coupon_usage_stats
-                    WHERE aggregated_at BETWEEN ? AND ?
-                      AND top_hour = ?
-                    GROUP BY member_id
-                ) latest ON latest.member_id = cus.member_id
-                         AND latest.latest_aggregated_at = cus.aggregated_at
-                WHERE cus.top_hour = ?
-                ORDER BY cus.member_id
-                """;
+        log.info("쿠폰 사용 통계 FCM 알림 발송을 위한 데이터 조회를 시작합니다. 비트맵 저장 날짜: {}, 집계 날짜: {}", indexedDates, aggregatedDates);
 
         return new JdbcCursorItemReaderBuilder<CouponUsageStatsDto>()
                 .name("couponUsageStatsFcmSendReader")
                 .dataSource(dataSource)
-                .sql(sql)
+                .sql(COUPON_USAGE_STATS_FCM_SEND_SQL)
+                .fetchSize(MYSQL_STREAMING_FETCH_SIZE)
                 .preparedStatementSetter(ps -> {
-                    LocalDate endDate = runDateParam != null ? runDateParam : LocalDate.now(clock);
-                    LocalDate startDate = endDate.minusDays(DEFAULT_LOOKBACK_DAYS);
-                    int targetHour = targetHourParam != null ? targetHourParam.intValue() : LocalDateTime.now(clock).getHour();
-
-                    ps.setDate(1, Date.valueOf(startDate));
-                    ps.setDate(2, Date.valueOf(endDate));
-                    ps.setInt(3, targetHour);
-                    ps.setInt(4, targetHour);
+                    ps.setInt(1, targetHour);
+                    ps.setDate(2, Date.valueOf(startDate));
+                    ps.setDate(3, Date.valueOf(endDate));
                 })
                 .rowMapper((rs, rowNum) -> new CouponUsageStatsDto(
                         rs.getLong("member_id"),
@@ -126,85 +199,74 @@ public class CouponUsageStatsFcmSendJobConfig {
 
     @Bean
     @StepScope
-    public ItemWriter<CouponUsageStatsDto> couponUsageStatsFcmSendWriter(
+    public CouponUsageStatsFcmSendItemProcessor couponUsageStatsFcmSendProcessor(
             Clock clock,
-            NotificationSystemFeignClient notificationSystemFeignClient,
-            StoreSystemFeignClient storeSystemFeignClient,
-            CouponEventJdbcRepository couponEventJdbcRepository,
-            CouponUsageStatsFcmSendPublisher couponUsageStatsFcmSendPublisher,
+            CouponUsageStatsFcmSendService couponUsageStatsFcmSendService,
+            MeterRegistry meterRegistry,
             @Value("#{jobParameters['runDate'] ?: null}") LocalDate runDateParam,
-            @Value("#{jobParameters['targetHour'] ?: null}") Long targetHourParam
+            @Value("#{jobParameters['targetHour'] ?: null}") Long targetHourParam,
+            @Value("#{stepExecution}") StepExecution stepExecution
     ) {
 
         LocalDate referenceDate = runDateParam != null ? runDateParam : LocalDate.now(clock);
         int referenceHour = targetHourParam != null ? targetHourParam.intValue() : LocalDateTime.now(clock).getHour();
         LocalDateTime referenceTime = LocalDateTime.of(referenceDate, LocalTime.of(referenceHour, 0));
+        // 재시작해도 같은 잡 인스턴스의 발송 원장을 보도록 잡 실행 정보를 아이템에 싣는다.
+        FcmSendRun run = new FcmSendRun(stepExecution.getJobExecution().getJobId(), stepExecution.getJobExecutionId());
+
+        return new CouponUsageStatsFcmSendItemProcessor(couponUsageStatsFcmSendService, referenceTime, run, meterRegistry);
+    }
 
-        return items -> {
-            log.info("쿠폰 사용 통계 FCM 알림 발송 작업을 시작합니다.");
-
-            List<Long> memberIds = items.getItems().stream()
-                    .map(CouponUsageStatsDto::memberId)
-                    .toList();
-
-            // 회원별 FCM 토큰 조회
-            List<FcmTokensResponse> fcmTokensResponses = notificationSystemFeignClient.fetchFcmTokensByMemberIds(memberIds).getData();
-
-            // memberId -> FCM Token List 매핑 생성
-            Map<Long, List<String>> memberIdToTokensMap = fcmTokensResponses.stream()
-                    .collect(Collectors.toMap(
-                            FcmTokensResponse::memberId,
-                            FcmTokensResponse::fcmTokens
-                    ));
-
-            // topDong별 매장 IDs 조회
-            List<String> topDongs = items.getItems().stream()
-                    .map(CouponUsageStatsDto::topDong)
-                    .distinct()
-                    .toList();
-            List<StoreIdsByDongResponse> storeIdsByDongResponses = storeSystemFeignClient.fetchStoreIdsByDongs(topDongs).getData();
-
-            // dong -> Store ID List 매핑 생성
-            Map<String, List<Long>> dongToStoreIdsMap = storeIdsByDongResponses.stream()
-                    .collect(Collectors.toMap(
-                            StoreIdsByDongResponse::dong,
-                            StoreIdsByDongResponse::storeIds
-                    ));
-
-            for (CouponUsageStatsDto item : items) {
-                Long memberId = item.memberId();
-                String topDong = item.topDong();
-                int topHour = item.topHour();
-
-                // 회원의 FCM Token 조회
-                List<String> tokens = memberIdToTokensMap.get(memberId);
-                if (tokens == null || tokens.isEmpty()) {
-                    log.info("회원 {}의 알림은 FCM 토큰이 없어 제외되었습니다.", memberId);
-                    continue;
-                }
-
-                // topDong에 해당하는 매장 IDs를 IN 쿼리 조건으로 사용하여 진행 중인 쿠폰 이벤트 개수 조회
-                List<Long> storeIds = dongToStoreIdsMap.get(topDong);
-                if (storeIds == null || storeIds.isEmpty()) {
-                    log.info("회원 {}의 topDong '{}'에 해당하는 매장이 없어 제외되었습니다.", memberId, topDong);
-                    continue;
-                }
-                int activeEventCount = couponEventJdbcRepository.countActiveCouponEventsByStoreIds(storeIds, referenceTime);
-                log.info("회원 {}의 topDong '{}'의 기준 시각 '{}'에 매장 IDs {}에서 진행 중인 쿠폰 이벤트 개수: {}",
-                        memberId, topDong, referenceTime, storeIds, activeEventCount);
-
-                if (activeEventCount <= 0) {
-                    log.info("회원 {}의 알림은 진행 중인 쿠폰 이벤트가 없어 제외되었습니다.", memberId);
-                    continue;
-                }
-
-                for (String token : tokens) {
-                    String traceId = NotificationTraceIdGenerator.generate(item.aggregatedAt(), memberId, token, topDong, topHour);
-
-                    CouponUsageStatsFcmSendMessage couponUsageStatsFcmSendMessage = CouponUsageStatsFcmSendMessage.of(traceId, memberId, token, topDong, topHour, activeEventCount);
-                    couponUsageStatsFcmSendPublisher.publish(couponUsageStatsFcmSendMessage);
-                }
-            }
-        };
+    /**
+     * 회원별 처리를 돌릴 스레드 풀입니다. Step 실행마다 만들고 Step이 끝나면 종료합니다.
+     * 스레드 수는 잡 파라미터 {@code processorThreads}로 실행마다 바꿀 수 있습니다.
+     */
+    @Bean
+    @StepScope
+    public TaskExecutor couponUsageStatsFcmSendProcessorTaskExecutor(
+            @Value("${batch.fcm-send.processor.threads:4}") int defaultThreads,
+            @Value("#{jobParameters['processorThreads'] ?: null}") Long threadsParam
+    ) {
+
+        int threads = threadsParam != null ? threadsParam.intValue() : defaultThreads;
+        if (threads < 1) {
+            throw new IllegalArgumentException("processorThreads는 1 이상이어야 합니다. processorThreads: " + threads);
+        }
+
+        // 동별 이벤트 개수는 Step 스레드가 청크마다 미리 조회하므로, 처리 스레드는 메모에 없는 동을 만났을 때만 커넥션을 잠깐 쓴다.
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(threads);
+        taskExecutor.setMaxPoolSize(threads);
+        taskExecutor.setThreadNamePrefix("fcm-send-processor-");
+        return taskExecutor;
+    }
+
+    @Bean
+    public AsyncItemProcessor<CouponUsageStatsDto, CouponUsageStatsFcmSendItem> couponUsageStatsFcmSendAsyncProcessor(
+            CouponUsageStatsFcmSendItemProcessor couponUsageStatsFcmSendProcessor,
+            @Qualifier("couponUsageStatsFcmSendProcessorTaskExecutor") TaskExecutor couponUsageStatsFcmSendProcessorTaskExecutor
+    ) {
+        // 처리 스레드에도 Step 컨텍스트를 등록하므로 Step 스코프 빈과 잡/Step 지표 태그를 그대로 쓸 수 있다.
+        AsyncItemProcessor<CouponUsageStatsDto, CouponUsageStatsFcmSendItem> asyncItemProcessor = new AsyncItemProcessor<>();
+        asyncItemProcessor.setDelegate(couponUsageStatsFcmSendProcessor);
+        asyncItemProcessor.setTaskExecutor(couponUsageStatsFcmSendProcessorTaskExecutor);
+        return asyncItemProcessor;
+    }
+
+    @Bean
+    public AsyncItemWriter<CouponUsageStatsFcmSendItem> couponUsageStatsFcmSendAsyncWriter(
+            CouponUsageStatsFcmSendItemWriter couponUsageStatsFcmSendWriter
+    ) {
+        // processor가 걸러낸(null) 아이템은 writer에 넘기지 않는다.
+        AsyncItemWriter<CouponUsageStatsFcmSendItem> asyncItemWriter = new AsyncItemWriter<>();
+        asyncItemWriter.setDelegate(couponUsageStatsFcmSendWriter);
+        return asyncItemWriter;
+    }
+
+    @Bean
+    public CouponUsageStatsFcmSendItemWriter couponUsageStatsFcmSendWriter(
+            CouponUsageStatsFcmSendService couponUsageStatsFcmSendService
+    ) {
+        return new CouponUsageStatsFcmSendItemWriter(couponUsageStatsFcmSendService);
     }
 }
@@ -0,0 +1,238 @@
+package com.couponpop.batchservice.batch;
+
+import com.couponpop.batchservice.batch.processor.CouponUsageStatsFcmSendItemProcessor;
+import com.couponpop.batchservice.batch.writer.CouponUsageStatsFcmSendItemWriter;
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsDto;
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsFcmSendItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.step.tasklet.TaskletStep;
+import org.springframework.batch.integration.chunk.RemoteChunkingManagerStepBuilderFactory;
+import org.springframework.batch.integration.chunk.RemoteChunkingWorkerBuilder;
+import org.springframework.batch.integration.config.annotation.EnableBatchIntegration;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.amqp.dsl.Amqp;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.core.MessagingTemplate;
+import org.springframework.integration.dsl.IntegrationFlow;
+
+import java.util.List;
+
+import static com.couponpop.batchservice.batch.CouponUsageStatsFcmSendJobConfig.CHUNK_SIZE;
+import static com.couponpop.batchservice.batch.CouponUsageStatsFcmSendJobConfig.COUPON_USAGE_STATS_FCM_SEND_STEP;
+
+/**
+ * couponUsageStatsFcmSendJob의 원격 청킹(매니저/워커) 구성입니다.
+ *
+ * <ul>
+ *     <li>매니저: {@code couponUsageStatsFcmSendReader}로 읽은 청크를 요청 큐로 보내고, 워커의 응답을 기다립니다.</li>
+ *     <li>워커: 요청 큐에서 청크를 받아 {@link CouponUsageStatsFcmSendItemWriter}로 발송한 뒤 응답 큐로 결과를 돌려줍니다.</li>
+ * </ul>
+ *
+ * <p>요청 큐는 여러 워커가 경쟁 소비하므로 워커 수만큼 처리량이 늘어납니다.
+ * {@code transport=local}이면 브로커 대신 같은 JVM 안의 채널로 매니저와 워커를 직접 연결합니다.</p>
+ */
+@Slf4j
+@Configuration
+@EnableBatchIntegration
+@ConditionalOnExpression("${batch.fcm-send.remote-chunking.manager:false} or ${batch.fcm-send.remote-chunking.worker:false}")
+public class CouponUsageStatsFcmSendRemoteChunkingConfig {
+
+    public static final String REQUEST_QUEUE = "batch.coupon-usage-stats-fcm-send.requests";
+    public static final String REPLY_QUEUE = "batch.coupon-usage-stats-fcm-send.replies";
+
+    @Bean
+    public DirectChannel couponUsageStatsFcmSendRequests() {
+        return new DirectChannel();
+    }
+
+    @Bean
+    public QueueChannel couponUsageStatsFcmSendReplies() {
+        return new QueueChannel();
+    }
+
+    @Bean
+    public DirectChannel couponUsageStatsFcmSendWorkerRequests() {
+        return new DirectChannel();
+    }
+
+    @Bean
+    public DirectChannel couponUsageStatsFcmSendWorkerReplies() {
+        return new DirectChannel();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "batch.fcm-send.remote-chunking", name = "manager", havingValue = "true")
+    public TaskletStep couponUsageStatsFcmSendStep(
+            RemoteChunkingManagerStepBuilderFactory remoteChunkingManagerStepBuilderFactory,
+            ItemStreamReader<CouponUsageStatsDto> couponUsageStatsFcmSendReader,
+            CouponUsageStatsFcmSendItemProcessor couponUsageStatsFcmSendProcessor,
+            @Value("${batch.fcm-send.remote-chunking.throttle-limit:8}") long throttleLimit,
+            @Value("${batch.fcm-send.remote-chunking.reply-timeout-millis:2000}") long replyTimeoutMillis,
+            @Value("${batch.fcm-send.remote-chunking.max-wait-timeouts:150}") int maxWaitTimeouts
+    ) {
+
+        MessagingTemplate messagingTemplate = new MessagingTemplate();
+        messagingTemplate.setDefaultChannel(couponUsageStatsFcmSendRequests());
+        messagingTemplate.setReceiveTimeout(replyTimeoutMillis);
+
+        // throttleLimit은 응답을 기다리지 않고 동시에 보낼 수 있는 청크 수이므로, 워커 수 이상으로 잡아야 모든 워커가 일한다.
+        return remoteChunkingManagerStepBuilderFactory.<CouponUsageStatsDto, CouponUsageStatsFcmSendItem>get(COUPON_USAGE_STATS_FCM_SEND_STEP)
+                .chunk(CHUNK_SIZE)
+                .reader(couponUsageStatsFcmSendReader)
+                .processor(couponUsageStatsFcmSendProcessor)
+                .listener((ItemReadListener<CouponUsageStatsDto>) couponUsageStatsFcmSendProcessor)
+                .listener((ItemProcessListener<CouponUsageStatsDto, CouponUsageStatsFcmSendItem>) couponUsageStatsFcmSendProcessor)
+                .messagingTemplate(messagingTemplate)
+                .inputChannel(couponUsageStatsFcmSendReplies())
+                .throttleLimit(throttleLimit)
+                .maxWaitTimeouts(maxWaitTimeouts)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "batch.fcm-send.remote-chunking", name = "worker", havingValue = "true")
+    public IntegrationFlow couponUsageStatsFcmSendWorkerFlow(
+            RemoteChunkingWorkerBuilder<CouponUsageStatsFcmSendItem, CouponUsageStatsFcmSendItem> remoteChunkingWorkerBuilder,
+            CouponUsageStatsFcmSendItemWriter couponUsageStatsFcmSendWriter
+    ) {
+
+        return remoteChunkingWorkerBuilder
+                .itemWriter(couponUsageStatsFcmSendWriter)
+                .inputChannel(couponUsageStatsFcmSendWorkerRequests())
+                .outputChannel(couponUsageStatsFcmSendWorkerReplies())
+                .build();
+    }
+
+    /**
+     * RabbitMQ로 매니저와 워커를 연결합니다. 청크 요청/응답은 Spring Batch 타입을 포함하므로 JSON 대신 Java 직렬화를 사용합니다.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "batch.fcm-send.remote-chunking", name = "transport", havingValue = "amqp", matchIfMissing = true)
+    static class AmqpTransportConfig {
+
+        private static final List<String> ALLOWED_DESERIALIZATION_PATTERNS = List.of(
+                "java.*",
+                "org.springframework.batch.*",
+                "com.couponpop.*"
+        );
+
+        @Bean
+        public Queue couponUsageStatsFcmSendRequestQueue() {
+            return new Queue(REQUEST_QUEUE, true);
+        }
+
+        @Bean
+        public Queue couponUsageStatsFcmSendReplyQueue() {
+            return new Queue(REPLY_QUEUE, true);
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "batch.fcm-send.remote-chunking", name = "manager", havingValue = "true")
+        public IntegrationFlow couponUsageStatsFcmSendRequestOutboundFlow(
+                ConnectionFactory connectionFactory,
+                @Qualifier("couponUsageStatsFcmSendRequests") DirectChannel couponUsageStatsFcmSendRequests
+        ) {
+
+            // 기본 익스체인지로 보내 큐 이름을 라우팅 키로 사용
+            return IntegrationFlow.from(couponUsageStatsFcmSendRequests)
+                    .handle(Amqp.outboundAdapter(newChunkRabbitTemplate(connectionFactory)).routingKey(REQUEST_QUEUE))
+                    .get();
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "batch.fcm-send.remote-chunking", name = "manager", havingValue = "true")
+        public IntegrationFlow couponUsageStatsFcmSendReplyInboundFlow(
+                ConnectionFactory connectionFactory,
+                @Qualifier("couponUsageStatsFcmSendReplies") QueueChannel couponUsageStatsFcmSendReplies
+        ) {
+
+            return IntegrationFlow.from(Amqp.inboundAdapter(connectionFactory, REPLY_QUEUE)
+                            .messageConverter(newChunkMessageConverter()))
+                    .channel(couponUsageStatsFcmSendReplies)
+                    .get();
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "batch.fcm-send.remote-chunking", name = "worker", havingValue = "true")
+        public IntegrationFlow couponUsageStatsFcmSendRequestInboundFlow(
+                ConnectionFactory connectionFactory,
+                @Qualifier("couponUsageStatsFcmSendWorkerRequests") DirectChannel couponUsageStatsFcmSendWorkerRequests,
+                @Value("${batch.fcm-send.remote-chunking.worker-concurrency:4}") int workerConcurrency
+        ) {
+
+            return IntegrationFlow.from(Amqp.inboundAdapter(connectionFactory, REQUEST_QUEUE)
+                            .messageConverter(newChunkMessageConverter())
+                            .configureContainer(container -> container
+                                    .concurrentConsumers(workerConcurrency)
+                                    .prefetchCount(1))) // 청크 하나가 크므로 워커 간 고르게 분배되도록 한 건씩 가져온다.
+                    .channel(couponUsageStatsFcmSendWorkerRequests)
+                    .get();
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "batch.fcm-send.remote-chunking", name = "worker", havingValue = "true")
+        public IntegrationFlow couponUsageStatsFcmSendReplyOutboundFlow(
+                ConnectionFactory connectionFactory,
+                @Qualifier("couponUsageStatsFcmSendWorkerReplies") DirectChannel couponUsageStatsFcmSendWorkerReplies
+        ) {
+
+            return IntegrationFlow.from(couponUsageStatsFcmSendWorkerReplies)
+                    .handle(Amqp.outboundAdapter(newChunkRabbitTemplate(connectionFactory)).routingKey(REPLY_QUEUE))
+                    .get();
+        }
+
+        // 앱 전역 RabbitTemplate(JSON)과 섞이지 않도록 청크 전용 템플릿은 빈으로 등록하지 않는다.
+        private RabbitTemplate newChunkRabbitTemplate(ConnectionFactory connectionFactory) {
+            RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
+            rabbitTemplate.setMessageConverter(newChunkMessageConverter());
+            return rabbitTemplate;
+        }
+
+        private SimpleMessageConverter newChunkMessageConverter() {
+            SimpleMessageConverter messageConverter = new SimpleMessageConverter();
+            messageConverter.setAllowedListPatterns(ALLOWED_DESERIALIZATION_PATTERNS);
+            return messageConverter;
+        }
+    }
+
+    /**
+     * 브로커 없이 같은 JVM 안에서 매니저와 워커 채널을 직접 잇는 대역입니다. 로컬 실행과 테스트에서 사용합니다.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "batch.fcm-send.remote-chunking", name = "transport", havingValue = "local")
+    static class LocalTransportConfig {
+
+        @Bean
+        public IntegrationFlow couponUsageStatsFcmSendLocalRequestFlow(
+                @Qualifier("couponUsageStatsFcmSendRequests") DirectChannel couponUsageStatsFcmSendRequests,
+                @Qualifier("couponUsageStatsFcmSendWorkerRequests") DirectChannel couponUsageStatsFcmSendWorkerRequests
+        ) {
+            return IntegrationFlow.from(couponUsageStatsFcmSendRequests)
+                    .channel(couponUsageStatsFcmSendWorkerRequests)
+                    .get();
+        }
+
+        @Bean
+        public IntegrationFlow couponUsageStatsFcmSendLocalReplyFlow(
+                @Qualifier("couponUsageStatsFcmSendWorkerReplies") DirectChannel couponUsageStatsFcmSendWorkerReplies,
+                @Qualifier("couponUsageStatsFcmSendReplies") QueueChannel couponUsageStatsFcmSendReplies
+        ) {
+            return IntegrationFlow.from(couponUsageStatsFcmSendWorkerReplies)
+                    .channel(couponUsageStatsFcmSendReplies)
+                    .get();
+        }
+    }
+}
@@ -1,37 +1,42 @@
 package com.couponpop.batchservice.batch;
 
-import com.couponpop.batchservice.common.client.StoreSystemFeignClient;
+import com.couponpop.batchservice.batch.listener.BatchStepMetricsListener;
+import com.couponpop.batchservice.batch.partition.MemberIdRangePartitioner;
+import com.couponpop.batchservice.batch.reader.JdbcCouponUsageRollupCursor;
+import com.couponpop.batchservice.batch.reader.MemberCouponUsageStatsItemReader;
+import com.couponpop.batchservice.batch.tuning.AdaptiveChunkCompletionPolicy;
+import com.couponpop.batchservice.batch.tuning.ChunkSizeSettingsRegistry;
+import com.couponpop.batchservice.batch.writer.CouponUsageStatsDiffItemWriter;
 import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsDto;
-import com.couponpop.batchservice.domain.coupon.enums.CouponStatus;
-import com.couponpop.batchservice.domain.couponhistory.repository.CouponHistoryJdbcRepository;
-import com.couponpop.batchservice.domain.couponhistory.repository.projection.CouponHistoryUsedInfoProjection;
-import com.couponpop.couponpopcoremodule.dto.store.response.StoreRegionInfoResponse;
+import com.couponpop.batchservice.domain.couponusagestats.repository.CouponUsageDailyRollupJdbcRepository;
+import com.couponpop.batchservice.domain.couponusagestats.repository.CouponUsageStatsJdbcRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.database.JdbcBatchItemWriter;
-import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
-import org.springframework.batch.item.support.ListItemReader;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
+import java.sql.Date;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+
+import static com.couponpop.batchservice.common.constants.BatchJdbcConstants.MYSQL_STREAMING_FETCH_SIZE;
 
 @Slf4j
 @Configuration
@@ -40,10 +45,11 @@ public class CouponUsageStatsJobConfig {
 
     public static final String COUPON_USAGE_STATS_JOB = "couponUsageStatsJob";
     public static final String COUPON_USAGE_STATS_STEP = "couponUsageStatsStep";
-    private static final int CHUNK_SIZE = 1000;
-    private static final int STORE_FEIGN_CHUNK_SIZE = 200;
-    private static final int STATS_AGGREGATION_DAYS = 20;
+    public static final String COUPON_USAGE_STATS_WORKER_STEP = "couponUsageStatsWorkerStep";
+    public static final int STATS_AGGREGATION_DAYS = 20;
     private static final int COUPON_USAGE_COUNT_THRESHOLD = 5;
+    private static final int DEFAULT_PARTITION_COUNT = 4;
+    private static final int MAX_PARTITION_THREADS = 4;
 
     private final DataSource dataSource;
     private final JobRepository jobRepository;
@@ -51,186 +57,163 @@ public class CouponUsageStatsJobConfig {
 
     @Bean
     public Job couponUsageStatsJob(
+            @Qualifier("couponUsageDailyRollupPrepareStep")
+            Step couponUsageDailyRollupPrepareStep,
+            @Qualifier("couponUsageDailyRollupStep")
+            Step couponUsageDailyRollupStep,
+            @Qualifier("couponUsageDailyRollupCompleteStep")
+            Step couponUsageDailyRollupCompleteStep,
             @Qualifier("couponUsageStatsStep")
-            Step couponUsageStatsStep
+            Step couponUsageStatsStep,
+            @Qualifier("couponUsageAudienceIndexStep")
+            Step couponUsageAudienceIndexStep
     ) {
 
         log.info("{} started", COUPON_USAGE_STATS_JOB);
 
+        // 전날 원본 이력만 일 단위 롤업으로 만든 뒤, 최근 롤업들을 합쳐 회원별 통계를 만들고 발송 대상 비트맵을 저장한다.
         return new JobBuilder(COUPON_USAGE_STATS_JOB, jobRepository)
-                .start(couponUsageStatsStep)
+                .start(couponUsageDailyRollupPrepareStep)
+                .next(couponUsageDailyRollupStep)
+                .next(couponUsageDailyRollupCompleteStep)
+                .next(couponUsageStatsStep)
+                .next(couponUsageAudienceIndexStep)
                 .build();
     }
 
     @Bean
     public Step couponUsageStatsStep(
+            @Qualifier("couponUsageStatsPartitioner")
+            Partitioner couponUsageStatsPartitioner,
+            @Qualifier("couponUsageStatsPartitionHandler")
+            TaskExecutorPartitionHandler couponUsageStatsPartitionHandler
+    ) {
+
+        // 회원을 연속된 member_id 구간으로 나눠 파티션별 Reader/Writer를 병렬로 실행한다.
+        return new StepBuilder(COUPON_USAGE_STATS_STEP, jobRepository)
+                .partitioner(COUPON_USAGE_STATS_WORKER_STEP, couponUsageStatsPartitioner)
+                .partitionHandler(couponUsageStatsPartitionHandler)
+                .build();
+    }
+
+    @Bean
+    public Step couponUsageStatsWorkerStep(
             @Qualifier("couponUsageStatsReader")
-            ListItemReader<CouponUsageStatsDto> couponUsageStatsReader,
+            MemberCouponUsageStatsItemReader couponUsageStatsReader,
             @Qualifier("couponUsageStatsWriter")
-            JdbcBatchItemWriter<CouponUsageStatsDto> couponUsageStatsWriter
+            CouponUsageStatsDiffItemWriter couponUsageStatsWriter,
+            @Qualifier("couponUsageStatsChunkPolicy")
+            AdaptiveChunkCompletionPolicy couponUsageStatsChunkPolicy,
+            BatchStepMetricsListener batchStepMetricsListener
     ) {
 
-        return new StepBuilder(COUPON_USAGE_STATS_STEP, jobRepository)
-                .<CouponUsageStatsDto, CouponUsageStatsDto>chunk(CHUNK_SIZE, txManager)
+        // 청크 크기는 커밋 시간에 맞춰 파티션마다 따로 조정된다.
+        return new StepBuilder(COUPON_USAGE_STATS_WORKER_STEP, jobRepository)
+                .<CouponUsageStatsDto, CouponUsageStatsDto>chunk(couponUsageStatsChunkPolicy, txManager)
                 .reader(couponUsageStatsReader)
                 .writer(couponUsageStatsWriter)
+                .listener((ChunkListener) couponUsageStatsChunkPolicy)
+                .listener((StepExecutionListener) couponUsageStatsChunkPolicy)
+                .listener((ChunkListener) batchStepMetricsListener)
+                .listener((ItemReadListener<Object>) batchStepMetricsListener)
+                .listener((ItemWriteListener<Object>) batchStepMetricsListener)
                 .build();
     }
 
-    private List<StoreRegionInfoResponse> fetchStoresRegionChunked(StoreSystemFeignClient storeSystemFeignClient, List<Long> storeIds) {
+    @Bean
+    @StepScope
+    public AdaptiveChunkCompletionPolicy couponUsageStatsChunkPolicy(ChunkSizeSettingsRegistry chunkSizeSettingsRegistry) {
+        return new AdaptiveChunkCompletionPolicy(chunkSizeSettingsRegistry, COUPON_USAGE_STATS_WORKER_STEP);
+    }
 
-        if (storeIds.isEmpty()) {
-            return List.of();
-        }
+    @Bean
+    @StepScope
+    public Partitioner couponUsageStatsPartitioner(
+            CouponUsageDailyRollupJdbcRepository couponUsageDailyRollupJdbcRepository,
+            @Value("#{jobParameters['runDate']}") LocalDate runDateParam,
+            @Value("#{jobParameters['partitionCount'] ?: null}") Long partitionCountParam
+    ) {
 
-        int chunkCount = (int) Math.ceil((double) storeIds.size() / STORE_FEIGN_CHUNK_SIZE);
+        int partitionCount = partitionCountParam != null ? partitionCountParam.intValue() : DEFAULT_PARTITION_COUNT;
 
-        return IntStream.range(0, chunkCount)
-                .mapToObj(index -> {
-                    int from = index * STORE_FEIGN_CHUNK_SIZE;
-                    int to = Math.min(storeIds.size(), from + STORE_FEIGN_CHUNK_SIZE);
-                    List<Long> chunk = storeIds.subList(from, to);
-                    return storeSystemFeignClient.fetchStoresRegionByIds(chunk).getData();
-                })
-                .flatMap(List::stream)
-                .toList();
+        // Reader와 같은 기간의 롤업에서 member_id 구간을 나눈다.
+        LocalDate from = runDateParam.minusDays(STATS_AGGREGATION_DAYS);
+        return new MemberIdRangePartitioner(couponUsageDailyRollupJdbcRepository, from, runDateParam, partitionCount);
     }
 
     @Bean
-    @StepScope
-    public ListItemReader<CouponUsageStatsDto> couponUsageStatsReader(
-            CouponHistoryJdbcRepository couponHistoryJdbcRepository,
-            StoreSystemFeignClient storeSystemFeignClient,
-            @Value("#{jobParameters['runDate']}") LocalDate runDateParam
+    public TaskExecutorPartitionHandler couponUsageStatsPartitionHandler(
+            @Qualifier("couponUsageStatsWorkerStep")
+            Step couponUsageStatsWorkerStep,
+            @Qualifier("couponUsageStatsPartitionTaskExecutor")
+            TaskExecutor couponUsageStatsPartitionTaskExecutor
     ) {
 
-        LocalDateTime from = runDateParam.minusDays(STATS_AGGREGATION_DAYS).atStartOfDay(); // Job 실행 20일 전 00:00:00
-        LocalDateTime to = runDateParam.atStartOfDay().plusDays(1).minusSeconds(1); // Job 실행 당일 23:59:59
-
-        List<CouponHistoryUsedInfoProjection> couponHistoriesUsedInfos = couponHistoryJdbcRepository.findCouponHistoriesUsedInfo(CouponStatus.USED, from, to);
-        List<Long> storeIds = couponHistoriesUsedInfos.stream()
-                .map(CouponHistoryUsedInfoProjection::storeId)
-                .distinct()
-                .toList();
-
-        List<StoreRegionInfoResponse> storeRegionInfoResponses = fetchStoresRegionChunked(storeSystemFeignClient, storeIds);
-        Map<Long, String> storeDongMap = storeRegionInfoResponses.stream()
-                .collect(Collectors.toMap(
-                        StoreRegionInfoResponse::storeId,
-                        StoreRegionInfoResponse::dong,
-                        (latest, ignored) -> latest // 중복 키 충돌 시 최신 값 유지
-                ));
-
-        List<MemberUsage> filtered = couponHistoriesUsedInfos.stream()
-                .map(history -> new MemberUsage(
-                        history.memberId(),
-                        storeDongMap.get(history.storeId()),
-                        history.createdAt(),
-                        history.createdAt().getHour()
-                ))
-                .filter(usage -> usage.dong() != null) // 동 정보 없는 데이터는 제외
-                .toList();
-
-        Map<Long, Long> memberUsageCounts = filtered.stream()
-                .collect(Collectors.groupingBy(
-                        MemberUsage::memberId,
-                        Collectors.counting()
-                ));
-
-        Set<Long> eligibleMembers = memberUsageCounts.entrySet().stream()
-                .filter(entry -> entry.getValue() >= COUPON_USAGE_COUNT_THRESHOLD)
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toSet());
-
-        Comparator<MemberUsageAggregation> dongComparator = Comparator
-                .comparingLong(MemberUsageAggregation::usageCount)
-                .thenComparing(MemberUsageAggregation::recentUsedAt)
-                .thenComparing(MemberUsageAggregation::dong);
-
-        Comparator<MemberUsageAggregation> hourComparator = Comparator
-                .comparingLong(MemberUsageAggregation::usageCount)
-                .thenComparing(MemberUsageAggregation::recentUsedAt)
-                .thenComparingInt(MemberUsageAggregation::usageHour);
-
-        List<CouponUsageStatsDto> results = filtered.stream()
-                .filter(usage -> eligibleMembers.contains(usage.memberId()))
-                .collect(Collectors.groupingBy(MemberUsage::memberId))
-                .entrySet()
-                .stream()
-                .map(entry -> {
-                    Long memberId = entry.getKey();
-                    List<MemberUsage> usages = entry.getValue();
-
-                    MemberUsageAggregation topDong = usages.stream()
-                            .collect(Collectors.groupingBy(MemberUsage::dong))
-                            .entrySet()
-                            .stream()
-                            .map(dongEntry -> new MemberUsageAggregation(
-                                    memberId,
-                                    dongEntry.getKey(),
-                                    null,
-                                    dongEntry.getValue().size(),
-                                    dongEntry.getValue().stream()
-                                            .map(MemberUsage::usedAt)
-                                            .max(LocalDateTime::compareTo)
-                                            .orElse(LocalDateTime.MIN)
-                            ))
-                            .max(dongComparator)
-                            .orElseThrow();
-
-                    int topHour = usages.stream()
-                            .filter(usage -> usage.dong().equals(topDong.dong()))
-                            .collect(Collectors.groupingBy(MemberUsage::usageHour))
-                            .entrySet()
-                            .stream()
-                            .map(hourEntry -> new MemberUsageAggregation(
-                                    memberId,
-                                    topDong.dong(),
-                                    hourEntry.getKey(),
-                                    hourEntry.getValue().size(),
-                                    hourEntry.getValue().stream()
-                                            .map(MemberUsage::usedAt)
-                                            .max(LocalDateTime::compareTo)
-                                            .orElse(LocalDateTime.MIN)
-                            ))
-                            .max(hourComparator)
-                            .orElseThrow()
-                            .usageHour;
-
-                    return new CouponUsageStatsDto(memberId, topDong.dong(), topHour, runDateParam);
-                })
-                .sorted(Comparator.comparing(CouponUsageStatsDto::memberId))
-                .toList();
-
-        return new ListItemReader<>(results);
+        TaskExecutorPartitionHandler partitionHandler = new TaskExecutorPartitionHandler();
+        partitionHandler.setStep(couponUsageStatsWorkerStep);
+        partitionHandler.setTaskExecutor(couponUsageStatsPartitionTaskExecutor);
+        partitionHandler.setGridSize(DEFAULT_PARTITION_COUNT); // 실제 파티션 수는 partitionCount 잡 파라미터를 따른다.
+        return partitionHandler;
     }
 
     @Bean
-    public JdbcBatchItemWriter<CouponUsageStatsDto> couponUsageStatsWriter() {
+    public TaskExecutor couponUsageStatsPartitionTaskExecutor() {
+
+        // 파티션마다 커서용 커넥션과 트랜잭션용 커넥션을 하나씩 사용하므로 커넥션 풀 크기를 넘지 않도록 스레드 수를 제한한다.
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(MAX_PARTITION_THREADS);
+        taskExecutor.setMaxPoolSize(MAX_PARTITION_THREADS);
+        taskExecutor.setThreadNamePrefix("coupon-usage-stats-partition-");
+        return taskExecutor;
+    }
+
+    @Bean
+    @StepScope
+    public MemberCouponUsageStatsItemReader couponUsageStatsReader(
+            @Value("#{jobParameters['runDate']}") LocalDate runDateParam,
+            @Value("#{stepExecutionContext['minMemberId']}") Long minMemberId,
+            @Value("#{stepExecutionContext['maxMemberId']}") Long maxMemberId
+    ) {
 
+        LocalDate from = runDateParam.minusDays(STATS_AGGREGATION_DAYS); // Job 실행 20일 전
+        LocalDate to = runDateParam; // Job 실행 당일
+
+        // last_used_at은 초 단위 epoch로 받아 행마다 Timestamp를 만들지 않는다. (세션 시간대와 무관한 UTC 기준 환산)
         String sql = """
-                    INSERT INTO coupon_usage_stats (member_id, top_dong, top_hour, aggregated_at)
-                    VALUES (:memberId, :topDong, :topHour, :aggregatedAt)
+                SELECT r.member_id,
+                       r.dong,
+                       r.usage_hour,
+                       r.usage_count,
+                       TIMESTAMPDIFF(SECOND, '1970-01-01 00:00:00', r.last_used_at) AS last_used_epoch_second
+                FROM coupon_usage_daily_rollups r
+                WHERE r.rollup_date BETWEEN ? AND ?
+                  AND r.member_id BETWEEN ? AND ?
+                ORDER BY r.member_id
                 """;
 
-        return new JdbcBatchItemWriterBuilder<CouponUsageStatsDto>()
-                .dataSource(dataSource) // 데이터 소스 설정
-                .sql(sql) // SQL 쿼리 설정
-                .beanMapped() // DTO 필드를 SQL 파라미터에 매핑
-                .assertUpdates(true) // 업데이트된 행 수를 확인
-                .build();
-    }
-
-    private record MemberUsage(Long memberId, String dong, LocalDateTime usedAt, int usageHour) {
+        // member_id 순으로 MySQL 행 스트리밍을 사용해 한 회원의 롤업만 메모리에 유지한다.
+        JdbcCouponUsageRollupCursor dailyRollupCursor = new JdbcCouponUsageRollupCursor(
+                dataSource,
+                sql,
+                ps -> {
+                    ps.setDate(1, Date.valueOf(from));
+                    ps.setDate(2, Date.valueOf(to));
+                    ps.setLong(3, minMemberId);
+                    ps.setLong(4, maxMemberId);
+                },
+                MYSQL_STREAMING_FETCH_SIZE
+        );
+
+        return new MemberCouponUsageStatsItemReader(dailyRollupCursor, runDateParam, COUPON_USAGE_COUNT_THRESHOLD);
     }
 
-    private record MemberUsageAggregation(
-            Long memberId,
-            String dong,
-            Integer usageHour,
-            long usageCount,
-            LocalDateTime recentUsedAt
+    @Bean
+    public CouponUsageStatsDiffItemWriter couponUsageStatsWriter(
+            CouponUsageStatsJdbcRepository couponUsageStatsJdbcRepository
     ) {
+
+        // 결과가 바뀐 회원만 새 행을 쓰고, 같은 회원은 최근 행의 집계 날짜만 갱신한다.
+        return new CouponUsageStatsDiffItemWriter(couponUsageStatsJdbcRepository);
     }
 
 }
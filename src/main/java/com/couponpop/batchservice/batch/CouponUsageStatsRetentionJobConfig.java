@@ -0,0 +1,143 @@
+package com.couponpop.batchservice.batch;
+
+import com.couponpop.batchservice.batch.listener.CouponUsageStatsRetentionReportListener;
+import com.couponpop.batchservice.domain.coupon.repository.CouponUsageStatsFcmSendLedgerJdbcRepository;
+import com.couponpop.batchservice.domain.couponusagestats.repository.CouponUsageStatsJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 집계 날짜가 보존 기간을 지난 행을 작은 배치 단위로 보관 테이블에 옮기고 삭제해, 집계 Writer가 최근 결과를 찾는 이력 테이블 크기를 일정하게 유지합니다.
+ * 이어서 {@code ledgerRetentionDays}보다 오래된 FCM 발송 원장을 같은 방식으로 지웁니다. 발송 원장은 재시작 시 중복 발송을 막는 데만 쓰므로 보관하지 않습니다.
+ *
+ * <p>배치 한 번이 트랜잭션 하나이므로 긴 잠금을 잡지 않으며, 실패해도 이미 커밋된 배치는 다시 처리하지 않습니다.</p>
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class CouponUsageStatsRetentionJobConfig {
+
+    public static final String COUPON_USAGE_STATS_RETENTION_JOB = "couponUsageStatsRetentionJob";
+    public static final String COUPON_USAGE_STATS_RETENTION_STEP = "couponUsageStatsRetentionStep";
+    public static final String COUPON_USAGE_STATS_FCM_SEND_LEDGER_RETENTION_STEP = "couponUsageStatsFcmSendLedgerRetentionStep";
+    private static final int DEFAULT_RETENTION_DAYS = 30;
+    private static final int DEFAULT_LEDGER_RETENTION_DAYS = 7;
+    private static final int DEFAULT_DELETE_BATCH_SIZE = 1000;
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager txManager;
+
+    @Bean
+    public Job couponUsageStatsRetentionJob(
+            @Qualifier("couponUsageStatsRetentionStep")
+            Step couponUsageStatsRetentionStep,
+            @Qualifier("couponUsageStatsFcmSendLedgerRetentionStep")
+            Step couponUsageStatsFcmSendLedgerRetentionStep
+    ) {
+
+        return new JobBuilder(COUPON_USAGE_STATS_RETENTION_JOB, jobRepository)
+                .start(couponUsageStatsRetentionStep)
+                .next(couponUsageStatsFcmSendLedgerRetentionStep)
+                .build();
+    }
+
+    @Bean
+    public Step couponUsageStatsRetentionStep(
+            @Qualifier("couponUsageStatsRetentionTasklet")
+            Tasklet couponUsageStatsRetentionTasklet
+    ) {
+
+        return new StepBuilder(COUPON_USAGE_STATS_RETENTION_STEP, jobRepository)
+                .tasklet(couponUsageStatsRetentionTasklet, txManager)
+                .listener(new CouponUsageStatsRetentionReportListener())
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public Tasklet couponUsageStatsRetentionTasklet(
+            Clock clock,
+            CouponUsageStatsJdbcRepository couponUsageStatsJdbcRepository,
+            @Value("#{jobParameters['runDate'] ?: null}") LocalDate runDateParam,
+            @Value("#{jobParameters['retentionDays'] ?: null}") Long retentionDaysParam,
+            @Value("#{jobParameters['deleteBatchSize'] ?: null}") Long deleteBatchSizeParam
+    ) {
+
+        LocalDate runDate = runDateParam != null ? runDateParam : LocalDate.now(clock);
+        int retentionDays = retentionDaysParam != null ? retentionDaysParam.intValue() : DEFAULT_RETENTION_DAYS;
+        int deleteBatchSize = deleteBatchSizeParam != null ? deleteBatchSizeParam.intValue() : DEFAULT_DELETE_BATCH_SIZE;
+        LocalDate cutoff = runDate.minusDays(retentionDays);
+
+        log.info("쿠폰 사용 통계 보존 기간 정리를 시작합니다. 기준일: {} 이전, 배치 크기: {}", cutoff, deleteBatchSize);
+
+        // 반복마다 별도 트랜잭션으로 한 배치씩 보관 후 삭제한다.
+        return (contribution, chunkContext) -> {
+            List<Long> expiredIds = couponUsageStatsJdbcRepository.findIdsAggregatedBefore(cutoff, deleteBatchSize);
+            if (expiredIds.isEmpty()) {
+                return RepeatStatus.FINISHED;
+            }
+
+            couponUsageStatsJdbcRepository.archiveStatsByIds(expiredIds);
+            int deletedCount = couponUsageStatsJdbcRepository.deleteStatsByIds(expiredIds);
+            contribution.incrementReadCount();
+            contribution.incrementWriteCount(deletedCount);
+
+            return RepeatStatus.continueIf(expiredIds.size() == deleteBatchSize);
+        };
+    }
+
+    @Bean
+    public Step couponUsageStatsFcmSendLedgerRetentionStep(
+            @Qualifier("couponUsageStatsFcmSendLedgerRetentionTasklet")
+            Tasklet couponUsageStatsFcmSendLedgerRetentionTasklet
+    ) {
+
+        return new StepBuilder(COUPON_USAGE_STATS_FCM_SEND_LEDGER_RETENTION_STEP, jobRepository)
+                .tasklet(couponUsageStatsFcmSendLedgerRetentionTasklet, txManager)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public Tasklet couponUsageStatsFcmSendLedgerRetentionTasklet(
+            Clock clock,
+            CouponUsageStatsFcmSendLedgerJdbcRepository couponUsageStatsFcmSendLedgerJdbcRepository,
+            @Value("#{jobParameters['runDate'] ?: null}") LocalDate runDateParam,
+            @Value("#{jobParameters['ledgerRetentionDays'] ?: null}") Long ledgerRetentionDaysParam,
+            @Value("#{jobParameters['deleteBatchSize'] ?: null}") Long deleteBatchSizeParam
+    ) {
+
+        LocalDate runDate = runDateParam != null ? runDateParam : LocalDate.now(clock);
+        int ledgerRetentionDays = ledgerRetentionDaysParam != null ? ledgerRetentionDaysParam.intValue() : DEFAULT_LEDGER_RETENTION_DAYS;
+        int deleteBatchSize = deleteBatchSizeParam != null ? deleteBatchSizeParam.intValue() : DEFAULT_DELETE_BATCH_SIZE;
+        LocalDateTime cutoff = runDate.minusDays(ledgerRetentionDays).atStartOfDay();
+
+        log.info("FCM 발송 원장 정리를 시작합니다. 기준 시각: {} 이전, 배치 크기: {}", cutoff, deleteBatchSize);
+
+        // 반복마다 별도 트랜잭션으로 한 배치씩 삭제한다.
+        return (contribution, chunkContext) -> {
+            int deletedCount = couponUsageStatsFcmSendLedgerJdbcRepository.deleteSentBefore(cutoff, deleteBatchSize);
+            contribution.incrementWriteCount(deletedCount);
+
+            return RepeatStatus.continueIf(deletedCount == deleteBatchSize);
+        };
+    }
+}
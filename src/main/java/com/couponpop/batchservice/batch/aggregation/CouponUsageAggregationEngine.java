@@ -0,0 +1,184 @@
+package com.couponpop.batchservice.batch.aggregation;
+
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsDto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * 한 회원의 (동, 시간대) 쿠폰 사용량을 원시 타입 배열에 누적해 최다 이용 동(top_dong)과 시간대(top_hour)를 계산합니다.
+ *
+ * <ul>
+ *     <li>동 이름은 {@link DongDictionary}로 int ID로 바꿔 저장합니다.</li>
+ *     <li>동마다 24칸 시간대 사용 횟수와 가장 최근 사용 시각(epoch second)을 유지합니다.</li>
+ * </ul>
+ *
+ * <p>Reader가 member_id 순 스트림을 회원 단위로 끊어 넣으므로 회원별 테이블 없이 한 회원의 사용량만 담습니다.
+ * 배열이 충분히 커진 뒤에는 {@link #add}가 객체를 할당하지 않고, {@link #clear()}는 배열을 유지한 채 내용만 비우므로
+ * 회원 단위로 재사용해도 GC 부담이 없습니다. 사용 시각은 초 단위로 비교하며, 원본 컬럼(DATETIME)의 정밀도와 같습니다.</p>
+ */
+public class CouponUsageAggregationEngine {
+
+    private static final int HOURS_OF_DAY = 24;
+    private static final int DEFAULT_CELL_CAPACITY = 16;
+    private static final int NONE = -1;
+    private static final long NEVER_USED = Long.MIN_VALUE;
+
+    private final DongDictionary dongDictionary;
+
+    private long usageCount;
+
+    // 동 셀별 값 (처음 추가된 순서)
+    private int[] cellDongIds;
+    private long[] cellUsageCounts;
+    private long[] cellLastUsedEpochSeconds;
+    private long[] hourUsageCounts;
+    private long[] hourLastUsedEpochSeconds;
+    private int cellCount;
+
+    public CouponUsageAggregationEngine() {
+        this(new DongDictionary());
+    }
+
+    public CouponUsageAggregationEngine(DongDictionary dongDictionary) {
+        this.dongDictionary = dongDictionary;
+        allocateCells(DEFAULT_CELL_CAPACITY);
+    }
+
+    public void add(String dong, int usageHour, long usageCount, LocalDateTime lastUsedAt) {
+        add(dong, usageHour, usageCount, lastUsedAt.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    public void add(String dong, int usageHour, long usageCount, long lastUsedEpochSecond) {
+
+        // 동 정보 없는 데이터는 제외
+        if (dong == null) {
+            return;
+        }
+
+        add(dongDictionary.idOf(dong), usageHour, usageCount, lastUsedEpochSecond);
+    }
+
+    public void add(int dongId, int usageHour, long usageCount, long lastUsedEpochSecond) {
+
+        int cell = findOrInsertCell(dongId);
+
+        this.usageCount += usageCount;
+        cellUsageCounts[cell] += usageCount;
+        cellLastUsedEpochSeconds[cell] = Math.max(cellLastUsedEpochSeconds[cell], lastUsedEpochSecond);
+
+        int hourSlot = cell * HOURS_OF_DAY + usageHour;
+        hourUsageCounts[hourSlot] += usageCount;
+        hourLastUsedEpochSeconds[hourSlot] = Math.max(hourLastUsedEpochSeconds[hourSlot], lastUsedEpochSecond);
+    }
+
+    /**
+     * 누적된 사용량으로 회원의 집계 결과를 만듭니다.
+     *
+     * @param memberId            회원 ID
+     * @param aggregatedAt        집계 기준일
+     * @param usageCountThreshold 집계 대상이 되기 위한 최소 사용 횟수
+     * @return 사용 이력이 없거나 사용 횟수가 기준에 못 미치면 빈 Optional
+     */
+    public Optional<CouponUsageStatsDto> aggregate(long memberId, LocalDate aggregatedAt, int usageCountThreshold) {
+
+        if (cellCount == 0 || usageCount < usageCountThreshold) {
+            return Optional.empty();
+        }
+
+        // 사용 횟수 → 최근 사용 시각 → 동 이름 순으로 비교해 가장 큰 동을 선택
+        int topCell = 0;
+        for (int cell = 1; cell < cellCount; cell++) {
+            if (compareCells(cell, topCell) > 0) {
+                topCell = cell;
+            }
+        }
+
+        return Optional.of(new CouponUsageStatsDto(memberId, dongDictionary.dongOf(cellDongIds[topCell]), topHour(topCell), aggregatedAt));
+    }
+
+    public void clear() {
+        usageCount = 0;
+        cellCount = 0;
+    }
+
+    private int compareCells(int cell, int otherCell) {
+
+        int result = Long.compare(cellUsageCounts[cell], cellUsageCounts[otherCell]);
+        if (result != 0) {
+            return result;
+        }
+
+        result = Long.compare(cellLastUsedEpochSeconds[cell], cellLastUsedEpochSeconds[otherCell]);
+        if (result != 0) {
+            return result;
+        }
+
+        return dongDictionary.dongOf(cellDongIds[cell]).compareTo(dongDictionary.dongOf(cellDongIds[otherCell]));
+    }
+
+    // 사용 횟수 → 최근 사용 시각 → 시간대 순으로 비교해 가장 큰 시간대를 선택
+    private int topHour(int cell) {
+
+        int base = cell * HOURS_OF_DAY;
+        int topHour = NONE;
+        for (int hour = 0; hour < HOURS_OF_DAY; hour++) {
+            long count = hourUsageCounts[base + hour];
+            if (count == 0) {
+                continue;
+            }
+
+            if (topHour == NONE
+                    || count > hourUsageCounts[base + topHour]
+                    || (count == hourUsageCounts[base + topHour]
+                    && hourLastUsedEpochSeconds[base + hour] >= hourLastUsedEpochSeconds[base + topHour])) {
+                topHour = hour;
+            }
+        }
+
+        return topHour;
+    }
+
+    // 한 회원이 이용한 동은 소수이므로 셀을 순회해 찾는다.
+    private int findOrInsertCell(int dongId) {
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (cellDongIds[cell] == dongId) {
+                return cell;
+            }
+        }
+
+        if (cellCount == cellDongIds.length) {
+            growCells(cellDongIds.length * 2);
+        }
+
+        int cell = cellCount++;
+        cellDongIds[cell] = dongId;
+        cellUsageCounts[cell] = 0;
+        cellLastUsedEpochSeconds[cell] = NEVER_USED;
+        int base = cell * HOURS_OF_DAY;
+        Arrays.fill(hourUsageCounts, base, base + HOURS_OF_DAY, 0L);
+        Arrays.fill(hourLastUsedEpochSeconds, base, base + HOURS_OF_DAY, NEVER_USED);
+
+        return cell;
+    }
+
+    private void allocateCells(int capacity) {
+        cellDongIds = new int[capacity];
+        cellUsageCounts = new long[capacity];
+        cellLastUsedEpochSeconds = new long[capacity];
+        hourUsageCounts = new long[capacity * HOURS_OF_DAY];
+        hourLastUsedEpochSeconds = new long[capacity * HOURS_OF_DAY];
+    }
+
+    private void growCells(int newCapacity) {
+        cellDongIds = Arrays.copyOf(cellDongIds, newCapacity);
+        cellUsageCounts = Arrays.copyOf(cellUsageCounts, newCapacity);
+        cellLastUsedEpochSeconds = Arrays.copyOf(cellLastUsedEpochSeconds, newCapacity);
+        hourUsageCounts = Arrays.copyOf(hourUsageCounts, newCapacity * HOURS_OF_DAY);
+        hourLastUsedEpochSeconds = Arrays.copyOf(hourLastUsedEpochSeconds, newCapacity * HOURS_OF_DAY);
+    }
+}
@@ -0,0 +1,38 @@
+package com.couponpop.batchservice.batch.aggregation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 동 이름을 0부터 시작하는 int ID로 사전 인코딩합니다.
+ * 동 종류는 회원 수에 비해 매우 적으므로 잡 실행 동안 누적해 재사용합니다.
+ */
+public class DongDictionary {
+
+    private final Map<String, Integer> idsByDong = new HashMap<>();
+    private final List<String> dongsById = new ArrayList<>();
+
+    public int idOf(String dong) {
+
+        Integer id = idsByDong.get(dong);
+        if (id != null) {
+            return id;
+        }
+
+        int newId = dongsById.size();
+        dongsById.add(dong);
+        idsByDong.put(dong, newId);
+
+        return newId;
+    }
+
+    public String dongOf(int id) {
+        return dongsById.get(id);
+    }
+
+    public int size() {
+        return dongsById.size();
+    }
+}
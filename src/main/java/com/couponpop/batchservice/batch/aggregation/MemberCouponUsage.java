@@ -0,0 +1,20 @@
+package com.couponpop.batchservice.batch.aggregation;
+
+import java.time.LocalDateTime;
+
+/**
+ * 회원의 (동, 시간대)별 쿠폰 사용량 한 건을 나타냅니다.
+ * 원본 쿠폰 사용 이력 한 행은 usageCount = 1 인 사용량으로 표현됩니다.
+ */
+public record MemberCouponUsage(
+        Long memberId,
+        String dong,
+        int usageHour,
+        long usageCount,
+        LocalDateTime lastUsedAt
+) {
+
+    public static MemberCouponUsage from(Long memberId, String dong, LocalDateTime usedAt) {
+        return new MemberCouponUsage(memberId, dong, usedAt.getHour(), 1L, usedAt);
+    }
+}
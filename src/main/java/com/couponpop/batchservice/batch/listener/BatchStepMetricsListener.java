@@ -0,0 +1,241 @@
+package com.couponpop.batchservice.batch.listener;
+
+import com.couponpop.batchservice.common.metrics.BatchMetricTags;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 청크 Step의 읽기/가공/쓰기 시간과 처리량을 청크 단위로 기록합니다.
+ *
+ * <ul>
+ *     <li>{@code batch.chunk}: 청크 하나의 전체 처리 시간. 성공/실패를 {@code outcome} 태그로 구분합니다.</li>
+ *     <li>{@code batch.chunk.phase}: 청크 안에서 읽기·가공·쓰기에 쓴 시간({@code phase} 태그).
+ *     가공 시간은 청크에서 가공이 한 번이라도 있었을 때만 기록하므로, 가공 리스너로 등록하지 않은 Step은 0을 남기지 않습니다.</li>
+ *     <li>{@code batch.chunk.items}: 읽은/쓴 아이템 수({@code phase} 태그). 초당 처리량은 rate()로 봅니다.</li>
+ *     <li>{@code batch.chunk.throughput}: 청크별 초당 쓰기 아이템 수.</li>
+ * </ul>
+ *
+ * <p>아이템마다 하는 일은 시각을 재서 스레드 로컬 합계에 더하는 것뿐이고, 지표 기록은 청크가 끝날 때 한 번 합니다.
+ * Step 인스턴스 간 공유되는 싱글턴이므로 파티션 워커처럼 여러 스레드에서 동시에 실행돼도 스레드별로 따로 집계합니다.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchStepMetricsListener implements ChunkListener,
+        ItemReadListener<Object>, ItemProcessListener<Object, Object>, ItemWriteListener<Object> {
+
+    private static final String METRIC_PREFIX = "batch.chunk";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Tags, ChunkMeters> metersByStep = new ConcurrentHashMap<>();
+    private final ThreadLocal<ChunkState> chunkState = ThreadLocal.withInitial(ChunkState::new);
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        StepContext stepContext = context.getStepContext();
+        Tags tags = BatchMetricTags.of(stepContext.getJobName(), stepContext.getStepName());
+        chunkState.get().start(metersByStep.computeIfAbsent(tags, this::createMeters), System.nanoTime());
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        finishChunk(ChunkMeters::succeeded);
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        finishChunk(ChunkMeters::failed);
+    }
+
+    @Override
+    public void beforeRead() {
+        chunkState.get().readStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void afterRead(Object item) {
+        ChunkState state = chunkState.get();
+        state.endRead(System.nanoTime());
+        state.readCount++;
+    }
+
+    @Override
+    public void onReadError(Exception ex) {
+        chunkState.get().endRead(System.nanoTime());
+    }
+
+    @Override
+    public void beforeProcess(Object item) {
+        ChunkState state = chunkState.get();
+        state.processStartedAt = System.nanoTime();
+        state.processed = true;
+    }
+
+    @Override
+    public void afterProcess(Object item, Object result) {
+        chunkState.get().endProcess(System.nanoTime());
+    }
+
+    @Override
+    public void onProcessError(Object item, Exception e) {
+        chunkState.get().endProcess(System.nanoTime());
+    }
+
+    @Override
+    public void beforeWrite(Chunk<?> items) {
+        chunkState.get().writeStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void afterWrite(Chunk<?> items) {
+        ChunkState state = chunkState.get();
+        state.endWrite(System.nanoTime());
+        state.writeCount += items.size();
+    }
+
+    @Override
+    public void onWriteError(Exception exception, Chunk<?> items) {
+        chunkState.get().endWrite(System.nanoTime());
+    }
+
+    private void finishChunk(Function<ChunkMeters, Timer> outcome) {
+
+        ChunkState state = chunkState.get();
+        if (state.meters == null) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        // 마지막 read()가 null을 돌려주면 afterRead가 불리지 않으므로 남은 읽기 시간을 여기서 더한다.
+        state.endRead(now);
+
+        ChunkMeters meters = state.meters;
+        long elapsedNanos = now - state.startedAt;
+        outcome.apply(meters).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        meters.read.record(state.readNanos, TimeUnit.NANOSECONDS);
+        if (state.processed) {
+            meters.process.record(state.processNanos, TimeUnit.NANOSECONDS);
+        }
+        meters.write.record(state.writeNanos, TimeUnit.NANOSECONDS);
+        meters.readItems.increment(state.readCount);
+        meters.writtenItems.increment(state.writeCount);
+        if (state.writeCount > 0 && elapsedNanos > 0) {
+            meters.throughput.record(state.writeCount * 1_000_000_000.0 / elapsedNanos);
+        }
+
+        state.meters = null;
+    }
+
+    private ChunkMeters createMeters(Tags tags) {
+        return new ChunkMeters(
+                chunkTimer(tags, "success"),
+                chunkTimer(tags, "failure"),
+                phaseTimer(tags, "read"),
+                phaseTimer(tags, "process"),
+                phaseTimer(tags, "write"),
+                itemCounter(tags, "read"),
+                itemCounter(tags, "write"),
+                DistributionSummary.builder(METRIC_PREFIX + ".throughput")
+                        .baseUnit("items/s")
+                        .tags(tags)
+                        .register(meterRegistry)
+        );
+    }
+
+    private Timer chunkTimer(Tags tags, String outcome) {
+        return Timer.builder(METRIC_PREFIX)
+                .tags(tags)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Timer phaseTimer(Tags tags, String phase) {
+        return Timer.builder(METRIC_PREFIX + ".phase")
+                .tags(tags)
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    private Counter itemCounter(Tags tags, String phase) {
+        return Counter.builder(METRIC_PREFIX + ".items")
+                .tags(tags)
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    private record ChunkMeters(
+            Timer succeeded,
+            Timer failed,
+            Timer read,
+            Timer process,
+            Timer write,
+            Counter readItems,
+            Counter writtenItems,
+            DistributionSummary throughput
+    ) {
+    }
+
+    /**
+     * 현재 스레드에서 진행 중인 청크의 단계별 누적 시간입니다. 시작 시각이 0이면 해당 단계가 진행 중이 아닙니다.
+     */
+    private static class ChunkState {
+
+        private ChunkMeters meters;
+        private long startedAt;
+        private long readStartedAt;
+        private long processStartedAt;
+        private long writeStartedAt;
+        private long readNanos;
+        private long processNanos;
+        private long writeNanos;
+        private long readCount;
+        private long writeCount;
+        private boolean processed;
+
+        void start(ChunkMeters meters, long now) {
+            this.meters = meters;
+            this.startedAt = now;
+            readStartedAt = processStartedAt = writeStartedAt = 0;
+            readNanos = processNanos = writeNanos = 0;
+            readCount = writeCount = 0;
+            processed = false;
+        }
+
+        void endRead(long now) {
+            if (readStartedAt != 0) {
+                readNanos += now - readStartedAt;
+                readStartedAt = 0;
+            }
+        }
+
+        void endProcess(long now) {
+            if (processStartedAt != 0) {
+                processNanos += now - processStartedAt;
+                processStartedAt = 0;
+            }
+        }
+
+        void endWrite(long now) {
+            if (writeStartedAt != 0) {
+                writeNanos += now - writeStartedAt;
+                writeStartedAt = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.couponpop.batchservice.batch.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+
+/**
+ * 보존 기간 정리 Step이 보관 후 삭제한 행 수를 로그와 잡 ExecutionContext에 남깁니다.
+ */
+@Slf4j
+public class CouponUsageStatsRetentionReportListener implements StepExecutionListener {
+
+    public static final String RECLAIMED_ROWS_KEY = "reclaimedRows";
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+
+        long reclaimedRows = stepExecution.getWriteCount();
+        stepExecution.getJobExecution().getExecutionContext().putLong(RECLAIMED_ROWS_KEY, reclaimedRows);
+
+        log.info("쿠폰 사용 통계 보존 기간 정리를 마쳤습니다. 보관 후 삭제한 행: {}건, 삭제 배치: {}회, 상태: {}",
+                reclaimedRows, stepExecution.getReadCount(), stepExecution.getStatus());
+
+        return stepExecution.getExitStatus();
+    }
+}
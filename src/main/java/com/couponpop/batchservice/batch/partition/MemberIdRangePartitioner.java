@@ -0,0 +1,72 @@
+package com.couponpop.batchservice.batch.partition;
+
+import com.couponpop.batchservice.domain.couponusagestats.dto.MemberIdRangeDto;
+import com.couponpop.batchservice.domain.couponusagestats.repository.CouponUsageDailyRollupJdbcRepository;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 집계 기간 롤업의 가장 작은/큰 member_id 사이를 파티션 수만큼 연속된 구간으로 나눕니다.
+ * 한 회원은 항상 하나의 파티션에만 속하므로 파티션 수와 관계없이 회원별 집계 결과가 같고,
+ * 파티션 Reader는 {@code member_id BETWEEN ? AND ?}로 (member_id, rollup_date) 인덱스 범위만 읽습니다.
+ *
+ * <p>파티션 이름이 파티션 번호로 고정되고 재시작 시에는 저장된 구간을 그대로 쓰므로, 실패한 파티션만 같은 구간으로 이어서 실행됩니다.
+ * 구간보다 파티션이 많거나 기간에 롤업이 없으면 남는 파티션은 빈 구간을 받습니다.</p>
+ */
+public class MemberIdRangePartitioner implements Partitioner {
+
+    public static final String MIN_MEMBER_ID_KEY = "minMemberId";
+    public static final String MAX_MEMBER_ID_KEY = "maxMemberId";
+    private static final String PARTITION_NAME_PREFIX = "partition";
+
+    private final CouponUsageDailyRollupJdbcRepository couponUsageDailyRollupJdbcRepository;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final int partitionCount;
+
+    public MemberIdRangePartitioner(CouponUsageDailyRollupJdbcRepository couponUsageDailyRollupJdbcRepository,
+                                    LocalDate from,
+                                    LocalDate to,
+                                    int partitionCount) {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("partitionCount는 1 이상이어야 합니다. partitionCount: " + partitionCount);
+        }
+        this.couponUsageDailyRollupJdbcRepository = couponUsageDailyRollupJdbcRepository;
+        this.from = from;
+        this.to = to;
+        this.partitionCount = partitionCount;
+    }
+
+    /**
+     * TaskExecutorPartitionHandler가 넘기는 gridSize 대신 잡 파라미터로 받은 파티션 수를 사용합니다.
+     */
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+
+        // 롤업이 없으면 모든 파티션이 빈 구간(min > max)을 받는다.
+        MemberIdRangeDto memberIdRange = couponUsageDailyRollupJdbcRepository.findMemberIdRange(from, to)
+                .orElse(new MemberIdRangeDto(1L, 0L));
+
+        long minMemberId = memberIdRange.minMemberId();
+        long maxMemberId = memberIdRange.maxMemberId();
+        long rangeSize = Math.max(0L, maxMemberId - minMemberId + 1);
+        long partitionSize = Math.max(1L, (rangeSize + partitionCount - 1) / partitionCount);
+
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        for (int partitionIndex = 0; partitionIndex < partitionCount; partitionIndex++) {
+            long partitionMin = minMemberId + partitionIndex * partitionSize;
+            long partitionMax = Math.min(maxMemberId, partitionMin + partitionSize - 1);
+
+            ExecutionContext executionContext = new ExecutionContext();
+            executionContext.putLong(MIN_MEMBER_ID_KEY, partitionMin);
+            executionContext.putLong(MAX_MEMBER_ID_KEY, partitionMax);
+            partitions.put(PARTITION_NAME_PREFIX + partitionIndex, executionContext);
+        }
+
+        return partitions;
+    }
+}
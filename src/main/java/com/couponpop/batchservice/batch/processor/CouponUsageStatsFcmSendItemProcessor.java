@@ -0,0 +1,80 @@
+package com.couponpop.batchservice.batch.processor;
+
+import com.couponpop.batchservice.common.metrics.BatchMetricTags;
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsDto;
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsFcmSendItem;
+import com.couponpop.batchservice.domain.coupon.dto.FcmSendRun;
+import com.couponpop.batchservice.domain.coupon.service.CouponUsageStatsFcmSendService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.item.ItemProcessor;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 발송 대상 회원마다 topDong에서 진행 중인 쿠폰 이벤트 개수를 붙여 발송 아이템을 만듭니다.
+ *
+ * <p>청크는 모두 읽은 뒤에 처리되므로, 읽은 회원의 topDong 중 아직 모르는 동을 모아 두었다가
+ * 청크의 첫 아이템을 처리하기 직전에 {@link CouponUsageStatsFcmSendService#countActiveCouponEvents}로 한 번에 조회합니다.
+ * 이 조회는 Step 스레드에서 {@link AsyncItemProcessor}가 아이템을 처리 스레드로 넘기기 전에 끝나므로, 처리 스레드는 메모한 값만 읽습니다.</p>
+ *
+ * <p>회원 한 명을 처리하는 데 걸린 시간은 처리 스레드에서 {@code batch.fcm.send.process}로 기록합니다.
+ * {@link AsyncItemProcessor}를 쓰면 Step의 가공 단계 리스너는 작업을 넘기는 시간만 재므로, 실제 처리 비용은 이 지표로 봅니다.</p>
+ *
+ * <p>Step 실행마다 메모를 따로 가져야 하므로 {@code @StepScope} 빈으로 등록하고, Step에 ItemReadListener·ItemProcessListener로도 등록합니다.
+ * 리스너로 등록하지 않으면 동마다 처음 만난 아이템에서 따로 조회합니다.</p>
+ */
+@RequiredArgsConstructor
+public class CouponUsageStatsFcmSendItemProcessor implements ItemProcessor<CouponUsageStatsDto, CouponUsageStatsFcmSendItem>,
+        ItemReadListener<CouponUsageStatsDto>, ItemProcessListener<CouponUsageStatsDto, Object> {
+
+    private final CouponUsageStatsFcmSendService couponUsageStatsFcmSendService;
+    private final LocalDateTime referenceTime;
+    private final FcmSendRun run;
+    private final MeterRegistry meterRegistry;
+
+    // Step 실행 동안 동별 이벤트 개수를 공유한다. 처리 스레드에서도 읽으므로 ConcurrentHashMap을 쓴다.
+    private final Map<String, CompletableFuture<Integer>> activeEventCountByDong = new ConcurrentHashMap<>();
+
+    // 읽었지만 아직 개수를 조회하지 않은 동. 읽기와 처리 전 콜백은 Step 스레드에서만 호출된다.
+    private final Set<String> uncountedDongs = new LinkedHashSet<>();
+
+    @Override
+    public void afterRead(CouponUsageStatsDto item) {
+        if (!activeEventCountByDong.containsKey(item.topDong())) {
+            uncountedDongs.add(item.topDong());
+        }
+    }
+
+    @Override
+    public void beforeProcess(CouponUsageStatsDto item) {
+
+        if (uncountedDongs.isEmpty()) {
+            return;
+        }
+
+        try {
+            couponUsageStatsFcmSendService.countActiveCouponEvents(List.copyOf(uncountedDongs), referenceTime, activeEventCountByDong);
+        } finally {
+            uncountedDongs.clear();
+        }
+    }
+
+    @Override
+    public CouponUsageStatsFcmSendItem process(CouponUsageStatsDto item) {
+        Timer processTimer = Timer.builder("batch.fcm.send.process")
+                .tags(BatchMetricTags.current())
+                .register(meterRegistry);
+        return processTimer.record(() -> couponUsageStatsFcmSendService.enrich(item, referenceTime, run, activeEventCountByDong));
+    }
+}
@@ -0,0 +1,138 @@
+package com.couponpop.batchservice.batch.reader;
+
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsDto;
+import com.couponpop.batchservice.domain.couponusagestats.audience.AudienceDimension;
+import com.couponpop.batchservice.domain.couponusagestats.repository.CouponUsageAudienceBitmapJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 집계 잡이 저장한 발송 대상 비트맵으로 대상 시간대의 회원을 읽습니다. 통계 테이블은 조회하지 않습니다.
+ *
+ * <ul>
+ *     <li>집계 날짜를 최근 순으로 보며 시간대 비트맵에서 더 최근 날짜에 이미 결과가 있는 회원을 빼므로, 회원마다 최신 결과 하나만 남습니다.</li>
+ *     <li>남은 회원을 동 비트맵과 교집합해 (동, 집계 날짜) 묶음으로 나누고, 동 이름 순 → 묶음 안에서 member_id 순으로 반환합니다.</li>
+ *     <li>대상 시간대 회원이 없으면 동 비트맵도 읽지 않고 바로 끝납니다.</li>
+ * </ul>
+ *
+ * <p>반환 순서가 비트맵만으로 정해지므로, 재시작 시에는 읽은 건수만큼 건너뛰어 이어 읽습니다.</p>
+ */
+@Slf4j
+public class CouponUsageAudienceItemReader extends AbstractItemCountingItemStreamItemReader<CouponUsageStatsDto> {
+
+    private final CouponUsageAudienceBitmapJdbcRepository couponUsageAudienceBitmapJdbcRepository;
+    private final List<LocalDate> aggregatedAts;
+    private final int targetHour;
+
+    private Iterator<AudienceSegment> segments;
+    private AudienceSegment segment;
+    private LongIterator memberIds;
+
+    /**
+     * @param aggregatedAts 비트맵을 읽을 집계 날짜. 최근 날짜부터 정렬되어 있어야 합니다.
+     */
+    public CouponUsageAudienceItemReader(CouponUsageAudienceBitmapJdbcRepository couponUsageAudienceBitmapJdbcRepository,
+                                         List<LocalDate> aggregatedAts,
+                                         int targetHour) {
+        this.couponUsageAudienceBitmapJdbcRepository = couponUsageAudienceBitmapJdbcRepository;
+        this.aggregatedAts = List.copyOf(aggregatedAts);
+        this.targetHour = targetHour;
+        setName("couponUsageAudienceReader");
+    }
+
+    @Override
+    protected void doOpen() {
+
+        Map<LocalDate, Roaring64NavigableMap> hourBitmaps = couponUsageAudienceBitmapJdbcRepository.findBitmaps(aggregatedAts, AudienceDimension.HOUR, String.valueOf(targetHour));
+        if (hourBitmaps.isEmpty()) {
+            log.info("{}시 발송 대상 비트맵이 비어 있어 읽을 회원이 없습니다. 집계 날짜: {}", targetHour, aggregatedAts);
+            segments = List.<AudienceSegment>of().iterator();
+            return;
+        }
+
+        Map<LocalDate, Roaring64NavigableMap> memberBitmaps = couponUsageAudienceBitmapJdbcRepository.findBitmaps(aggregatedAts, AudienceDimension.MEMBER, AudienceDimension.ALL_MEMBERS);
+
+        // 최근 날짜부터 보며, 더 최근 날짜에 결과가 있는 회원은 예전 날짜의 시간대 비트맵에서 뺀다.
+        Map<LocalDate, Roaring64NavigableMap> cohortByAggregatedAt = new LinkedHashMap<>();
+        Roaring64NavigableMap newerMembers = new Roaring64NavigableMap();
+        for (LocalDate aggregatedAt : aggregatedAts) {
+            Roaring64NavigableMap cohort = hourBitmaps.get(aggregatedAt);
+            if (cohort != null) {
+                cohort.andNot(newerMembers);
+                if (!cohort.isEmpty()) {
+                    cohortByAggregatedAt.put(aggregatedAt, cohort);
+                }
+            }
+
+            Roaring64NavigableMap members = memberBitmaps.get(aggregatedAt);
+            if (members != null) {
+                newerMembers.or(members);
+            }
+        }
+
+        if (cohortByAggregatedAt.isEmpty()) {
+            log.info("{}시 발송 대상 회원이 모두 더 최근 결과로 바뀌어 읽을 회원이 없습니다. 집계 날짜: {}", targetHour, aggregatedAts);
+            segments = List.<AudienceSegment>of().iterator();
+            return;
+        }
+
+        Map<LocalDate, Map<String, Roaring64NavigableMap>> dongBitmaps = couponUsageAudienceBitmapJdbcRepository.findDongBitmaps(cohortByAggregatedAt.keySet());
+        TreeSet<String> dongs = new TreeSet<>();
+        dongBitmaps.values().forEach(bitmapsByDong -> dongs.addAll(bitmapsByDong.keySet()));
+
+        List<AudienceSegment> audienceSegments = new ArrayList<>();
+        long cohortSize = 0;
+        for (String dong : dongs) {
+            for (Map.Entry<LocalDate, Roaring64NavigableMap> cohort : cohortByAggregatedAt.entrySet()) {
+                Roaring64NavigableMap dongBitmap = dongBitmaps.getOrDefault(cohort.getKey(), Map.of()).get(dong);
+                if (dongBitmap == null) {
+                    continue;
+                }
+
+                // 동 비트맵은 이 Reader만 쓰므로 새로 만들지 않고 교집합 결과로 바꿔 쓴다.
+                dongBitmap.and(cohort.getValue());
+                if (!dongBitmap.isEmpty()) {
+                    audienceSegments.add(new AudienceSegment(dong, cohort.getKey(), dongBitmap));
+                    cohortSize += dongBitmap.getLongCardinality();
+                }
+            }
+        }
+
+        log.info("{}시 발송 대상 {}명을 비트맵에서 읽습니다. 집계 날짜: {}, 묶음 수: {}", targetHour, cohortSize, cohortByAggregatedAt.keySet(), audienceSegments.size());
+        segments = audienceSegments.iterator();
+    }
+
+    @Override
+    protected CouponUsageStatsDto doRead() {
+
+        while (memberIds == null || !memberIds.hasNext()) {
+            if (!segments.hasNext()) {
+                return null;
+            }
+            segment = segments.next();
+            memberIds = segment.members().getLongIterator();
+        }
+
+        return new CouponUsageStatsDto(memberIds.next(), segment.dong(), targetHour, segment.aggregatedAt());
+    }
+
+    @Override
+    protected void doClose() {
+        segments = null;
+        segment = null;
+        memberIds = null;
+    }
+
+    private record AudienceSegment(String dong, LocalDate aggregatedAt, Roaring64NavigableMap members) {
+    }
+}
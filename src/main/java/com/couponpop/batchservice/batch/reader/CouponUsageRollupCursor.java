@@ -0,0 +1,37 @@
+package com.couponpop.batchservice.batch.reader;
+
+import java.sql.SQLException;
+
+/**
+ * member_id 순으로 정렬된 일 단위 롤업 행을 앞으로만 읽는 커서입니다.
+ * 행마다 객체를 만들지 않도록 {@link #next()}로 이동한 현재 행의 컬럼 값을 원시 타입으로 바로 꺼냅니다.
+ */
+public interface CouponUsageRollupCursor {
+
+    void open() throws SQLException;
+
+    /**
+     * 다음 행으로 이동합니다.
+     *
+     * @return 더 읽을 행이 없으면 false
+     */
+    boolean next() throws SQLException;
+
+    long memberId() throws SQLException;
+
+    /**
+     * @return 동 정보가 없으면 null
+     */
+    String dong() throws SQLException;
+
+    int usageHour() throws SQLException;
+
+    long usageCount() throws SQLException;
+
+    /**
+     * @return 가장 최근 사용 시각. UTC 기준 epoch second로 환산한 값입니다.
+     */
+    long lastUsedEpochSecond() throws SQLException;
+
+    void close() throws SQLException;
+}
@@ -0,0 +1,88 @@
+package com.couponpop.batchservice.batch.reader;
+
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 롤업 조회 결과를 JDBC ResultSet으로 스트리밍하는 {@link CouponUsageRollupCursor}입니다.
+ *
+ * <p>쿼리는 member_id, dong, usage_hour, usage_count, last_used_epoch_second 컬럼을 member_id 순으로 반환해야 합니다.
+ * JdbcCursorItemReader와 같이 청크 트랜잭션과 분리된 전용 커넥션을 사용합니다.</p>
+ */
+public class JdbcCouponUsageRollupCursor implements CouponUsageRollupCursor {
+
+    private final DataSource dataSource;
+    private final String sql;
+    private final PreparedStatementSetter preparedStatementSetter;
+    private final int fetchSize;
+
+    private Connection connection;
+    private PreparedStatement preparedStatement;
+    private ResultSet resultSet;
+
+    public JdbcCouponUsageRollupCursor(DataSource dataSource,
+                                       String sql,
+                                       PreparedStatementSetter preparedStatementSetter,
+                                       int fetchSize) {
+        this.dataSource = dataSource;
+        this.sql = sql;
+        this.preparedStatementSetter = preparedStatementSetter;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void open() throws SQLException {
+
+        connection = dataSource.getConnection();
+        preparedStatement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        preparedStatement.setFetchSize(fetchSize);
+        preparedStatementSetter.setValues(preparedStatement);
+        resultSet = preparedStatement.executeQuery();
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        return resultSet.next();
+    }
+
+    @Override
+    public long memberId() throws SQLException {
+        return resultSet.getLong("member_id");
+    }
+
+    @Override
+    public String dong() throws SQLException {
+        return resultSet.getString("dong");
+    }
+
+    @Override
+    public int usageHour() throws SQLException {
+        return resultSet.getInt("usage_hour");
+    }
+
+    @Override
+    public long usageCount() throws SQLException {
+        return resultSet.getLong("usage_count");
+    }
+
+    @Override
+    public long lastUsedEpochSecond() throws SQLException {
+        return resultSet.getLong("last_used_epoch_second");
+    }
+
+    @Override
+    public void close() {
+        JdbcUtils.closeResultSet(resultSet);
+        JdbcUtils.closeStatement(preparedStatement);
+        JdbcUtils.closeConnection(connection);
+        resultSet = null;
+        preparedStatement = null;
+        connection = null;
+    }
+}
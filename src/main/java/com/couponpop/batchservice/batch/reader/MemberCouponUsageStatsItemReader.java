@@ -0,0 +1,120 @@
+package com.couponpop.batchservice.batch.reader;
+
+import com.couponpop.batchservice.batch.aggregation.CouponUsageAggregationEngine;
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsDto;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamSupport;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * member_id 순으로 정렬된 롤업 커서를 회원 단위로 접어 회원당 하나의 {@link CouponUsageStatsDto}를 반환합니다.
+ * 한 번에 한 회원의 사용량만 메모리에 유지하므로 전체 이력 규모와 무관하게 일정한 메모리로 동작합니다.
+ * 커서의 컬럼 값을 집계 엔진에 바로 넣고 엔진은 회원마다 비우고 재사용하므로, 행 단위로 객체를 만들지 않습니다.
+ *
+ * <p>다음 회원의 첫 행까지 읽은 뒤 회원을 끝내므로, 실행 컨텍스트에는 반환한 회원까지 소비한 행 수를 저장합니다.
+ * 재시작 시에는 그만큼 커서를 건너뛰어 회원 경계에서 정확히 이어서 읽습니다.</p>
+ */
+public class MemberCouponUsageStatsItemReader extends ItemStreamSupport implements ItemStreamReader<CouponUsageStatsDto> {
+
+    private static final String CONSUMED_ROW_COUNT_KEY = "consumed.row.count";
+
+    private final CouponUsageRollupCursor cursor;
+    private final LocalDate aggregatedAt;
+    private final int usageCountThreshold;
+    private final CouponUsageAggregationEngine aggregationEngine = new CouponUsageAggregationEngine();
+
+    // 커서가 가리키는 행을 아직 집계하지 않았으면 true (다음 회원의 첫 행)
+    private boolean hasPendingRow;
+    private boolean exhausted;
+    private long consumedRowCount;
+
+    public MemberCouponUsageStatsItemReader(CouponUsageRollupCursor cursor,
+                                            LocalDate aggregatedAt,
+                                            int usageCountThreshold) {
+        this.cursor = cursor;
+        this.aggregatedAt = aggregatedAt;
+        this.usageCountThreshold = usageCountThreshold;
+        setName("memberCouponUsageStatsReader");
+    }
+
+    @Override
+    public CouponUsageStatsDto read() throws Exception {
+
+        while (advance()) {
+            long memberId = cursor.memberId();
+
+            aggregationEngine.clear();
+            do {
+                aggregationEngine.add(cursor.dong(), cursor.usageHour(), cursor.usageCount(), cursor.lastUsedEpochSecond());
+                consumedRowCount++;
+                hasPendingRow = false;
+            } while (advance() && cursor.memberId() == memberId);
+
+            // 사용 횟수 기준 미달 회원은 건너뛰고 다음 회원을 집계
+            Optional<CouponUsageStatsDto> result = aggregationEngine.aggregate(memberId, aggregatedAt, usageCountThreshold);
+            if (result.isPresent()) {
+                return result.get();
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+
+        super.open(executionContext);
+        hasPendingRow = false;
+        exhausted = false;
+        consumedRowCount = 0;
+
+        try {
+            cursor.open();
+
+            // 이미 반영된 회원의 행은 집계 없이 건너뛴다.
+            long rowsToSkip = executionContext.getLong(getExecutionContextKey(CONSUMED_ROW_COUNT_KEY), 0L);
+            while (consumedRowCount < rowsToSkip && cursor.next()) {
+                consumedRowCount++;
+            }
+        } catch (SQLException e) {
+            throw new ItemStreamException("롤업 커서를 열지 못했습니다.", e);
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        super.update(executionContext);
+        executionContext.putLong(getExecutionContextKey(CONSUMED_ROW_COUNT_KEY), consumedRowCount);
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+
+        super.close();
+        try {
+            cursor.close();
+        } catch (SQLException e) {
+            throw new ItemStreamException("롤업 커서를 닫지 못했습니다.", e);
+        }
+    }
+
+    // 아직 집계하지 않은 행이 있으면 그대로 두고, 없으면 커서를 다음 행으로 옮긴다.
+    private boolean advance() throws SQLException {
+
+        if (hasPendingRow) {
+            return true;
+        }
+        if (exhausted) {
+            return false;
+        }
+
+        hasPendingRow = cursor.next();
+        exhausted = !hasPendingRow;
+        return hasPendingRow;
+    }
+}
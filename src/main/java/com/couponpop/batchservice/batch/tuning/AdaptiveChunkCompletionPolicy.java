@@ -0,0 +1,136 @@
+package com.couponpop.batchservice.batch.tuning;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 직전 청크의 처리량과 커밋까지 걸린 시간으로 다음 청크 크기를 정하는 CompletionPolicy입니다.
+ *
+ * <p>아이템 하나당 처리 시간을 지수 이동 평균으로 추정해 목표 커밋 시간 안에 끝날 만큼의 크기를 고릅니다.
+ * 한 번에 두 배 이상 바뀌지 않도록 제한하고, 청크가 실패하면 절반으로 줄입니다.
+ * 설정은 Step 시작 시 {@link ChunkSizeSettingsRegistry}에서 읽으므로 실행 중 덮어쓴 값은 다음 실행부터 적용됩니다.</p>
+ *
+ * <p>Step 실행마다 상태를 따로 가져야 하므로 {@code @StepScope} 빈으로 등록하고, Step에 ChunkListener·StepExecutionListener로도 등록합니다.
+ * 고른 청크 크기는 Step ExecutionContext에 남겨 실행 간 비교할 수 있게 합니다.</p>
+ */
+@Slf4j
+public class AdaptiveChunkCompletionPolicy extends SimpleCompletionPolicy implements ChunkListener, StepExecutionListener {
+
+    public static final String INITIAL_SIZE_KEY = "adaptiveChunk.initialSize";
+    public static final String FINAL_SIZE_KEY = "adaptiveChunk.finalSize";
+    public static final String SMALLEST_SIZE_KEY = "adaptiveChunk.smallestSize";
+    public static final String LARGEST_SIZE_KEY = "adaptiveChunk.largestSize";
+    public static final String AVERAGE_SIZE_KEY = "adaptiveChunk.averageSize";
+    public static final String CHUNK_COUNT_KEY = "adaptiveChunk.chunkCount";
+    public static final String SETTINGS_KEY = "adaptiveChunk.settings";
+
+    private static final double SMOOTHING = 0.3;
+
+    private final ChunkSizeSettingsRegistry chunkSizeSettingsRegistry;
+    private final String settingsName;
+    private final LongSupplier nanoClock;
+
+    private ChunkSizeSettings settings;
+    private double nanosPerItem;
+    private long chunkStartedAt;
+    private long readCountAtChunkStart;
+    private int chunkCount;
+    private int smallestSize;
+    private int largestSize;
+    private long sizeSum;
+
+    public AdaptiveChunkCompletionPolicy(ChunkSizeSettingsRegistry chunkSizeSettingsRegistry, String settingsName) {
+        this(chunkSizeSettingsRegistry, settingsName, System::nanoTime);
+    }
+
+    AdaptiveChunkCompletionPolicy(ChunkSizeSettingsRegistry chunkSizeSettingsRegistry, String settingsName, LongSupplier nanoClock) {
+        this.chunkSizeSettingsRegistry = chunkSizeSettingsRegistry;
+        this.settingsName = settingsName;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+
+        settings = chunkSizeSettingsRegistry.settings(settingsName);
+        nanosPerItem = Double.NaN;
+        chunkCount = 0;
+        smallestSize = Integer.MAX_VALUE;
+        largestSize = 0;
+        sizeSum = 0;
+        setChunkSize(settings.initialSize());
+
+        stepExecution.getExecutionContext().putInt(INITIAL_SIZE_KEY, settings.initialSize());
+        stepExecution.getExecutionContext().putString(SETTINGS_KEY, settings.toString());
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        chunkStartedAt = nanoClock.getAsLong();
+        readCountAtChunkStart = context.getStepContext().getStepExecution().getReadCount();
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+
+        long elapsedNanos = nanoClock.getAsLong() - chunkStartedAt;
+        long items = context.getStepContext().getStepExecution().getReadCount() - readCountAtChunkStart;
+        if (items <= 0) {
+            return;
+        }
+
+        record(getChunkSize());
+
+        double observedNanosPerItem = (double) elapsedNanos / items;
+        nanosPerItem = Double.isNaN(nanosPerItem)
+                ? observedNanosPerItem
+                : SMOOTHING * observedNanosPerItem + (1 - SMOOTHING) * nanosPerItem;
+
+        int chunkSize = getChunkSize();
+        int latencyBasedSize = (int) Math.min(Integer.MAX_VALUE, settings.targetCommitLatency().toNanos() / Math.max(nanosPerItem, 1.0));
+        int nextSize = Math.max(chunkSize / 2, Math.min(chunkSize * 2, latencyBasedSize));
+        setChunkSize(clamp(nextSize));
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        setChunkSize(clamp(getChunkSize() / 2));
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        executionContext.putInt(FINAL_SIZE_KEY, getChunkSize());
+        executionContext.putInt(CHUNK_COUNT_KEY, chunkCount);
+        if (chunkCount > 0) {
+            executionContext.putInt(SMALLEST_SIZE_KEY, smallestSize);
+            executionContext.putInt(LARGEST_SIZE_KEY, largestSize);
+            executionContext.putLong(AVERAGE_SIZE_KEY, sizeSum / chunkCount);
+        }
+
+        log.info("{} 청크 크기 조정 결과 - 시작: {}, 최소: {}, 최대: {}, 마지막: {}, 청크 수: {}",
+                stepExecution.getStepName(), settings.initialSize(), chunkCount > 0 ? smallestSize : 0, largestSize, getChunkSize(), chunkCount);
+
+        return stepExecution.getExitStatus();
+    }
+
+    private void record(int chunkSize) {
+        chunkCount++;
+        smallestSize = Math.min(smallestSize, chunkSize);
+        largestSize = Math.max(largestSize, chunkSize);
+        sizeSum += chunkSize;
+    }
+
+    private int clamp(int size) {
+        return Math.max(settings.minSize(), Math.min(settings.maxSize(), size));
+    }
+}
@@ -0,0 +1,110 @@
+package com.couponpop.batchservice.batch.tuning;
+
+import com.couponpop.batchservice.batch.tuning.BatchTuningEndpoint.BatchTuningSettings;
+import com.couponpop.batchservice.common.exception.CommonErrorCode;
+import com.couponpop.batchservice.common.exception.GlobalException;
+import com.couponpop.batchservice.common.response.ApiErrorResponse;
+import com.couponpop.batchservice.domain.store.directory.StoreRegionFetchSettings;
+import com.couponpop.batchservice.domain.store.directory.StoreRegionFetcher;
+import com.couponpop.security.annotation.CurrentMember;
+import com.couponpop.security.dto.AuthMember;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * 청크 크기, 매장 동 정보 Feign 배치 크기, 동시 요청 수를 재배포 없이 조회하고 덮어쓰는 관리자 API입니다.
+ *
+ * <ul>
+ *     <li>{@code GET /api/v1/batch-tuning}: 현재 적용 중인 설정 조회</li>
+ *     <li>{@code PATCH /api/v1/batch-tuning}: 값이 주어진 항목만 덮어쓰기. 청크 설정은 {@code step}을 함께 지정</li>
+ *     <li>{@code DELETE /api/v1/batch-tuning}: 덮어쓴 값을 모두 설정 파일 기본값으로 되돌림</li>
+ * </ul>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class BatchTuningController {
+
+    private final BatchTuningEndpoint batchTuningEndpoint;
+    private final ChunkSizeSettingsRegistry chunkSizeSettingsRegistry;
+    private final StoreRegionFetcher storeRegionFetcher;
+
+    @GetMapping("/v1/batch-tuning")
+    public ResponseEntity<BatchTuningSettings> getBatchTuningSettings(@CurrentMember AuthMember authMember) {
+
+        validateAdmin(authMember);
+
+        return ResponseEntity.ok(batchTuningEndpoint.settings());
+    }
+
+    @PatchMapping("/v1/batch-tuning")
+    public ResponseEntity<BatchTuningSettings> overrideBatchTuningSettings(
+            @CurrentMember AuthMember authMember,
+            @RequestBody BatchTuningOverrideRequest request
+    ) {
+
+        validateAdmin(authMember);
+
+        if (request.hasChunkSettings()) {
+            if (request.step() == null) {
+                throw new IllegalArgumentException("청크 설정을 바꾸려면 step을 지정해야 합니다. 대상: " + ChunkSizeSettingsRegistry.TUNABLE_STEPS);
+            }
+            chunkSizeSettingsRegistry.override(request.step(), request.chunkInitialSize(), request.chunkMinSize(), request.chunkMaxSize(),
+                    request.targetCommitLatencyMillis() != null ? Duration.ofMillis(request.targetCommitLatencyMillis()) : null);
+        }
+
+        if (request.hasFeignSettings()) {
+            StoreRegionFetchSettings current = storeRegionFetcher.settings();
+            storeRegionFetcher.tune(new StoreRegionFetchSettings(
+                    request.feignConcurrency() != null ? request.feignConcurrency() : current.concurrency(),
+                    request.feignInitialChunkSize() != null ? request.feignInitialChunkSize() : current.initialChunkSize(),
+                    request.feignMinChunkSize() != null ? request.feignMinChunkSize() : current.minChunkSize(),
+                    request.feignMaxChunkSize() != null ? request.feignMaxChunkSize() : current.maxChunkSize()
+            ));
+        }
+
+        BatchTuningSettings settings = batchTuningEndpoint.settings();
+        log.info("배치 튜닝 설정을 변경했습니다: {}", settings);
+        return ResponseEntity.ok(settings);
+    }
+
+    @DeleteMapping("/v1/batch-tuning")
+    public ResponseEntity<BatchTuningSettings> resetBatchTuningSettings(@CurrentMember AuthMember authMember) {
+
+        validateAdmin(authMember);
+
+        chunkSizeSettingsRegistry.clearOverrides();
+        storeRegionFetcher.resetSettings();
+
+        log.info("배치 튜닝 설정을 기본값으로 되돌렸습니다.");
+        return ResponseEntity.ok(batchTuningEndpoint.settings());
+    }
+
+    // 설정 범위를 벗어난 값은 서버 오류가 아니라 잘못된 요청으로 응답한다.
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex, HttpServletRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiErrorResponse.from(HttpStatus.BAD_REQUEST, ex.getMessage(), request));
+    }
+
+    private void validateAdmin(AuthMember authMember) {
+        String memberType = authMember.memberType();
+        if (memberType == null || (!"ADMIN".equalsIgnoreCase(memberType) && !"ROLE_ADMIN".equalsIgnoreCase(memberType))) {
+            throw new GlobalException(CommonErrorCode.ACCESS_DENIED);
+        }
+    }
+}
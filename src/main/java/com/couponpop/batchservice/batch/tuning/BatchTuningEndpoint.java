@@ -0,0 +1,36 @@
+package com.couponpop.batchservice.batch.tuning;
+
+import com.couponpop.batchservice.domain.store.directory.StoreRegionFetchSettings;
+import com.couponpop.batchservice.domain.store.directory.StoreRegionFetcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 청크 크기, 매장 동 정보 Feign 배치 크기, 동시 요청 수 중 현재 적용 중인 값을 조회하는 액추에이터 엔드포인트입니다.
+ *
+ * <p>액추에이터에는 권한 검사가 없으므로 조회만 제공합니다. 값을 바꾸거나 되돌리는 것은 관리자만 호출할 수 있는
+ * {@link BatchTuningController}에서 합니다.</p>
+ */
+@Component
+@Endpoint(id = "batchtuning")
+@RequiredArgsConstructor
+public class BatchTuningEndpoint {
+
+    private final ChunkSizeSettingsRegistry chunkSizeSettingsRegistry;
+    private final StoreRegionFetcher storeRegionFetcher;
+
+    @ReadOperation
+    public BatchTuningSettings settings() {
+        return new BatchTuningSettings(chunkSizeSettingsRegistry.allSettings(), storeRegionFetcher.settings());
+    }
+
+    public record BatchTuningSettings(
+            Map<String, ChunkSizeSettings> chunk,
+            StoreRegionFetchSettings storeRegionFetch
+    ) {
+    }
+}
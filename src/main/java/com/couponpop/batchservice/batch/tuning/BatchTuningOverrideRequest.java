@@ -0,0 +1,25 @@
+package com.couponpop.batchservice.batch.tuning;
+
+/**
+ * 배치 튜닝 덮어쓰기 요청입니다. 값이 주어진 항목만 덮어쓰며, 청크 설정은 {@code step}을 함께 지정해야 합니다.
+ */
+public record BatchTuningOverrideRequest(
+        String step,
+        Integer chunkInitialSize,
+        Integer chunkMinSize,
+        Integer chunkMaxSize,
+        Long targetCommitLatencyMillis,
+        Integer feignConcurrency,
+        Integer feignInitialChunkSize,
+        Integer feignMinChunkSize,
+        Integer feignMaxChunkSize
+) {
+
+    public boolean hasChunkSettings() {
+        return chunkInitialSize != null || chunkMinSize != null || chunkMaxSize != null || targetCommitLatencyMillis != null;
+    }
+
+    public boolean hasFeignSettings() {
+        return feignConcurrency != null || feignInitialChunkSize != null || feignMinChunkSize != null || feignMaxChunkSize != null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.couponpop.batchservice.batch.tuning;
+
+import java.time.Duration;
+
+/**
+ * {@link AdaptiveChunkCompletionPolicy}가 청크 크기를 고르는 범위와 목표 커밋 시간입니다.
+ *
+ * @param initialSize          첫 청크 크기
+ * @param minSize              청크 크기 최솟값
+ * @param maxSize              청크 크기 최댓값
+ * @param targetCommitLatency  청크 하나를 읽고 쓰고 커밋하는 데 걸리길 원하는 시간
+ */
+public record ChunkSizeSettings(
+        int initialSize,
+        int minSize,
+        int maxSize,
+        Duration targetCommitLatency
+) {
+
+    public ChunkSizeSettings {
+        if (minSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("청크 크기 범위가 올바르지 않습니다. min: " + minSize + ", max: " + maxSize);
+        }
+        if (initialSize < minSize || initialSize > maxSize) {
+            throw new IllegalArgumentException("첫 청크 크기는 범위 안에 있어야 합니다. initial: " + initialSize + ", min: " + minSize + ", max: " + maxSize);
+        }
+        if (targetCommitLatency == null || targetCommitLatency.isNegative() || targetCommitLatency.isZero()) {
+            throw new IllegalArgumentException("목표 커밋 시간은 0보다 커야 합니다. targetCommitLatency: " + targetCommitLatency);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.couponpop.batchservice.batch.tuning;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.couponpop.batchservice.batch.CouponUsageStatsFcmSendJobConfig.COUPON_USAGE_STATS_FCM_SEND_STEP;
+import static com.couponpop.batchservice.batch.CouponUsageStatsJobConfig.COUPON_USAGE_STATS_WORKER_STEP;
+
+/**
+ * 청크 크기를 자동 조정하는 Step별 설정을 보관합니다.
+ * 덮어쓴 설정은 해당 Step의 다음 실행부터 적용되며, 초기화하기 전까지 유지됩니다.
+ */
+@Component
+public class ChunkSizeSettingsRegistry {
+
+    public static final List<String> TUNABLE_STEPS = List.of(COUPON_USAGE_STATS_WORKER_STEP, COUPON_USAGE_STATS_FCM_SEND_STEP);
+
+    private final ChunkSizeSettings defaultSettings;
+    private final Map<String, ChunkSizeSettings> overrides = new ConcurrentHashMap<>();
+
+    public ChunkSizeSettingsRegistry(@Value("${batch.tuning.chunk.initial-size:1000}") int initialSize,
+                                     @Value("${batch.tuning.chunk.min-size:100}") int minSize,
+                                     @Value("${batch.tuning.chunk.max-size:5000}") int maxSize,
+                                     @Value("${batch.tuning.chunk.target-commit-latency:2s}") Duration targetCommitLatency) {
+        this.defaultSettings = new ChunkSizeSettings(initialSize, minSize, maxSize, targetCommitLatency);
+    }
+
+    public ChunkSizeSettings settings(String stepName) {
+        return overrides.getOrDefault(stepName, defaultSettings);
+    }
+
+    public Map<String, ChunkSizeSettings> allSettings() {
+        Map<String, ChunkSizeSettings> settings = new LinkedHashMap<>();
+        TUNABLE_STEPS.forEach(stepName -> settings.put(stepName, settings(stepName)));
+        return settings;
+    }
+
+    /**
+     * 값이 주어진 항목만 현재 설정에서 바꿉니다.
+     */
+    public ChunkSizeSettings override(String stepName, Integer initialSize, Integer minSize, Integer maxSize, Duration targetCommitLatency) {
+        if (!TUNABLE_STEPS.contains(stepName)) {
+            throw new IllegalArgumentException("청크 크기를 조정할 수 없는 Step입니다: " + stepName);
+        }
+
+        return overrides.compute(stepName, (name, current) -> {
+            ChunkSizeSettings base = current != null ? current : defaultSettings;
+            return new ChunkSizeSettings(
+                    initialSize != null ? initialSize : base.initialSize(),
+                    minSize != null ? minSize : base.minSize(),
+                    maxSize != null ? maxSize : base.maxSize(),
+                    targetCommitLatency != null ? targetCommitLatency : base.targetCommitLatency()
+            );
+        });
+    }
+
+    public void clearOverrides() {
+        overrides.clear();
+    }
+}
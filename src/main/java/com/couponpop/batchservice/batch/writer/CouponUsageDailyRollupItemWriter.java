@@ -0,0 +1,59 @@
+package com.couponpop.batchservice.batch.writer;
+
+import com.couponpop.batchservice.batch.aggregation.MemberCouponUsage;
+import com.couponpop.batchservice.domain.couponusagestats.dto.CouponUsageDailyRollupDto;
+import com.couponpop.batchservice.domain.couponusagestats.repository.CouponUsageDailyRollupJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 원본 사용 이력 청크를 (날짜, 회원, 동, 시간대) 단위로 미리 합산한 뒤 일 단위 롤업 테이블에 누적 저장합니다.
+ */
+@RequiredArgsConstructor
+public class CouponUsageDailyRollupItemWriter implements ItemWriter<MemberCouponUsage> {
+
+    private final CouponUsageDailyRollupJdbcRepository couponUsageDailyRollupJdbcRepository;
+
+    @Override
+    public void write(Chunk<? extends MemberCouponUsage> chunk) {
+
+        Map<RollupKey, RollupValue> rollups = new LinkedHashMap<>();
+        for (MemberCouponUsage usage : chunk) {
+            RollupKey key = new RollupKey(usage.lastUsedAt().toLocalDate(), usage.memberId(), usage.dong(), usage.usageHour());
+            rollups.merge(key, new RollupValue(usage.usageCount(), usage.lastUsedAt()), RollupValue::merge);
+        }
+
+        List<CouponUsageDailyRollupDto> rollupDtos = rollups.entrySet().stream()
+                .map(entry -> new CouponUsageDailyRollupDto(
+                        entry.getKey().rollupDate(),
+                        entry.getKey().memberId(),
+                        entry.getKey().dong(),
+                        entry.getKey().usageHour(),
+                        entry.getValue().usageCount(),
+                        entry.getValue().lastUsedAt()
+                ))
+                .toList();
+
+        couponUsageDailyRollupJdbcRepository.upsertRollups(rollupDtos);
+    }
+
+    private record RollupKey(LocalDate rollupDate, Long memberId, String dong, int usageHour) {
+    }
+
+    private record RollupValue(long usageCount, LocalDateTime lastUsedAt) {
+
+        private RollupValue merge(RollupValue other) {
+            return new RollupValue(
+                    usageCount + other.usageCount,
+                    lastUsedAt.isAfter(other.lastUsedAt) ? lastUsedAt : other.lastUsedAt
+            );
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.couponpop.batchservice.batch.writer;
+
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsDto;
+import com.couponpop.batchservice.domain.couponusagestats.repository.CouponUsageStatsJdbcRepository;
+import com.couponpop.batchservice.domain.couponusagestats.repository.projection.LatestCouponUsageStatsProjection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 회원별 새 집계 결과를 가장 최근 저장된 결과와 비교해 바뀐 회원만 새 행으로 저장합니다.
+ *
+ * <ul>
+ *     <li>결과가 바뀌었거나 이전 결과가 없으면 (member_id, aggregated_at) 기준으로 upsert 합니다.</li>
+ *     <li>결과가 같으면 최근 행의 aggregated_at만 집계 날짜로 옮깁니다.</li>
+ * </ul>
+ *
+ * <p>같은 runDate로 재실행하면 최근 행이 곧 그날의 행이므로, 결과가 같으면 아무것도 쓰지 않고 다르면 그 행을 덮어씁니다.</p>
+ *
+ * <p>FCM 발송 Reader가 이력을 다시 훑지 않도록, 청크의 모든 회원 결과를 같은 트랜잭션에서 {@code coupon_usage_stats_latest}에도 반영합니다.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CouponUsageStatsDiffItemWriter implements ItemWriter<CouponUsageStatsDto> {
+
+    private final CouponUsageStatsJdbcRepository couponUsageStatsJdbcRepository;
+
+    @Override
+    public void write(Chunk<? extends CouponUsageStatsDto> chunk) {
+
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        LocalDate aggregatedAt = chunk.getItems().get(0).aggregatedAt();
+        List<Long> memberIds = chunk.getItems().stream()
+                .map(CouponUsageStatsDto::memberId)
+                .toList();
+
+        Map<Long, LatestCouponUsageStatsProjection> latestStatsByMemberId = couponUsageStatsJdbcRepository.findLatestStatsByMemberIds(memberIds, aggregatedAt).stream()
+                .collect(Collectors.toMap(LatestCouponUsageStatsProjection::memberId, Function.identity()));
+
+        List<CouponUsageStatsDto> changedStats = new ArrayList<>();
+        List<Long> unchangedStatsIds = new ArrayList<>();
+        for (CouponUsageStatsDto stats : chunk) {
+            LatestCouponUsageStatsProjection latestStats = latestStatsByMemberId.get(stats.memberId());
+            if (latestStats != null && isSameResult(latestStats, stats)) {
+                unchangedStatsIds.add(latestStats.id());
+            } else {
+                changedStats.add(stats);
+            }
+        }
+
+        couponUsageStatsJdbcRepository.upsertStats(changedStats);
+        couponUsageStatsJdbcRepository.refreshAggregatedAt(unchangedStatsIds, aggregatedAt);
+        couponUsageStatsJdbcRepository.upsertLatestStats(chunk.getItems());
+
+        log.debug("쿠폰 사용 통계 저장 - 변경: {}건, 유지: {}건", changedStats.size(), unchangedStatsIds.size());
+    }
+
+    private boolean isSameResult(LatestCouponUsageStatsProjection latestStats, CouponUsageStatsDto stats) {
+        return Objects.equals(latestStats.topDong(), stats.topDong())
+                && Objects.equals(latestStats.topHour(), stats.topHour());
+    }
+}
@@ -0,0 +1,27 @@
+package com.couponpop.batchservice.batch.writer;
+
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsFcmSendItem;
+import com.couponpop.batchservice.domain.coupon.service.CouponUsageStatsFcmSendService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+/**
+ * processor가 걸러내고 남은 아이템의 FCM 발송 요청을 청크 단위로 게시합니다.
+ * 진행 중 이벤트 개수는 아이템에 실려 오므로 잡 파라미터에 의존하지 않고, 단일 노드 Step과 원격 청킹 워커에서 함께 사용합니다.
+ */
+@RequiredArgsConstructor
+public class CouponUsageStatsFcmSendItemWriter implements ItemWriter<CouponUsageStatsFcmSendItem> {
+
+    private final CouponUsageStatsFcmSendService couponUsageStatsFcmSendService;
+
+    @Override
+    public void write(Chunk<? extends CouponUsageStatsFcmSendItem> chunk) {
+
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        couponUsageStatsFcmSendService.send(chunk.getItems());
+    }
+}
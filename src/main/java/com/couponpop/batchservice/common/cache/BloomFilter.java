@@ -0,0 +1,83 @@
+package com.couponpop.batchservice.common.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열 키의 Bloom 필터입니다. {@link #mightContain}이 {@code false}면 넣은 적이 없는 키이고, {@code true}면 넣었을 수도 있는 키입니다.
+ *
+ * <p>예상 건수와 허용 오탐률로 비트 수와 해시 수를 정하며, 예상 건수를 넘겨 넣으면 오탐률이 올라갑니다.
+ * 비트를 {@link AtomicLongArray}에 두므로 여러 스레드에서 잠금 없이 넣고 조회할 수 있습니다.</p>
+ */
+public class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.words = new AtomicLongArray((int) ((bitCount + Long.SIZE - 1) / Long.SIZE));
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+
+        long insertions = Math.max(1, expectedInsertions);
+        long bitCount = Math.max(Long.SIZE, (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (LN2 * LN2)));
+        // AtomicLongArray 길이가 int를 넘지 않게 제한한다.
+        bitCount = Math.min(bitCount, (long) Integer.MAX_VALUE * Long.SIZE);
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * LN2));
+        return new BloomFilter(bitCount, hashCount);
+    }
+
+    public void put(String key) {
+
+        long hash1 = hash(key);
+        long hash2 = mix(hash1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(String key) {
+
+        long hash1 = hash(key);
+        long hash2 = mix(hash1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a 64비트 해시에 비트를 고르게 섞는 마무리 단계를 더합니다.
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
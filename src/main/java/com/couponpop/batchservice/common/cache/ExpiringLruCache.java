@@ -0,0 +1,93 @@
+package com.couponpop.batchservice.common.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 적재 시각 기준 TTL과 최대 크기를 가진 LRU 캐시입니다.
+ * 최대 크기를 넘으면 가장 오래 조회되지 않은 항목부터 제거합니다.
+ */
+public class ExpiringLruCache<K, V> {
+
+    private final Duration ttl;
+    private final int maxSize;
+    private final Clock clock;
+    private final LinkedHashMap<K, CacheEntry<K, V>> entries;
+
+    public ExpiringLruCache(Duration ttl, int maxSize, Clock clock) {
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<K, V>> eldest) {
+                return size() > ExpiringLruCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+
+        CacheEntry<K, V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        if (isExpired(entry.loadedAtMillis())) {
+            entries.remove(key);
+            return null;
+        }
+
+        return entry.value();
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new CacheEntry<>(key, value, clock.millis()));
+    }
+
+    /**
+     * 스냅샷 복원처럼 원래 적재 시각을 유지해야 할 때 사용합니다. 이미 만료된 항목은 무시합니다.
+     */
+    public synchronized void put(K key, V value, long loadedAtMillis) {
+
+        if (isExpired(loadedAtMillis)) {
+            return;
+        }
+
+        entries.put(key, new CacheEntry<>(key, value, loadedAtMillis));
+    }
+
+    /**
+     * 만료되지 않은 항목을 오래 조회되지 않은 순서대로 복사해 반환합니다.
+     */
+    public synchronized List<CacheEntry<K, V>> snapshot() {
+
+        List<CacheEntry<K, V>> snapshot = new ArrayList<>(entries.size());
+        for (CacheEntry<K, V> entry : entries.values()) {
+            if (!isExpired(entry.loadedAtMillis())) {
+                snapshot.add(entry);
+            }
+        }
+
+        return snapshot;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private boolean isExpired(long loadedAtMillis) {
+        return clock.millis() - loadedAtMillis >= ttl.toMillis();
+    }
+
+    public record CacheEntry<K, V>(K key, V value, long loadedAtMillis) {
+    }
+}
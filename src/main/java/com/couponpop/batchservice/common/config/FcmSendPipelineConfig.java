@@ -0,0 +1,27 @@
+package com.couponpop.batchservice.common.config;
+
+import com.couponpop.batchservice.common.metrics.StepContextPropagatingTaskDecorator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class FcmSendPipelineConfig {
+
+    @Bean
+    public TaskExecutor fcmSendPipelineTaskExecutor(
+            @Value("${batch.fcm-send.pipeline.concurrency:4}") int concurrency
+    ) {
+
+        // 게시 단계는 writer 호출마다 하나씩 쓰므로, 동시에 발송하는 writer(단일 노드 Step 1개, 원격 청킹 워커는 worker-concurrency개) 수만큼 둔다.
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(concurrency);
+        taskExecutor.setMaxPoolSize(concurrency);
+        taskExecutor.setThreadNamePrefix("fcm-send-pipeline-");
+        // 게시 스레드의 게시 지표도 호출한 Step의 잡/Step 태그로 기록되게 한다.
+        taskExecutor.setTaskDecorator(new StepContextPropagatingTaskDecorator());
+        return taskExecutor;
+    }
+}
@@ -1,25 +1,74 @@
 package com.couponpop.batchservice.common.config;
 
+import com.couponpop.batchservice.common.metrics.StepContextPropagatingTaskDecorator;
+import com.couponpop.batchservice.common.rabbitmq.converter.FcmSendMessageConverter;
+import com.couponpop.batchservice.common.rabbitmq.publisher.FcmSendThrottle;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
 
 @Configuration
 public class RabbitMqConfig {
 
+    /**
+     * FCM 발송 요청은 {@code wire-format}이 {@code binary}면 바이너리로, 그 밖의 메시지는 JSON으로 변환합니다.
+     * 받을 때는 {@code content_type}으로 형식을 고릅니다.
+     */
     @Bean
-    public MessageConverter rabbitMessageConverter(ObjectMapper objectMapper) {
-        return new Jackson2JsonMessageConverter(objectMapper);
+    public MessageConverter rabbitMessageConverter(
+            ObjectMapper objectMapper,
+            @Value("${batch.fcm-send.publish.wire-format:json}") String wireFormat,
+            @Value("${batch.fcm-send.publish.compression-threshold:1024}") int compressionThreshold
+    ) {
+
+        return new FcmSendMessageConverter(new Jackson2JsonMessageConverter(objectMapper), "binary".equalsIgnoreCase(wireFormat), compressionThreshold);
     }
 
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MessageConverter rabbitMessageConverter) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(rabbitMessageConverter);
+        // 라우팅되지 않은 메시지를 반환받아 게시 실패로 처리한다.
+        rabbitTemplate.setMandatory(true);
         return rabbitTemplate;
     }
+
+    @Bean
+    public TaskExecutor fcmSendPublishTaskExecutor(
+            @Value("${batch.fcm-send.publish.channels:4}") int channels
+    ) {
+
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(channels);
+        taskExecutor.setMaxPoolSize(channels);
+        taskExecutor.setThreadNamePrefix("fcm-send-publish-");
+        // 게시 스레드의 게시 지표도 호출한 Step의 잡/Step 태그로 기록되게 한다.
+        taskExecutor.setTaskDecorator(new StepContextPropagatingTaskDecorator());
+        return taskExecutor;
+    }
+
+    @Bean
+    public FcmSendThrottle fcmSendThrottle(
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${batch.fcm-send.publish.throttle.rate-per-second:3000}") double ratePerSecond,
+            @Value("${batch.fcm-send.publish.throttle.queue:}") String queue,
+            @Value("${batch.fcm-send.publish.throttle.max-queue-depth:50000}") long maxQueueDepth,
+            @Value("${batch.fcm-send.publish.throttle.max-messages-per-consumer:5000}") long maxMessagesPerConsumer,
+            @Value("${batch.fcm-send.publish.throttle.min-rate-ratio:0.1}") double minRateRatio,
+            @Value("${batch.fcm-send.publish.throttle.check-interval:1s}") Duration checkInterval
+    ) {
+
+        return new FcmSendThrottle(rabbitTemplate, meterRegistry, ratePerSecond, queue, maxQueueDepth, maxMessagesPerConsumer, minRateRatio, checkInterval);
+    }
 }
@@ -0,0 +1,27 @@
+package com.couponpop.batchservice.common.config;
+
+import com.couponpop.batchservice.common.metrics.StepContextPropagatingTaskDecorator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class StoreRegionFetchConfig {
+
+    @Bean
+    public TaskExecutor storeRegionFetchTaskExecutor(
+            @Value("${batch.store-directory.fetch.concurrency:8}") int concurrency
+    ) {
+
+        // Java 17 환경이므로 가상 스레드 대신 동시 요청 수만큼의 고정 스레드 풀을 사용한다.
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(concurrency);
+        taskExecutor.setMaxPoolSize(concurrency);
+        taskExecutor.setThreadNamePrefix("store-region-fetch-");
+        // 조회 스레드에서 나간 Feign 호출도 호출한 Step의 잡/Step 태그로 기록되게 한다.
+        taskExecutor.setTaskDecorator(new StepContextPropagatingTaskDecorator());
+        return taskExecutor;
+    }
+}
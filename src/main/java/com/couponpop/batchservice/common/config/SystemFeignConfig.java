@@ -1,7 +1,10 @@
 package com.couponpop.batchservice.common.config;
 
+import com.couponpop.batchservice.common.metrics.FeignMetricsCapability;
 import com.couponpop.security.token.SystemTokenProvider;
+import feign.Capability;
 import feign.RequestInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 
@@ -9,7 +12,7 @@ import static com.couponpop.security.constants.SecurityTemplates.BEARER_TOKEN_PR
 
 /**
  * 시스템 내부 통신을 위한 Feign Client 설정입니다.
- * 모든 요청에 시스템 토큰을 Authorization 헤더에 추가합니다.
+ * 모든 요청에 시스템 토큰을 Authorization 헤더에 추가하고, 엔드포인트별 응답 시간과 본문 크기를 기록합니다.
  */
 @Slf4j
 public class SystemFeignConfig {
@@ -27,4 +30,15 @@ public class SystemFeignConfig {
             requestTemplate.header("Authorization", BEARER_TOKEN_PREFIX + systemToken);
         };
     }
+
+    /**
+     * Feign 요청의 응답 시간과 요청/응답 본문 크기를 엔드포인트별로 기록하는 Capability를 생성합니다.
+     *
+     * @param meterRegistry 지표를 등록할 레지스트리
+     * @return Capability Bean
+     */
+    @Bean
+    public Capability feignMetricsCapability(MeterRegistry meterRegistry) {
+        return new FeignMetricsCapability(meterRegistry);
+    }
 }
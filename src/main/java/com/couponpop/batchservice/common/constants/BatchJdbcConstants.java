@@ -0,0 +1,14 @@
+package com.couponpop.batchservice.common.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BatchJdbcConstants {
+
+    /**
+     * MySQL Connector/J는 fetchSize가 Integer.MIN_VALUE일 때만 결과를 한 행씩 스트리밍합니다.
+     * 그 외 값은 전체 결과를 클라이언트 메모리에 적재하므로, 커서 기반 Reader는 반드시 이 값을 사용합니다.
+     */
+    public static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+}
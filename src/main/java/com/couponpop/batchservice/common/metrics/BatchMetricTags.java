@@ -0,0 +1,43 @@
+package com.couponpop.batchservice.common.metrics;
+
+import io.micrometer.core.instrument.Tags;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+
+/**
+ * 배치 지표에 공통으로 붙이는 잡 이름/Step 이름 태그를 만듭니다.
+ *
+ * <p>Listener 밖(Feign 호출, 쿼리, 메시지 게시)에서는 현재 스레드에 등록된 Step 컨텍스트에서 이름을 꺼냅니다.
+ * Step 밖에서 호출되면(원격 청킹 워커 등) 두 태그 모두 {@value #NONE}입니다.</p>
+ */
+public final class BatchMetricTags {
+
+    public static final String JOB = "job";
+    public static final String STEP = "step";
+    public static final String NONE = "none";
+
+    private static final Tags NO_STEP = Tags.of(JOB, NONE, STEP, NONE);
+
+    private BatchMetricTags() {
+    }
+
+    public static Tags current() {
+        StepContext context = StepSynchronizationManager.getContext();
+        if (context == null) {
+            return NO_STEP;
+        }
+        return of(context.getJobName(), context.getStepName());
+    }
+
+    public static Tags of(String jobName, String stepName) {
+        return Tags.of(JOB, jobName, STEP, baseStepName(stepName));
+    }
+
+    /**
+     * 파티션 워커 Step 이름({@code worker:partition0})은 파티션 수만큼 태그 값이 늘어나지 않도록 접미사를 뗍니다.
+     */
+    static String baseStepName(String stepName) {
+        int separator = stepName.indexOf(':');
+        return separator < 0 ? stepName : stepName.substring(0, separator);
+    }
+}
@@ -0,0 +1,81 @@
+package com.couponpop.batchservice.common.metrics;
+
+import feign.Capability;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feign 요청마다 엔드포인트별 응답 시간과 요청/응답 본문 크기를 기록합니다.
+ *
+ * <ul>
+ *     <li>{@code batch.feign.requests}: 응답 시간. 응답 코드(실패 시 예외 이름)를 {@code status} 태그로 붙입니다.</li>
+ *     <li>{@code batch.feign.request.size}, {@code batch.feign.response.size}: 본문 바이트 수.
+ *         응답 길이를 알 수 없는 경우(chunked 등)는 응답 크기를 기록하지 않습니다.</li>
+ * </ul>
+ *
+ * <p>모든 지표에 {@code client}(Feign 인터페이스), {@code method}와 잡/Step 태그를 붙입니다.</p>
+ */
+@RequiredArgsConstructor
+public class FeignMetricsCapability implements Capability {
+
+    private static final String METRIC_PREFIX = "batch.feign";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> {
+            Tags tags = endpointTags(request).and(BatchMetricTags.current());
+            DistributionSummary.builder(METRIC_PREFIX + ".request.size")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(request.length());
+
+            long startedAt = System.nanoTime();
+            String status = "unknown";
+            try {
+                Response response = client.execute(request, options);
+                status = String.valueOf(response.status());
+                if (response.body() != null && response.body().length() != null) {
+                    DistributionSummary.builder(METRIC_PREFIX + ".response.size")
+                            .baseUnit("bytes")
+                            .tags(tags)
+                            .register(meterRegistry)
+                            .record(response.body().length());
+                }
+                return response;
+            } catch (IOException | RuntimeException e) {
+                status = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                Timer.builder(METRIC_PREFIX + ".requests")
+                        .tags(tags)
+                        .tag("status", status)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    private static Tags endpointTags(Request request) {
+        MethodMetadata methodMetadata = request.requestTemplate().methodMetadata();
+        if (methodMetadata == null) {
+            return Tags.of("client", BatchMetricTags.NONE, "method", BatchMetricTags.NONE);
+        }
+        return Tags.of(
+                "client", methodMetadata.targetType().getSimpleName(),
+                "method", methodMetadata.method().getName()
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package com.couponpop.batchservice.common.metrics;
+
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * 작업을 제출한 스레드의 Step 컨텍스트를 실행 스레드에도 등록합니다.
+ * 보조 스레드 풀에서 나간 호출도 {@link BatchMetricTags#current()}로 같은 잡/Step 태그를 얻을 수 있습니다.
+ *
+ * <p>실행이 끝나면 {@code release()}가 아니라 {@code close()}로 등록만 해제합니다.
+ * {@code release()}는 {@link StepContext#close()}를 불러 Step 스코프 빈의 소멸 콜백(리더 {@code close()}, 실행기 종료 등)까지
+ * 실행하므로, Step이 아직 진행 중인 보조 스레드에서 호출하면 안 됩니다.</p>
+ */
+public class StepContextPropagatingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+
+        StepContext context = StepSynchronizationManager.getContext();
+        if (context == null) {
+            return runnable;
+        }
+
+        StepExecution stepExecution = context.getStepExecution();
+        return () -> {
+            StepSynchronizationManager.register(stepExecution);
+            try {
+                runnable.run();
+            } finally {
+                StepSynchronizationManager.close();
+            }
+        };
+    }
+}
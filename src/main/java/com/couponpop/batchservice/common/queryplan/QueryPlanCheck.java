@@ -0,0 +1,41 @@
+package com.couponpop.batchservice.common.queryplan;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+
+import java.util.Map;
+
+/**
+ * 실행 계획을 점검할 조회 SQL과 계획을 뽑을 때 쓸 대표 파라미터입니다.
+ * 파라미터 값에 따라 MySQL이 고르는 계획이 달라지므로 실제 배치가 넘기는 것과 같은 모양의 값을 넣습니다.
+ *
+ * @param name 로그에 남길 조회 이름
+ * @param sql  {@code ?} 자리표시자를 사용하는 SQL
+ * @param args 자리표시자 순서대로의 파라미터
+ */
+public record QueryPlanCheck(
+        String name,
+        String sql,
+        Object[] args
+) {
+
+    public static QueryPlanCheck of(String name, String sql, Object... args) {
+        return new QueryPlanCheck(name, sql, args);
+    }
+
+    /**
+     * 이름 있는 파라미터({@code :name}) SQL을 {@code ?} 자리표시자로 바꿔 만듭니다. 컬렉션 파라미터는 IN 목록으로 펼칩니다.
+     */
+    public static QueryPlanCheck named(String name, String sql, Map<String, ?> params) {
+
+        ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+        MapSqlParameterSource paramSource = new MapSqlParameterSource(params);
+
+        return new QueryPlanCheck(
+                name,
+                NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource),
+                NamedParameterUtils.buildValueArray(parsedSql, paramSource, null)
+        );
+    }
+}
@@ -0,0 +1,197 @@
+package com.couponpop.batchservice.common.queryplan;
+
+import com.couponpop.batchservice.batch.CouponUsageDailyRollupStepConfig;
+import com.couponpop.batchservice.domain.coupon.enums.CouponStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.database.support.MySqlPagingQueryProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static com.couponpop.batchservice.batch.CouponUsageStatsFcmSendJobConfig.COUPON_USAGE_STATS_FCM_SEND_SQL;
+import static com.couponpop.batchservice.domain.couponevent.repository.CouponEventJdbcRepository.COUNT_ACTIVE_COUPON_EVENTS_GROUP_BY_STORE_SQL;
+import static com.couponpop.batchservice.domain.couponhistory.repository.CouponHistoryJdbcRepository.FIND_DISTINCT_STORE_IDS_SQL;
+
+/**
+ * 배치가 대량으로 실행하는 조회 SQL을 {@code EXPLAIN}해 인덱스를 타지 못하는 계획을 찾아냅니다.
+ * 다른 팀이 공유 테이블의 인덱스를 지우더라도 새벽 집계가 느려지기 전에 알 수 있도록, 기동 시와 매일 집계 30분 전에 점검합니다.
+ *
+ * <ul>
+ *     <li>예상 행 수가 {@code min-rows} 이상인 테이블을 전체 스캔(ALL, 인덱스 전체 스캔)하거나 filesort하면 문제로 봅니다.
+ *         행이 거의 없는 테이블은 옵티마이저가 일부러 전체 스캔을 고르므로 제외합니다.</li>
+ *     <li>기본은 경고 로그만 남기고, {@code strict}이면 기동을 실패시킵니다. 주기 점검은 strict여도 로그만 남깁니다.</li>
+ *     <li>테이블이 없는 등 {@code EXPLAIN} 자체가 실패해도 점검하지 못한 것으로 보고 같은 규칙을 적용합니다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class QueryPlanVerifier implements ApplicationRunner {
+
+    private static final int SAMPLE_STORE_COUNT = 100;
+    private static final int SAMPLE_TARGET_HOUR = 18;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final Clock clock;
+    private final boolean enabled;
+    private final boolean strict;
+    private final long minRows;
+
+    public QueryPlanVerifier(JdbcTemplate jdbcTemplate,
+                             DataSource dataSource,
+                             Clock clock,
+                             @Value("${batch.query-plan-check.enabled:true}") boolean enabled,
+                             @Value("${batch.query-plan-check.strict:false}") boolean strict,
+                             @Value("${batch.query-plan-check.min-rows:1000}") long minRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.strict = strict;
+        this.minRows = minRows;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+
+        if (!enabled) {
+            return;
+        }
+
+        List<String> problems = verify();
+        if (strict && !problems.isEmpty()) {
+            throw new IllegalStateException("배치 조회 SQL 실행 계획 점검에 실패했습니다: " + problems);
+        }
+    }
+
+    @Scheduled(cron = "${batch.query-plan-check.cron:0 30 0 * * *}")
+    void verifyBeforeNightlyRun() {
+
+        if (enabled) {
+            verify();
+        }
+    }
+
+    /**
+     * 모든 점검 대상 SQL의 실행 계획을 확인하고, 발견한 문제를 경고 로그로 남깁니다.
+     *
+     * @return "조회 이름: 문제" 형식의 문제 목록
+     */
+    public List<String> verify() {
+
+        List<QueryPlanCheck> checks = checks();
+        List<String> problems = new ArrayList<>();
+        for (QueryPlanCheck check : checks) {
+            try {
+                List<ExplainRow> plan = jdbcTemplate.query("EXPLAIN " + check.sql(), (rs, rowNum) -> new ExplainRow(
+                        rs.getString("table"),
+                        rs.getString("type"),
+                        rs.getString("key"),
+                        rs.getObject("rows", Long.class),
+                        rs.getString("Extra")
+                ), check.args());
+
+                findProblems(plan, minRows).forEach(problem -> problems.add(check.name() + ": " + problem));
+                log.debug("실행 계획 점검 [{}]: {}", check.name(), plan);
+            } catch (DataAccessException e) {
+                problems.add(check.name() + ": EXPLAIN 실패 (" + e.getMostSpecificCause().getMessage() + ")");
+            }
+        }
+
+        if (problems.isEmpty()) {
+            log.info("배치 조회 SQL 실행 계획 점검을 통과했습니다. 점검한 조회: {}건", checks.size());
+        } else {
+            problems.forEach(problem -> log.warn("배치 조회 SQL이 인덱스를 타지 못합니다. {}", problem));
+        }
+        return problems;
+    }
+
+    /**
+     * 실행 계획에서 전체 스캔과 filesort를 찾습니다. 예상 행 수가 {@code minRows} 미만인 단계는 무시합니다.
+     */
+    static List<String> findProblems(List<ExplainRow> plan, long minRows) {
+
+        List<String> problems = new ArrayList<>();
+        for (ExplainRow row : plan) {
+            if (row.rows() == null || row.rows() < minRows) {
+                continue;
+            }
+
+            if ("ALL".equals(row.type())) {
+                problems.add("테이블 " + row.table() + " 전체 스캔 (예상 " + row.rows() + "행)");
+            } else if ("index".equals(row.type())) {
+                problems.add("테이블 " + row.table() + " 인덱스 " + row.key() + " 전체 스캔 (예상 " + row.rows() + "행)");
+            }
+
+            if (row.extra() != null && row.extra().contains("Using filesort")) {
+                problems.add("테이블 " + row.table() + " filesort (예상 " + row.rows() + "행)");
+            }
+        }
+        return problems;
+    }
+
+    private List<QueryPlanCheck> checks() {
+
+        LocalDate yesterday = LocalDate.now(clock).minusDays(1);
+        LocalDateTime from = yesterday.atStartOfDay();
+        LocalDateTime to = yesterday.atStartOfDay().plusDays(1).minusSeconds(1);
+        List<Long> sampleStoreIds = LongStream.rangeClosed(1, SAMPLE_STORE_COUNT).boxed().toList();
+
+        return List.of(
+                QueryPlanCheck.named("couponHistory.findDistinctStoreIds", FIND_DISTINCT_STORE_IDS_SQL, Map.of(
+                        "status", CouponStatus.USED.name(),
+                        "from", Timestamp.valueOf(from),
+                        "to", Timestamp.valueOf(to)
+                )),
+                QueryPlanCheck.named("couponUsageDailyRollupReader", rollupRemainingPagesQuery(), Map.of(
+                        "status", CouponStatus.USED.name(),
+                        "from", Timestamp.valueOf(from),
+                        "to", Timestamp.valueOf(to),
+                        "_ch.created_at", Timestamp.valueOf(from),
+                        "_ch.id", 0L
+                )),
+                QueryPlanCheck.of("couponUsageStatsFcmSendReader", COUPON_USAGE_STATS_FCM_SEND_SQL,
+                        SAMPLE_TARGET_HOUR, Date.valueOf(yesterday.minusDays(2)), Date.valueOf(yesterday)),
+                QueryPlanCheck.named("couponEvent.countActiveCouponEventsByDongs", COUNT_ACTIVE_COUPON_EVENTS_GROUP_BY_STORE_SQL, Map.of(
+                        "storeIds", sampleStoreIds,
+                        "now", Timestamp.valueOf(from)
+                ))
+        );
+    }
+
+    private String rollupRemainingPagesQuery() {
+
+        // 두 번째 페이지부터 쓰는 키셋 조건이 붙은 SQL이 실제로 반복 실행되는 쿼리다.
+        MySqlPagingQueryProvider queryProvider = CouponUsageDailyRollupStepConfig.couponUsageDailyRollupQueryProvider();
+        try {
+            queryProvider.init(dataSource);
+        } catch (Exception e) {
+            throw new IllegalStateException("롤업 페이지 조회 SQL을 만들지 못했습니다.", e);
+        }
+        return queryProvider.generateRemainingPagesQuery(CouponUsageDailyRollupStepConfig.DEFAULT_PAGE_SIZE);
+    }
+
+    record ExplainRow(
+            String table,
+            String type,
+            String key,
+            Long rows,
+            String extra
+    ) {
+    }
+}
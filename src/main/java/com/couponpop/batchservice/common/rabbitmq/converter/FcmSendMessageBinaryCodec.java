@@ -0,0 +1,158 @@
+package com.couponpop.batchservice.common.rabbitmq.converter;
+
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsFcmSendEnvelope;
+import com.couponpop.couponpopcoremodule.dto.coupon.event.model.CouponUsageStatsFcmSendMessage;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link CouponUsageStatsFcmSendMessage}의 바이너리 인코딩입니다. 필드 이름 없이 정해진 순서로 값만 씁니다.
+ *
+ * <pre>
+ * version(1바이트) | traceId | memberId(varint) | token | topDong | topHour(varint) | activeEventCount(varint)
+ * 문자열 = 길이(varint) + UTF-8 바이트
+ * varint = 부호 없는 LEB128 (하위 7비트부터, 이어지는 바이트가 있으면 최상위 비트 1)
+ * </pre>
+ *
+ * <p>봉투({@link CouponUsageStatsFcmSendEnvelope})는 버전 바이트 뒤에 항목 수(varint)와 항목을 이어 씁니다.</p>
+ *
+ * <p>맨 앞 버전 바이트로 형식을 구분합니다. 필드를 더할 때는 버전을 올리고 기존 필드 뒤에만 붙이며,
+ * 읽는 쪽은 아는 버전보다 새 버전이면 거부합니다. 컨슈머가 같은 형식을 구현하므로 형식을 바꾸면 README의 "FCM 발송 메시지 계약"도 함께 고칩니다.</p>
+ */
+public final class FcmSendMessageBinaryCodec {
+
+    public static final byte VERSION = 1;
+
+    private FcmSendMessageBinaryCodec() {
+    }
+
+    public static byte[] encode(CouponUsageStatsFcmSendMessage message) {
+        // 토큰이 대부분을 차지하므로 토큰 길이만큼 여유를 두고 시작한다.
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + message.token().length());
+        out.write(VERSION);
+        writeTo(out, message);
+        return out.toByteArray();
+    }
+
+    public static CouponUsageStatsFcmSendMessage decode(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        readVersion(in);
+        CouponUsageStatsFcmSendMessage message = readFrom(in);
+        if (in.hasRemaining()) {
+            throw new MessageConversionException("FCM 발송 요청 바이너리 뒤에 읽지 않은 " + in.remaining() + "바이트가 남았습니다.");
+        }
+        return message;
+    }
+
+    public static byte[] encodeEnvelope(CouponUsageStatsFcmSendEnvelope envelope) {
+        List<CouponUsageStatsFcmSendMessage> entries = envelope.entries();
+        int entrySize = entries.isEmpty() ? 0 : 64 + entries.get(0).token().length();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + entries.size() * entrySize);
+        out.write(VERSION);
+        writeVarLong(out, entries.size());
+        entries.forEach(entry -> writeTo(out, entry));
+        return out.toByteArray();
+    }
+
+    public static CouponUsageStatsFcmSendEnvelope decodeEnvelope(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        readVersion(in);
+        long count;
+        try {
+            count = readVarLong(in);
+        } catch (BufferUnderflowException e) {
+            throw new MessageConversionException("FCM 발송 요청 봉투 바이너리가 중간에 끝났습니다.", e);
+        }
+        // 항목은 최소 몇 바이트이므로 남은 본문보다 많은 항목 수는 잘못된 값이다.
+        if (count > in.remaining()) {
+            throw new MessageConversionException("FCM 발송 요청 봉투의 항목 수가 남은 본문보다 큽니다. 항목 수: " + count);
+        }
+
+        List<CouponUsageStatsFcmSendMessage> entries = new ArrayList<>((int) count);
+        for (long i = 0; i < count; i++) {
+            entries.add(readFrom(in));
+        }
+        if (in.hasRemaining()) {
+            throw new MessageConversionException("FCM 발송 요청 봉투 바이너리 뒤에 읽지 않은 " + in.remaining() + "바이트가 남았습니다.");
+        }
+        return new CouponUsageStatsFcmSendEnvelope(entries);
+    }
+
+    /**
+     * 버전 바이트 없이 메시지 필드만 씁니다.
+     */
+    static void writeTo(ByteArrayOutputStream out, CouponUsageStatsFcmSendMessage message) {
+        writeString(out, message.traceId());
+        writeVarLong(out, message.memberId());
+        writeString(out, message.token());
+        writeString(out, message.topDong());
+        writeVarLong(out, message.topHour());
+        writeVarLong(out, message.activeEventCount());
+    }
+
+    static CouponUsageStatsFcmSendMessage readFrom(ByteBuffer in) {
+        try {
+            String traceId = readString(in);
+            long memberId = readVarLong(in);
+            String token = readString(in);
+            String topDong = readString(in);
+            int topHour = (int) readVarLong(in);
+            int activeEventCount = (int) readVarLong(in);
+            return CouponUsageStatsFcmSendMessage.of(traceId, memberId, token, topDong, topHour, activeEventCount);
+        } catch (BufferUnderflowException e) {
+            throw new MessageConversionException("FCM 발송 요청 바이너리가 중간에 끝났습니다.", e);
+        }
+    }
+
+    static void readVersion(ByteBuffer in) {
+        if (!in.hasRemaining()) {
+            throw new MessageConversionException("FCM 발송 요청 바이너리가 비어 있습니다.");
+        }
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new MessageConversionException("지원하지 않는 FCM 발송 요청 바이너리 버전입니다. 버전: " + version);
+        }
+    }
+
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new MessageConversionException("FCM 발송 요청 바이너리의 varint가 너무 깁니다.");
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        long length = readVarLong(in);
+        if (length > in.remaining()) {
+            throw new MessageConversionException("FCM 발송 요청 바이너리의 문자열 길이가 남은 본문보다 깁니다. 길이: " + length);
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), (int) length, StandardCharsets.UTF_8);
+        in.position(in.position() + (int) length);
+        return value;
+    }
+}
@@ -0,0 +1,148 @@
+package com.couponpop.batchservice.common.rabbitmq.converter;
+
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsFcmSendEnvelope;
+import com.couponpop.couponpopcoremodule.dto.coupon.event.model.CouponUsageStatsFcmSendMessage;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.SmartMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * FCM 발송 요청 메시지를 바이너리로 주고받는 메시지 컨버터입니다. 그 밖의 메시지는 JSON 컨버터에 맡깁니다.
+ *
+ * <ul>
+ *     <li>보내는 형식은 {@code batch.fcm-send.publish.wire-format}으로 정합니다. {@code binary}면 {@link FcmSendMessageBinaryCodec}으로 쓰고
+ *     {@code content_type}을 {@value #BINARY_CONTENT_TYPE}로 붙이며, {@code json}이면 기존과 같은 JSON으로 보냅니다.</li>
+ *     <li>받을 때는 설정과 관계없이 {@code content_type}을 보고 고르므로, 두 형식이 섞여 있는 이행 기간에도 모두 읽습니다.</li>
+ *     <li>바이너리 본문이 {@code compression-threshold} 바이트 이상이면 deflate로 압축하고 {@code content_encoding}을 {@value #DEFLATE_ENCODING}으로 붙입니다.
+ *     메시지 하나는 기준보다 작으므로, 여러 메시지를 한 본문에 담을 때 적용됩니다.</li>
+ *     <li>봉투({@link CouponUsageStatsFcmSendEnvelope})는 형식과 관계없이 AMQP {@code type} 속성을 {@value CouponUsageStatsFcmSendEnvelope#TYPE}으로 붙입니다.</li>
+ * </ul>
+ */
+public class FcmSendMessageConverter implements SmartMessageConverter {
+
+    public static final String BINARY_CONTENT_TYPE = "application/vnd.couponpop.fcm-send+binary";
+    public static final String DEFLATE_ENCODING = "deflate";
+
+    // 압축을 푼 본문이 이보다 크면 잘못된 메시지로 보고 거부한다.
+    private static final int MAX_INFLATED_BYTES = 16 * 1024 * 1024;
+
+    private final SmartMessageConverter jsonMessageConverter;
+    private final boolean binary;
+    private final int compressionThreshold;
+
+    /**
+     * @param compressionThreshold 압축할 최소 본문 크기. 0 이하면 압축하지 않습니다.
+     */
+    public FcmSendMessageConverter(SmartMessageConverter jsonMessageConverter, boolean binary, int compressionThreshold) {
+        this.jsonMessageConverter = jsonMessageConverter;
+        this.binary = binary;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+
+        if (object instanceof CouponUsageStatsFcmSendEnvelope) {
+            messageProperties.setType(CouponUsageStatsFcmSendEnvelope.TYPE);
+        }
+
+        if (binary && object instanceof CouponUsageStatsFcmSendMessage fcmSendMessage) {
+            messageProperties.setContentType(BINARY_CONTENT_TYPE);
+            return new Message(frame(FcmSendMessageBinaryCodec.encode(fcmSendMessage), messageProperties), messageProperties);
+        }
+        if (binary && object instanceof CouponUsageStatsFcmSendEnvelope envelope) {
+            messageProperties.setContentType(BINARY_CONTENT_TYPE);
+            return new Message(frame(FcmSendMessageBinaryCodec.encodeEnvelope(envelope), messageProperties), messageProperties);
+        }
+        return jsonMessageConverter.toMessage(object, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        return fromMessage(message, null);
+    }
+
+    @Override
+    public Object fromMessage(Message message, Object conversionHint) {
+
+        if (!isBinary(message)) {
+            return jsonMessageConverter.fromMessage(message, conversionHint);
+        }
+        if (CouponUsageStatsFcmSendEnvelope.TYPE.equals(message.getMessageProperties().getType())) {
+            return FcmSendMessageBinaryCodec.decodeEnvelope(unframe(message));
+        }
+        return FcmSendMessageBinaryCodec.decode(unframe(message));
+    }
+
+    public static boolean isBinary(Message message) {
+        String contentType = message.getMessageProperties().getContentType();
+        return contentType != null && contentType.startsWith(BINARY_CONTENT_TYPE);
+    }
+
+    /**
+     * 기준 크기 이상이면 압축하고 {@code content_encoding}을 붙입니다.
+     */
+    byte[] frame(byte[] body, MessageProperties messageProperties) {
+
+        if (compressionThreshold <= 0 || body.length < compressionThreshold) {
+            return body;
+        }
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            messageProperties.setContentEncoding(DEFLATE_ENCODING);
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * {@code content_encoding}이 deflate면 압축을 풀어 반환합니다.
+     */
+    static byte[] unframe(Message message) {
+
+        String contentEncoding = message.getMessageProperties().getContentEncoding();
+        if (contentEncoding == null || contentEncoding.isEmpty()) {
+            return message.getBody();
+        }
+        if (!DEFLATE_ENCODING.equals(contentEncoding)) {
+            throw new MessageConversionException("지원하지 않는 FCM 발송 요청 content_encoding입니다: " + contentEncoding);
+        }
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(message.getBody());
+            ByteArrayOutputStream out = new ByteArrayOutputStream(message.getBody().length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new MessageConversionException("FCM 발송 요청 압축 본문이 중간에 끝났습니다.");
+                }
+                if (out.size() + inflated > MAX_INFLATED_BYTES) {
+                    throw new MessageConversionException("FCM 발송 요청 압축을 푼 본문이 " + MAX_INFLATED_BYTES + "바이트를 넘습니다.");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new MessageConversionException("FCM 발송 요청 압축 본문을 풀지 못했습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -1,29 +1,298 @@
 package com.couponpop.batchservice.common.rabbitmq.publisher;
 
+import com.couponpop.batchservice.common.metrics.BatchMetricTags;
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsFcmSendEnvelope;
 import com.couponpop.couponpopcoremodule.dto.coupon.event.model.CouponUsageStatsFcmSendMessage;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import static com.couponpop.couponpopcoremodule.constants.RabbitMqExchanges.COUPON_EXCHANGE;
 
+/**
+ * 쿠폰 사용 통계 FCM 발송 요청을 RabbitMQ로 게시합니다.
+ *
+ * <ul>
+ *     <li>한 번에 받은 메시지를 {@code channels}개 묶음으로 나눠 여러 스레드에서 확인을 기다리지 않고 이어서 게시합니다. 채널은 커넥션 팩토리의 채널 캐시에서 빌려 씁니다.</li>
+ *     <li>메시지마다 {@link CorrelationData}를 붙여 게시한 뒤, 브로커 확인(publisher confirm)은 묶음 전체를 게시한 다음 한 번에 기다립니다.</li>
+ *     <li>nack, 반환(mandatory return), 확인 시간 초과, 게시 예외가 난 메시지만 모아 {@code max-attempts}번까지 다시 게시하고, 그래도 남으면 예외를 던져 청크를 롤백합니다.</li>
+ *     <li>메시지마다 {@link FcmSendThrottle}에서 토큰을 받아 게시하므로, 재게시를 포함해 초당 게시 수가 발송 큐 상태에 맞춘 속도를 넘지 않습니다.</li>
+ *     <li>{@code envelope.max-entries}가 1보다 크면 메시지를 {@link CouponUsageStatsFcmSendEnvelope}에 모아 AMQP 메시지 하나로 게시합니다.
+ *     봉투는 항목 수, 추정 크기({@code envelope.max-bytes}), 첫 항목을 담은 뒤 지난 시간({@code envelope.max-delay}) 중 하나가 기준에 닿으면 닫습니다.
+ *     확인·재게시는 봉투 단위로 하며, 한 건만 담긴 봉투는 단건 메시지로 보냅니다.</li>
+ * </ul>
+ *
+ * <p>커넥션 팩토리에 publisher confirm이 켜져 있지 않으면 확인을 기다리지 않고 게시만 합니다.
+ * 게시 시간과 실패 여부를 {@code batch.fcm.send.publish} 지표({@code outcome}, {@code exception} 태그)로,
+ * 재게시한 메시지 수를 {@code batch.fcm.send.publish.retries} 지표({@code reason} 태그)로,
+ * AMQP 메시지 하나에 담은 메시지 수를 {@code batch.fcm.send.publish.envelope.entries} 지표로 기록합니다.</p>
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CouponUsageStatsFcmSendPublisher {
 
     private static final String COUPON_USAGE_STATS_FCM_SEND_ROUTING_KEY = "coupon.usage.stats.fcm.send";
+    private static final String PUBLISH_METRIC = "batch.fcm.send.publish";
+
+    // 이보다 작은 묶음은 스레드를 나눠 보내는 비용이 더 크다.
+    private static final int MIN_SLICE_SIZE = 100;
+
+    private static final String RETRY_NACK = "nack";
+    private static final String RETRY_RETURNED = "returned";
+    private static final String RETRY_TIMEOUT = "timeout";
+    private static final String RETRY_SEND_ERROR = "send_error";
+
+    // 봉투 크기를 가늠할 때 문자열 외 필드와 구분자 몫으로 더하는 바이트
+    private static final int ENTRY_OVERHEAD_BYTES = 32;
 
     private final RabbitTemplate rabbitTemplate;
+    private final TaskExecutor fcmSendPublishTaskExecutor;
+    private final FcmSendThrottle fcmSendThrottle;
+    private final MeterRegistry meterRegistry;
+    private final int channels;
+    private final Duration confirmTimeout;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final int envelopeMaxEntries;
+    private final int envelopeMaxBytes;
+    private final long envelopeMaxDelayNanos;
+
+    public CouponUsageStatsFcmSendPublisher(RabbitTemplate rabbitTemplate,
+                                            @Qualifier("fcmSendPublishTaskExecutor") TaskExecutor fcmSendPublishTaskExecutor,
+                                            FcmSendThrottle fcmSendThrottle,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${batch.fcm-send.publish.channels:4}") int channels,
+                                            @Value("${batch.fcm-send.publish.confirm-timeout:10s}") Duration confirmTimeout,
+                                            @Value("${batch.fcm-send.publish.max-attempts:3}") int maxAttempts,
+                                            @Value("${batch.fcm-send.publish.retry-backoff:200ms}") Duration retryBackoff,
+                                            @Value("${batch.fcm-send.publish.envelope.max-entries:1}") int envelopeMaxEntries,
+                                            @Value("${batch.fcm-send.publish.envelope.max-bytes:262144}") int envelopeMaxBytes,
+                                            @Value("${batch.fcm-send.publish.envelope.max-delay:200ms}") Duration envelopeMaxDelay) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.fcmSendPublishTaskExecutor = fcmSendPublishTaskExecutor;
+        this.fcmSendThrottle = fcmSendThrottle;
+        this.meterRegistry = meterRegistry;
+        this.channels = channels;
+        this.confirmTimeout = confirmTimeout;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.envelopeMaxEntries = Math.max(1, envelopeMaxEntries);
+        this.envelopeMaxBytes = envelopeMaxBytes;
+        this.envelopeMaxDelayNanos = envelopeMaxDelay.toNanos();
+    }
+
+    /**
+     * 메시지를 모두 게시하고 브로커 확인을 받을 때까지 기다립니다.
+     * 재시도 후에도 확인받지 못한 메시지가 남으면 {@link AmqpException}을 던집니다.
+     */
+    public void publishAll(List<CouponUsageStatsFcmSendMessage> messages) {
 
-    public void publish(CouponUsageStatsFcmSendMessage message) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            rabbitTemplate.convertAndSend(COUPON_EXCHANGE, COUPON_USAGE_STATS_FCM_SEND_ROUTING_KEY, message);
+            List<CouponUsageStatsFcmSendMessage> pending = messages;
+            for (int attempt = 1; ; attempt++) {
+                pending = publishAndAwaitConfirms(pending);
+                if (pending.isEmpty()) {
+                    break;
+                }
+
+                if (attempt >= maxAttempts) {
+                    throw new AmqpException("쿠폰 사용 통계 FCM 발송 요청 " + pending.size() + "건이 " + attempt + "회 시도 후에도 브로커 확인을 받지 못했습니다.");
+                }
+
+                log.warn("브로커 확인을 받지 못한 쿠폰 사용 통계 FCM 발송 요청만 다시 게시합니다. 시도: {}/{}, 재게시: {}/{}건",
+                        attempt, maxAttempts, pending.size(), messages.size());
+                sleep(retryBackoff.multipliedBy(attempt));
+            }
+            sample.stop(publishTimer("success", BatchMetricTags.NONE));
         } catch (AmqpException e) {
-            log.error("쿠폰 사용 통계 FCM 발송 요청 전송에 실패했습니다. message: {}", message, e);
+            sample.stop(publishTimer("failure", e.getClass().getSimpleName()));
+            log.error("쿠폰 사용 통계 FCM 발송 요청 전송에 실패했습니다. 메시지 수: {}", messages.size(), e);
             throw e;
         }
     }
+
+    /**
+     * @return 다시 게시해야 하는 메시지
+     */
+    private List<CouponUsageStatsFcmSendMessage> publishAndAwaitConfirms(List<CouponUsageStatsFcmSendMessage> messages) {
+
+        int sliceSize = Math.max(MIN_SLICE_SIZE, (messages.size() + channels - 1) / channels);
+        List<PendingConfirm> pendingConfirms = new ArrayList<>(messages.size());
+
+        if (messages.size() <= sliceSize) {
+            pendingConfirms.addAll(publishSlice(messages));
+        } else {
+            List<CompletableFuture<List<PendingConfirm>>> sliceFutures = new ArrayList<>();
+            for (int from = 0; from < messages.size(); from += sliceSize) {
+                List<CouponUsageStatsFcmSendMessage> slice = messages.subList(from, Math.min(messages.size(), from + sliceSize));
+                sliceFutures.add(CompletableFuture.supplyAsync(() -> publishSlice(slice), fcmSendPublishTaskExecutor));
+            }
+            try {
+                sliceFutures.forEach(sliceFuture -> pendingConfirms.addAll(sliceFuture.join()));
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+            return pendingConfirms.stream()
+                    .filter(pendingConfirm -> pendingConfirm.correlationData() == null)
+                    .flatMap(pendingConfirm -> pendingConfirm.messages().stream())
+                    .toList();
+        }
+
+        // 확인 대기 시간은 메시지마다가 아니라 묶음 전체에 한 번 적용한다.
+        long deadline = System.nanoTime() + confirmTimeout.toNanos();
+        List<CouponUsageStatsFcmSendMessage> unconfirmed = new ArrayList<>();
+        for (PendingConfirm pendingConfirm : pendingConfirms) {
+            String retryReason = awaitConfirm(pendingConfirm.correlationData(), deadline);
+            if (retryReason != null) {
+                unconfirmed.addAll(pendingConfirm.messages());
+                retryCounter(retryReason).increment(pendingConfirm.messages().size());
+            }
+        }
+        return unconfirmed;
+    }
+
+    private List<PendingConfirm> publishSlice(List<CouponUsageStatsFcmSendMessage> slice) {
+
+        List<PendingConfirm> pendingConfirms = new ArrayList<>();
+        List<CouponUsageStatsFcmSendMessage> entries = new ArrayList<>();
+        long entryBytes = 0;
+        long openedAt = 0;
+        for (CouponUsageStatsFcmSendMessage message : slice) {
+            // 토큰을 기다리는 동안에도 봉투 시간은 흐르므로, 느린 속도에서는 시간 기준으로 봉투가 닫힌다.
+            fcmSendThrottle.acquire();
+
+            long messageBytes = estimatedBytes(message);
+            if (!entries.isEmpty() && entryBytes + messageBytes > envelopeMaxBytes) {
+                pendingConfirms.add(send(entries));
+                entries = new ArrayList<>();
+                entryBytes = 0;
+            }
+            if (entries.isEmpty()) {
+                openedAt = System.nanoTime();
+            }
+            entries.add(message);
+            entryBytes += messageBytes;
+
+            if (entries.size() >= envelopeMaxEntries || System.nanoTime() - openedAt >= envelopeMaxDelayNanos) {
+                pendingConfirms.add(send(entries));
+                entries = new ArrayList<>();
+                entryBytes = 0;
+            }
+        }
+        if (!entries.isEmpty()) {
+            pendingConfirms.add(send(entries));
+        }
+        return pendingConfirms;
+    }
+
+    private PendingConfirm send(List<CouponUsageStatsFcmSendMessage> entries) {
+
+        Object payload = entries.size() == 1 ? entries.get(0) : new CouponUsageStatsFcmSendEnvelope(entries);
+        DistributionSummary.builder(PUBLISH_METRIC + ".envelope.entries")
+                .tags(BatchMetricTags.current())
+                .register(meterRegistry)
+                .record(entries.size());
+
+        CorrelationData correlationData = new CorrelationData();
+        try {
+            rabbitTemplate.convertAndSend(COUPON_EXCHANGE, COUPON_USAGE_STATS_FCM_SEND_ROUTING_KEY, payload, correlationData);
+            return new PendingConfirm(entries, correlationData);
+        } catch (AmqpException e) {
+            log.warn("쿠폰 사용 통계 FCM 발송 요청 게시 중 예외가 발생해 다시 게시합니다. 첫 traceId: {}, 메시지 수: {}, 원인: {}",
+                    entries.get(0).traceId(), entries.size(), e.getMessage());
+            return new PendingConfirm(entries, null);
+        }
+    }
+
+    private static long estimatedBytes(CouponUsageStatsFcmSendMessage message) {
+        // 동 이름은 한글이라 UTF-8에서 글자당 3바이트로 본다.
+        return message.traceId().length() + message.token().length() + message.topDong().length() * 3L + ENTRY_OVERHEAD_BYTES;
+    }
+
+    /**
+     * @return 다시 게시해야 하면 그 이유, 확인받았으면 {@code null}
+     */
+    private String awaitConfirm(CorrelationData correlationData, long deadline) {
+
+        if (correlationData == null) {
+            return RETRY_SEND_ERROR;
+        }
+
+        try {
+            CorrelationData.Confirm confirm = correlationData.getFuture().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (!confirm.ack()) {
+                log.warn("브로커가 쿠폰 사용 통계 FCM 발송 요청을 거부했습니다. 원인: {}", confirm.reason());
+                return RETRY_NACK;
+            }
+            // mandatory 반환은 ack보다 먼저 도착하므로 ack를 받은 시점에 반환 여부를 알 수 있다.
+            if (correlationData.getReturned() != null) {
+                log.warn("라우팅할 큐가 없어 쿠폰 사용 통계 FCM 발송 요청이 반환되었습니다. replyText: {}", correlationData.getReturned().getReplyText());
+                return RETRY_RETURNED;
+            }
+            return null;
+        } catch (TimeoutException e) {
+            return RETRY_TIMEOUT;
+        } catch (ExecutionException e) {
+            return RETRY_SEND_ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("쿠폰 사용 통계 FCM 발송 요청의 브로커 확인을 기다리는 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("쿠폰 사용 통계 FCM 발송 요청 재게시 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    private Timer publishTimer(String outcome, String exception) {
+        return Timer.builder(PUBLISH_METRIC)
+                .tags(BatchMetricTags.current())
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    private Counter retryCounter(String reason) {
+        return Counter.builder(PUBLISH_METRIC + ".retries")
+                .tags(BatchMetricTags.current())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private record PendingConfirm(List<CouponUsageStatsFcmSendMessage> messages, CorrelationData correlationData) {
+    }
 }
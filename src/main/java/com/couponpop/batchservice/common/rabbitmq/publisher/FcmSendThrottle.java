@@ -0,0 +1,212 @@
+package com.couponpop.batchservice.common.rabbitmq.publisher;
+
+import com.couponpop.batchservice.common.metrics.BatchMetricTags;
+import com.rabbitmq.client.AMQP;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * FCM 발송 요청 게시 속도를 제한하는 토큰 버킷입니다.
+ *
+ * <ul>
+ *     <li>초당 {@code rate-per-second}개까지 게시하고, 쉬고 있던 동안 쌓인 토큰으로 최대 1초 분량까지 몰아서 게시합니다.</li>
+ *     <li>{@code check-interval}마다 발송 큐를 passive declare로 조회해, 쌓인 메시지 수나 컨슈머당 밀린 메시지 수가 기준을 넘은 비율만큼 속도를 낮춥니다.
+ *     속도는 {@code min-rate-ratio} 아래로는 내리지 않고, 큐가 비워지면 다시 최대 속도로 돌아갑니다.</li>
+ *     <li>토큰이 없으면 게시 스레드가 다음 토큰이 생길 때까지 기다립니다. 여러 게시 스레드가 버킷 하나를 나눠 씁니다.</li>
+ * </ul>
+ *
+ * <p>{@code rate-per-second}가 0 이하면 속도를 제한하지 않고 큐도 조회하지 않습니다.
+ * 현재 속도는 {@code batch.fcm.send.publish.throttle.rate}, 마지막으로 조회한 큐 상태는 {@code batch.fcm.send.publish.queue.depth}·{@code .consumers},
+ * 토큰을 기다린 시간은 {@code batch.fcm.send.publish.throttle.wait} 지표로 기록합니다.</p>
+ */
+@Slf4j
+public class FcmSendThrottle {
+
+    private static final String THROTTLE_METRIC = "batch.fcm.send.publish.throttle";
+    private static final String QUEUE_METRIC = "batch.fcm.send.publish.queue";
+    private static final double BURST_SECONDS = 1.0;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RabbitTemplate rabbitTemplate;
+    private final MeterRegistry meterRegistry;
+    private final double maxRatePerSecond;
+    private final String queue;
+    private final long maxQueueDepth;
+    private final long maxMessagesPerConsumer;
+    private final double minRateRatio;
+    private final long checkIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextCheckAt;
+
+    private double ratePerSecond;
+    private double storedPermits;
+    private long refilledAt;
+
+    private volatile long queueDepth = -1;
+    private volatile long queueConsumers = -1;
+
+    public FcmSendThrottle(RabbitTemplate rabbitTemplate,
+                           MeterRegistry meterRegistry,
+                           double maxRatePerSecond,
+                           String queue,
+                           long maxQueueDepth,
+                           long maxMessagesPerConsumer,
+                           double minRateRatio,
+                           Duration checkInterval) {
+        this(rabbitTemplate, meterRegistry, maxRatePerSecond, queue, maxQueueDepth, maxMessagesPerConsumer, minRateRatio, checkInterval, System::nanoTime);
+    }
+
+    FcmSendThrottle(RabbitTemplate rabbitTemplate,
+                    MeterRegistry meterRegistry,
+                    double maxRatePerSecond,
+                    String queue,
+                    long maxQueueDepth,
+                    long maxMessagesPerConsumer,
+                    double minRateRatio,
+                    Duration checkInterval,
+                    LongSupplier nanoClock) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxRatePerSecond = maxRatePerSecond;
+        this.queue = queue;
+        this.maxQueueDepth = maxQueueDepth;
+        this.maxMessagesPerConsumer = maxMessagesPerConsumer;
+        this.minRateRatio = minRateRatio;
+        this.checkIntervalNanos = checkInterval.toNanos();
+        this.nanoClock = nanoClock;
+
+        long now = nanoClock.getAsLong();
+        this.nextCheckAt = new AtomicLong(now);
+        this.ratePerSecond = maxRatePerSecond;
+        this.storedPermits = burstPermits(maxRatePerSecond);
+        this.refilledAt = now;
+
+        Gauge.builder(THROTTLE_METRIC + ".rate", this, FcmSendThrottle::currentRate)
+                .register(meterRegistry);
+        Gauge.builder(QUEUE_METRIC + ".depth", this, throttle -> throttle.queueDepth)
+                .register(meterRegistry);
+        Gauge.builder(QUEUE_METRIC + ".consumers", this, throttle -> throttle.queueConsumers)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 메시지 하나를 게시할 토큰을 받을 때까지 기다립니다.
+     */
+    public void acquire() {
+
+        if (maxRatePerSecond <= 0) {
+            return;
+        }
+
+        refreshRateIfDue();
+
+        long waitNanos = reserve();
+        if (waitNanos <= 0) {
+            return;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("쿠폰 사용 통계 FCM 발송 요청 게시 속도 제한 대기 중 인터럽트되었습니다.", e);
+        }
+
+        Timer.builder(THROTTLE_METRIC + ".wait")
+                .tags(BatchMetricTags.current())
+                .register(meterRegistry)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public synchronized double currentRate() {
+        return maxRatePerSecond > 0 ? ratePerSecond : 0;
+    }
+
+    /**
+     * 토큰 하나를 미리 가져가고, 그 토큰이 생길 때까지 기다려야 하는 시간을 돌려줍니다.
+     * 토큰이 모자라면 빚으로 남겨 다음 호출이 그만큼 더 기다리게 하므로, 여러 스레드가 동시에 불러도 속도를 넘지 않습니다.
+     */
+    synchronized long reserve() {
+
+        refill(nanoClock.getAsLong());
+        storedPermits -= 1;
+        if (storedPermits >= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(-storedPermits * NANOS_PER_SECOND / ratePerSecond);
+    }
+
+    /**
+     * 큐 상태로 게시 속도를 다시 정합니다. 기준을 넘은 비율만큼 낮추고, 기준 안이면 최대 속도로 되돌립니다.
+     */
+    synchronized void applyQueueState(long messageCount, long consumerCount) {
+
+        double pressure = 0;
+        if (maxQueueDepth > 0) {
+            pressure = (double) messageCount / maxQueueDepth;
+        }
+        if (maxMessagesPerConsumer > 0 && messageCount > 0) {
+            // 컨슈머가 없으면 메시지가 줄지 않으므로 가장 낮은 속도로 보낸다.
+            double lagPressure = consumerCount > 0
+                    ? (double) messageCount / consumerCount / maxMessagesPerConsumer
+                    : Double.POSITIVE_INFINITY;
+            pressure = Math.max(pressure, lagPressure);
+        }
+
+        double ratio = pressure <= 1 ? 1 : Math.max(minRateRatio, 1 / pressure);
+        double newRate = maxRatePerSecond * ratio;
+        if (newRate != ratePerSecond) {
+            log.info("쿠폰 사용 통계 FCM 발송 큐 상태에 따라 게시 속도를 조정합니다. 큐: {}, 메시지: {}건, 컨슈머: {}개, 속도: {} → {}건/초",
+                    queue, messageCount, consumerCount, Math.round(ratePerSecond), Math.round(newRate));
+        }
+
+        refill(nanoClock.getAsLong());
+        ratePerSecond = newRate;
+        storedPermits = Math.min(storedPermits, burstPermits(newRate));
+    }
+
+    private void refreshRateIfDue() {
+
+        if (!StringUtils.hasText(queue)) {
+            return;
+        }
+
+        // 조회 주기가 된 첫 스레드만 큐를 조회하고, 나머지 스레드는 기존 속도로 계속 게시한다.
+        long now = nanoClock.getAsLong();
+        long checkAt = nextCheckAt.get();
+        if (now - checkAt < 0 || !nextCheckAt.compareAndSet(checkAt, now + checkIntervalNanos)) {
+            return;
+        }
+
+        try {
+            AMQP.Queue.DeclareOk declareOk = rabbitTemplate.execute(channel -> channel.queueDeclarePassive(queue));
+            if (declareOk == null) {
+                return;
+            }
+            queueDepth = declareOk.getMessageCount();
+            queueConsumers = declareOk.getConsumerCount();
+            applyQueueState(queueDepth, queueConsumers);
+        } catch (AmqpException e) {
+            log.warn("쿠폰 사용 통계 FCM 발송 큐 상태를 조회하지 못해 현재 게시 속도를 유지합니다. 큐: {}, 원인: {}", queue, e.getMessage());
+        }
+    }
+
+    private void refill(long now) {
+        storedPermits = Math.min(burstPermits(ratePerSecond), storedPermits + (now - refilledAt) * ratePerSecond / NANOS_PER_SECOND);
+        refilledAt = now;
+    }
+
+    private static double burstPermits(double ratePerSecond) {
+        return Math.max(1, ratePerSecond * BURST_SECONDS);
+    }
+}
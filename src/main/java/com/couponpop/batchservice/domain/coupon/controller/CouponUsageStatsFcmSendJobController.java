@@ -33,7 +33,8 @@ public class CouponUsageStatsFcmSendJobController {
     public ResponseEntity<String> launchCouponUsageStatsFcmSendJob(
             @CurrentMember AuthMember authMember,
             @RequestParam LocalDate runDate,
-            @RequestParam Long targetHour
+            @RequestParam Long targetHour,
+            @RequestParam(required = false) Long processorThreads
     ) {
 
         String memberType = authMember.memberType();
@@ -43,10 +44,14 @@ public class CouponUsageStatsFcmSendJobController {
 
         try {
             Job job = jobRegistry.getJob(COUPON_USAGE_STATS_FCM_SEND_JOB);
-            JobParameters jobParameters = new JobParametersBuilder()
+            JobParametersBuilder jobParametersBuilder = new JobParametersBuilder()
                     .addLocalDate("runDate", runDate)
-                    .addLong("targetHour", targetHour)
-                    .toJobParameters();
+                    .addLong("targetHour", targetHour);
+            if (processorThreads != null) {
+                // 스레드 수는 같은 실행을 재시작할 때 바꿀 수 있도록 식별 파라미터에서 뺀다.
+                jobParametersBuilder.addLong("processorThreads", processorThreads, false);
+            }
+            JobParameters jobParameters = jobParametersBuilder.toJobParameters();
 
             jobLauncher.run(job, jobParameters);
 
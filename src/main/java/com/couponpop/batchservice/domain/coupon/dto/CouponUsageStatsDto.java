@@ -1,5 +1,6 @@
 package com.couponpop.batchservice.domain.coupon.dto;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 
 public record CouponUsageStatsDto(
@@ -7,5 +8,5 @@ public record CouponUsageStatsDto(
         String topDong,
         Integer topHour,
         LocalDate aggregatedAt
-) {
+) implements Serializable {
 }
@@ -0,0 +1,27 @@
+package com.couponpop.batchservice.domain.coupon.dto;
+
+import com.couponpop.couponpopcoremodule.dto.coupon.event.model.CouponUsageStatsFcmSendMessage;
+
+import java.util.List;
+
+/**
+ * FCM 발송 요청 여러 건을 AMQP 메시지 하나로 보내는 봉투입니다. 항목마다 자기 traceId를 그대로 가지므로 받는 쪽은 항목 단위로 멱등 처리합니다.
+ * 단건 메시지와 같은 라우팅 키로 게시하고, AMQP {@code type} 속성을 {@value #TYPE}으로 붙여 구분합니다.
+ *
+ * <p>컨슈머와 맞춰야 하는 전송 계약이지만 공유 모듈에는 아직 없으므로, 형식을 바꾸면 README의 "FCM 발송 메시지 계약"도 함께 고칩니다.</p>
+ * <ul>
+ *     <li>JSON: {@code {"entries":[단건 메시지, ...]}}</li>
+ *     <li>바이너리: {@code version(1바이트) | 항목 수(varint) | 항목...}. 항목은 버전 바이트를 뺀 단건 메시지 필드이며,
+ *     자세한 레이아웃은 {@link com.couponpop.batchservice.common.rabbitmq.converter.FcmSendMessageBinaryCodec}을 참고합니다.</li>
+ * </ul>
+ */
+public record CouponUsageStatsFcmSendEnvelope(
+        List<CouponUsageStatsFcmSendMessage> entries
+) {
+
+    public static final String TYPE = "coupon.usage.stats.fcm.send.envelope";
+
+    public CouponUsageStatsFcmSendEnvelope {
+        entries = List.copyOf(entries);
+    }
+}
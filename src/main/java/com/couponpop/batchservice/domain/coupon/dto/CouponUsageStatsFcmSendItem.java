@@ -0,0 +1,20 @@
+package com.couponpop.batchservice.domain.coupon.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * FCM 발송 대상 집계 결과와 진행 중 이벤트 판단 기준 시각, 그 시각에 회원의 topDong에서 진행 중인 쿠폰 이벤트 개수, 아이템을 만든 잡 실행을 함께 담습니다.
+ * 원격 워커는 잡 파라미터와 동별 조회 결과, Step 컨텍스트에 접근할 수 없으므로 processor가 계산한 값을 아이템에 실어 보냅니다.
+ */
+public record CouponUsageStatsFcmSendItem(
+        CouponUsageStatsDto stats,
+        LocalDateTime referenceTime,
+        int activeEventCount,
+        FcmSendRun run
+) implements Serializable {
+
+    public static CouponUsageStatsFcmSendItem of(CouponUsageStatsDto stats, LocalDateTime referenceTime, int activeEventCount, FcmSendRun run) {
+        return new CouponUsageStatsFcmSendItem(stats, referenceTime, activeEventCount, run);
+    }
+}
@@ -0,0 +1,13 @@
+package com.couponpop.batchservice.domain.coupon.dto;
+
+import java.io.Serializable;
+
+/**
+ * 발송 아이템을 만든 잡 실행입니다. 발송 원장은 재시작해도 바뀌지 않는 잡 인스턴스 ID로 남기고,
+ * 원장 앞의 Bloom 필터는 실행(잡 실행 ID)마다 새로 만듭니다.
+ */
+public record FcmSendRun(
+        long jobInstanceId,
+        long jobExecutionId
+) implements Serializable {
+}
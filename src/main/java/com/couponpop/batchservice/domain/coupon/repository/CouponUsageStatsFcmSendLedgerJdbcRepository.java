@@ -0,0 +1,111 @@
+package com.couponpop.batchservice.domain.coupon.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static com.couponpop.batchservice.common.constants.BatchJdbcConstants.MYSQL_STREAMING_FETCH_SIZE;
+
+@Repository
+@RequiredArgsConstructor
+public class CouponUsageStatsFcmSendLedgerJdbcRepository {
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * 발송한 traceId를 한 번에 저장합니다. 이미 저장된 traceId는 건너뛰므로 재게시 후 다시 호출해도 안전합니다.
+     */
+    public void insertSentTraceIds(long jobInstanceId, Collection<String> traceIds) {
+
+        if (traceIds.isEmpty()) {
+            return;
+        }
+
+        String sql = """
+                INSERT IGNORE INTO coupon_usage_stats_fcm_send_ledger (job_instance_id, trace_id)
+                VALUES (:jobInstanceId, :traceId)
+                """;
+
+        SqlParameterSource[] batchParams = traceIds.stream()
+                .map(traceId -> new MapSqlParameterSource()
+                        .addValue("jobInstanceId", jobInstanceId)
+                        .addValue("traceId", traceId))
+                .toArray(SqlParameterSource[]::new);
+
+        namedParameterJdbcTemplate.batchUpdate(sql, batchParams);
+    }
+
+    /**
+     * 주어진 traceId 중 이미 발송한 것만 조회합니다.
+     */
+    public Set<String> findSentTraceIds(long jobInstanceId, Collection<String> traceIds) {
+
+        if (traceIds.isEmpty()) {
+            return Set.of();
+        }
+
+        String sql = """
+                SELECT cusfsl.trace_id
+                FROM coupon_usage_stats_fcm_send_ledger cusfsl
+                WHERE cusfsl.job_instance_id = :jobInstanceId
+                  AND cusfsl.trace_id IN (:traceIds)
+                """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("jobInstanceId", jobInstanceId)
+                .addValue("traceIds", traceIds);
+
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(sql, params, String.class));
+    }
+
+    /**
+     * 잡 인스턴스가 발송한 traceId를 한 행씩 스트리밍으로 읽어 넘깁니다.
+     */
+    public void forEachSentTraceId(long jobInstanceId, Consumer<String> consumer) {
+
+        String sql = """
+                SELECT cusfsl.trace_id
+                FROM coupon_usage_stats_fcm_send_ledger cusfsl
+                WHERE cusfsl.job_instance_id = ?
+                """;
+
+        // 재시작한 잡의 원장은 수십만 건일 수 있으므로 행 스트리밍 fetchSize를 지정한다.
+        namedParameterJdbcTemplate.getJdbcTemplate().query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(MYSQL_STREAMING_FETCH_SIZE);
+            ps.setLong(1, jobInstanceId);
+            return ps;
+        }, rs -> {
+            consumer.accept(rs.getString("trace_id"));
+        });
+    }
+
+    /**
+     * 기준 시각보다 먼저 발송한 행을 최대 limit건 삭제합니다.
+     */
+    public int deleteSentBefore(LocalDateTime cutoff, int limit) {
+
+        String sql = """
+                DELETE FROM coupon_usage_stats_fcm_send_ledger
+                WHERE sent_at < :cutoff
+                LIMIT :limit
+                """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("limit", limit);
+
+        return namedParameterJdbcTemplate.update(sql, params);
+    }
+}
@@ -0,0 +1,353 @@
+package com.couponpop.batchservice.domain.coupon.service;
+
+import com.couponpop.batchservice.common.client.NotificationSystemFeignClient;
+import com.couponpop.batchservice.common.metrics.BatchMetricTags;
+import com.couponpop.batchservice.common.rabbitmq.publisher.CouponUsageStatsFcmSendPublisher;
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsDto;
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsFcmSendItem;
+import com.couponpop.batchservice.domain.coupon.dto.FcmSendRun;
+import com.couponpop.batchservice.domain.couponevent.repository.CouponEventJdbcRepository;
+import com.couponpop.batchservice.domain.store.directory.StoreRegionDirectory;
+import com.couponpop.couponpopcoremodule.dto.coupon.event.model.CouponUsageStatsFcmSendMessage;
+import com.couponpop.couponpopcoremodule.dto.fcmtoken.response.FcmTokensResponse;
+import com.couponpop.couponpopcoremodule.utils.NotificationTraceIdGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 쿠폰 사용 통계를 FCM 발송 요청 메시지로 팬아웃합니다.
+ * 단일 노드 Step과 원격 청킹 매니저/워커가 같은 로직을 사용합니다.
+ *
+ * <ul>
+ *     <li>{@link #countActiveCouponEvents}: 여러 동의 진행 중인 쿠폰 이벤트 개수를 묶음 조회로 메모에 채웁니다. processor가 청크의 첫 아이템을 처리하기 전에 호출합니다.</li>
+ *     <li>{@link #enrich}: 회원 한 명의 topDong에서 진행 중인 쿠폰 이벤트 개수를 구하고 발송 대상이 아니면 걸러냅니다. processor에서 회원마다 호출합니다.</li>
+ *     <li>{@link #send}: 아이템 묶음의 FCM 토큰을 한 번에 조회해 토큰마다 메시지를 만들고 게시합니다. writer에서 청크마다 호출합니다.
+ *     같은 잡 인스턴스에서 이미 게시한 메시지는 {@link FcmSendLedger}로 걸러 재시작 시 다시 보내지 않습니다.</li>
+ * </ul>
+ *
+ * <p>진행 중인 쿠폰 이벤트 개수 조회 시간({@code batch.fcm.send.event.count.query})과
+ * 발송에서 제외된 회원 수({@code batch.fcm.send.skipped}, {@code reason} 태그)를 잡/Step 태그와 함께 기록합니다.</p>
+ */
+@Slf4j
+@Service
+public class CouponUsageStatsFcmSendService {
+
+    private static final String METRIC_PREFIX = "batch.fcm.send";
+    private static final String SKIP_NO_TOKEN = "no_token";
+    private static final String SKIP_NO_STORES = "no_stores";
+    private static final String SKIP_NO_EVENTS = "no_events";
+    private static final String SKIP_ALREADY_SENT = "already_sent";
+    private static final long HAND_OFF_POLL_MILLIS = 100;
+
+    // 동별 이벤트 개수 메모에서 매장이 없는 동을 진행 중인 이벤트가 없는 동과 구분하는 값
+    private static final int NO_STORES = -1;
+
+    // 파이프라인 종료 신호. 메시지가 없는 묶음은 게시 단계로 넘기지 않으므로 빈 목록으로 구분한다.
+    private static final List<CouponUsageStatsFcmSendMessage> END_OF_CHUNK = List.of();
+
+    private final NotificationSystemFeignClient notificationSystemFeignClient;
+    private final StoreRegionDirectory storeRegionDirectory;
+    private final CouponEventJdbcRepository couponEventJdbcRepository;
+    private final CouponUsageStatsFcmSendPublisher couponUsageStatsFcmSendPublisher;
+    private final FcmSendLedger fcmSendLedger;
+    private final MeterRegistry meterRegistry;
+    private final TaskExecutor fcmSendPipelineTaskExecutor;
+    private final int subBatchSize;
+    private final int queueCapacity;
+
+    public CouponUsageStatsFcmSendService(NotificationSystemFeignClient notificationSystemFeignClient,
+                                          StoreRegionDirectory storeRegionDirectory,
+                                          CouponEventJdbcRepository couponEventJdbcRepository,
+                                          CouponUsageStatsFcmSendPublisher couponUsageStatsFcmSendPublisher,
+                                          FcmSendLedger fcmSendLedger,
+                                          MeterRegistry meterRegistry,
+                                          @Qualifier("fcmSendPipelineTaskExecutor") TaskExecutor fcmSendPipelineTaskExecutor,
+                                          @Value("${batch.fcm-send.pipeline.sub-batch-size:200}") int subBatchSize,
+                                          @Value("${batch.fcm-send.pipeline.queue-capacity:2}") int queueCapacity) {
+        this.notificationSystemFeignClient = notificationSystemFeignClient;
+        this.storeRegionDirectory = storeRegionDirectory;
+        this.couponEventJdbcRepository = couponEventJdbcRepository;
+        this.couponUsageStatsFcmSendPublisher = couponUsageStatsFcmSendPublisher;
+        this.fcmSendLedger = fcmSendLedger;
+        this.meterRegistry = meterRegistry;
+        this.fcmSendPipelineTaskExecutor = fcmSendPipelineTaskExecutor;
+        this.subBatchSize = subBatchSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * 동별로 기준 시각에 진행 중인 쿠폰 이벤트 개수를 한 번에 조회해 {@code activeEventCountByDong}에 채웁니다.
+     * 이미 메모에 있는 동(다른 스레드가 조회 중인 동 포함)은 빼고, 남은 동의 매장 IDs와 이벤트 개수를 각각 한 번의 묶음 조회로 구합니다.
+     * 매장이 없는 동은 {@link #NO_STORES}로 채웁니다.
+     *
+     * <p>메모에는 조회를 맡은 스레드가 먼저 빈 future를 넣고, 조회는 맵 밖에서 한 뒤 future를 완료합니다.
+     * 같은 동을 찾는 다른 스레드는 그 future만 기다리므로, 맵의 잠금을 쥔 채로 조회하지 않습니다.
+     * 조회에 실패하면 맡은 동을 메모에서 빼 다음 호출에서 다시 조회하게 합니다.</p>
+     *
+     * @param activeEventCountByDong 같은 {@code referenceTime}으로 조회한 동별 이벤트 개수
+     */
+    public void countActiveCouponEvents(Collection<String> dongs, LocalDateTime referenceTime, Map<String, CompletableFuture<Integer>> activeEventCountByDong) {
+
+        Map<String, CompletableFuture<Integer>> claimedCounts = new LinkedHashMap<>();
+        for (String dong : dongs) {
+            CompletableFuture<Integer> count = new CompletableFuture<>();
+            if (!claimedCounts.containsKey(dong) && activeEventCountByDong.putIfAbsent(dong, count) == null) {
+                claimedCounts.put(dong, count);
+            }
+        }
+        if (claimedCounts.isEmpty()) {
+            return;
+        }
+
+        try {
+            // 맡은 동의 매장 IDs를 모아 IN 쿼리 조건으로 사용하여 진행 중인 쿠폰 이벤트 개수를 한 번에 조회
+            Map<String, List<Long>> storeIdsByDong = storeRegionDirectory.findStoreIdsByDongs(List.copyOf(claimedCounts.keySet())).entrySet().stream()
+                    .filter(entry -> entry.getValue() != null && !entry.getValue().isEmpty())
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+            Map<String, Integer> countByDong = Map.of();
+            if (!storeIdsByDong.isEmpty()) {
+                Timer eventCountQueryTimer = Timer.builder(METRIC_PREFIX + ".event.count.query")
+                        .tags(BatchMetricTags.current())
+                        .register(meterRegistry);
+                countByDong = eventCountQueryTimer.record(() -> couponEventJdbcRepository.countActiveCouponEventsByDongs(storeIdsByDong, referenceTime));
+            }
+
+            Map<String, Integer> counted = countByDong;
+            claimedCounts.forEach((dong, count) -> count.complete(storeIdsByDong.containsKey(dong) ? counted.getOrDefault(dong, 0) : NO_STORES));
+        } catch (RuntimeException e) {
+            claimedCounts.forEach((dong, count) -> {
+                activeEventCountByDong.remove(dong, count);
+                count.completeExceptionally(e);
+            });
+            throw e;
+        }
+    }
+
+    /**
+     * 회원의 topDong에서 기준 시각에 진행 중인 쿠폰 이벤트 개수를 구해 발송 아이템을 만듭니다.
+     * topDong에 매장이 없거나 진행 중인 이벤트가 없으면 {@code null}을 반환해 발송 대상에서 걸러냅니다.
+     *
+     * <p>동별 개수는 보통 {@link #countActiveCouponEvents}로 청크마다 미리 채워 둔 값을 읽습니다.
+     * 메모에 없는 동이면 그 동만 조회해 채우므로, Step 실행 동안 같은 맵을 넘기면
+     * 매장 IDs 조회와 이벤트 개수 조회가 회원 수가 아닌 서로 다른 동 수만큼만 실행됩니다.
+     * 여러 스레드에서 호출하면 {@link ConcurrentHashMap}을 넘겨야 합니다.</p>
+     *
+     * @param run                    아이템을 만든 잡 실행. 발송 원장을 잡 인스턴스별로 나누는 데 씁니다.
+     * @param activeEventCountByDong 같은 {@code referenceTime}으로 조회한 동별 이벤트 개수
+     */
+    public CouponUsageStatsFcmSendItem enrich(CouponUsageStatsDto stats, LocalDateTime referenceTime, FcmSendRun run, Map<String, CompletableFuture<Integer>> activeEventCountByDong) {
+
+        Long memberId = stats.memberId();
+        String topDong = stats.topDong();
+        if (!activeEventCountByDong.containsKey(topDong)) {
+            countActiveCouponEvents(List.of(topDong), referenceTime, activeEventCountByDong);
+        }
+        int activeEventCount = await(activeEventCountByDong.get(topDong));
+
+        if (activeEventCount == NO_STORES) {
+            log.info("회원 {}의 topDong '{}'에 해당하는 매장이 없어 제외되었습니다.", memberId, topDong);
+            skippedCounter(BatchMetricTags.current(), SKIP_NO_STORES).increment();
+            return null;
+        }
+
+        log.info("회원 {}의 topDong '{}'의 기준 시각 '{}'에 진행 중인 쿠폰 이벤트 개수: {}", memberId, topDong, referenceTime, activeEventCount);
+        if (activeEventCount <= 0) {
+            log.info("회원 {}의 알림은 진행 중인 쿠폰 이벤트가 없어 제외되었습니다.", memberId);
+            skippedCounter(BatchMetricTags.current(), SKIP_NO_EVENTS).increment();
+            return null;
+        }
+
+        return CouponUsageStatsFcmSendItem.of(stats, referenceTime, activeEventCount, run);
+    }
+
+    /**
+     * 아이템의 FCM 토큰을 조회해 토큰마다 발송 요청 메시지를 게시합니다.
+     *
+     * <p>아이템이 {@code sub-batch-size}보다 많으면 묶음으로 나눠, 호출 스레드가 다음 묶음의 토큰을 조회하는 동안
+     * 별도 스레드가 앞 묶음을 게시합니다. 두 단계 사이의 큐는 {@code queue-capacity}개로 제한해 조회가 게시보다 너무 앞서지 않게 합니다.
+     * 모든 묶음의 브로커 확인을 받은 뒤에 반환하므로 청크 커밋 시점은 그대로입니다.</p>
+     *
+     * <p>묶음마다 브로커 확인을 받으면 곧바로 발송 원장에 남기므로, 청크 도중 실패해 재시작해도 확인받은 메시지는 다시 게시하지 않습니다.</p>
+     */
+    public void send(List<? extends CouponUsageStatsFcmSendItem> items) {
+        log.info("쿠폰 사용 통계 FCM 알림 발송 작업을 시작합니다.");
+
+        if (items.isEmpty()) {
+            return;
+        }
+
+        Tags stepTags = BatchMetricTags.current();
+        // 한 청크의 아이템은 모두 같은 잡 실행의 processor가 만든다.
+        FcmSendRun run = items.get(0).run();
+
+        if (items.size() <= subBatchSize) {
+            publishAndRecord(run, toMessages(items, run, stepTags));
+            return;
+        }
+
+        BlockingQueue<List<CouponUsageStatsFcmSendMessage>> enrichedQueue = new ArrayBlockingQueue<>(queueCapacity);
+        CompletableFuture<Void> publishStage = CompletableFuture.runAsync(() -> publishEnriched(enrichedQueue, run), fcmSendPipelineTaskExecutor);
+
+        try {
+            for (int from = 0; from < items.size() && !publishStage.isDone(); from += subBatchSize) {
+                List<? extends CouponUsageStatsFcmSendItem> subBatch = items.subList(from, Math.min(items.size(), from + subBatchSize));
+                List<CouponUsageStatsFcmSendMessage> messages = toMessages(subBatch, run, stepTags);
+                if (!messages.isEmpty()) {
+                    handOff(enrichedQueue, messages, publishStage);
+                }
+            }
+        } catch (RuntimeException e) {
+            // 이미 넘긴 묶음의 게시가 끝날 때까지 기다린 뒤 조회 단계의 예외를 던진다.
+            handOff(enrichedQueue, END_OF_CHUNK, publishStage);
+            publishStage.handle((ignored, publishFailure) -> null).join();
+            throw e;
+        }
+
+        // 게시 단계가 먼저 실패해 조회를 멈췄다면 여기서 그 예외가 던져진다.
+        handOff(enrichedQueue, END_OF_CHUNK, publishStage);
+        try {
+            publishStage.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private List<CouponUsageStatsFcmSendMessage> toMessages(List<? extends CouponUsageStatsFcmSendItem> items, FcmSendRun run, Tags stepTags) {
+
+        List<Long> memberIds = items.stream()
+                .map(item -> item.stats().memberId())
+                .toList();
+
+        // 회원별 FCM 토큰 조회
+        List<FcmTokensResponse> fcmTokensResponses = notificationSystemFeignClient.fetchFcmTokensByMemberIds(memberIds).getData();
+
+        // memberId -> FCM Token List 매핑 생성
+        Map<Long, List<String>> memberIdToTokensMap = fcmTokensResponses.stream()
+                .collect(Collectors.toMap(
+                        FcmTokensResponse::memberId,
+                        FcmTokensResponse::fcmTokens
+                ));
+
+        List<CouponUsageStatsFcmSendMessage> messages = new ArrayList<>();
+        for (CouponUsageStatsFcmSendItem item : items) {
+            CouponUsageStatsDto stats = item.stats();
+            Long memberId = stats.memberId();
+            String topDong = stats.topDong();
+            int topHour = stats.topHour();
+
+            // 회원의 FCM Token 조회
+            List<String> tokens = memberIdToTokensMap.get(memberId);
+            if (tokens == null || tokens.isEmpty()) {
+                log.info("회원 {}의 알림은 FCM 토큰이 없어 제외되었습니다.", memberId);
+                skippedCounter(stepTags, SKIP_NO_TOKEN).increment();
+                continue;
+            }
+
+            for (String token : tokens) {
+                String traceId = NotificationTraceIdGenerator.generate(stats.aggregatedAt(), memberId, token, topDong, topHour);
+
+                CouponUsageStatsFcmSendMessage couponUsageStatsFcmSendMessage = CouponUsageStatsFcmSendMessage.of(traceId, memberId, token, topDong, topHour, item.activeEventCount());
+                messages.add(couponUsageStatsFcmSendMessage);
+            }
+        }
+
+        List<CouponUsageStatsFcmSendMessage> unsentMessages = fcmSendLedger.filterUnsent(run, messages);
+        int alreadySent = messages.size() - unsentMessages.size();
+        if (alreadySent > 0) {
+            skippedCounter(stepTags, SKIP_ALREADY_SENT).increment(alreadySent);
+        }
+        return unsentMessages;
+    }
+
+    private void publishAndRecord(FcmSendRun run, List<CouponUsageStatsFcmSendMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        couponUsageStatsFcmSendPublisher.publishAll(messages);
+        fcmSendLedger.recordSent(run, messages);
+    }
+
+    private void publishEnriched(BlockingQueue<List<CouponUsageStatsFcmSendMessage>> enrichedQueue, FcmSendRun run) {
+        while (true) {
+            List<CouponUsageStatsFcmSendMessage> messages = take(enrichedQueue);
+            if (messages.isEmpty()) {
+                return;
+            }
+            // 묶음마다 게시하고 브로커 확인을 받은 뒤 원장에 남기고 다음 묶음을 꺼낸다.
+            publishAndRecord(run, messages);
+        }
+    }
+
+    /**
+     * 큐에 자리가 날 때까지 기다립니다. 게시 단계가 먼저 끝났으면(실패 등) 더 넘기지 않습니다.
+     */
+    private void handOff(BlockingQueue<List<CouponUsageStatsFcmSendMessage>> enrichedQueue,
+                         List<CouponUsageStatsFcmSendMessage> messages,
+                         CompletableFuture<Void> publishStage) {
+        try {
+            while (!publishStage.isDone()) {
+                if (enrichedQueue.offer(messages, HAND_OFF_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("FCM 발송 메시지를 게시 단계로 넘기는 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    /**
+     * 다른 스레드가 조회 중인 동이면 끝날 때까지 기다리고, 그 조회가 실패했으면 같은 예외를 던집니다.
+     */
+    private static int await(CompletableFuture<Integer> activeEventCount) {
+        try {
+            return activeEventCount.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static List<CouponUsageStatsFcmSendMessage> take(BlockingQueue<List<CouponUsageStatsFcmSendMessage>> enrichedQueue) {
+        try {
+            return enrichedQueue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("FCM 발송 메시지를 기다리는 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    private Counter skippedCounter(Tags stepTags, String reason) {
+        return Counter.builder(METRIC_PREFIX + ".skipped")
+                .tags(stepTags)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,121 @@
+package com.couponpop.batchservice.domain.coupon.service;
+
+import com.couponpop.batchservice.common.cache.BloomFilter;
+import com.couponpop.batchservice.common.cache.ExpiringLruCache;
+import com.couponpop.batchservice.domain.coupon.dto.FcmSendRun;
+import com.couponpop.batchservice.domain.coupon.repository.CouponUsageStatsFcmSendLedgerJdbcRepository;
+import com.couponpop.couponpopcoremodule.dto.coupon.event.model.CouponUsageStatsFcmSendMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 브로커 확인을 받은 FCM 발송 요청의 traceId를 잡 인스턴스별로 남기는 발송 원장입니다.
+ * 청크 도중 실패한 잡을 재시작하면 이미 게시한 메시지를 원장으로 걸러 다시 보내지 않습니다.
+ *
+ * <ul>
+ *     <li>잡 실행마다 원장을 한 번 읽어 Bloom 필터를 만들고, 필터가 "있을 수도 있다"고 답한 traceId만 원장에서 다시 확인합니다.
+ *     처음 실행하는 잡은 원장이 비어 있으므로 메시지마다 DB를 조회하지 않습니다.</li>
+ *     <li>원장은 게시 묶음마다 한 번에 저장하며, 청크 트랜잭션이 롤백돼도 남도록 별도 트랜잭션으로 커밋합니다.</li>
+ *     <li>오래된 원장은 보존 기간 정리 잡이 지웁니다.</li>
+ * </ul>
+ *
+ * <p>Bloom 필터는 잡 실행마다 만들므로 재시작하면 원장 전체를 다시 읽습니다. 한 실행 안에서 청크는 한 번만 처리되므로,
+ * 필터를 만든 뒤 다른 원격 청킹 워커가 저장한 traceId가 필터에 없어도 중복 게시가 생기지 않습니다.</p>
+ */
+@Slf4j
+@Component
+public class FcmSendLedger {
+
+    private static final int MAX_CACHED_RUNS = 8;
+
+    private final CouponUsageStatsFcmSendLedgerJdbcRepository couponUsageStatsFcmSendLedgerJdbcRepository;
+    private final TransactionTemplate requiresNewTransactionTemplate;
+    private final ExpiringLruCache<Long, BloomFilter> sentTraceIdsByExecution;
+    private final long expectedMessages;
+    private final double falsePositiveRate;
+
+    public FcmSendLedger(CouponUsageStatsFcmSendLedgerJdbcRepository couponUsageStatsFcmSendLedgerJdbcRepository,
+                         PlatformTransactionManager transactionManager,
+                         Clock clock,
+                         @Value("${batch.fcm-send.ledger.expected-messages:1000000}") long expectedMessages,
+                         @Value("${batch.fcm-send.ledger.false-positive-rate:0.01}") double falsePositiveRate,
+                         @Value("${batch.fcm-send.ledger.filter-ttl:6h}") Duration filterTtl) {
+        this.couponUsageStatsFcmSendLedgerJdbcRepository = couponUsageStatsFcmSendLedgerJdbcRepository;
+        this.requiresNewTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.sentTraceIdsByExecution = new ExpiringLruCache<>(filterTtl, MAX_CACHED_RUNS, clock);
+        this.expectedMessages = expectedMessages;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * 이미 발송한 메시지를 뺀 나머지를 반환합니다. 모두 처음 보내는 메시지면 받은 목록을 그대로 반환합니다.
+     */
+    public List<CouponUsageStatsFcmSendMessage> filterUnsent(FcmSendRun run, List<CouponUsageStatsFcmSendMessage> messages) {
+
+        BloomFilter sentTraceIds = sentTraceIds(run);
+        List<String> candidates = messages.stream()
+                .map(CouponUsageStatsFcmSendMessage::traceId)
+                .filter(sentTraceIds::mightContain)
+                .toList();
+        if (candidates.isEmpty()) {
+            return messages;
+        }
+
+        Set<String> alreadySent = couponUsageStatsFcmSendLedgerJdbcRepository.findSentTraceIds(run.jobInstanceId(), candidates);
+        if (alreadySent.isEmpty()) {
+            return messages;
+        }
+
+        log.info("이미 발송한 쿠폰 사용 통계 FCM 발송 요청 {}건을 건너뜁니다. 잡 인스턴스: {}, 원장 확인: {}건", alreadySent.size(), run.jobInstanceId(), candidates.size());
+        return messages.stream()
+                .filter(message -> !alreadySent.contains(message.traceId()))
+                .toList();
+    }
+
+    /**
+     * 브로커 확인을 받은 메시지를 원장에 저장합니다.
+     */
+    public void recordSent(FcmSendRun run, List<CouponUsageStatsFcmSendMessage> messages) {
+
+        List<String> traceIds = messages.stream()
+                .map(CouponUsageStatsFcmSendMessage::traceId)
+                .toList();
+
+        // 청크 트랜잭션 안에서 호출돼도 청크 롤백과 관계없이 커밋한다.
+        requiresNewTransactionTemplate.executeWithoutResult(status ->
+                couponUsageStatsFcmSendLedgerJdbcRepository.insertSentTraceIds(run.jobInstanceId(), traceIds));
+
+        BloomFilter sentTraceIds = sentTraceIds(run);
+        traceIds.forEach(sentTraceIds::put);
+    }
+
+    private synchronized BloomFilter sentTraceIds(FcmSendRun run) {
+
+        BloomFilter sentTraceIds = sentTraceIdsByExecution.get(run.jobExecutionId());
+        if (sentTraceIds != null) {
+            return sentTraceIds;
+        }
+
+        BloomFilter loaded = BloomFilter.create(expectedMessages, falsePositiveRate);
+        AtomicLong loadedCount = new AtomicLong();
+        couponUsageStatsFcmSendLedgerJdbcRepository.forEachSentTraceId(run.jobInstanceId(), traceId -> {
+            loaded.put(traceId);
+            loadedCount.incrementAndGet();
+        });
+        sentTraceIdsByExecution.put(run.jobExecutionId(), loaded);
+
+        log.info("발송 원장 필터를 만들었습니다. 잡 인스턴스: {}, 잡 실행: {}, 이미 발송한 요청: {}건", run.jobInstanceId(), run.jobExecutionId(), loadedCount.get());
+        return loaded;
+    }
+}
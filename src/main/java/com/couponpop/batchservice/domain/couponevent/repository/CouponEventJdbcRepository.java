@@ -7,29 +7,59 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 
 @Repository
 @RequiredArgsConstructor
 public class CouponEventJdbcRepository {
 
+    public static final String COUNT_ACTIVE_COUPON_EVENTS_GROUP_BY_STORE_SQL = """
+            SELECT ce.store_id,
+                   COUNT(ce.id) AS active_event_count
+            FROM coupon_events ce
+            WHERE ce.store_id in (:storeIds)
+               AND :now BETWEEN ce.event_start_at AND ce.event_end_at
+               AND total_count > issued_count
+            GROUP BY ce.store_id
+            """;
+
+    // IN 목록이 너무 길어지지 않도록 한 번에 조회하는 매장 수
+    private static final int STORE_IDS_PER_QUERY = 1000;
+
     private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
-    public int countActiveCouponEventsByStoreIds(List<Long> storeIds, LocalDateTime referenceTime) {
-        String sql = """
-                SELECT COUNT(ce.id)
-                FROM coupon_events ce
-                WHERE ce.store_id in (:storeIds)
-                   AND :now BETWEEN ce.event_start_at AND ce.event_end_at
-                   AND total_count > issued_count
-                """;
-
-        MapSqlParameterSource params = new MapSqlParameterSource()
-                .addValue("storeIds", storeIds)
-                .addValue("now", Timestamp.valueOf(referenceTime));
-
-        Integer result = namedParameterJdbcTemplate.queryForObject(sql, params, Integer.class);
-        return Objects.requireNonNullElse(result, 0);
+    /**
+     * 동별로 기준 시각에 진행 중인 쿠폰 이벤트 개수를 조회합니다.
+     * 모든 동의 매장을 모아 매장별 개수를 GROUP BY 한 번으로 조회한 뒤 동 단위로 합치므로, 동 수와 관계없이 매장 {@value #STORE_IDS_PER_QUERY}개당 쿼리 한 번만 실행합니다.
+     *
+     * @return 요청한 모든 동의 진행 중인 이벤트 개수. 진행 중인 이벤트가 없는 동은 0입니다.
+     */
+    public Map<String, Integer> countActiveCouponEventsByDongs(Map<String, ? extends Collection<Long>> storeIdsByDong, LocalDateTime referenceTime) {
+
+        List<Long> storeIds = new ArrayList<>(storeIdsByDong.values().stream()
+                .flatMap(Collection::stream)
+                .collect(LinkedHashSet<Long>::new, LinkedHashSet::add, LinkedHashSet::addAll));
+
+        Map<Long, Integer> activeEventCountByStoreId = new HashMap<>();
+        for (int from = 0; from < storeIds.size(); from += STORE_IDS_PER_QUERY) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("storeIds", storeIds.subList(from, Math.min(storeIds.size(), from + STORE_IDS_PER_QUERY)))
+                    .addValue("now", Timestamp.valueOf(referenceTime));
+
+            namedParameterJdbcTemplate.query(COUNT_ACTIVE_COUPON_EVENTS_GROUP_BY_STORE_SQL, params, rs -> {
+                activeEventCountByStoreId.put(rs.getLong("store_id"), rs.getInt("active_event_count"));
+            });
+        }
+
+        Map<String, Integer> activeEventCountByDong = new HashMap<>();
+        storeIdsByDong.forEach((dong, dongStoreIds) -> activeEventCountByDong.put(dong, dongStoreIds.stream()
+                .mapToInt(storeId -> activeEventCountByStoreId.getOrDefault(storeId, 0))
+                .sum()));
+        return activeEventCountByDong;
     }
 }
@@ -0,0 +1,24 @@
+package com.couponpop.batchservice.domain.couponusagestats.audience;
+
+/**
+ * 발송 대상 비트맵을 나누는 기준입니다.
+ */
+public enum AudienceDimension {
+
+    /**
+     * 해당 집계 날짜에 최신 결과가 저장된 전체 회원. 집계 날짜마다 항상 한 행을 저장하므로 색인 존재 여부 표시도 겸합니다.
+     */
+    MEMBER,
+
+    /**
+     * top_hour별 회원
+     */
+    HOUR,
+
+    /**
+     * top_dong별 회원
+     */
+    DONG;
+
+    public static final String ALL_MEMBERS = "";
+}
@@ -0,0 +1,51 @@
+package com.couponpop.batchservice.domain.couponusagestats.audience;
+
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 한 집계 날짜의 회원별 최신 결과를 top_hour별, top_dong별 압축 비트맵으로 모읍니다.
+ *
+ * <p>member_id를 Roaring 비트맵에 담으므로 연속된 ID 구간은 구간 단위로, 드문 ID는 배열로 저장됩니다.
+ * 회원 100만 명 기준으로 전체·시간대·동 비트맵을 모두 합쳐도 수 MB 안에 들어갑니다.</p>
+ */
+public class CouponUsageAudienceIndex {
+
+    private final Roaring64NavigableMap members = new Roaring64NavigableMap();
+    private final Map<Integer, Roaring64NavigableMap> membersByHour = new TreeMap<>();
+    private final Map<String, Roaring64NavigableMap> membersByDong = new TreeMap<>();
+
+    public void add(long memberId, String topDong, int topHour) {
+        members.addLong(memberId);
+        membersByHour.computeIfAbsent(topHour, hour -> new Roaring64NavigableMap()).addLong(memberId);
+        membersByDong.computeIfAbsent(topDong, dong -> new Roaring64NavigableMap()).addLong(memberId);
+    }
+
+    public long memberCount() {
+        return members.getLongCardinality();
+    }
+
+    public Roaring64NavigableMap members() {
+        return members;
+    }
+
+    public Map<Integer, Roaring64NavigableMap> membersByHour() {
+        return Collections.unmodifiableMap(membersByHour);
+    }
+
+    public Map<String, Roaring64NavigableMap> membersByDong() {
+        return Collections.unmodifiableMap(membersByDong);
+    }
+
+    /**
+     * 저장 전에 연속 구간을 run 컨테이너로 바꿔 크기를 줄입니다.
+     */
+    public void optimize() {
+        members.runOptimize();
+        membersByHour.values().forEach(Roaring64NavigableMap::runOptimize);
+        membersByDong.values().forEach(Roaring64NavigableMap::runOptimize);
+    }
+}
@@ -0,0 +1,14 @@
+package com.couponpop.batchservice.domain.couponusagestats.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record CouponUsageDailyRollupDto(
+        LocalDate rollupDate,
+        Long memberId,
+        String dong,
+        int usageHour,
+        long usageCount,
+        LocalDateTime lastUsedAt
+) {
+}
@@ -0,0 +1,7 @@
+package com.couponpop.batchservice.domain.couponusagestats.dto;
+
+public record MemberIdRangeDto(
+        long minMemberId,
+        long maxMemberId
+) {
+}
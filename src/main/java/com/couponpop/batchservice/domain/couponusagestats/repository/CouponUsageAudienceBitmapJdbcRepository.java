@@ -0,0 +1,172 @@
+package com.couponpop.batchservice.domain.couponusagestats.repository;
+
+import com.couponpop.batchservice.domain.couponusagestats.audience.AudienceDimension;
+import com.couponpop.batchservice.domain.couponusagestats.audience.CouponUsageAudienceIndex;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Repository
+@RequiredArgsConstructor
+public class CouponUsageAudienceBitmapJdbcRepository {
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * 집계 날짜의 발송 대상 비트맵을 모두 지우고 새로 저장합니다.
+     * 전체 회원 비트맵은 비어 있어도 저장하고, 시간대·동 비트맵은 회원이 있는 것만 저장합니다.
+     */
+    public void replaceIndex(LocalDate aggregatedAt, CouponUsageAudienceIndex index) {
+
+        namedParameterJdbcTemplate.update("DELETE FROM coupon_usage_audience_bitmaps WHERE aggregated_at = :aggregatedAt",
+                new MapSqlParameterSource("aggregatedAt", Date.valueOf(aggregatedAt)));
+
+        index.optimize();
+
+        List<SqlParameterSource> batchParams = new ArrayList<>();
+        batchParams.add(bitmapParams(aggregatedAt, AudienceDimension.MEMBER, AudienceDimension.ALL_MEMBERS, index.members()));
+        index.membersByHour().forEach((hour, bitmap) -> batchParams.add(bitmapParams(aggregatedAt, AudienceDimension.HOUR, String.valueOf(hour), bitmap)));
+        index.membersByDong().forEach((dong, bitmap) -> batchParams.add(bitmapParams(aggregatedAt, AudienceDimension.DONG, dong, bitmap)));
+
+        String sql = """
+                INSERT INTO coupon_usage_audience_bitmaps (aggregated_at, dimension, dimension_value, member_count, bitmap)
+                VALUES (:aggregatedAt, :dimension, :dimensionValue, :memberCount, :bitmap)
+                """;
+
+        namedParameterJdbcTemplate.batchUpdate(sql, batchParams.toArray(SqlParameterSource[]::new));
+    }
+
+    /**
+     * 기간 안에서 발송 대상 비트맵이 저장된 집계 날짜를 조회합니다.
+     */
+    public List<LocalDate> findIndexedDates(LocalDate from, LocalDate to) {
+
+        String sql = """
+                SELECT cuab.aggregated_at
+                FROM coupon_usage_audience_bitmaps cuab
+                WHERE cuab.aggregated_at BETWEEN :from AND :to
+                  AND cuab.dimension = :dimension
+                  AND cuab.dimension_value = :dimensionValue
+                """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", Date.valueOf(from))
+                .addValue("to", Date.valueOf(to))
+                .addValue("dimension", AudienceDimension.MEMBER.name())
+                .addValue("dimensionValue", AudienceDimension.ALL_MEMBERS);
+
+        return namedParameterJdbcTemplate.query(sql, params, (rs, rowNum) -> rs.getDate("aggregated_at").toLocalDate());
+    }
+
+    /**
+     * 집계 날짜별로 한 기준값의 비트맵을 조회합니다. 저장되지 않은 날짜는 결과에 포함되지 않습니다.
+     */
+    public Map<LocalDate, Roaring64NavigableMap> findBitmaps(Collection<LocalDate> aggregatedAts, AudienceDimension dimension, String dimensionValue) {
+
+        if (aggregatedAts.isEmpty()) {
+            return Map.of();
+        }
+
+        String sql = """
+                SELECT cuab.aggregated_at,
+                       cuab.bitmap
+                FROM coupon_usage_audience_bitmaps cuab
+                WHERE cuab.aggregated_at IN (:aggregatedAts)
+                  AND cuab.dimension = :dimension
+                  AND cuab.dimension_value = :dimensionValue
+                """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("aggregatedAts", aggregatedAts.stream().map(Date::valueOf).toList())
+                .addValue("dimension", dimension.name())
+                .addValue("dimensionValue", dimensionValue);
+
+        Map<LocalDate, Roaring64NavigableMap> bitmaps = new HashMap<>();
+        namedParameterJdbcTemplate.query(sql, params, rs -> {
+            bitmaps.put(rs.getDate("aggregated_at").toLocalDate(), deserialize(rs.getBytes("bitmap")));
+        });
+        return bitmaps;
+    }
+
+    /**
+     * 집계 날짜별로 동 비트맵을 모두 조회합니다. 동은 이름 순으로 정렬됩니다.
+     */
+    public Map<LocalDate, Map<String, Roaring64NavigableMap>> findDongBitmaps(Collection<LocalDate> aggregatedAts) {
+
+        if (aggregatedAts.isEmpty()) {
+            return Map.of();
+        }
+
+        String sql = """
+                SELECT cuab.aggregated_at,
+                       cuab.dimension_value,
+                       cuab.bitmap
+                FROM coupon_usage_audience_bitmaps cuab
+                WHERE cuab.aggregated_at IN (:aggregatedAts)
+                  AND cuab.dimension = :dimension
+                """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("aggregatedAts", aggregatedAts.stream().map(Date::valueOf).toList())
+                .addValue("dimension", AudienceDimension.DONG.name());
+
+        Map<LocalDate, Map<String, Roaring64NavigableMap>> bitmaps = new HashMap<>();
+        namedParameterJdbcTemplate.query(sql, params, rs -> {
+            bitmaps.computeIfAbsent(rs.getDate("aggregated_at").toLocalDate(), aggregatedAt -> new TreeMap<>())
+                    .put(rs.getString("dimension_value"), deserialize(rs.getBytes("bitmap")));
+        });
+        return bitmaps;
+    }
+
+    public int deleteIndexesBefore(LocalDate cutoff) {
+        return namedParameterJdbcTemplate.update("DELETE FROM coupon_usage_audience_bitmaps WHERE aggregated_at < :cutoff",
+                new MapSqlParameterSource("cutoff", Date.valueOf(cutoff)));
+    }
+
+    private static MapSqlParameterSource bitmapParams(LocalDate aggregatedAt, AudienceDimension dimension, String dimensionValue, Roaring64NavigableMap bitmap) {
+        return new MapSqlParameterSource()
+                .addValue("aggregatedAt", Date.valueOf(aggregatedAt))
+                .addValue("dimension", dimension.name())
+                .addValue("dimensionValue", dimensionValue)
+                .addValue("memberCount", bitmap.getLongCardinality())
+                .addValue("bitmap", serialize(bitmap));
+    }
+
+    private static byte[] serialize(Roaring64NavigableMap bitmap) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) bitmap.serializedSizeInBytes());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            bitmap.serialize(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("발송 대상 비트맵을 직렬화하지 못했습니다.", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Roaring64NavigableMap deserialize(byte[] bytes) {
+        Roaring64NavigableMap bitmap = new Roaring64NavigableMap();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            bitmap.deserialize(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("발송 대상 비트맵을 읽지 못했습니다.", e);
+        }
+        return bitmap;
+    }
+}
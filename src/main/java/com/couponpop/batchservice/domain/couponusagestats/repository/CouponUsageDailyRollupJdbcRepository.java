@@ -0,0 +1,120 @@
+package com.couponpop.batchservice.domain.couponusagestats.repository;
+
+import com.couponpop.batchservice.domain.couponusagestats.dto.CouponUsageDailyRollupDto;
+import com.couponpop.batchservice.domain.couponusagestats.dto.MemberIdRangeDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+@RequiredArgsConstructor
+public class CouponUsageDailyRollupJdbcRepository {
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public List<LocalDate> findCompletedRollupDates(LocalDate from, LocalDate to) {
+
+        String sql = """
+                SELECT rd.rollup_date
+                FROM coupon_usage_daily_rollup_dates rd
+                WHERE rd.rollup_date BETWEEN :from AND :to
+                """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", Date.valueOf(from))
+                .addValue("to", Date.valueOf(to));
+
+        return namedParameterJdbcTemplate.query(sql, params, (rs, rowNum) -> rs.getDate("rollup_date").toLocalDate());
+    }
+
+    /**
+     * 기간 내 롤업이 있는 회원의 가장 작은/큰 member_id를 조회합니다. 롤업이 없으면 빈 값을 반환합니다.
+     */
+    public Optional<MemberIdRangeDto> findMemberIdRange(LocalDate from, LocalDate to) {
+
+        String sql = """
+                SELECT MIN(r.member_id) AS min_member_id,
+                       MAX(r.member_id) AS max_member_id
+                FROM coupon_usage_daily_rollups r
+                WHERE r.rollup_date BETWEEN :from AND :to
+                """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", Date.valueOf(from))
+                .addValue("to", Date.valueOf(to));
+
+        // 집계 함수라 행이 없어도 한 행이 오며, 이때 두 값은 NULL이다.
+        MemberIdRangeDto memberIdRange = namedParameterJdbcTemplate.queryForObject(sql, params, (rs, rowNum) -> {
+            long minMemberId = rs.getLong("min_member_id");
+            return rs.wasNull() ? null : new MemberIdRangeDto(minMemberId, rs.getLong("max_member_id"));
+        });
+        return Optional.ofNullable(memberIdRange);
+    }
+
+    /**
+     * 롤업을 다시 만들기 위해 기간 내 롤업과 완료 기록을 삭제합니다.
+     */
+    public void deleteRollups(LocalDate from, LocalDate to) {
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", Date.valueOf(from))
+                .addValue("to", Date.valueOf(to));
+
+        namedParameterJdbcTemplate.update("DELETE FROM coupon_usage_daily_rollup_dates WHERE rollup_date BETWEEN :from AND :to", params);
+        namedParameterJdbcTemplate.update("DELETE FROM coupon_usage_daily_rollups WHERE rollup_date BETWEEN :from AND :to", params);
+    }
+
+    /**
+     * 롤업 행을 누적 저장합니다. 같은 (날짜, 회원, 동, 시간대)가 이미 있으면 사용 횟수를 더하고 마지막 사용 시각을 갱신하므로,
+     * 청크 단위로 나눠 저장해도 한 번에 저장한 결과와 같습니다.
+     */
+    public void upsertRollups(List<CouponUsageDailyRollupDto> rollups) {
+
+        if (rollups.isEmpty()) {
+            return;
+        }
+
+        String sql = """
+                INSERT INTO coupon_usage_daily_rollups (rollup_date, member_id, dong, usage_hour, usage_count, last_used_at)
+                VALUES (:rollupDate, :memberId, :dong, :usageHour, :usageCount, :lastUsedAt)
+                ON DUPLICATE KEY UPDATE usage_count  = usage_count + VALUES(usage_count),
+                                        last_used_at = GREATEST(last_used_at, VALUES(last_used_at))
+                """;
+
+        SqlParameterSource[] batchParams = rollups.stream()
+                .map(rollup -> new MapSqlParameterSource()
+                        .addValue("rollupDate", Date.valueOf(rollup.rollupDate()))
+                        .addValue("memberId", rollup.memberId())
+                        .addValue("dong", rollup.dong())
+                        .addValue("usageHour", rollup.usageHour())
+                        .addValue("usageCount", rollup.usageCount())
+                        .addValue("lastUsedAt", Timestamp.valueOf(rollup.lastUsedAt())))
+                .toArray(SqlParameterSource[]::new);
+
+        namedParameterJdbcTemplate.batchUpdate(sql, batchParams);
+    }
+
+    public void markRollupDatesCompleted(LocalDate from, LocalDate to) {
+
+        String sql = """
+                INSERT INTO coupon_usage_daily_rollup_dates (rollup_date)
+                VALUES (:rollupDate)
+                ON DUPLICATE KEY UPDATE completed_at = CURRENT_TIMESTAMP
+                """;
+
+        SqlParameterSource[] batchParams = Stream.iterate(from, date -> !date.isAfter(to), date -> date.plusDays(1))
+                .map(date -> new MapSqlParameterSource("rollupDate", Date.valueOf(date)))
+                .toArray(SqlParameterSource[]::new);
+
+        namedParameterJdbcTemplate.batchUpdate(sql, batchParams);
+    }
+}
@@ -0,0 +1,211 @@
+package com.couponpop.batchservice.domain.couponusagestats.repository;
+
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsDto;
+import com.couponpop.batchservice.domain.couponusagestats.repository.projection.LatestCouponUsageStatsProjection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.DataClassRowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.couponpop.batchservice.common.constants.BatchJdbcConstants.MYSQL_STREAMING_FETCH_SIZE;
+
+@Repository
+@RequiredArgsConstructor
+public class CouponUsageStatsJdbcRepository {
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * 회원별로 기준일 이전(기준일 포함) 가장 최근 집계 행을 조회합니다.
+     */
+    public List<LatestCouponUsageStatsProjection> findLatestStatsByMemberIds(List<Long> memberIds, LocalDate until) {
+
+        if (memberIds.isEmpty()) {
+            return List.of();
+        }
+
+        String sql = """
+                SELECT cus.id AS id,
+                       cus.member_id AS memberId,
+                       cus.top_dong AS topDong,
+                       cus.top_hour AS topHour,
+                       cus.aggregated_at AS aggregatedAt
+                FROM coupon_usage_stats cus
+                INNER JOIN (
+                    SELECT member_id,
+                           MAX(aggregated_at) AS latest_aggregated_at
+                    FROM coupon_usage_stats
+                    WHERE member_id IN (:memberIds)
+                      AND aggregated_at <= :until
+                    GROUP BY member_id
+                ) latest ON latest.member_id = cus.member_id
+                         AND latest.latest_aggregated_at = cus.aggregated_at
+                """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("memberIds", memberIds)
+                .addValue("until", Date.valueOf(until));
+
+        return namedParameterJdbcTemplate.query(sql, params, new DataClassRowMapper<>(LatestCouponUsageStatsProjection.class));
+    }
+
+    /**
+     * 집계 결과를 저장합니다. 같은 (회원, 집계 날짜) 행이 이미 있으면 결과만 덮어쓰므로 같은 날짜로 재실행해도 중복 행이 생기지 않습니다.
+     */
+    public void upsertStats(List<CouponUsageStatsDto> stats) {
+
+        if (stats.isEmpty()) {
+            return;
+        }
+
+        String sql = """
+                INSERT INTO coupon_usage_stats (member_id, top_dong, top_hour, aggregated_at)
+                VALUES (:memberId, :topDong, :topHour, :aggregatedAt)
+                ON DUPLICATE KEY UPDATE top_dong = VALUES(top_dong),
+                                        top_hour = VALUES(top_hour)
+                """;
+
+        SqlParameterSource[] batchParams = stats.stream()
+                .map(stat -> new MapSqlParameterSource()
+                        .addValue("memberId", stat.memberId())
+                        .addValue("topDong", stat.topDong())
+                        .addValue("topHour", stat.topHour())
+                        .addValue("aggregatedAt", Date.valueOf(stat.aggregatedAt())))
+                .toArray(SqlParameterSource[]::new);
+
+        namedParameterJdbcTemplate.batchUpdate(sql, batchParams);
+    }
+
+    /**
+     * 회원별 최신 집계 결과({@code coupon_usage_stats_latest})를 갱신합니다.
+     * 이미 저장된 결과보다 이전 날짜로 재실행한 경우에는 더 최근 결과를 덮어쓰지 않습니다.
+     */
+    public void upsertLatestStats(List<? extends CouponUsageStatsDto> stats) {
+
+        if (stats.isEmpty()) {
+            return;
+        }
+
+        // MySQL은 SET 절을 왼쪽부터 적용하므로, aggregated_at 비교가 끝난 뒤 마지막에 aggregated_at을 바꾼다.
+        String sql = """
+                INSERT INTO coupon_usage_stats_latest (member_id, top_dong, top_hour, aggregated_at)
+                VALUES (:memberId, :topDong, :topHour, :aggregatedAt)
+                ON DUPLICATE KEY UPDATE top_dong = IF(VALUES(aggregated_at) >= aggregated_at, VALUES(top_dong), top_dong),
+                                        top_hour = IF(VALUES(aggregated_at) >= aggregated_at, VALUES(top_hour), top_hour),
+                                        aggregated_at = GREATEST(aggregated_at, VALUES(aggregated_at))
+                """;
+
+        SqlParameterSource[] batchParams = stats.stream()
+                .map(stat -> new MapSqlParameterSource()
+                        .addValue("memberId", stat.memberId())
+                        .addValue("topDong", stat.topDong())
+                        .addValue("topHour", stat.topHour())
+                        .addValue("aggregatedAt", Date.valueOf(stat.aggregatedAt())))
+                .toArray(SqlParameterSource[]::new);
+
+        namedParameterJdbcTemplate.batchUpdate(sql, batchParams);
+    }
+
+    /**
+     * 최신 결과가 해당 집계 날짜인 회원을 한 행씩 스트리밍으로 읽어 넘깁니다.
+     */
+    public void forEachLatestStats(LocalDate aggregatedAt, Consumer<CouponUsageStatsDto> consumer) {
+
+        String sql = """
+                SELECT cusl.member_id,
+                       cusl.top_dong,
+                       cusl.top_hour,
+                       cusl.aggregated_at
+                FROM coupon_usage_stats_latest cusl
+                WHERE cusl.aggregated_at = ?
+                """;
+
+        // 전체 결과를 메모리에 올리지 않도록 행 스트리밍 fetchSize를 지정한다.
+        namedParameterJdbcTemplate.getJdbcTemplate().query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(MYSQL_STREAMING_FETCH_SIZE);
+            ps.setDate(1, Date.valueOf(aggregatedAt));
+            return ps;
+        }, rs -> {
+            consumer.accept(new CouponUsageStatsDto(
+                    rs.getLong("member_id"),
+                    rs.getString("top_dong"),
+                    rs.getInt("top_hour"),
+                    rs.getDate("aggregated_at").toLocalDate()
+            ));
+        });
+    }
+
+    /**
+     * 결과가 바뀌지 않은 회원의 최근 행을 새 집계 날짜로 옮깁니다. 새 행을 쌓지 않고도 최신 집계로 조회되게 합니다.
+     */
+    public void refreshAggregatedAt(List<Long> ids, LocalDate aggregatedAt) {
+
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        String sql = """
+                UPDATE coupon_usage_stats
+                SET aggregated_at = :aggregatedAt
+                WHERE id = :id
+                  AND aggregated_at < :aggregatedAt
+                """;
+
+        SqlParameterSource[] batchParams = ids.stream()
+                .map(id -> new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("aggregatedAt", Date.valueOf(aggregatedAt)))
+                .toArray(SqlParameterSource[]::new);
+
+        namedParameterJdbcTemplate.batchUpdate(sql, batchParams);
+    }
+
+    /**
+     * 집계 날짜가 기준일보다 이전인 행의 ID를 오래된 순서로 최대 limit건 조회합니다.
+     */
+    public List<Long> findIdsAggregatedBefore(LocalDate cutoff, int limit) {
+
+        String sql = """
+                SELECT cus.id
+                FROM coupon_usage_stats cus
+                WHERE cus.aggregated_at < :cutoff
+                ORDER BY cus.id
+                LIMIT :limit
+                """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cutoff", Date.valueOf(cutoff))
+                .addValue("limit", limit);
+
+        return namedParameterJdbcTemplate.queryForList(sql, params, Long.class);
+    }
+
+    /**
+     * 행을 보관 테이블로 복사합니다. 이미 보관된 ID는 건너뛰므로 재시작 시 다시 호출해도 안전합니다.
+     */
+    public int archiveStatsByIds(List<Long> ids) {
+
+        String sql = """
+                INSERT IGNORE INTO coupon_usage_stats_archive (id, member_id, top_dong, top_hour, aggregated_at)
+                SELECT cus.id, cus.member_id, cus.top_dong, cus.top_hour, cus.aggregated_at
+                FROM coupon_usage_stats cus
+                WHERE cus.id IN (:ids)
+                """;
+
+        return namedParameterJdbcTemplate.update(sql, new MapSqlParameterSource("ids", ids));
+    }
+
+    public int deleteStatsByIds(List<Long> ids) {
+        return namedParameterJdbcTemplate.update("DELETE FROM coupon_usage_stats WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids));
+    }
+}
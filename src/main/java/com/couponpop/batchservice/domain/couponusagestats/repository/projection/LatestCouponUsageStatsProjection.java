@@ -0,0 +1,12 @@
+package com.couponpop.batchservice.domain.couponusagestats.repository.projection;
+
+import java.time.LocalDate;
+
+public record LatestCouponUsageStatsProjection(
+        Long id,
+        Long memberId,
+        String topDong,
+        Integer topHour,
+        LocalDate aggregatedAt
+) {
+}
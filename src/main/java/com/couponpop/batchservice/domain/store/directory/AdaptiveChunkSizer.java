@@ -0,0 +1,63 @@
+package com.couponpop.batchservice.domain.store.directory;
+
+import java.time.Duration;
+
+/**
+ * 관측한 응답 시간과 응답 크기로 다음 Feign 요청에 실을 매장 ID 수를 정합니다.
+ *
+ * <p>매장 ID 하나당 처리 시간을 지수 이동 평균으로 추정해 목표 응답 시간 안에 끝날 만큼의 크기를 고릅니다.
+ * 한 번에 두 배 이상 바뀌지 않도록 제한하고, 실패하면 절반으로 줄입니다.
+ * 응답 항목 수가 요청보다 많으면(중복 응답 등) 그만큼 요청 크기를 줄여 응답 본문 크기도 최대 크기 안에 유지합니다.</p>
+ */
+class AdaptiveChunkSizer {
+
+    private static final double SMOOTHING = 0.3;
+
+    private final int minChunkSize;
+    private final int maxChunkSize;
+    private final long targetLatencyNanos;
+
+    private int chunkSize;
+    private double nanosPerId = Double.NaN;
+
+    AdaptiveChunkSizer(int initialChunkSize, int minChunkSize, int maxChunkSize, Duration targetLatency) {
+        if (minChunkSize < 1 || minChunkSize > maxChunkSize) {
+            throw new IllegalArgumentException("청크 크기 범위가 올바르지 않습니다. min: " + minChunkSize + ", max: " + maxChunkSize);
+        }
+
+        this.minChunkSize = minChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.targetLatencyNanos = targetLatency.toNanos();
+        this.chunkSize = clamp(initialChunkSize);
+    }
+
+    synchronized int current() {
+        return chunkSize;
+    }
+
+    synchronized void onSuccess(int requestedIds, int responseEntries, long elapsedNanos) {
+
+        double observedNanosPerId = (double) elapsedNanos / requestedIds;
+        nanosPerId = Double.isNaN(nanosPerId)
+                ? observedNanosPerId
+                : SMOOTHING * observedNanosPerId + (1 - SMOOTHING) * nanosPerId;
+
+        int latencyBasedSize = (int) Math.min(Integer.MAX_VALUE, targetLatencyNanos / Math.max(nanosPerId, 1.0));
+
+        // 요청 대비 응답 항목 비율만큼 줄여 응답 본문도 최대 크기를 넘지 않게 한다.
+        double payloadRatio = Math.max(1.0, (double) responseEntries / requestedIds);
+        int payloadBasedSize = (int) (maxChunkSize / payloadRatio);
+
+        int nextSize = Math.min(latencyBasedSize, payloadBasedSize);
+        nextSize = Math.max(chunkSize / 2, Math.min(chunkSize * 2, nextSize));
+        chunkSize = clamp(nextSize);
+    }
+
+    synchronized void onFailure() {
+        chunkSize = clamp(chunkSize / 2);
+    }
+
+    private int clamp(int size) {
+        return Math.max(minChunkSize, Math.min(maxChunkSize, size));
+    }
+}
@@ -0,0 +1,212 @@
+package com.couponpop.batchservice.domain.store.directory;
+
+import com.couponpop.batchservice.common.cache.ExpiringLruCache;
+import com.couponpop.batchservice.common.client.StoreSystemFeignClient;
+import com.couponpop.couponpopcoremodule.dto.store.response.StoreIdsByDongResponse;
+import com.couponpop.couponpopcoremodule.dto.store.response.StoreRegionInfoResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 매장 서비스의 매장-동 매핑을 프로세스 안에 캐싱하는 디렉터리입니다.
+ * storeId → dong, dong → storeIds 두 방향으로 색인하며, 두 잡은 Feign 대신 이 디렉터리를 통해 매장 정보를 조회합니다.
+ *
+ * <ul>
+ *     <li>항목은 적재 후 TTL이 지나면 만료되고, 최대 크기를 넘으면 오래 조회되지 않은 항목부터 제거됩니다.</li>
+ *     <li>캐시에 없는 키만 모아 기존 Feign 엔드포인트로 한 번에 적재합니다. 매장 단위 적재는 {@link StoreRegionFetcher}가 병렬로 나눠 보냅니다.</li>
+ *     <li>스냅샷 경로가 설정되면 주기적으로, 그리고 종료 시 디스크에 저장하고 기동 시 복원합니다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class StoreRegionDirectory {
+
+    private static final String METRIC_PREFIX = "batch.store.region.directory";
+    private static final String STORE_CACHE = "store";
+    private static final String DONG_CACHE = "dong";
+
+    private final StoreSystemFeignClient storeSystemFeignClient;
+    private final StoreRegionFetcher storeRegionFetcher;
+    private final ExpiringLruCache<Long, String> dongByStoreId;
+    private final ExpiringLruCache<String, List<Long>> storeIdsByDong;
+    private final StoreRegionDirectorySnapshot snapshot;
+
+    private final Counter storeHitCounter;
+    private final Counter storeMissCounter;
+    private final Counter dongHitCounter;
+    private final Counter dongMissCounter;
+    private final Timer storeLoadTimer;
+    private final Timer dongLoadTimer;
+
+    private volatile boolean dirty;
+
+    public StoreRegionDirectory(StoreSystemFeignClient storeSystemFeignClient,
+                                StoreRegionFetcher storeRegionFetcher,
+                                MeterRegistry meterRegistry,
+                                Clock clock,
+                                @Value("${batch.store-directory.ttl:6h}") Duration ttl,
+                                @Value("${batch.store-directory.max-size:200000}") int maxSize,
+                                @Value("${batch.store-directory.snapshot-path:}") String snapshotPath) {
+        this.storeSystemFeignClient = storeSystemFeignClient;
+        this.storeRegionFetcher = storeRegionFetcher;
+        this.dongByStoreId = new ExpiringLruCache<>(ttl, maxSize, clock);
+        this.storeIdsByDong = new ExpiringLruCache<>(ttl, maxSize, clock);
+        this.snapshot = StringUtils.hasText(snapshotPath) ? new StoreRegionDirectorySnapshot(Path.of(snapshotPath)) : null;
+
+        this.storeHitCounter = lookupCounter(meterRegistry, STORE_CACHE, "hit");
+        this.storeMissCounter = lookupCounter(meterRegistry, STORE_CACHE, "miss");
+        this.dongHitCounter = lookupCounter(meterRegistry, DONG_CACHE, "hit");
+        this.dongMissCounter = lookupCounter(meterRegistry, DONG_CACHE, "miss");
+        this.storeLoadTimer = loadTimer(meterRegistry, STORE_CACHE);
+        this.dongLoadTimer = loadTimer(meterRegistry, DONG_CACHE);
+
+        Gauge.builder(METRIC_PREFIX + ".size", dongByStoreId, ExpiringLruCache::size)
+                .tag("cache", STORE_CACHE)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", storeIdsByDong, ExpiringLruCache::size)
+                .tag("cache", DONG_CACHE)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 매장 ID별 동을 조회합니다. 동 정보를 찾지 못한 매장은 결과에 포함되지 않습니다.
+     */
+    public Map<Long, String> findDongsByStoreIds(Collection<Long> storeIds) {
+
+        Map<Long, String> dongs = new HashMap<>();
+        List<Long> missingStoreIds = new ArrayList<>();
+        for (Long storeId : new LinkedHashSet<>(storeIds)) {
+            String dong = dongByStoreId.get(storeId);
+            if (dong != null) {
+                dongs.put(storeId, dong);
+            } else {
+                missingStoreIds.add(storeId);
+            }
+        }
+
+        storeHitCounter.increment(dongs.size());
+        storeMissCounter.increment(missingStoreIds.size());
+
+        if (!missingStoreIds.isEmpty()) {
+            List<StoreRegionInfoResponse> storeRegionInfoResponses = storeLoadTimer.record(() -> storeRegionFetcher.fetchStoresRegion(missingStoreIds));
+            for (StoreRegionInfoResponse storeRegionInfoResponse : storeRegionInfoResponses) {
+                if (storeRegionInfoResponse.dong() == null) {
+                    continue;
+                }
+                dongByStoreId.put(storeRegionInfoResponse.storeId(), storeRegionInfoResponse.dong());
+                dongs.putIfAbsent(storeRegionInfoResponse.storeId(), storeRegionInfoResponse.dong()); // 중복 키 충돌 시 먼저 받은 값 유지
+            }
+            dirty = true;
+        }
+
+        return dongs;
+    }
+
+    /**
+     * 동별 매장 ID 목록을 조회합니다. 매장 서비스가 응답하지 않은 동은 결과에 포함되지 않습니다.
+     */
+    public Map<String, List<Long>> findStoreIdsByDongs(Collection<String> dongs) {
+
+        Map<String, List<Long>> storeIds = new HashMap<>();
+        List<String> missingDongs = new ArrayList<>();
+        for (String dong : new LinkedHashSet<>(dongs)) {
+            List<Long> cachedStoreIds = storeIdsByDong.get(dong);
+            if (cachedStoreIds != null) {
+                storeIds.put(dong, cachedStoreIds);
+            } else {
+                missingDongs.add(dong);
+            }
+        }
+
+        dongHitCounter.increment(storeIds.size());
+        dongMissCounter.increment(missingDongs.size());
+
+        if (!missingDongs.isEmpty()) {
+            List<StoreIdsByDongResponse> storeIdsByDongResponses = dongLoadTimer.record(() -> storeSystemFeignClient.fetchStoreIdsByDongs(missingDongs).getData());
+            for (StoreIdsByDongResponse storeIdsByDongResponse : storeIdsByDongResponses) {
+                List<Long> loadedStoreIds = List.copyOf(storeIdsByDongResponse.storeIds());
+                storeIdsByDong.put(storeIdsByDongResponse.dong(), loadedStoreIds);
+                storeIds.put(storeIdsByDongResponse.dong(), loadedStoreIds);
+
+                // 동 단위 응답으로 매장 → 동 방향 색인도 함께 채운다.
+                loadedStoreIds.forEach(storeId -> dongByStoreId.put(storeId, storeIdsByDongResponse.dong()));
+            }
+            dirty = true;
+        }
+
+        return storeIds;
+    }
+
+    public void invalidateAll() {
+        dongByStoreId.clear();
+        storeIdsByDong.clear();
+        dirty = true;
+    }
+
+    @PostConstruct
+    void restoreSnapshot() {
+
+        if (snapshot == null || !snapshot.exists()) {
+            return;
+        }
+
+        try {
+            int storeCount = snapshot.readInto(dongByStoreId, storeIdsByDong);
+            log.info("매장-동 디렉터리 스냅샷을 복원했습니다. path: {}, 매장 수: {}", snapshot.path(), storeCount);
+        } catch (IOException | RuntimeException e) {
+            // 스냅샷은 기동 속도를 위한 것이므로, 읽지 못하면 빈 캐시로 시작한다.
+            log.warn("매장-동 디렉터리 스냅샷을 읽지 못해 빈 캐시로 시작합니다. path: {}", snapshot.path(), e);
+            invalidateAll();
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${batch.store-directory.snapshot-interval:10m}")
+    void saveSnapshot() {
+
+        if (snapshot == null || !dirty) {
+            return;
+        }
+
+        dirty = false;
+        try {
+            snapshot.write(dongByStoreId.snapshot(), storeIdsByDong.snapshot());
+        } catch (IOException | RuntimeException e) {
+            dirty = true;
+            log.warn("매장-동 디렉터리 스냅샷 저장에 실패했습니다. path: {}", snapshot.path(), e);
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String cache, String result) {
+        return Counter.builder(METRIC_PREFIX + ".lookups")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Timer loadTimer(MeterRegistry meterRegistry, String cache) {
+        return Timer.builder(METRIC_PREFIX + ".load")
+                .tag("cache", cache)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,120 @@
+package com.couponpop.batchservice.domain.store.directory;
+
+import com.couponpop.batchservice.common.cache.ExpiringLruCache;
+import com.couponpop.batchservice.common.cache.ExpiringLruCache.CacheEntry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 매장-동 디렉터리를 gzip으로 압축한 이진 파일로 저장하고 복원합니다.
+ * 컨테이너가 재시작돼도 Feign 조회 없이 캐시를 채운 상태로 시작하기 위해 사용합니다.
+ *
+ * <pre>
+ * int magic, int version
+ * int storeCount, { long storeId, utf dong, long loadedAtMillis } * storeCount
+ * int dongCount,  { utf dong, int size, long storeId * size, long loadedAtMillis } * dongCount
+ * </pre>
+ */
+class StoreRegionDirectorySnapshot {
+
+    private static final int MAGIC = 0x53524453; // "SRDS"
+    private static final int VERSION = 1;
+
+    private final Path path;
+
+    StoreRegionDirectorySnapshot(Path path) {
+        this.path = path;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    boolean exists() {
+        return Files.isRegularFile(path);
+    }
+
+    /**
+     * 임시 파일에 먼저 쓴 뒤 교체하므로, 저장 중 종료돼도 이전 스냅샷이 깨지지 않습니다.
+     */
+    void write(List<CacheEntry<Long, String>> dongByStoreId,
+               List<CacheEntry<String, List<Long>>> storeIdsByDong) throws IOException {
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tempFile = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tempFile))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            out.writeInt(dongByStoreId.size());
+            for (CacheEntry<Long, String> entry : dongByStoreId) {
+                out.writeLong(entry.key());
+                out.writeUTF(entry.value());
+                out.writeLong(entry.loadedAtMillis());
+            }
+
+            out.writeInt(storeIdsByDong.size());
+            for (CacheEntry<String, List<Long>> entry : storeIdsByDong) {
+                out.writeUTF(entry.key());
+                out.writeInt(entry.value().size());
+                for (Long storeId : entry.value()) {
+                    out.writeLong(storeId);
+                }
+                out.writeLong(entry.loadedAtMillis());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 스냅샷을 읽어 캐시에 복원합니다. 만료된 항목은 캐시가 걸러냅니다.
+     *
+     * @return 읽은 매장 항목 수
+     */
+    int readInto(ExpiringLruCache<Long, String> dongByStoreId,
+                 ExpiringLruCache<String, List<Long>> storeIdsByDong) throws IOException {
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("지원하지 않는 매장-동 디렉터리 스냅샷 형식입니다: " + path);
+            }
+
+            int storeCount = in.readInt();
+            for (int i = 0; i < storeCount; i++) {
+                long storeId = in.readLong();
+                String dong = in.readUTF();
+                dongByStoreId.put(storeId, dong, in.readLong());
+            }
+
+            int dongCount = in.readInt();
+            for (int i = 0; i < dongCount; i++) {
+                String dong = in.readUTF();
+                int size = in.readInt();
+                List<Long> storeIds = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    storeIds.add(in.readLong());
+                }
+                storeIdsByDong.put(dong, List.copyOf(storeIds), in.readLong());
+            }
+
+            return storeCount;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.couponpop.batchservice.domain.store.directory;
+
+/**
+ * 매장 동 정보 병렬 조회 설정입니다.
+ *
+ * @param concurrency      동시에 보내는 Feign 요청 수
+ * @param initialChunkSize 요청 하나에 싣는 매장 ID 수의 시작값
+ * @param minChunkSize     요청 하나에 싣는 매장 ID 수의 최솟값
+ * @param maxChunkSize     요청 하나에 싣는 매장 ID 수의 최댓값
+ */
+public record StoreRegionFetchSettings(
+        int concurrency,
+        int initialChunkSize,
+        int minChunkSize,
+        int maxChunkSize
+) {
+
+    public StoreRegionFetchSettings {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("동시 요청 수는 1 이상이어야 합니다. concurrency: " + concurrency);
+        }
+        if (minChunkSize < 1 || minChunkSize > maxChunkSize) {
+            throw new IllegalArgumentException("청크 크기 범위가 올바르지 않습니다. min: " + minChunkSize + ", max: " + maxChunkSize);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.couponpop.batchservice.domain.store.directory;
+
+import com.couponpop.batchservice.common.client.StoreSystemFeignClient;
+import com.couponpop.couponpopcoremodule.dto.store.response.StoreRegionInfoResponse;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 매장 ID 목록을 청크로 나눠 매장 서비스에서 동 정보를 병렬로 조회합니다.
+ *
+ * <ul>
+ *     <li>동시에 보내는 요청 수는 {@code concurrency}로 제한합니다.</li>
+ *     <li>청크 크기는 {@link AdaptiveChunkSizer}가 관측한 응답 시간과 응답 크기에 맞춰 조정합니다.</li>
+ *     <li>실패한 청크는 다른 청크와 무관하게 해당 청크만 재시도합니다.</li>
+ * </ul>
+ *
+ * <p>응답은 청크를 보낸 순서대로 이어 붙이므로, 순차 조회와 같은 순서의 결과를 반환합니다.</p>
+ *
+ * <p>동시 요청 수와 청크 크기 범위는 {@link #tune(StoreRegionFetchSettings)}로 재배포 없이 바꿀 수 있으며, 다음 조회부터 적용됩니다.
+ * 동시 요청 수는 조회용 스레드 풀 크기(설정된 {@code concurrency})를 넘을 수 없습니다.</p>
+ */
+@Slf4j
+@Component
+public class StoreRegionFetcher {
+
+    private final StoreSystemFeignClient storeSystemFeignClient;
+    private final TaskExecutor storeRegionFetchTaskExecutor;
+    private final StoreRegionFetchSettings defaultSettings;
+    private final Duration targetLatency;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    private volatile StoreRegionFetchSettings settings;
+    private volatile AdaptiveChunkSizer chunkSizer;
+
+    public StoreRegionFetcher(StoreSystemFeignClient storeSystemFeignClient,
+                              @Qualifier("storeRegionFetchTaskExecutor") TaskExecutor storeRegionFetchTaskExecutor,
+                              @Value("${batch.store-directory.fetch.concurrency:8}") int concurrency,
+                              @Value("${batch.store-directory.fetch.initial-chunk-size:200}") int initialChunkSize,
+                              @Value("${batch.store-directory.fetch.min-chunk-size:50}") int minChunkSize,
+                              @Value("${batch.store-directory.fetch.max-chunk-size:1000}") int maxChunkSize,
+                              @Value("${batch.store-directory.fetch.target-latency:500ms}") Duration targetLatency,
+                              @Value("${batch.store-directory.fetch.max-attempts:3}") int maxAttempts,
+                              @Value("${batch.store-directory.fetch.retry-backoff:200ms}") Duration retryBackoff) {
+        this.storeSystemFeignClient = storeSystemFeignClient;
+        this.storeRegionFetchTaskExecutor = storeRegionFetchTaskExecutor;
+        this.defaultSettings = new StoreRegionFetchSettings(concurrency, initialChunkSize, minChunkSize, maxChunkSize);
+        this.targetLatency = targetLatency;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        tune(defaultSettings);
+    }
+
+    public StoreRegionFetchSettings settings() {
+        return settings;
+    }
+
+    /**
+     * 조회 설정을 바꿉니다. 청크 크기는 새 시작값부터 다시 조정합니다.
+     */
+    public synchronized void tune(StoreRegionFetchSettings newSettings) {
+        if (newSettings.concurrency() > defaultSettings.concurrency()) {
+            throw new IllegalArgumentException("동시 요청 수는 스레드 풀 크기를 넘을 수 없습니다. concurrency: "
+                    + newSettings.concurrency() + ", max: " + defaultSettings.concurrency());
+        }
+
+        this.chunkSizer = new AdaptiveChunkSizer(newSettings.initialChunkSize(), newSettings.minChunkSize(), newSettings.maxChunkSize(), targetLatency);
+        this.settings = newSettings;
+    }
+
+    public void resetSettings() {
+        tune(defaultSettings);
+    }
+
+    public List<StoreRegionInfoResponse> fetchStoresRegion(List<Long> storeIds) {
+
+        if (storeIds.isEmpty()) {
+            return List.of();
+        }
+
+        // 조회 도중 설정이 바뀌어도 이번 조회는 시작 시점의 설정으로 끝낸다.
+        AdaptiveChunkSizer chunkSizer = this.chunkSizer;
+        Semaphore inFlight = new Semaphore(settings.concurrency());
+        List<CompletableFuture<List<StoreRegionInfoResponse>>> chunkFutures = new ArrayList<>();
+
+        // 다음 청크 크기는 앞선 청크의 응답을 반영해 보낼 때마다 다시 정한다.
+        int from = 0;
+        while (from < storeIds.size()) {
+            inFlight.acquireUninterruptibly();
+
+            int to = Math.min(storeIds.size(), from + chunkSizer.current());
+            List<Long> chunk = storeIds.subList(from, to);
+            chunkFutures.add(CompletableFuture
+                    .supplyAsync(() -> fetchChunkWithRetry(chunk, chunkSizer), storeRegionFetchTaskExecutor)
+                    .whenComplete((result, e) -> inFlight.release()));
+            from = to;
+        }
+
+        try {
+            return chunkFutures.stream()
+                    .map(CompletableFuture::join)
+                    .flatMap(List::stream)
+                    .toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private List<StoreRegionInfoResponse> fetchChunkWithRetry(List<Long> chunk, AdaptiveChunkSizer chunkSizer) {
+
+        for (int attempt = 1; ; attempt++) {
+            long startedAt = System.nanoTime();
+            try {
+                List<StoreRegionInfoResponse> storeRegionInfoResponses = storeSystemFeignClient.fetchStoresRegionByIds(chunk).getData();
+                chunkSizer.onSuccess(chunk.size(), storeRegionInfoResponses.size(), System.nanoTime() - startedAt);
+
+                return storeRegionInfoResponses;
+            } catch (FeignException e) {
+                chunkSizer.onFailure();
+                if (attempt >= maxAttempts) {
+                    log.error("매장 동 정보 조회가 {}회 실패했습니다. 청크 크기: {}", attempt, chunk.size(), e);
+                    throw e;
+                }
+
+                log.warn("매장 동 정보 조회에 실패해 해당 청크만 다시 시도합니다. 시도: {}/{}, 청크 크기: {}, 원인: {}",
+                        attempt, maxAttempts, chunk.size(), e.getMessage());
+                sleep(retryBackoff.multipliedBy(attempt));
+            }
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("매장 동 정보 조회 재시도 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+}
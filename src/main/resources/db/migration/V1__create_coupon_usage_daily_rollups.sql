@@ -0,0 +1,21 @@
+-- 회원별 (동, 시간대) 일 단위 쿠폰 사용량 롤업
+CREATE TABLE IF NOT EXISTS coupon_usage_daily_rollups
+(
+    id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    rollup_date  DATE         NOT NULL COMMENT '롤업 대상 날짜',
+    member_id    BIGINT       NOT NULL COMMENT '손님 ID',
+    dong         VARCHAR(255) NOT NULL COMMENT '쿠폰 사용 동 정보',
+    usage_hour   INT          NOT NULL COMMENT '쿠폰 사용 시간대(0~23)',
+    usage_count  INT          NOT NULL COMMENT '사용 횟수',
+    last_used_at DATETIME     NOT NULL COMMENT '해당 조합의 마지막 사용 시각',
+    created_at   DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '등록일',
+    UNIQUE KEY uk_coupon_usage_daily_rollups (rollup_date, member_id, dong, usage_hour),
+    KEY idx_coupon_usage_daily_rollups_member_date (member_id, rollup_date)
+);
+
+-- 롤업이 완료된 날짜 (사용 이력이 없는 날도 완료로 기록해 다시 스캔하지 않는다)
+CREATE TABLE IF NOT EXISTS coupon_usage_daily_rollup_dates
+(
+    rollup_date  DATE     NOT NULL PRIMARY KEY COMMENT '롤업 완료 날짜',
+    completed_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '완료 시각'
+);
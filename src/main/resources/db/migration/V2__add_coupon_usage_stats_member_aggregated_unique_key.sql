@@ -0,0 +1,22 @@
+-- 회원별 집계 결과. 다른 환경에서 이미 만들어졌다면 그대로 사용한다.
+CREATE TABLE IF NOT EXISTS coupon_usage_stats
+(
+    id            BIGINT AUTO_INCREMENT PRIMARY KEY,
+    member_id     BIGINT       NOT NULL COMMENT '손님 ID',
+    top_dong      VARCHAR(255) NOT NULL COMMENT '쿠폰 사용 상위 동 정보',
+    top_hour      INT          NOT NULL COMMENT '쿠폰 사용 상위 시간대(0~23)',
+    aggregated_at DATE         NOT NULL COMMENT '집계 날짜',
+    created_at    DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '등록일'
+);
+
+-- 같은 날짜로 재실행되며 쌓인 중복 행은 가장 나중에 저장된 행만 남긴다.
+DELETE older
+FROM coupon_usage_stats older
+         INNER JOIN coupon_usage_stats newer
+                    ON newer.member_id = older.member_id
+                        AND newer.aggregated_at = older.aggregated_at
+                        AND newer.id > older.id;
+
+-- 집계 결과 upsert 기준 키
+ALTER TABLE coupon_usage_stats
+    ADD UNIQUE KEY uk_coupon_usage_stats_member_aggregated (member_id, aggregated_at);
@@ -0,0 +1,10 @@
+-- 보존 기간이 지난 coupon_usage_stats 행을 옮겨 두는 보관 테이블
+CREATE TABLE IF NOT EXISTS coupon_usage_stats_archive
+(
+    id            BIGINT       NOT NULL PRIMARY KEY COMMENT '원본 coupon_usage_stats ID',
+    member_id     BIGINT       NOT NULL COMMENT '손님 ID',
+    top_dong      VARCHAR(255) NOT NULL COMMENT '쿠폰 사용 상위 동 정보',
+    top_hour      TINYINT      NOT NULL COMMENT '쿠폰 사용 상위 시간대(0~23)',
+    aggregated_at DATE         NOT NULL COMMENT '집계 날짜',
+    archived_at   DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '보관 시각'
+) ROW_FORMAT = COMPRESSED;
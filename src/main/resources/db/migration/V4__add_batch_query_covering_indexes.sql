@@ -0,0 +1,43 @@
+-- 배치 조회 SQL 전용 커버링 인덱스
+-- coupon_histories, coupon_events는 다른 서비스가 관리하는 테이블이므로, 테이블이 있고 같은 이름의 인덱스가 없을 때만 추가한다.
+-- (MySQL 8.0은 ADD INDEX IF NOT EXISTS를 지원하지 않아 information_schema를 확인한 뒤 동적 SQL로 실행한다.)
+
+-- 롤업 Reader(coupon_status, created_at 범위 + (created_at, id) 키셋 정렬)와 findDistinctStoreIds
+SET @ddl = IF(
+        EXISTS(SELECT 1
+               FROM information_schema.tables
+               WHERE table_schema = DATABASE()
+                 AND table_name = 'coupon_histories')
+            AND NOT EXISTS(SELECT 1
+                           FROM information_schema.statistics
+                           WHERE table_schema = DATABASE()
+                             AND table_name = 'coupon_histories'
+                             AND index_name = 'idx_coupon_histories_batch_status_created'),
+        'ALTER TABLE coupon_histories ADD INDEX idx_coupon_histories_batch_status_created (coupon_status, created_at, id, store_id, member_id)',
+        'DO 0'
+           );
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 진행 중인 쿠폰 이벤트 개수 조회(store_id IN + 기준 시각 범위 + 잔여 수량)
+SET @ddl = IF(
+        EXISTS(SELECT 1
+               FROM information_schema.tables
+               WHERE table_schema = DATABASE()
+                 AND table_name = 'coupon_events')
+            AND NOT EXISTS(SELECT 1
+                           FROM information_schema.statistics
+                           WHERE table_schema = DATABASE()
+                             AND table_name = 'coupon_events'
+                             AND index_name = 'idx_coupon_events_batch_store_period'),
+        'ALTER TABLE coupon_events ADD INDEX idx_coupon_events_batch_store_period (store_id, event_start_at, event_end_at, total_count, issued_count)',
+        'DO 0'
+           );
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- FCM 발송 Reader(top_hour 일치 + member_id 순서 + 회원별 최신 aggregated_at)
+ALTER TABLE coupon_usage_stats
+    ADD INDEX idx_coupon_usage_stats_hour_member_aggregated (top_hour, member_id, aggregated_at, top_dong);
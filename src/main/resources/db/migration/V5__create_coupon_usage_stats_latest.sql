@@ -0,0 +1,25 @@
+-- 회원별 최신 집계 결과. 집계 Writer가 coupon_usage_stats 저장과 같은 트랜잭션에서 갱신한다.
+CREATE TABLE IF NOT EXISTS coupon_usage_stats_latest
+(
+    member_id     BIGINT       NOT NULL PRIMARY KEY COMMENT '손님 ID',
+    top_dong      VARCHAR(255) NOT NULL COMMENT '쿠폰 사용 상위 동 정보',
+    top_hour      INT          NOT NULL COMMENT '쿠폰 사용 상위 시간대(0~23)',
+    aggregated_at DATE         NOT NULL COMMENT '집계 날짜',
+    updated_at    DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '수정일',
+    -- FCM 발송 Reader(top_hour 일치 + member_id 순서), aggregated_at·top_dong까지 인덱스에서 읽는다.
+    KEY idx_coupon_usage_stats_latest_hour_member (top_hour, member_id, aggregated_at, top_dong)
+);
+
+-- 기존 이력에서 회원별 가장 최근 행으로 채운다.
+INSERT INTO coupon_usage_stats_latest (member_id, top_dong, top_hour, aggregated_at)
+SELECT cus.member_id, cus.top_dong, cus.top_hour, cus.aggregated_at
+FROM coupon_usage_stats cus
+         INNER JOIN (SELECT member_id,
+                            MAX(aggregated_at) AS latest_aggregated_at
+                     FROM coupon_usage_stats
+                     GROUP BY member_id) latest
+                    ON latest.member_id = cus.member_id
+                        AND latest.latest_aggregated_at = cus.aggregated_at
+ON DUPLICATE KEY UPDATE top_dong      = VALUES(top_dong),
+                        top_hour      = VALUES(top_hour),
+                        aggregated_at = VALUES(aggregated_at);
@@ -0,0 +1,11 @@
+-- 집계 날짜별 발송 대상 회원 비트맵(Roaring 직렬화). 집계 잡이 coupon_usage_stats_latest에서 만들고, FCM 발송 Reader가 읽는다.
+CREATE TABLE IF NOT EXISTS coupon_usage_audience_bitmaps
+(
+    aggregated_at   DATE         NOT NULL COMMENT '집계 날짜',
+    dimension       VARCHAR(16)  NOT NULL COMMENT '비트맵 기준(MEMBER, HOUR, DONG)',
+    dimension_value VARCHAR(255) NOT NULL COMMENT '기준값(시간대, 동 이름, 전체 회원은 빈 문자열)',
+    member_count    BIGINT       NOT NULL COMMENT '비트맵에 담긴 회원 수',
+    bitmap          LONGBLOB     NOT NULL COMMENT '직렬화한 member_id 비트맵',
+    created_at      DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '등록일',
+    PRIMARY KEY (aggregated_at, dimension, dimension_value)
+);
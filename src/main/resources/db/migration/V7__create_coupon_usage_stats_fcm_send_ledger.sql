@@ -0,0 +1,10 @@
+-- FCM 발송 원장. 브로커 확인을 받은 발송 요청의 traceId를 잡 인스턴스별로 남겨, 같은 잡을 재시작할 때 이미 보낸 메시지를 다시 게시하지 않는다.
+CREATE TABLE IF NOT EXISTS coupon_usage_stats_fcm_send_ledger
+(
+    job_instance_id BIGINT       NOT NULL COMMENT '발송 잡 인스턴스 ID(재시작해도 같음)',
+    trace_id        VARCHAR(255) NOT NULL COMMENT '발송 요청 traceId',
+    sent_at         DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '브로커 확인 시각',
+    PRIMARY KEY (job_instance_id, trace_id),
+    -- 보존 기간 정리 잡이 오래된 행을 찾는다.
+    KEY idx_coupon_usage_stats_fcm_send_ledger_sent_at (sent_at)
+);
@@ -0,0 +1,4 @@
+-- FCM 발송 Reader가 coupon_usage_stats_latest를 읽으므로(V5) 이력 테이블의 발송 Reader용 인덱스(V4)는 더 이상 쓰이지 않는다.
+-- 매일 집계 Writer가 쓰는 행마다 유지 비용만 들므로 삭제한다.
+ALTER TABLE coupon_usage_stats
+    DROP INDEX idx_coupon_usage_stats_hour_member_aggregated;
@@ -1,12 +1,19 @@
 package com.couponpop.batchservice.batch;
 
+import com.couponpop.batchservice.batch.tuning.ChunkSizeSettingsRegistry;
 import com.couponpop.batchservice.common.client.NotificationSystemFeignClient;
 import com.couponpop.batchservice.common.client.StoreSystemFeignClient;
 import com.couponpop.batchservice.common.rabbitmq.publisher.CouponUsageStatsFcmSendPublisher;
 import com.couponpop.batchservice.common.response.ApiResponse;
+import com.couponpop.batchservice.domain.coupon.service.CouponUsageStatsFcmSendService;
+import com.couponpop.batchservice.domain.couponevent.repository.CouponEventJdbcRepository;
+import com.couponpop.batchservice.domain.couponusagestats.audience.CouponUsageAudienceIndex;
+import com.couponpop.batchservice.domain.couponusagestats.repository.CouponUsageAudienceBitmapJdbcRepository;
+import com.couponpop.batchservice.domain.store.directory.StoreRegionDirectory;
 import com.couponpop.couponpopcoremodule.dto.coupon.event.model.CouponUsageStatsFcmSendMessage;
 import com.couponpop.couponpopcoremodule.dto.fcmtoken.response.FcmTokensResponse;
 import com.couponpop.couponpopcoremodule.dto.store.response.StoreIdsByDongResponse;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,16 +25,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlConfig;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.*;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyList;
@@ -39,6 +53,8 @@ import static org.mockito.Mockito.*;
 @SpringBootTest
 @Testcontainers
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// 아이템이 몇 개뿐인 청크도 묶음으로 나눠 게시 스레드 풀을 거치게 한다.
+@TestPropertySource(properties = "batch.fcm-send.pipeline.sub-batch-size=2")
 @Sql(
         scripts = {
                 "/sql/setup_before_coupon_usage_stats_fcm_send_job_test.sql",
@@ -64,6 +80,24 @@ class CouponUsageStatsFcmSendJobConfigTest {
     @Qualifier("couponUsageStatsFcmSendJob")
     private Job couponUsageStatsFcmSendJob;
 
+    @Autowired
+    private StoreRegionDirectory storeRegionDirectory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CouponUsageAudienceBitmapJdbcRepository couponUsageAudienceBitmapJdbcRepository;
+
+    @Autowired
+    private ChunkSizeSettingsRegistry chunkSizeSettingsRegistry;
+
+    @MockitoSpyBean
+    private CouponEventJdbcRepository couponEventJdbcRepository;
+
+    @MockitoSpyBean
+    private CouponUsageStatsFcmSendService couponUsageStatsFcmSendService;
+
     @MockitoBean
     private NotificationSystemFeignClient notificationSystemFeignClient;
 
@@ -80,7 +114,8 @@ class CouponUsageStatsFcmSendJobConfigTest {
     void setUp() {
         jobLauncherTestUtils.setJob(couponUsageStatsFcmSendJob);
 
-        reset(notificationSystemFeignClient, storeSystemFeignClient, couponUsageStatsFcmSendPublisher, clock);
+        reset(notificationSystemFeignClient, storeSystemFeignClient, couponUsageStatsFcmSendPublisher, clock, couponEventJdbcRepository, couponUsageStatsFcmSendService);
+        storeRegionDirectory.invalidateAll();
 
         when(clock.getZone()).thenReturn(KST);
         when(clock.instant()).thenAnswer(invocation -> nowRef.get());
@@ -88,6 +123,11 @@ class CouponUsageStatsFcmSendJobConfigTest {
         setNow(LocalDateTime.of(2025, 10, 25, 10, 0));
     }
 
+    @AfterEach
+    void tearDown() {
+        chunkSizeSettingsRegistry.clearOverrides();
+    }
+
     @Test
     @DisplayName("노량진동 10시가 최다 사용 시간대면 진행 중 이벤트 수만큼 메시지를 RabbitMQ로 전송한다.")
     void launchJob_success_whenTopDongIsNoryangjin() throws Exception {
@@ -109,10 +149,7 @@ class CouponUsageStatsFcmSendJobConfigTest {
         assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
 
         // RabbitMQ로 전송된 메시지를 모두 모아 토큰별 발송이 이뤄졌는지 검증한다.
-        ArgumentCaptor<CouponUsageStatsFcmSendMessage> messageCaptor = ArgumentCaptor.forClass(CouponUsageStatsFcmSendMessage.class);
-        verify(couponUsageStatsFcmSendPublisher, times(2)).publish(messageCaptor.capture());
-
-        List<CouponUsageStatsFcmSendMessage> requests = messageCaptor.getAllValues();
+        List<CouponUsageStatsFcmSendMessage> requests = capturePublishedMessages();
         assertThat(requests).hasSize(2);
         assertThat(requests).extracting(CouponUsageStatsFcmSendMessage::memberId).containsOnly(101L);
         assertThat(requests).extracting(CouponUsageStatsFcmSendMessage::token).containsExactlyInAnyOrder("token-101-a", "token-101-b");
@@ -130,6 +167,7 @@ class CouponUsageStatsFcmSendJobConfigTest {
     void launchJob_success_whenTopDongIsPungmu() throws Exception {
         // given
         setNow(LocalDateTime.of(2025, 10, 26, 16, 0));
+        saveLatestStats(101L, "풍무동", 16, LocalDate.of(2025, 10, 26));
         mockNotificationFeignResponse(101L, List.of("token-101-a", "token-101-b"));
         mockStoreFeignResponse(Map.of("풍무동", List.of(2L)));
 
@@ -145,10 +183,7 @@ class CouponUsageStatsFcmSendJobConfigTest {
         // then
         assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
 
-        ArgumentCaptor<CouponUsageStatsFcmSendMessage> messageCaptor = ArgumentCaptor.forClass(CouponUsageStatsFcmSendMessage.class);
-        verify(couponUsageStatsFcmSendPublisher, times(2)).publish(messageCaptor.capture());
-
-        List<CouponUsageStatsFcmSendMessage> requests = messageCaptor.getAllValues();
+        List<CouponUsageStatsFcmSendMessage> requests = capturePublishedMessages();
         assertThat(requests).hasSize(2);
         assertThat(requests).extracting(CouponUsageStatsFcmSendMessage::memberId).containsOnly(101L);
         assertThat(requests).extracting(CouponUsageStatsFcmSendMessage::token).containsExactlyInAnyOrder("token-101-a", "token-101-b");
@@ -166,6 +201,7 @@ class CouponUsageStatsFcmSendJobConfigTest {
     void launchJob_success_whenParametersOmittedUsesClock() throws Exception {
         // given
         setNow(LocalDateTime.of(2025, 10, 26, 16, 0));
+        saveLatestStats(101L, "풍무동", 16, LocalDate.of(2025, 10, 26));
         mockNotificationFeignResponse(101L, List.of("token-101-a", "token-101-b"));
         mockStoreFeignResponse(Map.of("풍무동", List.of(2L)));
 
@@ -179,10 +215,7 @@ class CouponUsageStatsFcmSendJobConfigTest {
         // then
         assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
 
-        ArgumentCaptor<CouponUsageStatsFcmSendMessage> messageCaptor = ArgumentCaptor.forClass(CouponUsageStatsFcmSendMessage.class);
-        verify(couponUsageStatsFcmSendPublisher, times(2)).publish(messageCaptor.capture());
-
-        List<CouponUsageStatsFcmSendMessage> requests = messageCaptor.getAllValues();
+        List<CouponUsageStatsFcmSendMessage> requests = capturePublishedMessages();
         assertThat(requests).hasSize(2);
         assertThat(requests).extracting(CouponUsageStatsFcmSendMessage::memberId).containsOnly(101L);
         assertThat(requests).extracting(CouponUsageStatsFcmSendMessage::token).containsExactlyInAnyOrder("token-101-a", "token-101-b");
@@ -195,6 +228,233 @@ class CouponUsageStatsFcmSendJobConfigTest {
         verifyNoMoreInteractions(notificationSystemFeignClient, storeSystemFeignClient, couponUsageStatsFcmSendPublisher);
     }
 
+    @Test
+    @DisplayName("같은 동을 다시 발송하면 매장 서비스 대신 매장-동 디렉터리 캐시에서 매장 IDs를 조회한다.")
+    void launchJob_success_whenStoreIdsAreCachedInDirectory() throws Exception {
+        // given
+        setNow(LocalDateTime.of(2025, 10, 25, 10, 0));
+        mockNotificationFeignResponse(101L, List.of("token-101-a", "token-101-b"));
+        mockStoreFeignResponse(Map.of("노량진동", List.of(1L)));
+
+        JobParameters firstJobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", LocalDate.of(2025, 10, 25))
+                .addLong("targetHour", 10L)
+                .addString("testId", "directory-cache-first")
+                .toJobParameters();
+        JobParameters secondJobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", LocalDate.of(2025, 10, 25))
+                .addLong("targetHour", 10L)
+                .addString("testId", "directory-cache-second")
+                .toJobParameters();
+
+        // when
+        JobExecution firstJobExecution = jobLauncherTestUtils.launchJob(firstJobParameters);
+        JobExecution secondJobExecution = jobLauncherTestUtils.launchJob(secondJobParameters);
+
+        // then
+        assertThat(firstJobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(secondJobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+
+        assertThat(capturePublishedMessages()).hasSize(4);
+        verify(storeSystemFeignClient, times(1)).fetchStoreIdsByDongs(eq(List.of("노량진동")));
+        verify(notificationSystemFeignClient, times(2)).fetchFcmTokensByMemberIds(eq(List.of(101L)));
+        verifyNoMoreInteractions(notificationSystemFeignClient, storeSystemFeignClient, couponUsageStatsFcmSendPublisher);
+    }
+
+    @Test
+    @DisplayName("같은 동의 회원이 여러 명이어도 동별 진행 중 이벤트 수는 Step 실행 동안 한 번만 조회한다.")
+    void launchJob_success_whenMembersShareTopDongCountsEventsOncePerDong() throws Exception {
+        // given
+        setNow(LocalDateTime.of(2025, 10, 25, 10, 0));
+        saveLatestStats(102L, "노량진동", 10, LocalDate.of(2025, 10, 25));
+        saveLatestStats(103L, "노량진동", 10, LocalDate.of(2025, 10, 25));
+        saveLatestStats(104L, "풍무동", 10, LocalDate.of(2025, 10, 25));
+        mockNotificationFeignResponse(Map.of(
+                101L, List.of("token-101-a", "token-101-b"),
+                102L, List.of("token-102"),
+                103L, List.of("token-103"),
+                104L, List.of("token-104")
+        ));
+        mockStoreFeignResponse(Map.of("노량진동", List.of(1L), "풍무동", List.of(2L)));
+
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", LocalDate.of(2025, 10, 25))
+                .addLong("targetHour", 10L)
+                .addString("testId", "shared-top-dong")
+                .toJobParameters();
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+
+        // 풍무동은 기준 시각에 진행 중인 이벤트가 없어 104번 회원은 제외된다.
+        List<CouponUsageStatsFcmSendMessage> requests = capturePublishedMessages();
+        assertThat(requests).hasSize(4);
+        assertThat(requests).extracting(CouponUsageStatsFcmSendMessage::memberId).containsOnly(101L, 102L, 103L);
+        assertThat(requests).extracting(CouponUsageStatsFcmSendMessage::activeEventCount).containsOnly(3);
+
+        // 한 청크에 나온 동은 처리 스레드로 넘기기 전에 매장 조회와 이벤트 개수 조회를 한 번씩 묶어서 한다.
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Collection<Long>>> storeIdsByDongCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(couponEventJdbcRepository, times(1)).countActiveCouponEventsByDongs(storeIdsByDongCaptor.capture(), eq(LocalDateTime.of(2025, 10, 25, 10, 0)));
+        assertThat(storeIdsByDongCaptor.getValue()).containsOnlyKeys("노량진동", "풍무동");
+        verify(storeSystemFeignClient, times(1)).fetchStoreIdsByDongs(eq(List.of("노량진동", "풍무동")));
+    }
+
+    @Test
+    @DisplayName("기간 안의 완료된 집계마다 발송 대상 비트맵이 있으면 통계 테이블 대신 비트맵에서 회원별 최신 결과만 읽어 발송한다.")
+    void launchJob_success_readsAudienceBitmapsWhenIndexed() throws Exception {
+        // given
+        // 통계 테이블에는 대상이 없으므로, 메시지가 나간다면 비트맵에서 읽은 것이다.
+        jdbcTemplate.update("DELETE FROM coupon_usage_stats_latest");
+
+        CouponUsageAudienceIndex olderIndex = new CouponUsageAudienceIndex();
+        olderIndex.add(101L, "풍무동", 10); // 10/25 결과로 바뀌어 제외된다.
+        olderIndex.add(102L, "노량진동", 10);
+        saveAudienceIndex(LocalDate.of(2025, 10, 24), olderIndex);
+
+        CouponUsageAudienceIndex latestIndex = new CouponUsageAudienceIndex();
+        latestIndex.add(101L, "노량진동", 10);
+        latestIndex.add(103L, "노량진동", 11); // 대상 시간대가 아니다.
+        saveAudienceIndex(LocalDate.of(2025, 10, 25), latestIndex);
+
+        mockNotificationFeignResponse(Map.of(
+                101L, List.of("token-101"),
+                102L, List.of("token-102"),
+                103L, List.of("token-103")
+        ));
+        mockStoreFeignResponse(Map.of("노량진동", List.of(1L), "풍무동", List.of(2L)));
+
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", LocalDate.of(2025, 10, 25))
+                .addLong("targetHour", 10L)
+                .addString("testId", "audience-bitmaps")
+                .toJobParameters();
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+
+        List<CouponUsageStatsFcmSendMessage> requests = capturePublishedMessages();
+        assertThat(requests).extracting(CouponUsageStatsFcmSendMessage::memberId).containsExactly(101L, 102L);
+        assertThat(requests).extracting(CouponUsageStatsFcmSendMessage::topDong).containsOnly("노량진동");
+        assertThat(requests).extracting(CouponUsageStatsFcmSendMessage::activeEventCount).containsOnly(3);
+    }
+
+    @Test
+    @DisplayName("여러 청크로 나눠 처리해도 청크마다 보조 스레드 풀을 거친 뒤 리더와 처리 스레드 풀이 닫히지 않아 모든 회원에게 한 번씩 전송한다.")
+    void launchJob_success_whenStepSpansSeveralChunks() throws Exception {
+        // given
+        // 101번 회원은 더미 데이터에 있으므로 102~109번을 더해 청크 3개(3명씩)를 만든다.
+        LongStream.rangeClosed(102L, 109L)
+                .forEach(memberId -> saveLatestStats(memberId, "노량진동", 10, LocalDate.of(2025, 10, 25)));
+        mockNotificationFeignResponse(LongStream.rangeClosed(101L, 109L).boxed()
+                .collect(Collectors.toMap(Function.identity(), memberId -> List.of("token-" + memberId))));
+        mockStoreFeignResponse(Map.of("노량진동", List.of(1L)));
+        chunkSizeSettingsRegistry.override(CouponUsageStatsFcmSendJobConfig.COUPON_USAGE_STATS_FCM_SEND_STEP, 3, 3, 3, null);
+
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", LocalDate.of(2025, 10, 25))
+                .addLong("targetHour", 10L)
+                .addString("testId", "several-chunks")
+                .toJobParameters();
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+
+        StepExecution stepExecution = jobExecution.getStepExecutions().iterator().next();
+        assertThat(stepExecution.getReadCount()).isEqualTo(9);
+        assertThat(stepExecution.getWriteCount()).isEqualTo(9);
+        assertThat(stepExecution.getCommitCount()).isGreaterThanOrEqualTo(3);
+
+        // 청크마다 묶음 2개(2명, 1명)로 나눠 게시 스레드에서 게시한다.
+        List<CouponUsageStatsFcmSendMessage> requests = capturePublishedMessages();
+        assertThat(requests)
+                .extracting(CouponUsageStatsFcmSendMessage::memberId)
+                .containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(101L, 109L).boxed().toList());
+        verify(couponUsageStatsFcmSendPublisher, times(6)).publishAll(anyList());
+    }
+
+    @Test
+    @DisplayName("처리 스레드에서 한 회원의 처리가 실패하면 그 청크를 롤백하고 Step을 실패시키며, 회원을 건너뛰고 넘어가지 않는다.")
+    void launchJob_fail_whenProcessingOneMemberFails() throws Exception {
+        // given
+        // 청크 3개(101~103, 104~106, 107~109) 중 두 번째 청크의 105번 회원 처리만 실패한다.
+        LongStream.rangeClosed(102L, 109L)
+                .forEach(memberId -> saveLatestStats(memberId, "노량진동", 10, LocalDate.of(2025, 10, 25)));
+        mockNotificationFeignResponse(LongStream.rangeClosed(101L, 109L).boxed()
+                .collect(Collectors.toMap(Function.identity(), memberId -> List.of("token-" + memberId))));
+        mockStoreFeignResponse(Map.of("노량진동", List.of(1L)));
+        chunkSizeSettingsRegistry.override(CouponUsageStatsFcmSendJobConfig.COUPON_USAGE_STATS_FCM_SEND_STEP, 3, 3, 3, null);
+
+        IllegalStateException processFailure = new IllegalStateException("회원 105 처리 실패");
+        doThrow(processFailure).when(couponUsageStatsFcmSendService)
+                .enrich(argThat(stats -> stats != null && stats.memberId() == 105L), any(), any(), any());
+
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", LocalDate.of(2025, 10, 25))
+                .addLong("targetHour", 10L)
+                .addString("testId", "process-failure")
+                .toJobParameters();
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.FAILED);
+
+        StepExecution stepExecution = jobExecution.getStepExecutions().iterator().next();
+        assertThat(stepExecution.getStatus()).isEqualTo(BatchStatus.FAILED);
+        assertThat(stepExecution.getFailureExceptions()).contains(processFailure);
+        assertThat(stepExecution.getWriteCount()).isEqualTo(3);
+        assertThat(stepExecution.getProcessSkipCount()).isZero();
+        assertThat(stepExecution.getRollbackCount()).isEqualTo(1);
+
+        // 실패한 청크의 104, 106번도 게시하지 않는다.
+        assertThat(capturePublishedMessages())
+                .extracting(CouponUsageStatsFcmSendMessage::memberId)
+                .containsExactlyInAnyOrder(101L, 102L, 103L);
+    }
+
+    private List<CouponUsageStatsFcmSendMessage> capturePublishedMessages() {
+        // 청크마다 한 번에 게시한 메시지 묶음을 모두 모아 펼친다.
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CouponUsageStatsFcmSendMessage>> messagesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(couponUsageStatsFcmSendPublisher, atLeastOnce()).publishAll(messagesCaptor.capture());
+
+        return messagesCaptor.getAllValues().stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    /**
+     * 집계 잡이 남기는 회원별 최신 결과를 직접 저장합니다. 발송 Reader는 이 테이블만 읽습니다.
+     */
+    private void saveLatestStats(Long memberId, String topDong, int topHour, LocalDate aggregatedAt) {
+        jdbcTemplate.update("""
+                INSERT INTO coupon_usage_stats_latest (member_id, top_dong, top_hour, aggregated_at)
+                VALUES (?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE top_dong = VALUES(top_dong),
+                                        top_hour = VALUES(top_hour),
+                                        aggregated_at = VALUES(aggregated_at)
+                """, memberId, topDong, topHour, aggregatedAt);
+    }
+
+    /**
+     * 집계 잡이 남기는 발송 대상 비트맵과 롤업 완료 날짜를 함께 저장합니다.
+     */
+    private void saveAudienceIndex(LocalDate aggregatedAt, CouponUsageAudienceIndex index) {
+        couponUsageAudienceBitmapJdbcRepository.replaceIndex(aggregatedAt, index);
+        jdbcTemplate.update("INSERT INTO coupon_usage_daily_rollup_dates (rollup_date) VALUES (?)", aggregatedAt);
+    }
+
     private void setNow(LocalDateTime ldtKst) {
         nowRef.set(ldtKst.atZone(KST).toInstant());
     }
@@ -209,6 +469,21 @@ class CouponUsageStatsFcmSendJobConfigTest {
         when(notificationSystemFeignClient.fetchFcmTokensByMemberIds(anyList())).thenReturn(apiResponse);
     }
 
+    private void mockNotificationFeignResponse(Map<Long, List<String>> tokensByMemberId) {
+        when(notificationSystemFeignClient.fetchFcmTokensByMemberIds(anyList())).thenAnswer(invocation -> {
+            List<Long> requestedMemberIds = invocation.getArgument(0);
+            List<FcmTokensResponse> responses = requestedMemberIds.stream()
+                    .filter(tokensByMemberId::containsKey)
+                    .map(memberId -> new FcmTokensResponse(memberId, tokensByMemberId.get(memberId)))
+                    .toList();
+
+            @SuppressWarnings("unchecked")
+            ApiResponse<List<FcmTokensResponse>> apiResponse = mock(ApiResponse.class);
+            when(apiResponse.getData()).thenReturn(responses);
+            return apiResponse;
+        });
+    }
+
     private void mockStoreFeignResponse(Map<String, List<Long>> storeIdsByDong) {
         when(storeSystemFeignClient.fetchStoreIdsByDongs(anyList())).thenAnswer(invocation -> {
             List<String> requestedDongs = invocation.getArgument(0);
@@ -0,0 +1,176 @@
+package com.couponpop.batchservice.batch;
+
+import com.couponpop.batchservice.common.client.NotificationSystemFeignClient;
+import com.couponpop.batchservice.common.client.StoreSystemFeignClient;
+import com.couponpop.batchservice.common.rabbitmq.publisher.CouponUsageStatsFcmSendPublisher;
+import com.couponpop.batchservice.common.response.ApiResponse;
+import com.couponpop.batchservice.domain.store.directory.StoreRegionDirectory;
+import com.couponpop.couponpopcoremodule.dto.coupon.event.model.CouponUsageStatsFcmSendMessage;
+import com.couponpop.couponpopcoremodule.dto.fcmtoken.response.FcmTokensResponse;
+import com.couponpop.couponpopcoremodule.dto.store.response.StoreIdsByDongResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.batch.core.*;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.*;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@SpringBatchTest
+@SpringBootTest(properties = {
+        "batch.fcm-send.remote-chunking.manager=true",
+        "batch.fcm-send.remote-chunking.worker=true",
+        "batch.fcm-send.remote-chunking.transport=local"
+})
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(
+        scripts = {
+                "/sql/setup_before_coupon_usage_stats_fcm_send_job_test.sql",
+                "/sql/insert_dummy_before_coupon_usage_stats_fcm_send_job_test.sql"
+        },
+        config = @SqlConfig(encoding = "UTF-8"),
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+)
+@Sql(
+        scripts = "/sql/cleanup_after_coupon_usage_stats_fcm_send_job_test.sql",
+        config = @SqlConfig(encoding = "UTF-8"),
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+)
+class CouponUsageStatsFcmSendRemoteChunkingTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private final AtomicReference<Instant> nowRef = new AtomicReference<>();
+
+    @Autowired
+    private JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Autowired
+    @Qualifier("couponUsageStatsFcmSendJob")
+    private Job couponUsageStatsFcmSendJob;
+
+    @Autowired
+    private StoreRegionDirectory storeRegionDirectory;
+
+    @MockitoBean
+    private NotificationSystemFeignClient notificationSystemFeignClient;
+
+    @MockitoBean
+    private StoreSystemFeignClient storeSystemFeignClient;
+
+    @MockitoBean
+    private CouponUsageStatsFcmSendPublisher couponUsageStatsFcmSendPublisher;
+
+    @MockitoBean
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        jobLauncherTestUtils.setJob(couponUsageStatsFcmSendJob);
+
+        reset(notificationSystemFeignClient, storeSystemFeignClient, couponUsageStatsFcmSendPublisher, clock);
+        storeRegionDirectory.invalidateAll();
+
+        when(clock.getZone()).thenReturn(KST);
+        when(clock.instant()).thenAnswer(invocation -> nowRef.get());
+
+        setNow(LocalDateTime.of(2025, 10, 25, 10, 0));
+    }
+
+    @Test
+    @DisplayName("원격 청킹 모드에서도 워커가 청크를 받아 단일 노드와 같은 메시지를 RabbitMQ로 전송한다.")
+    void launchJob_success_whenRemoteChunkingSendsSameMessages() throws Exception {
+        // given
+        setNow(LocalDateTime.of(2025, 10, 25, 10, 0));
+        mockNotificationFeignResponse(101L, List.of("token-101-a", "token-101-b"));
+        mockStoreFeignResponse(Map.of("노량진동", List.of(1L)));
+
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", LocalDate.of(2025, 10, 25))
+                .addLong("targetHour", 10L)
+                .addString("testId", "remote-chunking-noryangjin-10")
+                .toJobParameters();
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(jobExecution.getStepExecutions())
+                .extracting(StepExecution::getStepName)
+                .containsExactly(CouponUsageStatsFcmSendJobConfig.COUPON_USAGE_STATS_FCM_SEND_STEP);
+
+        // RabbitMQ로 전송된 메시지를 모두 모아 토큰별 발송이 이뤄졌는지 검증한다.
+        List<CouponUsageStatsFcmSendMessage> requests = capturePublishedMessages();
+        assertThat(requests).hasSize(2);
+        assertThat(requests).extracting(CouponUsageStatsFcmSendMessage::memberId).containsOnly(101L);
+        assertThat(requests).extracting(CouponUsageStatsFcmSendMessage::token).containsExactlyInAnyOrder("token-101-a", "token-101-b");
+        assertThat(requests).extracting(CouponUsageStatsFcmSendMessage::topDong).containsOnly("노량진동");
+        assertThat(requests).extracting(CouponUsageStatsFcmSendMessage::topHour).containsOnly(10);
+        assertThat(requests).extracting(CouponUsageStatsFcmSendMessage::activeEventCount).containsOnly(3);
+
+        verify(notificationSystemFeignClient).fetchFcmTokensByMemberIds(eq(List.of(101L)));
+        verify(storeSystemFeignClient).fetchStoreIdsByDongs(eq(List.of("노량진동")));
+        verifyNoMoreInteractions(notificationSystemFeignClient, storeSystemFeignClient, couponUsageStatsFcmSendPublisher);
+    }
+
+    private List<CouponUsageStatsFcmSendMessage> capturePublishedMessages() {
+        // 청크마다 한 번에 게시한 메시지 묶음을 모두 모아 펼친다.
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CouponUsageStatsFcmSendMessage>> messagesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(couponUsageStatsFcmSendPublisher, atLeastOnce()).publishAll(messagesCaptor.capture());
+
+        return messagesCaptor.getAllValues().stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    private void setNow(LocalDateTime ldtKst) {
+        nowRef.set(ldtKst.atZone(KST).toInstant());
+    }
+
+    private void mockNotificationFeignResponse(Long memberId, List<String> tokens) {
+        @SuppressWarnings("unchecked")
+        // Notification 서비스에서 내려주는 응답 DTO 형태 그대로 구성해 잡 로직의 매핑을 검증한다.
+        ApiResponse<List<FcmTokensResponse>> apiResponse = mock(ApiResponse.class);
+
+        FcmTokensResponse tokensResponse = new FcmTokensResponse(memberId, tokens);
+        when(apiResponse.getData()).thenReturn(List.of(tokensResponse));
+        when(notificationSystemFeignClient.fetchFcmTokensByMemberIds(anyList())).thenReturn(apiResponse);
+    }
+
+    private void mockStoreFeignResponse(Map<String, List<Long>> storeIdsByDong) {
+        when(storeSystemFeignClient.fetchStoreIdsByDongs(anyList())).thenAnswer(invocation -> {
+            List<String> requestedDongs = invocation.getArgument(0);
+            // 요청된 동마다 매장 ID 리스트를 반환해 실제 Feign 응답과 동일한 구조를 재현한다.
+            List<StoreIdsByDongResponse> responses = requestedDongs.stream()
+                    .map(dong -> new StoreIdsByDongResponse(dong, storeIdsByDong.getOrDefault(dong, List.of())))
+                    .toList();
+
+            @SuppressWarnings("unchecked")
+            ApiResponse<List<StoreIdsByDongResponse>> apiResponse = mock(ApiResponse.class);
+            when(apiResponse.getData()).thenReturn(responses);
+            return apiResponse;
+        });
+    }
+}
@@ -2,10 +2,15 @@ package com.couponpop.batchservice.batch;
 
 import com.couponpop.batchservice.common.client.StoreSystemFeignClient;
 import com.couponpop.batchservice.common.response.ApiResponse;
+import com.couponpop.batchservice.domain.couponusagestats.audience.AudienceDimension;
+import com.couponpop.batchservice.domain.couponusagestats.repository.CouponUsageAudienceBitmapJdbcRepository;
+import com.couponpop.batchservice.domain.couponusagestats.repository.CouponUsageDailyRollupJdbcRepository;
+import com.couponpop.batchservice.domain.store.directory.StoreRegionDirectory;
 import com.couponpop.couponpopcoremodule.dto.store.response.StoreRegionInfoResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
 import org.springframework.batch.core.*;
 import org.springframework.batch.test.JobLauncherTestUtils;
 import org.springframework.batch.test.context.SpringBatchTest;
@@ -13,9 +18,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.context.jdbc.Sql;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
@@ -25,6 +32,7 @@ import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -53,12 +61,22 @@ class CouponUsageStatsJobConfigTest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private StoreRegionDirectory storeRegionDirectory;
+
     @MockitoBean
     private StoreSystemFeignClient storeSystemFeignClient;
 
+    @Autowired
+    private CouponUsageAudienceBitmapJdbcRepository couponUsageAudienceBitmapJdbcRepository;
+
+    @MockitoSpyBean
+    private CouponUsageDailyRollupJdbcRepository couponUsageDailyRollupJdbcRepository;
+
     @BeforeEach
     void setUp() {
         jobLauncherTestUtils.setJob(couponUsageStatsJob);
+        storeRegionDirectory.invalidateAll();
         mockStoreFeignClient();
     }
 
@@ -159,6 +177,349 @@ class CouponUsageStatsJobConfigTest {
                 });
     }
 
+    @Test
+    @DisplayName("파티션 수를 바꿔 실행해도 같은 집계 결과가 저장된다.")
+    void runCouponUsageStatsJob_success_sameResultsRegardlessOfPartitionCount() throws Exception {
+        // given
+        LocalDate runDateParam = LocalDate.of(2025, 10, 31);
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", runDateParam)
+                .addLong("partitionCount", 3L)
+                .toJobParameters();
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(jobExecution.getStepExecutions())
+                .extracting(StepExecution::getStepName)
+                .contains("couponUsageStatsWorkerStep:partition0", "couponUsageStatsWorkerStep:partition1", "couponUsageStatsWorkerStep:partition2");
+
+        List<CouponUsageStatsRow> statsRows = jdbcTemplate.query(
+                "SELECT member_id, top_dong, top_hour, aggregated_at FROM coupon_usage_stats ORDER BY member_id",
+                (rs, rowNum) -> new CouponUsageStatsRow(
+                        rs.getLong("member_id"),
+                        rs.getString("top_dong"),
+                        rs.getInt("top_hour"),
+                        rs.getDate("aggregated_at").toLocalDate()
+                )
+        );
+
+        assertThat(statsRows).containsExactly(
+                new CouponUsageStatsRow(1L, "서교동", 11, runDateParam),
+                new CouponUsageStatsRow(2L, "상도동", 13, runDateParam),
+                new CouponUsageStatsRow(3L, "노량진동", 15, runDateParam),
+                new CouponUsageStatsRow(5L, "잠실동", 13, runDateParam)
+        );
+    }
+
+    @Test
+    @DisplayName("전날까지 롤업이 있으면 당일 이력만 읽어도 전체 기간을 다시 집계한 것과 같은 결과가 저장된다.")
+    void runCouponUsageStatsJob_success_incrementalRollupMatchesFullScan() throws Exception {
+        // given
+        LocalDate previousRunDate = LocalDate.of(2025, 10, 30);
+        LocalDate runDateParam = LocalDate.of(2025, 10, 31);
+        jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+                .addLocalDate("runDate", previousRunDate)
+                .addString("testId", "incremental")
+                .toJobParameters());
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+                .addLocalDate("runDate", runDateParam)
+                .addString("testId", "incremental")
+                .toJobParameters());
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+
+        // 10-31 실행은 10-31 하루치 원본 이력만 롤업한다.
+        StepExecution rollupStepExecution = jobExecution.getStepExecutions().stream()
+                .filter(stepExecution -> stepExecution.getStepName().equals("couponUsageDailyRollupStep"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(rollupStepExecution.getReadCount()).isZero();
+
+        List<CouponUsageStatsRow> statsRows = jdbcTemplate.query(
+                "SELECT member_id, top_dong, top_hour, aggregated_at FROM coupon_usage_stats WHERE aggregated_at = ? ORDER BY member_id",
+                (rs, rowNum) -> new CouponUsageStatsRow(
+                        rs.getLong("member_id"),
+                        rs.getString("top_dong"),
+                        rs.getInt("top_hour"),
+                        rs.getDate("aggregated_at").toLocalDate()
+                ),
+                runDateParam
+        );
+
+        assertThat(statsRows).containsExactly(
+                new CouponUsageStatsRow(1L, "서교동", 11, runDateParam),
+                new CouponUsageStatsRow(2L, "상도동", 13, runDateParam),
+                new CouponUsageStatsRow(3L, "노량진동", 15, runDateParam),
+                new CouponUsageStatsRow(5L, "잠실동", 13, runDateParam)
+        );
+    }
+
+    @Test
+    @DisplayName("같은 runDate로 다시 실행해도 중복 행 없이 같은 집계 결과가 유지된다.")
+    void runCouponUsageStatsJob_success_rerunDoesNotDuplicateRows() throws Exception {
+        // given
+        LocalDate runDateParam = LocalDate.of(2025, 10, 31);
+        jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+                .addLocalDate("runDate", runDateParam)
+                .addString("testId", "rerun-first")
+                .toJobParameters());
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+                .addLocalDate("runDate", runDateParam)
+                .addString("testId", "rerun-second")
+                .toJobParameters());
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+
+        List<CouponUsageStatsRow> statsRows = jdbcTemplate.query(
+                "SELECT member_id, top_dong, top_hour, aggregated_at FROM coupon_usage_stats ORDER BY member_id",
+                (rs, rowNum) -> new CouponUsageStatsRow(
+                        rs.getLong("member_id"),
+                        rs.getString("top_dong"),
+                        rs.getInt("top_hour"),
+                        rs.getDate("aggregated_at").toLocalDate()
+                )
+        );
+
+        assertThat(statsRows).containsExactly(
+                new CouponUsageStatsRow(1L, "서교동", 11, runDateParam),
+                new CouponUsageStatsRow(2L, "상도동", 13, runDateParam),
+                new CouponUsageStatsRow(3L, "노량진동", 15, runDateParam),
+                new CouponUsageStatsRow(5L, "잠실동", 13, runDateParam)
+        );
+    }
+
+    @Test
+    @DisplayName("이전 결과와 같은 회원은 최근 행의 집계 날짜만 옮기고, 결과가 바뀐 회원만 새 행을 저장한다.")
+    void runCouponUsageStatsJob_success_writesOnlyChangedResults() throws Exception {
+        // given
+        LocalDate previousAggregatedAt = LocalDate.of(2025, 10, 29);
+        LocalDate runDateParam = LocalDate.of(2025, 10, 31);
+        jdbcTemplate.update(
+                "INSERT INTO coupon_usage_stats (member_id, top_dong, top_hour, aggregated_at) VALUES (?, ?, ?, ?), (?, ?, ?, ?)",
+                1L, "서교동", 11, previousAggregatedAt, // 이번 집계와 같은 결과
+                2L, "흑석동", 9, previousAggregatedAt // 이번 집계와 다른 결과
+        );
+
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", runDateParam)
+                .addString("testId", "diff-write")
+                .toJobParameters();
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+
+        List<CouponUsageStatsRow> statsRows = jdbcTemplate.query(
+                "SELECT member_id, top_dong, top_hour, aggregated_at FROM coupon_usage_stats ORDER BY member_id, aggregated_at",
+                (rs, rowNum) -> new CouponUsageStatsRow(
+                        rs.getLong("member_id"),
+                        rs.getString("top_dong"),
+                        rs.getInt("top_hour"),
+                        rs.getDate("aggregated_at").toLocalDate()
+                )
+        );
+
+        assertThat(statsRows).containsExactly(
+                new CouponUsageStatsRow(1L, "서교동", 11, runDateParam),
+                new CouponUsageStatsRow(2L, "흑석동", 9, previousAggregatedAt),
+                new CouponUsageStatsRow(2L, "상도동", 13, runDateParam),
+                new CouponUsageStatsRow(3L, "노량진동", 15, runDateParam),
+                new CouponUsageStatsRow(5L, "잠실동", 13, runDateParam)
+        );
+    }
+
+    @Test
+    @DisplayName("회원별 최신 결과 테이블도 함께 갱신하되, 더 최근 날짜로 저장된 결과는 이전 날짜 재실행으로 덮어쓰지 않는다.")
+    void runCouponUsageStatsJob_success_upsertsLatestStats() throws Exception {
+        // given
+        LocalDate runDateParam = LocalDate.of(2025, 10, 31);
+        LocalDate newerAggregatedAt = LocalDate.of(2025, 11, 1);
+        jdbcTemplate.update(
+                "INSERT INTO coupon_usage_stats_latest (member_id, top_dong, top_hour, aggregated_at) VALUES (?, ?, ?, ?), (?, ?, ?, ?)",
+                1L, "흑석동", 9, LocalDate.of(2025, 10, 29), // 이번 집계보다 이전 결과
+                2L, "흑석동", 9, newerAggregatedAt // 이번 집계보다 최근 결과
+        );
+
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", runDateParam)
+                .addString("testId", "latest-stats")
+                .toJobParameters();
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+
+        List<CouponUsageStatsRow> latestRows = jdbcTemplate.query(
+                "SELECT member_id, top_dong, top_hour, aggregated_at FROM coupon_usage_stats_latest ORDER BY member_id",
+                (rs, rowNum) -> new CouponUsageStatsRow(
+                        rs.getLong("member_id"),
+                        rs.getString("top_dong"),
+                        rs.getInt("top_hour"),
+                        rs.getDate("aggregated_at").toLocalDate()
+                )
+        );
+
+        assertThat(latestRows).containsExactly(
+                new CouponUsageStatsRow(1L, "서교동", 11, runDateParam),
+                new CouponUsageStatsRow(2L, "흑석동", 9, newerAggregatedAt),
+                new CouponUsageStatsRow(3L, "노량진동", 15, runDateParam),
+                new CouponUsageStatsRow(5L, "잠실동", 13, runDateParam)
+        );
+    }
+
+    @Test
+    @DisplayName("집계가 끝나면 최신 결과가 이번 집계인 회원을 시간대별·동별 발송 대상 비트맵으로 저장한다.")
+    void runCouponUsageStatsJob_success_storesAudienceBitmaps() throws Exception {
+        // given
+        LocalDate runDateParam = LocalDate.of(2025, 10, 31);
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", runDateParam)
+                .addString("testId", "audience-bitmaps")
+                .toJobParameters();
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(couponUsageAudienceBitmapJdbcRepository.findIndexedDates(runDateParam, runDateParam)).containsExactly(runDateParam);
+
+        Map<LocalDate, Roaring64NavigableMap> members = couponUsageAudienceBitmapJdbcRepository.findBitmaps(List.of(runDateParam), AudienceDimension.MEMBER, AudienceDimension.ALL_MEMBERS);
+        assertThat(members.get(runDateParam).toArray()).containsExactly(1L, 2L, 3L, 5L);
+
+        // 2번(상도동 13시), 5번(잠실동 13시)이 13시 비트맵에 담긴다.
+        Map<LocalDate, Roaring64NavigableMap> hour13 = couponUsageAudienceBitmapJdbcRepository.findBitmaps(List.of(runDateParam), AudienceDimension.HOUR, "13");
+        assertThat(hour13.get(runDateParam).toArray()).containsExactly(2L, 5L);
+
+        Map<String, Roaring64NavigableMap> dongBitmaps = couponUsageAudienceBitmapJdbcRepository.findDongBitmaps(List.of(runDateParam)).get(runDateParam);
+        assertThat(dongBitmaps).containsOnlyKeys("노량진동", "상도동", "서교동", "잠실동");
+        assertThat(dongBitmaps.get("상도동").toArray()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("롤업 도중 실패한 잡을 재시작하면 마지막으로 커밋된 페이지 다음부터 읽고, 끊김 없이 실행한 것과 같은 결과가 저장된다.")
+    void runCouponUsageStatsJob_success_restartResumesFromLastCommittedPage() throws Exception {
+        // given
+        LocalDate runDateParam = LocalDate.of(2025, 10, 31);
+        long rollupPageSize = 5L;
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", runDateParam)
+                .addLong("rollupPageSize", rollupPageSize)
+                .addString("testId", "restart")
+                .toJobParameters();
+
+        // 첫 페이지는 저장되고 두 번째 페이지 저장에서 실패한다.
+        doCallRealMethod()
+                .doThrow(new DataAccessResourceFailureException("롤업 저장 실패"))
+                .doCallRealMethod()
+                .when(couponUsageDailyRollupJdbcRepository).upsertRollups(anyList());
+
+        JobExecution failedExecution = jobLauncherTestUtils.launchJob(jobParameters);
+        assertThat(failedExecution.getStatus()).isEqualTo(BatchStatus.FAILED);
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+
+        Long usedHistoryCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM coupon_histories WHERE coupon_status = 'USED' AND created_at BETWEEN ? AND ?",
+                Long.class,
+                runDateParam.minusDays(20).atStartOfDay(),
+                runDateParam.atStartOfDay().plusDays(1).minusSeconds(1)
+        );
+        StepExecution rollupStepExecution = jobExecution.getStepExecutions().stream()
+                .filter(stepExecution -> stepExecution.getStepName().equals("couponUsageDailyRollupStep"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(rollupStepExecution.getReadCount()).isEqualTo(usedHistoryCount - rollupPageSize);
+
+        List<CouponUsageStatsRow> statsRows = jdbcTemplate.query(
+                "SELECT member_id, top_dong, top_hour, aggregated_at FROM coupon_usage_stats ORDER BY member_id",
+                (rs, rowNum) -> new CouponUsageStatsRow(
+                        rs.getLong("member_id"),
+                        rs.getString("top_dong"),
+                        rs.getInt("top_hour"),
+                        rs.getDate("aggregated_at").toLocalDate()
+                )
+        );
+
+        assertThat(statsRows).containsExactly(
+                new CouponUsageStatsRow(1L, "서교동", 11, runDateParam),
+                new CouponUsageStatsRow(2L, "상도동", 13, runDateParam),
+                new CouponUsageStatsRow(3L, "노량진동", 15, runDateParam),
+                new CouponUsageStatsRow(5L, "잠실동", 13, runDateParam)
+        );
+    }
+
+    @Test
+    @DisplayName("롤업을 여러 청크로 나눠 읽어도 매장 동 조회 스레드 풀이 리더를 닫지 않아, 원본 이력을 한 번씩만 롤업에 더한다.")
+    void runCouponUsageStatsJob_success_rollupSpansSeveralChunks() throws Exception {
+        // given
+        LocalDate runDateParam = LocalDate.of(2025, 10, 31);
+        long rollupPageSize = 5L;
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", runDateParam)
+                .addLong("rollupPageSize", rollupPageSize)
+                .addString("testId", "several-rollup-chunks")
+                .toJobParameters();
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+
+        Long usedHistoryCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM coupon_histories WHERE coupon_status = 'USED' AND created_at BETWEEN ? AND ?",
+                Long.class,
+                runDateParam.minusDays(20).atStartOfDay(),
+                runDateParam.atStartOfDay().plusDays(1).minusSeconds(1)
+        );
+        StepExecution rollupStepExecution = jobExecution.getStepExecutions().stream()
+                .filter(stepExecution -> stepExecution.getStepName().equals("couponUsageDailyRollupStep"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(usedHistoryCount).isGreaterThan(rollupPageSize * 2);
+        assertThat(rollupStepExecution.getCommitCount()).isGreaterThanOrEqualTo(3);
+        assertThat(rollupStepExecution.getReadCount()).isEqualTo(usedHistoryCount);
+
+        // 첫 페이지를 다시 읽으면 누적 저장되는 롤업 합계가 원본 이력 수보다 커진다.
+        Long rolledUpUsageCount = jdbcTemplate.queryForObject("SELECT SUM(usage_count) FROM coupon_usage_daily_rollups", Long.class);
+        assertThat(rolledUpUsageCount).isEqualTo(usedHistoryCount);
+
+        List<CouponUsageStatsRow> statsRows = jdbcTemplate.query(
+                "SELECT member_id, top_dong, top_hour, aggregated_at FROM coupon_usage_stats ORDER BY member_id",
+                (rs, rowNum) -> new CouponUsageStatsRow(
+                        rs.getLong("member_id"),
+                        rs.getString("top_dong"),
+                        rs.getInt("top_hour"),
+                        rs.getDate("aggregated_at").toLocalDate()
+                )
+        );
+
+        assertThat(statsRows).containsExactly(
+                new CouponUsageStatsRow(1L, "서교동", 11, runDateParam),
+                new CouponUsageStatsRow(2L, "상도동", 13, runDateParam),
+                new CouponUsageStatsRow(3L, "노량진동", 15, runDateParam),
+                new CouponUsageStatsRow(5L, "잠실동", 13, runDateParam)
+        );
+    }
+
     private void mockStoreFeignClient() {
         Map<Long, String> storeDongMap = Map.ofEntries(
                 Map.entry(1L, "상도동"),
@@ -0,0 +1,144 @@
+package com.couponpop.batchservice.batch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.*;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.couponpop.batchservice.batch.listener.CouponUsageStatsRetentionReportListener.RECLAIMED_ROWS_KEY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBatchTest
+@SpringBootTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = "/sql/insert_dummy_before_coupon_usage_stats_retention_job_test.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/cleanup_after_coupon_usage_stats_retention_job_test.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class CouponUsageStatsRetentionJobConfigTest {
+
+    @Autowired
+    private JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Autowired
+    @Qualifier("couponUsageStatsRetentionJob")
+    private Job couponUsageStatsRetentionJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jobLauncherTestUtils.setJob(couponUsageStatsRetentionJob);
+    }
+
+    @Test
+    @DisplayName("보존 기간이 지난 통계는 보관 테이블로 옮겨지고, 보존 기간 내 통계는 그대로 남는다.")
+    void runCouponUsageStatsRetentionJob_success_archivesExpiredRows() throws Exception {
+        // given
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", LocalDate.of(2025, 11, 30))
+                .toJobParameters();
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(jobExecution.getExecutionContext().getLong(RECLAIMED_ROWS_KEY)).isEqualTo(5L);
+
+        assertThat(findIds("SELECT id FROM coupon_usage_stats ORDER BY id")).containsExactly(6L, 7L, 8L);
+        assertThat(findIds("SELECT id FROM coupon_usage_stats_archive ORDER BY id")).containsExactly(1L, 2L, 3L, 4L, 5L);
+
+        Integer archivedTopHour = jdbcTemplate.queryForObject(
+                "SELECT top_hour FROM coupon_usage_stats_archive WHERE id = 4", Integer.class);
+        assertThat(archivedTopHour).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("삭제 배치 크기보다 정리 대상이 많으면 여러 번에 나눠 모두 정리한다.")
+    void runCouponUsageStatsRetentionJob_success_deletesInMultipleBatches() throws Exception {
+        // given
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", LocalDate.of(2025, 11, 30))
+                .addLong("deleteBatchSize", 2L)
+                .toJobParameters();
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+
+        StepExecution stepExecution = jobExecution.getStepExecutions().iterator().next();
+        assertThat(stepExecution.getWriteCount()).isEqualTo(5L);
+        assertThat(stepExecution.getCommitCount()).isEqualTo(3L); // 2건, 2건, 1건
+
+        assertThat(findIds("SELECT id FROM coupon_usage_stats ORDER BY id")).containsExactly(6L, 7L, 8L);
+        assertThat(findIds("SELECT id FROM coupon_usage_stats_archive ORDER BY id")).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    @DisplayName("보존 기간을 늘리면 그만큼 오래된 통계만 정리한다.")
+    void runCouponUsageStatsRetentionJob_success_respectsRetentionDays() throws Exception {
+        // given
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", LocalDate.of(2025, 11, 30))
+                .addLong("retentionDays", 45L) // 2025-10-16 이전 집계분만 정리
+                .toJobParameters();
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(jobExecution.getExecutionContext().getLong(RECLAIMED_ROWS_KEY)).isEqualTo(3L);
+
+        assertThat(findIds("SELECT id FROM coupon_usage_stats ORDER BY id")).containsExactly(4L, 5L, 6L, 7L, 8L);
+        assertThat(findIds("SELECT id FROM coupon_usage_stats_archive ORDER BY id")).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("보존 기간이 지난 FCM 발송 원장을 나눠 지우고, 최근 원장은 남긴다.")
+    void runCouponUsageStatsRetentionJob_success_deletesExpiredFcmSendLedger() throws Exception {
+        // given
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", LocalDate.of(2025, 11, 30))
+                .addLong("deleteBatchSize", 2L)
+                .toJobParameters();
+
+        // when
+        JobExecution jobExecution = jobLauncherTestUtils.launchJob(jobParameters);
+
+        // then
+        assertThat(jobExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+
+        StepExecution ledgerStepExecution = jobExecution.getStepExecutions().stream()
+                .filter(stepExecution -> stepExecution.getStepName().equals(CouponUsageStatsRetentionJobConfig.COUPON_USAGE_STATS_FCM_SEND_LEDGER_RETENTION_STEP))
+                .findFirst()
+                .orElseThrow();
+        assertThat(ledgerStepExecution.getWriteCount()).isEqualTo(3L);
+        assertThat(ledgerStepExecution.getCommitCount()).isEqualTo(2L); // 2건, 1건
+
+        List<String> remainingTraceIds = jdbcTemplate.queryForList(
+                "SELECT trace_id FROM coupon_usage_stats_fcm_send_ledger ORDER BY trace_id", String.class);
+        assertThat(remainingTraceIds).containsExactly("trace-4", "trace-5");
+    }
+
+    private List<Long> findIds(String sql) {
+        return jdbcTemplate.queryForList(sql, Long.class);
+    }
+}
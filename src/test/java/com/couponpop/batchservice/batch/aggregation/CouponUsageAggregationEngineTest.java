@@ -0,0 +1,137 @@
+package com.couponpop.batchservice.batch.aggregation;
+
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CouponUsageAggregationEngineTest {
+
+    private static final LocalDate AGGREGATED_AT = LocalDate.of(2025, 10, 31);
+    private static final int USAGE_COUNT_THRESHOLD = 5;
+    private static final List<String> DONGS = List.of("서교동", "상도동", "노량진동", "잠실동", "풍무동", "역삼동");
+
+    @Test
+    @DisplayName("무작위 사용 이력을 회원별로 집계하면 기존 스트림 집계와 같은 결과를 만든다.")
+    void aggregate_success_sameResultsAsStreamPipeline() {
+        // given
+        Random random = new Random(20251031L);
+        List<MemberCouponUsage> usages = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            long memberId = 1 + random.nextInt(3_000);
+            String dong = random.nextInt(50) == 0 ? null : DONGS.get(random.nextInt(DONGS.size()));
+            // 같은 시각이 자주 겹치도록 범위를 좁혀 동점 처리까지 검증한다.
+            LocalDateTime usedAt = AGGREGATED_AT.minusDays(random.nextInt(20)).atTime(random.nextInt(24), random.nextInt(2) * 30);
+            usages.add(MemberCouponUsage.from(memberId, dong, usedAt));
+        }
+
+        // 하나의 엔진을 회원마다 비우고 재사용한다.
+        CouponUsageAggregationEngine engine = new CouponUsageAggregationEngine();
+        Map<Long, List<MemberCouponUsage>> usagesByMember = usages.stream()
+                .collect(Collectors.groupingBy(MemberCouponUsage::memberId, TreeMap::new, Collectors.toList()));
+
+        // when
+        List<CouponUsageStatsDto> results = new ArrayList<>();
+        usagesByMember.forEach((memberId, memberUsages) -> {
+            engine.clear();
+            memberUsages.forEach(usage -> engine.add(usage.dong(), usage.usageHour(), usage.usageCount(), usage.lastUsedAt()));
+            engine.aggregate(memberId, AGGREGATED_AT, USAGE_COUNT_THRESHOLD).ifPresent(results::add);
+        });
+
+        // then
+        assertThat(results).containsExactlyInAnyOrderElementsOf(aggregateWithStreams(usages));
+    }
+
+    @Test
+    @DisplayName("clear 후 재사용하면 이전 회원의 사용량이 섞이지 않는다.")
+    void clear_success_resetsPreviousMember() {
+        // given
+        CouponUsageAggregationEngine engine = new CouponUsageAggregationEngine();
+        for (int i = 0; i < 5; i++) {
+            engine.add("서교동", 11, 1L, LocalDateTime.of(2025, 10, 30, 11, i));
+        }
+
+        // when
+        engine.clear();
+        for (int i = 0; i < 5; i++) {
+            engine.add("상도동", 13, 1L, LocalDateTime.of(2025, 10, 30, 13, i));
+        }
+
+        // then
+        assertThat(engine.aggregate(2L, AGGREGATED_AT, USAGE_COUNT_THRESHOLD))
+                .contains(new CouponUsageStatsDto(2L, "상도동", 13, AGGREGATED_AT));
+    }
+
+    @Test
+    @DisplayName("동 정보가 없는 사용량은 사용 횟수에 포함하지 않는다.")
+    void aggregate_success_ignoresUsageWithoutDong() {
+        // given
+        CouponUsageAggregationEngine engine = new CouponUsageAggregationEngine();
+        engine.add("서교동", 11, 4L, LocalDateTime.of(2025, 10, 30, 11, 0));
+        engine.add(null, 12, 10L, LocalDateTime.of(2025, 10, 30, 12, 0));
+
+        // when & then
+        assertThat(engine.aggregate(1L, AGGREGATED_AT, USAGE_COUNT_THRESHOLD)).isEmpty();
+    }
+
+    // 기존 couponUsageStatsReader의 스트림 집계를 그대로 옮긴 기준 구현
+    private List<CouponUsageStatsDto> aggregateWithStreams(List<MemberCouponUsage> usages) {
+
+        List<MemberCouponUsage> filtered = usages.stream()
+                .filter(usage -> usage.dong() != null)
+                .toList();
+
+        Comparator<UsageAggregation> comparator = Comparator
+                .comparingLong(UsageAggregation::usageCount)
+                .thenComparing(UsageAggregation::recentUsedAt);
+
+        return filtered.stream()
+                .collect(Collectors.groupingBy(MemberCouponUsage::memberId))
+                .entrySet()
+                .stream()
+                .filter(entry -> entry.getValue().size() >= USAGE_COUNT_THRESHOLD)
+                .map(entry -> {
+                    Map<String, List<MemberCouponUsage>> usagesByDong = entry.getValue().stream()
+                            .collect(Collectors.groupingBy(MemberCouponUsage::dong));
+
+                    String topDong = usagesByDong.entrySet().stream()
+                            .map(dongEntry -> new UsageAggregation(dongEntry.getKey(), 0, dongEntry.getValue()))
+                            .max(comparator.thenComparing(UsageAggregation::dong))
+                            .orElseThrow()
+                            .dong();
+
+                    int topHour = usagesByDong.get(topDong).stream()
+                            .collect(Collectors.groupingBy(MemberCouponUsage::usageHour))
+                            .entrySet()
+                            .stream()
+                            .map(hourEntry -> new UsageAggregation(topDong, hourEntry.getKey(), hourEntry.getValue()))
+                            .max(comparator.thenComparingInt(UsageAggregation::usageHour))
+                            .orElseThrow()
+                            .usageHour();
+
+                    return new CouponUsageStatsDto(entry.getKey(), topDong, topHour, AGGREGATED_AT);
+                })
+                .toList();
+    }
+
+    private record UsageAggregation(String dong, int usageHour, long usageCount, LocalDateTime recentUsedAt) {
+
+        private UsageAggregation(String dong, int usageHour, List<MemberCouponUsage> usages) {
+            this(dong, usageHour, usages.size(), usages.stream()
+                    .map(MemberCouponUsage::lastUsedAt)
+                    .max(LocalDateTime::compareTo)
+                    .orElseThrow());
+        }
+    }
+}
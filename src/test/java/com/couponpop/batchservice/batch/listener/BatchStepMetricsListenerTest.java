@@ -0,0 +1,120 @@
+package com.couponpop.batchservice.batch.listener;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.util.List;
+
+import static com.couponpop.batchservice.batch.CouponUsageStatsJobConfig.COUPON_USAGE_STATS_JOB;
+import static com.couponpop.batchservice.batch.CouponUsageStatsJobConfig.COUPON_USAGE_STATS_WORKER_STEP;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchStepMetricsListenerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BatchStepMetricsListener listener;
+    private ChunkContext chunkContext;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new BatchStepMetricsListener(meterRegistry);
+
+        JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution(COUPON_USAGE_STATS_JOB, 1L, 1L);
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution(jobExecution, COUPON_USAGE_STATS_WORKER_STEP + ":partition0", 1L);
+        chunkContext = new ChunkContext(new StepContext(stepExecution));
+    }
+
+    @Test
+    @DisplayName("청크가 끝나면 단계별 시간과 아이템 수를 잡/Step 태그로 기록하고, 파티션 접미사는 태그에서 뗀다.")
+    void afterChunk_success_recordsPhasesWithJobAndStepTags() {
+        // when
+        runChunk(List.of("a", "b", "c"));
+
+        // then
+        assertThat(timer("batch.chunk", "outcome", "success").count()).isEqualTo(1);
+        assertThat(timer("batch.chunk.phase", "phase", "read").count()).isEqualTo(1);
+        assertThat(timer("batch.chunk.phase", "phase", "process").count()).isEqualTo(1);
+        assertThat(timer("batch.chunk.phase", "phase", "write").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("batch.chunk.items").tags(stepTags()).tag("phase", "read").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("batch.chunk.items").tags(stepTags()).tag("phase", "write").counter().count()).isEqualTo(3);
+
+        DistributionSummary throughput = meterRegistry.get("batch.chunk.throughput").tags(stepTags()).summary();
+        assertThat(throughput.count()).isEqualTo(1);
+        assertThat(throughput.totalAmount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("쓰기에 실패한 청크는 실패 결과로 기록하고, 쓴 아이템 수에는 더하지 않는다.")
+    void afterChunkError_recordsFailure() {
+        // given
+        listener.beforeChunk(chunkContext);
+        listener.beforeRead();
+        listener.afterRead("a");
+        listener.beforeWrite(new Chunk<>(List.of("a")));
+
+        // when
+        listener.onWriteError(new IllegalStateException("write failed"), new Chunk<>(List.of("a")));
+        listener.afterChunkError(chunkContext);
+
+        // then
+        assertThat(timer("batch.chunk", "outcome", "failure").count()).isEqualTo(1);
+        assertThat(timer("batch.chunk", "outcome", "success").count()).isZero();
+        assertThat(meterRegistry.get("batch.chunk.items").tags(stepTags()).tag("phase", "write").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("가공 리스너 호출이 없는 청크는 가공 시간을 0으로 남기지 않는다.")
+    void afterChunk_success_skipsProcessPhaseWhenNothingProcessed() {
+        // given
+        listener.beforeChunk(chunkContext);
+        listener.beforeRead();
+        listener.afterRead("a");
+        Chunk<String> chunk = new Chunk<>(List.of("a"));
+        listener.beforeWrite(chunk);
+        listener.afterWrite(chunk);
+
+        // when
+        listener.afterChunk(chunkContext);
+
+        // then
+        assertThat(timer("batch.chunk.phase", "phase", "read").count()).isEqualTo(1);
+        assertThat(timer("batch.chunk.phase", "phase", "process").count()).isZero();
+        assertThat(timer("batch.chunk.phase", "phase", "write").count()).isEqualTo(1);
+    }
+
+    private void runChunk(List<String> items) {
+        listener.beforeChunk(chunkContext);
+        for (String item : items) {
+            listener.beforeRead();
+            listener.afterRead(item);
+            listener.beforeProcess(item);
+            listener.afterProcess(item, item);
+        }
+        // 마지막 read()는 null을 돌려주므로 afterRead가 불리지 않는다.
+        listener.beforeRead();
+
+        Chunk<String> chunk = new Chunk<>(items);
+        listener.beforeWrite(chunk);
+        listener.afterWrite(chunk);
+        listener.afterChunk(chunkContext);
+    }
+
+    private Timer timer(String name, String key, String value) {
+        return meterRegistry.get(name).tags(stepTags()).tag(key, value).timer();
+    }
+
+    private static String[] stepTags() {
+        return new String[]{"job", COUPON_USAGE_STATS_JOB, "step", COUPON_USAGE_STATS_WORKER_STEP};
+    }
+}
@@ -0,0 +1,83 @@
+package com.couponpop.batchservice.batch.partition;
+
+import com.couponpop.batchservice.domain.couponusagestats.dto.MemberIdRangeDto;
+import com.couponpop.batchservice.domain.couponusagestats.repository.CouponUsageDailyRollupJdbcRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MemberIdRangePartitionerTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 10, 11);
+    private static final LocalDate TO = LocalDate.of(2025, 10, 31);
+
+    private final CouponUsageDailyRollupJdbcRepository repository = mock(CouponUsageDailyRollupJdbcRepository.class);
+
+    @Test
+    @DisplayName("최소~최대 member_id를 빈틈없이 겹치지 않는 연속 구간으로 나눈다.")
+    void partition_success_splitsIntoContiguousRanges() {
+        // given
+        when(repository.findMemberIdRange(FROM, TO)).thenReturn(Optional.of(new MemberIdRangeDto(101L, 110L)));
+
+        // when
+        Map<String, ExecutionContext> partitions = new MemberIdRangePartitioner(repository, FROM, TO, 4).partition(1);
+
+        // then
+        assertThat(partitions).containsOnlyKeys("partition0", "partition1", "partition2", "partition3");
+        assertThat(ranges(partitions)).containsExactly(
+                List.of(101L, 103L),
+                List.of(104L, 106L),
+                List.of(107L, 109L),
+                List.of(110L, 110L)
+        );
+    }
+
+    @Test
+    @DisplayName("회원 구간보다 파티션이 많으면 남는 파티션은 빈 구간을 받는다.")
+    void partition_success_emptyRangesForExtraPartitions() {
+        // given
+        when(repository.findMemberIdRange(FROM, TO)).thenReturn(Optional.of(new MemberIdRangeDto(5L, 6L)));
+
+        // when
+        Map<String, ExecutionContext> partitions = new MemberIdRangePartitioner(repository, FROM, TO, 3).partition(1);
+
+        // then
+        assertThat(ranges(partitions)).containsExactly(
+                List.of(5L, 5L),
+                List.of(6L, 6L),
+                List.of(7L, 6L)
+        );
+    }
+
+    @Test
+    @DisplayName("기간에 롤업이 없어도 파티션 수만큼 빈 구간 파티션을 만든다.")
+    void partition_success_emptyRangesWhenNoRollups() {
+        // given
+        when(repository.findMemberIdRange(FROM, TO)).thenReturn(Optional.empty());
+
+        // when
+        Map<String, ExecutionContext> partitions = new MemberIdRangePartitioner(repository, FROM, TO, 2).partition(1);
+
+        // then
+        assertThat(partitions).hasSize(2);
+        assertThat(ranges(partitions))
+                .allSatisfy(range -> assertThat(range.get(0)).isGreaterThan(range.get(1)));
+    }
+
+    private static List<List<Long>> ranges(Map<String, ExecutionContext> partitions) {
+        return partitions.values().stream()
+                .map(context -> List.of(
+                        context.getLong(MemberIdRangePartitioner.MIN_MEMBER_ID_KEY),
+                        context.getLong(MemberIdRangePartitioner.MAX_MEMBER_ID_KEY)))
+                .toList();
+    }
+}
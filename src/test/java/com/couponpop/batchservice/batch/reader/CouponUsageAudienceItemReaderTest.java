@@ -0,0 +1,127 @@
+package com.couponpop.batchservice.batch.reader;
+
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsDto;
+import com.couponpop.batchservice.domain.couponusagestats.audience.AudienceDimension;
+import com.couponpop.batchservice.domain.couponusagestats.repository.CouponUsageAudienceBitmapJdbcRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CouponUsageAudienceItemReaderTest {
+
+    private static final int TARGET_HOUR = 10;
+    private static final LocalDate LATEST = LocalDate.of(2025, 10, 25);
+    private static final LocalDate OLDER = LocalDate.of(2025, 10, 24);
+
+    private final CouponUsageAudienceBitmapJdbcRepository repository = mock(CouponUsageAudienceBitmapJdbcRepository.class);
+
+    @Test
+    @DisplayName("더 최근 집계에 결과가 있는 회원은 예전 집계의 시간대 비트맵에 있어도 읽지 않는다.")
+    void read_success_keepsOnlyLatestResultPerMember() {
+        // given
+        // 1번은 10/24에 10시였지만 10/25에 11시로 바뀌었고, 2번은 10/24 결과가 최신이다.
+        when(repository.findBitmaps(anyList(), eq(AudienceDimension.HOUR), eq(String.valueOf(TARGET_HOUR))))
+                .thenReturn(Map.of(OLDER, bitmap(1L, 2L)));
+        when(repository.findBitmaps(anyList(), eq(AudienceDimension.MEMBER), eq(AudienceDimension.ALL_MEMBERS)))
+                .thenReturn(Map.of(LATEST, bitmap(1L), OLDER, bitmap(1L, 2L)));
+        when(repository.findDongBitmaps(anyCollection()))
+                .thenReturn(Map.of(OLDER, dongs(Map.of("노량진동", bitmap(1L, 2L)))));
+
+        // when
+        List<CouponUsageStatsDto> items = readAll(newReader());
+
+        // then
+        assertThat(items).containsExactly(new CouponUsageStatsDto(2L, "노량진동", TARGET_HOUR, OLDER));
+    }
+
+    @Test
+    @DisplayName("동 이름 순으로, 같은 동 안에서는 최근 집계부터 member_id 순으로 읽는다.")
+    void read_success_ordersByDongThenAggregatedAtThenMemberId() {
+        // given
+        when(repository.findBitmaps(anyList(), eq(AudienceDimension.HOUR), eq(String.valueOf(TARGET_HOUR))))
+                .thenReturn(Map.of(LATEST, bitmap(5L, 3L, 1L), OLDER, bitmap(4L, 2L)));
+        when(repository.findBitmaps(anyList(), eq(AudienceDimension.MEMBER), eq(AudienceDimension.ALL_MEMBERS)))
+                .thenReturn(Map.of(LATEST, bitmap(1L, 3L, 5L), OLDER, bitmap(2L, 4L)));
+        when(repository.findDongBitmaps(anyCollection())).thenReturn(Map.of(
+                LATEST, dongs(Map.of("흑석동", bitmap(1L), "노량진동", bitmap(3L, 5L))),
+                OLDER, dongs(Map.of("노량진동", bitmap(2L), "흑석동", bitmap(4L)))
+        ));
+
+        // when
+        List<CouponUsageStatsDto> items = readAll(newReader());
+
+        // then
+        assertThat(items).containsExactly(
+                new CouponUsageStatsDto(3L, "노량진동", TARGET_HOUR, LATEST),
+                new CouponUsageStatsDto(5L, "노량진동", TARGET_HOUR, LATEST),
+                new CouponUsageStatsDto(2L, "노량진동", TARGET_HOUR, OLDER),
+                new CouponUsageStatsDto(1L, "흑석동", TARGET_HOUR, LATEST),
+                new CouponUsageStatsDto(4L, "흑석동", TARGET_HOUR, OLDER)
+        );
+    }
+
+    @Test
+    @DisplayName("대상 시간대 비트맵이 없으면 전체 회원·동 비트맵을 읽지 않고 바로 끝난다.")
+    void read_success_skipsDongBitmapsWhenHourIsEmpty() {
+        // given
+        when(repository.findBitmaps(anyList(), eq(AudienceDimension.HOUR), eq(String.valueOf(TARGET_HOUR))))
+                .thenReturn(Map.of());
+
+        // when
+        List<CouponUsageStatsDto> items = readAll(newReader());
+
+        // then
+        assertThat(items).isEmpty();
+        verify(repository, never()).findBitmaps(anyList(), eq(AudienceDimension.MEMBER), any());
+        verify(repository, never()).findDongBitmaps(anyCollection());
+    }
+
+    private CouponUsageAudienceItemReader newReader() {
+        return new CouponUsageAudienceItemReader(repository, List.of(LATEST, OLDER), TARGET_HOUR);
+    }
+
+    private static List<CouponUsageStatsDto> readAll(CouponUsageAudienceItemReader reader) {
+        reader.open(new ExecutionContext());
+        try {
+            List<CouponUsageStatsDto> items = new ArrayList<>();
+            CouponUsageStatsDto item;
+            while ((item = reader.read()) != null) {
+                items.add(item);
+            }
+            return items;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static Roaring64NavigableMap bitmap(long... memberIds) {
+        Roaring64NavigableMap bitmap = new Roaring64NavigableMap();
+        for (long memberId : memberIds) {
+            bitmap.addLong(memberId);
+        }
+        return bitmap;
+    }
+
+    private static Map<String, Roaring64NavigableMap> dongs(Map<String, Roaring64NavigableMap> bitmapsByDong) {
+        return new TreeMap<>(bitmapsByDong);
+    }
+}
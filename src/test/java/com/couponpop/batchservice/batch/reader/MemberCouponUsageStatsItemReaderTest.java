@@ -0,0 +1,145 @@
+package com.couponpop.batchservice.batch.reader;
+
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberCouponUsageStatsItemReaderTest {
+
+    private static final LocalDate AGGREGATED_AT = LocalDate.of(2025, 10, 31);
+    private static final int USAGE_COUNT_THRESHOLD = 5;
+
+    @Test
+    @DisplayName("member_id 순 롤업을 회원 단위로 접고, 사용 횟수 기준 미달 회원은 건너뛴다.")
+    void read_success_foldsRowsPerMember() throws Exception {
+        // given
+        // 1번: 서교동 3 + 상도동 4, 2번: 기준 미달, 3번: 동 정보 없는 행 제외 후 5건
+        ListRollupCursor cursor = new ListRollupCursor(List.of(
+                row(1L, "서교동", 11, 3L, 10),
+                row(1L, "상도동", 13, 4L, 9),
+                row(2L, "서교동", 9, 4L, 10),
+                row(3L, null, 8, 10L, 10),
+                row(3L, "노량진동", 20, 5L, 10)
+        ));
+        MemberCouponUsageStatsItemReader reader = new MemberCouponUsageStatsItemReader(cursor, AGGREGATED_AT, USAGE_COUNT_THRESHOLD);
+
+        // when
+        reader.open(new ExecutionContext());
+        List<CouponUsageStatsDto> items = readAll(reader);
+        reader.close();
+
+        // then
+        assertThat(items).containsExactly(
+                new CouponUsageStatsDto(1L, "상도동", 13, AGGREGATED_AT),
+                new CouponUsageStatsDto(3L, "노량진동", 20, AGGREGATED_AT)
+        );
+        assertThat(cursor.closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("재시작하면 이미 반환한 회원의 행을 건너뛰고 다음 회원부터 읽는다.")
+    void open_success_resumesAfterLastReturnedMember() throws Exception {
+        // given
+        List<RollupRow> rows = List.of(
+                row(1L, "서교동", 11, 5L, 10),
+                row(2L, "상도동", 13, 2L, 10),
+                row(2L, "상도동", 14, 3L, 9),
+                row(3L, "노량진동", 20, 5L, 10)
+        );
+        MemberCouponUsageStatsItemReader firstRun = new MemberCouponUsageStatsItemReader(new ListRollupCursor(rows), AGGREGATED_AT, USAGE_COUNT_THRESHOLD);
+        ExecutionContext executionContext = new ExecutionContext();
+        firstRun.open(executionContext);
+        firstRun.read();
+        firstRun.read();
+        // 2번 회원까지 커밋한 뒤 실패했다고 본다. 3번 회원의 첫 행은 이미 커서로 읽었지만 소비하지 않았다.
+        firstRun.update(executionContext);
+        firstRun.close();
+
+        // when
+        MemberCouponUsageStatsItemReader restarted = new MemberCouponUsageStatsItemReader(new ListRollupCursor(rows), AGGREGATED_AT, USAGE_COUNT_THRESHOLD);
+        restarted.open(executionContext);
+        List<CouponUsageStatsDto> items = readAll(restarted);
+
+        // then
+        assertThat(items).containsExactly(new CouponUsageStatsDto(3L, "노량진동", 20, AGGREGATED_AT));
+    }
+
+    private List<CouponUsageStatsDto> readAll(MemberCouponUsageStatsItemReader reader) throws Exception {
+
+        List<CouponUsageStatsDto> items = new ArrayList<>();
+        CouponUsageStatsDto item;
+        while ((item = reader.read()) != null) {
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static RollupRow row(long memberId, String dong, int usageHour, long usageCount, int lastUsedDay) {
+        long lastUsedEpochSecond = LocalDateTime.of(2025, 10, lastUsedDay, usageHour, 0).toEpochSecond(ZoneOffset.UTC);
+        return new RollupRow(memberId, dong, usageHour, usageCount, lastUsedEpochSecond);
+    }
+
+    private record RollupRow(long memberId, String dong, int usageHour, long usageCount, long lastUsedEpochSecond) {
+    }
+
+    private static class ListRollupCursor implements CouponUsageRollupCursor {
+
+        private final List<RollupRow> rows;
+        private int index = -1;
+        private boolean closed;
+
+        private ListRollupCursor(List<RollupRow> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public void open() {
+            index = -1;
+            closed = false;
+        }
+
+        @Override
+        public boolean next() {
+            return ++index < rows.size();
+        }
+
+        @Override
+        public long memberId() {
+            return rows.get(index).memberId();
+        }
+
+        @Override
+        public String dong() {
+            return rows.get(index).dong();
+        }
+
+        @Override
+        public int usageHour() {
+            return rows.get(index).usageHour();
+        }
+
+        @Override
+        public long usageCount() {
+            return rows.get(index).usageCount();
+        }
+
+        @Override
+        public long lastUsedEpochSecond() {
+            return rows.get(index).lastUsedEpochSecond();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.couponpop.batchservice.batch.tuning;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.couponpop.batchservice.batch.CouponUsageStatsJobConfig.COUPON_USAGE_STATS_WORKER_STEP;
+import static com.couponpop.batchservice.batch.tuning.AdaptiveChunkCompletionPolicy.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveChunkCompletionPolicyTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private ChunkSizeSettingsRegistry registry;
+    private AdaptiveChunkCompletionPolicy policy;
+    private StepExecution stepExecution;
+    private ChunkContext chunkContext;
+
+    @BeforeEach
+    void setUp() {
+        // 목표 커밋 시간 100ms, 청크 크기 100 ~ 5,000
+        registry = new ChunkSizeSettingsRegistry(1000, 100, 5000, Duration.ofMillis(100));
+        policy = new AdaptiveChunkCompletionPolicy(registry, COUPON_USAGE_STATS_WORKER_STEP, nanoTime::get);
+        stepExecution = MetaDataInstanceFactory.createStepExecution();
+        chunkContext = new ChunkContext(new StepContext(stepExecution));
+    }
+
+    @Test
+    @DisplayName("커밋이 목표 시간보다 빨리 끝나면 청크 크기를 늘리고, 느려지면 줄이되 한 번에 두 배 이상 바꾸지 않는다.")
+    void afterChunk_success_adaptsToCommitLatency() {
+        // given
+        policy.beforeStep(stepExecution);
+        assertThat(policy.getChunkSize()).isEqualTo(1000);
+
+        // when: 1,000건을 10ms에 처리 → 목표 시간 기준 10,000건이지만 두 배까지만 늘린다.
+        runChunk(1000, Duration.ofMillis(10));
+
+        // then
+        assertThat(policy.getChunkSize()).isEqualTo(2000);
+
+        // when: 2,000건을 2초에 처리 → 목표 시간 기준 약 325건이지만 절반까지만 줄인다.
+        runChunk(2000, Duration.ofSeconds(2));
+
+        // then
+        assertThat(policy.getChunkSize()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("청크 크기는 설정한 최솟값과 최댓값을 벗어나지 않는다.")
+    void afterChunk_success_staysWithinBounds() {
+        // given
+        policy.beforeStep(stepExecution);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            runChunk(policy.getChunkSize(), Duration.ofMillis(1));
+        }
+
+        // then
+        assertThat(policy.getChunkSize()).isEqualTo(5000);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            runChunk(policy.getChunkSize(), Duration.ofSeconds(10));
+        }
+
+        // then
+        assertThat(policy.getChunkSize()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("덮어쓴 설정은 다음 Step 실행부터 적용되고, 고른 청크 크기는 ExecutionContext에 기록된다.")
+    void beforeStep_success_appliesOverrideAndRecordsSizes() {
+        // given
+        registry.override(COUPON_USAGE_STATS_WORKER_STEP, 300, null, 600, null);
+
+        // when
+        policy.beforeStep(stepExecution);
+        runChunk(300, Duration.ofMillis(1));
+        runChunk(600, Duration.ofMillis(1));
+        policy.afterStep(stepExecution);
+
+        // then
+        assertThat(stepExecution.getExecutionContext().getInt(INITIAL_SIZE_KEY)).isEqualTo(300);
+        assertThat(stepExecution.getExecutionContext().getInt(SMALLEST_SIZE_KEY)).isEqualTo(300);
+        assertThat(stepExecution.getExecutionContext().getInt(LARGEST_SIZE_KEY)).isEqualTo(600);
+        assertThat(stepExecution.getExecutionContext().getInt(FINAL_SIZE_KEY)).isEqualTo(600);
+        assertThat(stepExecution.getExecutionContext().getInt(CHUNK_COUNT_KEY)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("범위를 벗어난 설정이나 조정 대상이 아닌 Step은 덮어쓸 수 없다.")
+    void override_fail_invalidSettings() {
+        assertThatThrownBy(() -> registry.override(COUPON_USAGE_STATS_WORKER_STEP, 10_000, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.override("unknownStep", 500, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void runChunk(int items, Duration elapsed) {
+        policy.beforeChunk(chunkContext);
+        stepExecution.setReadCount(stepExecution.getReadCount() + items);
+        nanoTime.addAndGet(elapsed.toNanos());
+        policy.afterChunk(chunkContext);
+    }
+}
@@ -0,0 +1,109 @@
+package com.couponpop.batchservice.common.cache;
+
+import com.couponpop.batchservice.common.cache.ExpiringLruCache.CacheEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExpiringLruCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final long START_MILLIS = 1_000_000L;
+
+    private final AtomicLong nowMillis = new AtomicLong(START_MILLIS);
+    private final Clock clock = mock(Clock.class);
+
+    @BeforeEach
+    void setUp() {
+        when(clock.millis()).thenAnswer(invocation -> nowMillis.get());
+    }
+
+    @Test
+    @DisplayName("적재 후 TTL이 지나면 조회되지 않고 캐시에서 제거된다.")
+    void get_success_expiresAfterTtl() {
+        // given
+        ExpiringLruCache<Long, String> cache = new ExpiringLruCache<>(TTL, 10, clock);
+        cache.put(1L, "노량진동");
+
+        // when
+        nowMillis.addAndGet(TTL.toMillis() - 1);
+        String beforeExpiry = cache.get(1L);
+        nowMillis.addAndGet(1);
+        String afterExpiry = cache.get(1L);
+
+        // then
+        assertThat(beforeExpiry).isEqualTo("노량진동");
+        assertThat(afterExpiry).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 조회되지 않은 항목부터 제거한다.")
+    void put_success_evictsLeastRecentlyUsed() {
+        // given
+        ExpiringLruCache<Long, String> cache = new ExpiringLruCache<>(TTL, 2, clock);
+        cache.put(1L, "노량진동");
+        cache.put(2L, "풍무동");
+        cache.get(1L); // 2번이 가장 오래 조회되지 않은 항목이 된다.
+
+        // when
+        cache.put(3L, "상도동");
+
+        // then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.get(1L)).isEqualTo("노량진동");
+        assertThat(cache.get(3L)).isEqualTo("상도동");
+    }
+
+    @Test
+    @DisplayName("적재 시각을 넘겨 넣으면 그 시각부터 TTL을 계산하고, 이미 만료된 항목은 넣지 않는다.")
+    void put_success_keepsGivenLoadedAt() {
+        // given
+        ExpiringLruCache<Long, String> cache = new ExpiringLruCache<>(TTL, 10, clock);
+        long loadedAtMillis = START_MILLIS - TTL.toMillis() + 1_000;
+
+        // when
+        cache.put(1L, "노량진동", loadedAtMillis);
+        cache.put(2L, "풍무동", START_MILLIS - TTL.toMillis());
+
+        // then
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.snapshot()).containsExactly(new CacheEntry<>(1L, "노량진동", loadedAtMillis));
+
+        nowMillis.addAndGet(1_000);
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("스냅샷은 만료되지 않은 항목만 오래 조회되지 않은 순서대로 적재 시각과 함께 담는다.")
+    void snapshot_success_skipsExpiredEntriesInAccessOrder() {
+        // given
+        ExpiringLruCache<Long, String> cache = new ExpiringLruCache<>(TTL, 10, clock);
+        cache.put(1L, "노량진동");
+        nowMillis.addAndGet(TTL.toMillis() / 2);
+        cache.put(2L, "풍무동");
+        cache.put(3L, "상도동");
+        cache.get(2L);
+        nowMillis.addAndGet(TTL.toMillis() / 2); // 1번만 만료된다.
+
+        // when
+        List<CacheEntry<Long, String>> snapshot = cache.snapshot();
+
+        // then
+        long secondLoadedAt = START_MILLIS + TTL.toMillis() / 2;
+        assertThat(snapshot).containsExactly(
+                new CacheEntry<>(3L, "상도동", secondLoadedAt),
+                new CacheEntry<>(2L, "풍무동", secondLoadedAt)
+        );
+    }
+}
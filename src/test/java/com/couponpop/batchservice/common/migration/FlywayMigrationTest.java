@@ -0,0 +1,80 @@
+package com.couponpop.batchservice.common.migration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 테스트 컨텍스트가 기동할 때 실행된 Flyway 마이그레이션이 모두 적용되고, 배치 SQL이 기대하는 키와 인덱스가 만들어졌는지 확인합니다.
+ * 다른 잡 테스트는 이 스키마 위에서 실행되므로, 마이그레이션과 테스트 스키마가 따로 바뀌지 않습니다.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class FlywayMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("모든 마이그레이션이 실패 없이 적용되고 대기 중인 마이그레이션이 없다.")
+    void migrate_success_appliesAllMigrations() {
+        // when
+        MigrationInfo[] migrations = flyway.info().all();
+
+        // then
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(Arrays.stream(migrations).map(MigrationInfo::getState))
+                .isNotEmpty()
+                .allMatch(state -> state == MigrationState.SUCCESS || state == MigrationState.BASELINE);
+    }
+
+    @Test
+    @DisplayName("배치 서비스 테이블과 배치 SQL이 쓰는 키가 마이그레이션으로 만들어진다.")
+    void migrate_success_createsBatchTablesAndKeys() {
+        // then
+        assertThat(findIndexNames("coupon_usage_daily_rollups"))
+                .contains("uk_coupon_usage_daily_rollups", "idx_coupon_usage_daily_rollups_member_date");
+        assertThat(findIndexNames("coupon_usage_daily_rollup_dates")).contains("PRIMARY");
+        assertThat(findIndexNames("coupon_usage_stats")).contains("uk_coupon_usage_stats_member_aggregated");
+        assertThat(findIndexNames("coupon_usage_stats_archive")).contains("PRIMARY");
+        assertThat(findIndexNames("coupon_usage_stats_latest"))
+                .contains("PRIMARY", "idx_coupon_usage_stats_latest_hour_member");
+        assertThat(findIndexNames("coupon_usage_audience_bitmaps")).contains("PRIMARY");
+        assertThat(findIndexNames("coupon_usage_stats_fcm_send_ledger"))
+                .contains("PRIMARY", "idx_coupon_usage_stats_fcm_send_ledger_sent_at");
+    }
+
+    @Test
+    @DisplayName("V8에서 삭제한 이력 테이블의 발송 Reader용 인덱스는 남아 있지 않다.")
+    void migrate_success_dropsUnusedHistoryIndex() {
+        // then
+        assertThat(findIndexNames("coupon_usage_stats")).doesNotContain("idx_coupon_usage_stats_hour_member_aggregated");
+    }
+
+    private List<String> findIndexNames(String tableName) {
+        return jdbcTemplate.queryForList("""
+                SELECT DISTINCT index_name
+                FROM information_schema.statistics
+                WHERE table_schema = DATABASE()
+                  AND table_name = ?
+                """, String.class, tableName);
+    }
+}
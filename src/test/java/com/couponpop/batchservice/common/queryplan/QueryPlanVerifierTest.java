@@ -0,0 +1,65 @@
+package com.couponpop.batchservice.common.queryplan;
+
+import com.couponpop.batchservice.common.queryplan.QueryPlanVerifier.ExplainRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryPlanVerifierTest {
+
+    private static final long MIN_ROWS = 1000;
+
+    @Test
+    @DisplayName("커버링 인덱스로 범위 조회하는 계획은 문제로 보지 않는다.")
+    void findProblems_indexRangeScan_noProblems() {
+        // given
+        List<ExplainRow> plan = List.of(
+                new ExplainRow("ch", "range", "idx_coupon_histories_batch_status_created", 50_000L, "Using where; Using index")
+        );
+
+        // when
+        List<String> problems = QueryPlanVerifier.findProblems(plan, MIN_ROWS);
+
+        // then
+        assertThat(problems).isEmpty();
+    }
+
+    @Test
+    @DisplayName("전체 스캔, 인덱스 전체 스캔, filesort를 각각 문제로 보고한다.")
+    void findProblems_fullScanAndFilesort_reportsEach() {
+        // given
+        List<ExplainRow> plan = List.of(
+                new ExplainRow("ce", "ALL", null, 200_000L, "Using where"),
+                new ExplainRow("cus", "index", "uk_coupon_usage_stats_member_aggregated", 80_000L, "Using where; Using filesort")
+        );
+
+        // when
+        List<String> problems = QueryPlanVerifier.findProblems(plan, MIN_ROWS);
+
+        // then
+        assertThat(problems).containsExactly(
+                "테이블 ce 전체 스캔 (예상 200000행)",
+                "테이블 cus 인덱스 uk_coupon_usage_stats_member_aggregated 전체 스캔 (예상 80000행)",
+                "테이블 cus filesort (예상 80000행)"
+        );
+    }
+
+    @Test
+    @DisplayName("예상 행 수가 기준보다 적은 테이블은 전체 스캔이어도 무시한다.")
+    void findProblems_smallTable_ignored() {
+        // given
+        List<ExplainRow> plan = List.of(
+                new ExplainRow("ce", "ALL", null, 12L, "Using where; Using filesort"),
+                new ExplainRow("<derived2>", "ALL", null, null, null)
+        );
+
+        // when
+        List<String> problems = QueryPlanVerifier.findProblems(plan, MIN_ROWS);
+
+        // then
+        assertThat(problems).isEmpty();
+    }
+}
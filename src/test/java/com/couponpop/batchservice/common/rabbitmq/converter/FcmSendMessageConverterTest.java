@@ -0,0 +1,171 @@
+package com.couponpop.batchservice.common.rabbitmq.converter;
+
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsFcmSendEnvelope;
+import com.couponpop.couponpopcoremodule.dto.coupon.event.model.CouponUsageStatsFcmSendMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FcmSendMessageConverterTest {
+
+    private static final ParameterizedTypeReference<CouponUsageStatsFcmSendMessage> MESSAGE_TYPE = new ParameterizedTypeReference<>() {
+    };
+
+    private static final CouponUsageStatsFcmSendMessage PAYLOAD = CouponUsageStatsFcmSendMessage.of(
+            "20251031-1234567-" + "a".repeat(32),
+            1_234_567L,
+            "fcm-token-" + "x".repeat(140),
+            "서교동",
+            18,
+            7
+    );
+
+    private final Jackson2JsonMessageConverter jsonMessageConverter = new Jackson2JsonMessageConverter(new ObjectMapper());
+
+    @Test
+    @DisplayName("바이너리로 보내면 content_type을 붙이고, JSON보다 작은 본문을 같은 메시지로 되읽는다.")
+    void toMessage_success_writesCompactBinary() {
+        // given
+        FcmSendMessageConverter converter = new FcmSendMessageConverter(jsonMessageConverter, true, 1024);
+
+        // when
+        Message message = converter.toMessage(PAYLOAD, new MessageProperties());
+
+        // then
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo(FcmSendMessageConverter.BINARY_CONTENT_TYPE);
+        assertThat(message.getMessageProperties().getContentEncoding()).isNull();
+        assertThat(message.getBody()[0]).isEqualTo(FcmSendMessageBinaryCodec.VERSION);
+
+        Message json = jsonMessageConverter.toMessage(PAYLOAD, new MessageProperties());
+        assertThat(message.getBody().length).isLessThan(json.getBody().length);
+
+        assertThat(converter.fromMessage(message)).isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    @DisplayName("JSON으로 보내도록 설정해도 바이너리 메시지를 읽고, 바이너리로 보내도록 설정해도 JSON 메시지를 읽는다.")
+    void fromMessage_success_choosesFormatByContentType() {
+        // given
+        FcmSendMessageConverter jsonConverter = new FcmSendMessageConverter(jsonMessageConverter, false, 1024);
+        FcmSendMessageConverter binaryConverter = new FcmSendMessageConverter(jsonMessageConverter, true, 1024);
+
+        // when
+        Message json = jsonConverter.toMessage(PAYLOAD, new MessageProperties());
+        Message binary = binaryConverter.toMessage(PAYLOAD, new MessageProperties());
+
+        // then
+        assertThat(json.getMessageProperties().getContentType()).isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+        assertThat(binaryConverter.fromMessage(json, MESSAGE_TYPE)).isEqualTo(PAYLOAD);
+        assertThat(jsonConverter.fromMessage(binary, MESSAGE_TYPE)).isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    @DisplayName("기준보다 큰 바이너리 본문은 deflate로 압축하고 content_encoding을 붙인다.")
+    void toMessage_success_deflatesLargeBodies() {
+        // given
+        FcmSendMessageConverter converter = new FcmSendMessageConverter(jsonMessageConverter, true, 64);
+
+        // when
+        Message message = converter.toMessage(PAYLOAD, new MessageProperties());
+
+        // then
+        assertThat(message.getMessageProperties().getContentEncoding()).isEqualTo(FcmSendMessageConverter.DEFLATE_ENCODING);
+        assertThat(message.getBody().length).isLessThan(FcmSendMessageBinaryCodec.encode(PAYLOAD).length);
+        assertThat(converter.fromMessage(message)).isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    @DisplayName("봉투는 type 속성을 붙여 압축한 바이너리로 보내고, 항목마다 traceId를 그대로 되읽는다.")
+    void toMessage_success_writesEnvelopeWithTypeHeader() {
+        // given
+        FcmSendMessageConverter converter = new FcmSendMessageConverter(jsonMessageConverter, true, 1024);
+        CouponUsageStatsFcmSendEnvelope envelope = new CouponUsageStatsFcmSendEnvelope(IntStream.range(0, 100)
+                .mapToObj(i -> CouponUsageStatsFcmSendMessage.of("trace-" + i, (long) i, "fcm-token-" + i + "x".repeat(140), "서교동", 18, 7))
+                .toList());
+
+        // when
+        Message message = converter.toMessage(envelope, new MessageProperties());
+
+        // then
+        assertThat(message.getMessageProperties().getType()).isEqualTo(CouponUsageStatsFcmSendEnvelope.TYPE);
+        assertThat(message.getMessageProperties().getContentEncoding()).isEqualTo(FcmSendMessageConverter.DEFLATE_ENCODING);
+        assertThat(message.getBody().length).isLessThan(FcmSendMessageBinaryCodec.encodeEnvelope(envelope).length);
+        assertThat(converter.fromMessage(message)).isEqualTo(envelope);
+    }
+
+    @Test
+    @DisplayName("JSON으로 보내는 봉투에도 type 속성을 붙인다.")
+    void toMessage_success_tagsJsonEnvelope() {
+        // given
+        FcmSendMessageConverter converter = new FcmSendMessageConverter(jsonMessageConverter, false, 1024);
+        CouponUsageStatsFcmSendEnvelope envelope = new CouponUsageStatsFcmSendEnvelope(List.of(PAYLOAD, PAYLOAD));
+
+        // when
+        Message message = converter.toMessage(envelope, new MessageProperties());
+
+        // then
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+        assertThat(message.getMessageProperties().getType()).isEqualTo(CouponUsageStatsFcmSendEnvelope.TYPE);
+    }
+
+    @Test
+    @DisplayName("봉투 바이너리는 README에 적은 계약대로 버전, 항목 수, 항목 필드 순으로 쓴다.")
+    void encodeEnvelope_success_matchesDocumentedLayout() {
+        // given
+        CouponUsageStatsFcmSendEnvelope envelope = new CouponUsageStatsFcmSendEnvelope(List.of(
+                CouponUsageStatsFcmSendMessage.of("t1", 300L, "tk", "서교동", 18, 7)
+        ));
+
+        // when
+        byte[] bytes = FcmSendMessageBinaryCodec.encodeEnvelope(envelope);
+
+        // then
+        assertThat(bytes).containsExactly(
+                0x01,                               // version
+                0x01,                               // 항목 수
+                0x02, 't', '1',                     // traceId
+                0xAC, 0x02,                         // memberId 300 (varint)
+                0x02, 't', 'k',                     // token
+                0x09, 0xEC, 0x84, 0x9C, 0xEA, 0xB5, 0x90, 0xEB, 0x8F, 0x99, // topDong (UTF-8)
+                0x12,                               // topHour 18
+                0x07                                // activeEventCount 7
+        );
+    }
+
+    @Test
+    @DisplayName("모르는 버전이나 중간에 끊긴 바이너리는 변환 예외를 던진다.")
+    void fromMessage_fail_whenBinaryIsUnsupportedOrTruncated() {
+        // given
+        FcmSendMessageConverter converter = new FcmSendMessageConverter(jsonMessageConverter, true, 0);
+        byte[] body = FcmSendMessageBinaryCodec.encode(PAYLOAD);
+
+        byte[] newerVersion = body.clone();
+        newerVersion[0] = FcmSendMessageBinaryCodec.VERSION + 1;
+        byte[] truncated = Arrays.copyOf(body, body.length - 3);
+
+        // when & then
+        assertThatThrownBy(() -> converter.fromMessage(binaryMessage(newerVersion)))
+                .isInstanceOf(MessageConversionException.class)
+                .hasMessageContaining("지원하지 않는");
+        assertThatThrownBy(() -> converter.fromMessage(binaryMessage(truncated)))
+                .isInstanceOf(MessageConversionException.class);
+    }
+
+    private static Message binaryMessage(byte[] body) {
+        MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setContentType(FcmSendMessageConverter.BINARY_CONTENT_TYPE);
+        return new Message(body, messageProperties);
+    }
+}
@@ -0,0 +1,202 @@
+package com.couponpop.batchservice.common.rabbitmq.publisher;
+
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsFcmSendEnvelope;
+import com.couponpop.couponpopcoremodule.dto.coupon.event.model.CouponUsageStatsFcmSendMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CouponUsageStatsFcmSendPublisherTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Queue<String> publishedTraceIds = new ConcurrentLinkedQueue<>();
+    private final Queue<Integer> publishedEntryCounts = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+    }
+
+    @Test
+    @DisplayName("묶음을 여러 스레드로 나눠 게시해도 모든 메시지를 한 번씩 게시하고 확인받는다.")
+    void publishAll_success_publishesEveryMessageOnce() {
+        // given
+        List<CouponUsageStatsFcmSendMessage> messages = messages(1_000);
+        confirmWith((message, correlationData) -> correlationData.getFuture().complete(new CorrelationData.Confirm(true, null)));
+
+        // when
+        newPublisher().publishAll(messages);
+
+        // then
+        assertThat(publishedTraceIds).containsExactlyInAnyOrderElementsOf(traceIds(messages));
+    }
+
+    @Test
+    @DisplayName("nack이나 반환된 메시지만 다시 게시한다.")
+    void publishAll_success_retriesNackedAndReturnedMessagesOnly() {
+        // given
+        List<CouponUsageStatsFcmSendMessage> messages = messages(10);
+        Map<String, Boolean> failedOnce = new ConcurrentHashMap<>();
+        confirmWith((message, correlationData) -> {
+            String traceId = message.traceId();
+            if (traceId.equals("trace-1") && failedOnce.putIfAbsent(traceId, true) == null) {
+                correlationData.getFuture().complete(new CorrelationData.Confirm(false, "nack"));
+                return;
+            }
+            if (traceId.equals("trace-2") && failedOnce.putIfAbsent(traceId, true) == null) {
+                correlationData.setReturned(new ReturnedMessage(new Message(new byte[0]), 312, "NO_ROUTE", "coupon", "coupon.usage.stats.fcm.send"));
+            }
+            correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+        });
+
+        // when
+        newPublisher().publishAll(messages);
+
+        // then
+        assertThat(publishedTraceIds).hasSize(12);
+        assertThat(publishedTraceIds).filteredOn(traceId -> traceId.equals("trace-1") || traceId.equals("trace-2")).hasSize(4);
+        assertThat(meterRegistry.get("batch.fcm.send.publish.retries").tag("reason", "nack").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("batch.fcm.send.publish.retries").tag("reason", "returned").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("봉투를 쓰면 항목 수 기준마다 AMQP 메시지 하나로 묶어 게시하고, 모든 traceId를 그대로 담는다.")
+    void publishAll_success_batchesMessagesIntoEnvelopes() {
+        // given
+        List<CouponUsageStatsFcmSendMessage> messages = messages(1_000);
+        confirmWith((message, correlationData) -> correlationData.getFuture().complete(new CorrelationData.Confirm(true, null)));
+
+        // when
+        newPublisher(100, Integer.MAX_VALUE).publishAll(messages);
+
+        // then
+        // 4개 스레드가 250건씩 나눠 100, 100, 50건 봉투로 보낸다.
+        assertThat(publishedEntryCounts).hasSize(12);
+        assertThat(publishedEntryCounts).allMatch(entryCount -> entryCount <= 100);
+        assertThat(publishedTraceIds).containsExactlyInAnyOrderElementsOf(traceIds(messages));
+        assertThat(meterRegistry.get("batch.fcm.send.publish.envelope.entries").summary().totalAmount()).isEqualTo(1_000.0);
+    }
+
+    @Test
+    @DisplayName("추정 크기 기준을 넘기 전에 봉투를 닫는다.")
+    void publishAll_success_closesEnvelopeAtByteLimit() {
+        // given
+        List<CouponUsageStatsFcmSendMessage> messages = messages(10);
+        confirmWith((message, correlationData) -> correlationData.getFuture().complete(new CorrelationData.Confirm(true, null)));
+
+        // when
+        // 메시지 하나의 추정 크기가 58바이트(traceId 7 + 토큰 7 + 동 12 + 32)이므로 120바이트 봉투에는 2건씩 담긴다.
+        newPublisher(100, 120).publishAll(messages);
+
+        // then
+        assertThat(publishedEntryCounts).containsExactly(2, 2, 2, 2, 2);
+        assertThat(publishedTraceIds).containsExactlyElementsOf(traceIds(messages));
+    }
+
+    @Test
+    @DisplayName("nack된 봉투는 담긴 메시지를 모두 다시 게시한다.")
+    void publishAll_success_retriesWholeNackedEnvelope() {
+        // given
+        List<CouponUsageStatsFcmSendMessage> messages = messages(10);
+        Map<String, Boolean> failedOnce = new ConcurrentHashMap<>();
+        confirmWith((firstEntry, correlationData) -> {
+            if (firstEntry.traceId().equals("trace-0") && failedOnce.putIfAbsent("trace-0", true) == null) {
+                correlationData.getFuture().complete(new CorrelationData.Confirm(false, "nack"));
+                return;
+            }
+            correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+        });
+
+        // when
+        newPublisher(5, Integer.MAX_VALUE).publishAll(messages);
+
+        // then
+        assertThat(publishedEntryCounts).containsExactly(5, 5, 5);
+        assertThat(publishedTraceIds).filteredOn(traceId -> traceId.equals("trace-4")).hasSize(2);
+        assertThat(meterRegistry.get("batch.fcm.send.publish.retries").tag("reason", "nack").counter().count()).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("재시도 횟수를 모두 소진해도 확인받지 못한 메시지가 남으면 예외를 던진다.")
+    void publishAll_fail_whenConfirmNeverArrives() {
+        // given
+        List<CouponUsageStatsFcmSendMessage> messages = messages(3);
+        confirmWith((message, correlationData) -> {
+            // 확인을 보내지 않아 시간 초과를 만든다.
+        });
+
+        // when & then
+        assertThatThrownBy(() -> newPublisher().publishAll(messages))
+                .isInstanceOf(AmqpException.class);
+        assertThat(publishedTraceIds).hasSize(messages.size() * MAX_ATTEMPTS);
+        assertThat(meterRegistry.get("batch.fcm.send.publish").tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    /**
+     * @param broker 봉투는 첫 항목으로 확인 여부를 정한다.
+     */
+    private void confirmWith(BiConsumer<CouponUsageStatsFcmSendMessage, CorrelationData> broker) {
+        doAnswer(invocation -> {
+            Object payload = invocation.getArgument(2);
+            List<CouponUsageStatsFcmSendMessage> entries = payload instanceof CouponUsageStatsFcmSendEnvelope envelope
+                    ? envelope.entries()
+                    : List.of((CouponUsageStatsFcmSendMessage) payload);
+            entries.forEach(entry -> publishedTraceIds.add(entry.traceId()));
+            publishedEntryCounts.add(entries.size());
+            broker.accept(entries.get(0), invocation.getArgument(3));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+    }
+
+    private CouponUsageStatsFcmSendPublisher newPublisher() {
+        return newPublisher(1, Integer.MAX_VALUE);
+    }
+
+    private CouponUsageStatsFcmSendPublisher newPublisher(int envelopeMaxEntries, int envelopeMaxBytes) {
+        FcmSendThrottle unlimited = new FcmSendThrottle(rabbitTemplate, meterRegistry, 0, "", 0, 0, 1, Duration.ofSeconds(1));
+        return new CouponUsageStatsFcmSendPublisher(rabbitTemplate, new SimpleAsyncTaskExecutor(), unlimited, meterRegistry,
+                4, Duration.ofMillis(100), MAX_ATTEMPTS, Duration.ZERO, envelopeMaxEntries, envelopeMaxBytes, Duration.ofMinutes(1));
+    }
+
+    private static List<CouponUsageStatsFcmSendMessage> messages(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> CouponUsageStatsFcmSendMessage.of("trace-" + i, (long) i, "token-" + i, "노량진동", 10, 3))
+                .toList();
+    }
+
+    private static List<String> traceIds(List<CouponUsageStatsFcmSendMessage> messages) {
+        return messages.stream()
+                .map(CouponUsageStatsFcmSendMessage::traceId)
+                .toList();
+    }
+}
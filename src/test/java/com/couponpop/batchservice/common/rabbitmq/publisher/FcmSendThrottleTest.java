@@ -0,0 +1,136 @@
+package com.couponpop.batchservice.common.rabbitmq.publisher;
+
+import com.rabbitmq.client.AMQP;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FcmSendThrottleTest {
+
+    private static final String QUEUE = "notification.fcm.send";
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanoClock = new AtomicLong();
+
+    @Test
+    @DisplayName("1초 분량의 토큰을 다 쓰면 다음 토큰이 생길 때까지 기다려야 한다.")
+    void reserve_success_waitsOnceBurstIsSpent() {
+        // given
+        FcmSendThrottle throttle = newThrottle(100, "");
+        for (int i = 0; i < 100; i++) {
+            assertThat(throttle.reserve()).isZero();
+        }
+
+        // when
+        long firstWait = throttle.reserve();
+        long secondWait = throttle.reserve();
+
+        // then
+        // 초당 100개이므로 토큰 하나가 10ms마다 생긴다. 먼저 예약한 스레드의 몫만큼 다음 스레드가 더 기다린다.
+        assertThat(firstWait).isEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+        assertThat(secondWait).isEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+
+        nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(30));
+        assertThat(throttle.reserve()).isZero();
+    }
+
+    @Test
+    @DisplayName("발송 큐에 쌓인 메시지가 기준을 넘으면 넘은 비율만큼 속도를 낮추고, 큐가 줄면 최대 속도로 되돌린다.")
+    void acquire_success_slowsDownWhenQueueIsDeep() {
+        // given
+        FcmSendThrottle throttle = newThrottle(1_000, QUEUE);
+        queueState(200_000, 100);
+
+        // when
+        throttle.acquire();
+
+        // then
+        // 기준 5만 건의 4배가 쌓였으므로 1/4 속도로 보낸다.
+        assertThat(throttle.currentRate()).isEqualTo(250.0);
+        assertThat(meterRegistry.get("batch.fcm.send.publish.queue.depth").gauge().value()).isEqualTo(200_000.0);
+        assertThat(meterRegistry.get("batch.fcm.send.publish.throttle.rate").gauge().value()).isEqualTo(250.0);
+
+        // 조회 주기 전에는 큐를 다시 조회하지 않는다.
+        queueState(0, 100);
+        throttle.acquire();
+        assertThat(throttle.currentRate()).isEqualTo(250.0);
+
+        nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        throttle.acquire();
+        assertThat(throttle.currentRate()).isEqualTo(1_000.0);
+        verify(rabbitTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    @DisplayName("컨슈머가 없거나 컨슈머당 밀린 메시지가 많으면 최소 속도까지 낮춘다.")
+    void applyQueueState_success_usesConsumerLag() {
+        // given
+        FcmSendThrottle throttle = newThrottle(1_000, QUEUE);
+
+        // when & then
+        throttle.applyQueueState(20_000, 2); // 컨슈머당 1만 건, 기준 5,000건의 2배
+        assertThat(throttle.currentRate()).isEqualTo(500.0);
+
+        throttle.applyQueueState(10, 0);
+        assertThat(throttle.currentRate()).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("큐 상태를 조회하지 못하면 현재 속도를 유지하고 게시를 계속한다.")
+    void acquire_success_keepsRateWhenQueueLookupFails() {
+        // given
+        FcmSendThrottle throttle = newThrottle(1_000, QUEUE);
+        when(rabbitTemplate.execute(any())).thenThrow(new AmqpIOException(new IOException("NOT_FOUND")));
+
+        // when
+        throttle.acquire();
+
+        // then
+        assertThat(throttle.currentRate()).isEqualTo(1_000.0);
+    }
+
+    @Test
+    @DisplayName("초당 게시 수가 0이면 제한하지 않고 큐도 조회하지 않는다.")
+    void acquire_success_unlimitedWhenRateIsZero() {
+        // given
+        FcmSendThrottle throttle = newThrottle(0, QUEUE);
+
+        // when
+        for (int i = 0; i < 10_000; i++) {
+            throttle.acquire();
+        }
+
+        // then
+        verify(rabbitTemplate, never()).execute(any());
+        assertThat(throttle.currentRate()).isZero();
+    }
+
+    private FcmSendThrottle newThrottle(double ratePerSecond, String queue) {
+        return new FcmSendThrottle(rabbitTemplate, meterRegistry, ratePerSecond, queue, 50_000, 5_000, 0.1, Duration.ofSeconds(1), nanoClock::get);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void queueState(int messageCount, int consumerCount) {
+        AMQP.Queue.DeclareOk declareOk = mock(AMQP.Queue.DeclareOk.class);
+        when(declareOk.getMessageCount()).thenReturn(messageCount);
+        when(declareOk.getConsumerCount()).thenReturn(consumerCount);
+        when(rabbitTemplate.execute(any(ChannelCallback.class))).thenReturn(declareOk);
+    }
+}
@@ -0,0 +1,237 @@
+package com.couponpop.batchservice.domain.coupon.service;
+
+import com.couponpop.batchservice.common.client.NotificationSystemFeignClient;
+import com.couponpop.batchservice.common.rabbitmq.publisher.CouponUsageStatsFcmSendPublisher;
+import com.couponpop.batchservice.common.response.ApiResponse;
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsDto;
+import com.couponpop.batchservice.domain.coupon.dto.CouponUsageStatsFcmSendItem;
+import com.couponpop.batchservice.domain.coupon.dto.FcmSendRun;
+import com.couponpop.batchservice.domain.couponevent.repository.CouponEventJdbcRepository;
+import com.couponpop.batchservice.domain.store.directory.StoreRegionDirectory;
+import com.couponpop.couponpopcoremodule.dto.coupon.event.model.CouponUsageStatsFcmSendMessage;
+import com.couponpop.couponpopcoremodule.dto.fcmtoken.response.FcmTokensResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpException;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CouponUsageStatsFcmSendServiceTest {
+
+    private static final LocalDateTime REFERENCE_TIME = LocalDateTime.of(2025, 10, 25, 10, 0);
+    private static final FcmSendRun RUN = new FcmSendRun(1L, 1L);
+
+    private final NotificationSystemFeignClient notificationSystemFeignClient = mock(NotificationSystemFeignClient.class);
+    private final StoreRegionDirectory storeRegionDirectory = mock(StoreRegionDirectory.class);
+    private final CouponEventJdbcRepository couponEventJdbcRepository = mock(CouponEventJdbcRepository.class);
+    private final CouponUsageStatsFcmSendPublisher couponUsageStatsFcmSendPublisher = mock(CouponUsageStatsFcmSendPublisher.class);
+    private final FcmSendLedger fcmSendLedger = mock(FcmSendLedger.class);
+
+    private final CouponUsageStatsFcmSendService couponUsageStatsFcmSendService = new CouponUsageStatsFcmSendService(
+            notificationSystemFeignClient,
+            storeRegionDirectory,
+            couponEventJdbcRepository,
+            couponUsageStatsFcmSendPublisher,
+            fcmSendLedger,
+            new SimpleMeterRegistry(),
+            new SimpleAsyncTaskExecutor(),
+            2,
+            1
+    );
+
+    @BeforeEach
+    void setUp() {
+        when(notificationSystemFeignClient.fetchFcmTokensByMemberIds(anyList())).thenAnswer(invocation -> {
+            List<Long> memberIds = invocation.getArgument(0);
+            List<FcmTokensResponse> responses = memberIds.stream()
+                    .map(memberId -> new FcmTokensResponse(memberId, List.of("token-" + memberId)))
+                    .toList();
+            return ApiResponse.success(responses).getBody();
+        });
+        when(storeRegionDirectory.findStoreIdsByDongs(List.of("노량진동"))).thenReturn(Map.of("노량진동", List.of(1L)));
+        when(storeRegionDirectory.findStoreIdsByDongs(List.of("풍무동"))).thenReturn(Map.of("풍무동", List.of(2L)));
+        when(storeRegionDirectory.findStoreIdsByDongs(List.of("상도동"))).thenReturn(Map.of());
+        when(couponEventJdbcRepository.countActiveCouponEventsByDongs(eq(Map.of("노량진동", List.of(1L))), any())).thenReturn(Map.of("노량진동", 3));
+        when(couponEventJdbcRepository.countActiveCouponEventsByDongs(eq(Map.of("풍무동", List.of(2L))), any())).thenReturn(Map.of("풍무동", 0));
+        when(fcmSendLedger.filterUnsent(eq(RUN), anyList())).thenAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    @Test
+    @DisplayName("같은 동의 회원은 메모한 이벤트 개수를 재사용하고, 매장이나 진행 중 이벤트가 없는 동의 회원은 걸러낸다.")
+    void enrich_success_memoizesPerDongAndFiltersIneligibleMembers() {
+        // given
+        Map<String, CompletableFuture<Integer>> activeEventCountByDong = new HashMap<>();
+
+        // when
+        CouponUsageStatsFcmSendItem first = couponUsageStatsFcmSendService.enrich(stats(1L, "노량진동"), REFERENCE_TIME, RUN, activeEventCountByDong);
+        CouponUsageStatsFcmSendItem second = couponUsageStatsFcmSendService.enrich(stats(2L, "노량진동"), REFERENCE_TIME, RUN, activeEventCountByDong);
+        CouponUsageStatsFcmSendItem noEvents = couponUsageStatsFcmSendService.enrich(stats(3L, "풍무동"), REFERENCE_TIME, RUN, activeEventCountByDong);
+        CouponUsageStatsFcmSendItem noStores = couponUsageStatsFcmSendService.enrich(stats(4L, "상도동"), REFERENCE_TIME, RUN, activeEventCountByDong);
+
+        // then
+        assertThat(first.activeEventCount()).isEqualTo(3);
+        assertThat(second.activeEventCount()).isEqualTo(3);
+        assertThat(noEvents).isNull();
+        assertThat(noStores).isNull();
+
+        verify(storeRegionDirectory, times(1)).findStoreIdsByDongs(List.of("노량진동"));
+        verify(couponEventJdbcRepository, times(1)).countActiveCouponEventsByDongs(eq(Map.of("노량진동", List.of(1L))), eq(REFERENCE_TIME));
+        // 매장이 없는 동은 이벤트 개수를 조회하지 않는다.
+        verify(couponEventJdbcRepository, times(2)).countActiveCouponEventsByDongs(anyMap(), any());
+    }
+
+    @Test
+    @DisplayName("청크에 나온 동을 미리 묶어서 조회하면 매장 조회와 이벤트 개수 조회가 한 번씩만 실행되고, 회원별 처리는 메모한 값만 읽는다.")
+    void countActiveCouponEvents_success_resolvesDongsInOneGroupedCall() {
+        // given
+        Map<String, CompletableFuture<Integer>> activeEventCountByDong = new ConcurrentHashMap<>();
+        when(storeRegionDirectory.findStoreIdsByDongs(List.of("노량진동", "풍무동", "상도동")))
+                .thenReturn(Map.of("노량진동", List.of(1L), "풍무동", List.of(2L)));
+        when(couponEventJdbcRepository.countActiveCouponEventsByDongs(eq(Map.of("노량진동", List.of(1L), "풍무동", List.of(2L))), any()))
+                .thenReturn(Map.of("노량진동", 3, "풍무동", 0));
+
+        // when
+        couponUsageStatsFcmSendService.countActiveCouponEvents(List.of("노량진동", "풍무동", "상도동"), REFERENCE_TIME, activeEventCountByDong);
+        // 이미 메모한 동은 다시 조회하지 않는다.
+        couponUsageStatsFcmSendService.countActiveCouponEvents(List.of("노량진동"), REFERENCE_TIME, activeEventCountByDong);
+        CouponUsageStatsFcmSendItem eligible = couponUsageStatsFcmSendService.enrich(stats(1L, "노량진동"), REFERENCE_TIME, RUN, activeEventCountByDong);
+        CouponUsageStatsFcmSendItem noEvents = couponUsageStatsFcmSendService.enrich(stats(2L, "풍무동"), REFERENCE_TIME, RUN, activeEventCountByDong);
+        CouponUsageStatsFcmSendItem noStores = couponUsageStatsFcmSendService.enrich(stats(3L, "상도동"), REFERENCE_TIME, RUN, activeEventCountByDong);
+
+        // then
+        assertThat(eligible.activeEventCount()).isEqualTo(3);
+        assertThat(noEvents).isNull();
+        assertThat(noStores).isNull();
+
+        verify(storeRegionDirectory, times(1)).findStoreIdsByDongs(anyList());
+        verify(couponEventJdbcRepository, times(1)).countActiveCouponEventsByDongs(anyMap(), any());
+    }
+
+    @Test
+    @DisplayName("이벤트 개수 조회가 실패하면 맡았던 동을 메모에서 빼고 예외를 던져, 다음 호출에서 다시 조회한다.")
+    void countActiveCouponEvents_fail_releasesDongsForRetry() {
+        // given
+        Map<String, CompletableFuture<Integer>> activeEventCountByDong = new ConcurrentHashMap<>();
+        when(couponEventJdbcRepository.countActiveCouponEventsByDongs(eq(Map.of("노량진동", List.of(1L))), any()))
+                .thenThrow(new DataAccessResourceFailureException("이벤트 개수 조회 실패"))
+                .thenReturn(Map.of("노량진동", 3));
+
+        // when & then
+        assertThatThrownBy(() -> couponUsageStatsFcmSendService.enrich(stats(1L, "노량진동"), REFERENCE_TIME, RUN, activeEventCountByDong))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(activeEventCountByDong).isEmpty();
+
+        CouponUsageStatsFcmSendItem retried = couponUsageStatsFcmSendService.enrich(stats(1L, "노량진동"), REFERENCE_TIME, RUN, activeEventCountByDong);
+        assertThat(retried.activeEventCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("청크를 묶음으로 나눠 조회와 게시를 겹쳐도 모든 회원의 메시지를 순서대로 게시한다.")
+    void send_success_publishesEverySubBatchInOrder() {
+        // given
+        List<CouponUsageStatsFcmSendItem> items = sendItems(5);
+
+        // when
+        couponUsageStatsFcmSendService.send(items);
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CouponUsageStatsFcmSendMessage>> messagesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(couponUsageStatsFcmSendPublisher, times(3)).publishAll(messagesCaptor.capture());
+        assertThat(messagesCaptor.getAllValues())
+                .flatExtracting(messages -> messages.stream().map(CouponUsageStatsFcmSendMessage::memberId).toList())
+                .containsExactly(1L, 2L, 3L, 4L, 5L);
+        verify(notificationSystemFeignClient, times(3)).fetchFcmTokensByMemberIds(anyList());
+        verify(fcmSendLedger, times(3)).recordSent(eq(RUN), anyList());
+    }
+
+    @Test
+    @DisplayName("발송 원장에 있는 메시지는 다시 게시하지 않고, 게시한 메시지만 원장에 남긴다.")
+    void send_success_skipsMessagesAlreadyInLedger() {
+        // given
+        List<CouponUsageStatsFcmSendItem> items = sendItems(2);
+        when(fcmSendLedger.filterUnsent(eq(RUN), anyList())).thenAnswer(invocation -> {
+            List<CouponUsageStatsFcmSendMessage> messages = invocation.getArgument(1);
+            return messages.stream()
+                    .filter(message -> message.memberId() != 1L)
+                    .toList();
+        });
+
+        // when
+        couponUsageStatsFcmSendService.send(items);
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CouponUsageStatsFcmSendMessage>> messagesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(couponUsageStatsFcmSendPublisher).publishAll(messagesCaptor.capture());
+        assertThat(messagesCaptor.getValue())
+                .extracting(CouponUsageStatsFcmSendMessage::memberId)
+                .containsExactly(2L);
+        verify(fcmSendLedger).recordSent(RUN, messagesCaptor.getValue());
+    }
+
+    @Test
+    @DisplayName("청크의 메시지가 모두 발송 원장에 있으면 게시하지 않는다.")
+    void send_success_publishesNothingWhenChunkWasAlreadySent() {
+        // given
+        List<CouponUsageStatsFcmSendItem> items = sendItems(2);
+        when(fcmSendLedger.filterUnsent(eq(RUN), anyList())).thenReturn(List.of());
+
+        // when
+        couponUsageStatsFcmSendService.send(items);
+
+        // then
+        verify(couponUsageStatsFcmSendPublisher, never()).publishAll(anyList());
+        verify(fcmSendLedger, never()).recordSent(any(), anyList());
+    }
+
+    @Test
+    @DisplayName("게시 단계가 실패하면 남은 묶음 조회를 멈추고 게시 예외를 던진다.")
+    void send_fail_whenPublishStageFails() {
+        // given
+        List<CouponUsageStatsFcmSendItem> items = sendItems(10);
+        doThrow(new AmqpException("broker down")).when(couponUsageStatsFcmSendPublisher).publishAll(anyList());
+
+        // when & then
+        assertThatThrownBy(() -> couponUsageStatsFcmSendService.send(items))
+                .isInstanceOf(AmqpException.class)
+                .hasMessage("broker down");
+        verify(couponUsageStatsFcmSendPublisher, atLeastOnce()).publishAll(anyList());
+    }
+
+    private static CouponUsageStatsDto stats(Long memberId, String topDong) {
+        return new CouponUsageStatsDto(memberId, topDong, 10, LocalDate.of(2025, 10, 25));
+    }
+
+    private static List<CouponUsageStatsFcmSendItem> sendItems(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(memberId -> CouponUsageStatsFcmSendItem.of(stats(memberId, "노량진동"), REFERENCE_TIME, 3, RUN))
+                .toList();
+    }
+}
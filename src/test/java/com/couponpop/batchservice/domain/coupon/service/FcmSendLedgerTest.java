@@ -0,0 +1,107 @@
+package com.couponpop.batchservice.domain.coupon.service;
+
+import com.couponpop.batchservice.domain.coupon.dto.FcmSendRun;
+import com.couponpop.batchservice.domain.coupon.repository.CouponUsageStatsFcmSendLedgerJdbcRepository;
+import com.couponpop.couponpopcoremodule.dto.coupon.event.model.CouponUsageStatsFcmSendMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FcmSendLedgerTest {
+
+    private final CouponUsageStatsFcmSendLedgerJdbcRepository couponUsageStatsFcmSendLedgerJdbcRepository = mock(CouponUsageStatsFcmSendLedgerJdbcRepository.class);
+
+    private final FcmSendLedger fcmSendLedger = new FcmSendLedger(
+            couponUsageStatsFcmSendLedgerJdbcRepository,
+            new ResourcelessTransactionManager(),
+            Clock.systemUTC(),
+            1_000,
+            0.01,
+            Duration.ofHours(6)
+    );
+
+    @Test
+    @DisplayName("원장이 비어 있으면 필터만 보고 모든 메시지를 그대로 돌려주며, 원장을 메시지마다 조회하지 않는다.")
+    void filterUnsent_success_skipsLedgerLookupWhenNothingWasSent() {
+        // given
+        FcmSendRun run = new FcmSendRun(1L, 10L);
+        List<CouponUsageStatsFcmSendMessage> messages = messages(1, 100);
+
+        // when
+        List<CouponUsageStatsFcmSendMessage> firstChunk = fcmSendLedger.filterUnsent(run, messages);
+        List<CouponUsageStatsFcmSendMessage> secondChunk = fcmSendLedger.filterUnsent(run, messages(101, 200));
+
+        // then
+        assertThat(firstChunk).isSameAs(messages);
+        assertThat(secondChunk).hasSize(100);
+        // 필터는 잡 실행마다 한 번만 만든다.
+        verify(couponUsageStatsFcmSendLedgerJdbcRepository, times(1)).forEachSentTraceId(eq(1L), any());
+        verify(couponUsageStatsFcmSendLedgerJdbcRepository, never()).findSentTraceIds(anyLong(), anyCollection());
+    }
+
+    @Test
+    @DisplayName("재시작한 잡 실행은 같은 잡 인스턴스의 원장으로 필터를 만들어, 이미 보낸 메시지를 뺀다.")
+    void filterUnsent_success_removesMessagesSentBeforeRestart() {
+        // given
+        FcmSendRun restartedRun = new FcmSendRun(1L, 11L);
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(1);
+            consumer.accept("trace-1");
+            consumer.accept("trace-2");
+            return null;
+        }).when(couponUsageStatsFcmSendLedgerJdbcRepository).forEachSentTraceId(eq(1L), any());
+        when(couponUsageStatsFcmSendLedgerJdbcRepository.findSentTraceIds(eq(1L), anyCollection()))
+                .thenReturn(Set.of("trace-1", "trace-2"));
+
+        // when
+        List<CouponUsageStatsFcmSendMessage> unsent = fcmSendLedger.filterUnsent(restartedRun, messages(1, 4));
+
+        // then
+        assertThat(unsent)
+                .extracting(CouponUsageStatsFcmSendMessage::traceId)
+                .containsExactly("trace-3", "trace-4");
+    }
+
+    @Test
+    @DisplayName("게시한 메시지를 원장에 저장하고 필터에도 더해, 같은 실행에서 다시 오면 원장에서 확인한다.")
+    void recordSent_success_insertsTraceIdsAndUpdatesFilter() {
+        // given
+        FcmSendRun run = new FcmSendRun(2L, 20L);
+        List<CouponUsageStatsFcmSendMessage> messages = messages(1, 3);
+        when(couponUsageStatsFcmSendLedgerJdbcRepository.findSentTraceIds(eq(2L), anyCollection()))
+                .thenReturn(Set.of("trace-1", "trace-2", "trace-3"));
+
+        // when
+        fcmSendLedger.recordSent(run, messages);
+        List<CouponUsageStatsFcmSendMessage> unsent = fcmSendLedger.filterUnsent(run, messages);
+
+        // then
+        verify(couponUsageStatsFcmSendLedgerJdbcRepository).insertSentTraceIds(2L, List.of("trace-1", "trace-2", "trace-3"));
+        assertThat(unsent).isEmpty();
+    }
+
+    private static List<CouponUsageStatsFcmSendMessage> messages(long fromMemberId, long toMemberId) {
+        return LongStream.rangeClosed(fromMemberId, toMemberId)
+                .mapToObj(memberId -> CouponUsageStatsFcmSendMessage.of("trace-" + memberId, memberId, "token-" + memberId, "노량진동", 10, 3))
+                .toList();
+    }
+}
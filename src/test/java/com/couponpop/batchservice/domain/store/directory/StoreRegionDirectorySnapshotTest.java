@@ -0,0 +1,148 @@
+package com.couponpop.batchservice.domain.store.directory;
+
+import com.couponpop.batchservice.common.cache.ExpiringLruCache;
+import com.couponpop.batchservice.common.cache.ExpiringLruCache.CacheEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StoreRegionDirectorySnapshotTest {
+
+    private static final Duration TTL = Duration.ofHours(6);
+    private static final long NOW_MILLIS = 1_761_000_000_000L;
+
+    @TempDir
+    private Path tempDir;
+
+    private final AtomicLong nowMillis = new AtomicLong(NOW_MILLIS);
+    private final Clock clock = mock(Clock.class);
+
+    private Path snapshotPath;
+    private StoreRegionDirectorySnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.millis()).thenAnswer(invocation -> nowMillis.get());
+        snapshotPath = tempDir.resolve("directory").resolve("store-region-directory.snapshot");
+        snapshot = new StoreRegionDirectorySnapshot(snapshotPath);
+    }
+
+    @Test
+    @DisplayName("저장한 스냅샷을 복원하면 두 캐시의 항목과 원래 적재 시각이 그대로 돌아온다.")
+    void readInto_success_roundTripKeepsLoadedAt() throws IOException {
+        // given
+        List<CacheEntry<Long, String>> dongByStoreId = List.of(
+                new CacheEntry<>(1L, "노량진동", NOW_MILLIS - 1_000),
+                new CacheEntry<>(2L, "풍무동", NOW_MILLIS - 2_000)
+        );
+        List<CacheEntry<String, List<Long>>> storeIdsByDong = List.of(
+                new CacheEntry<>("노량진동", List.of(1L, 3L), NOW_MILLIS - 3_000),
+                new CacheEntry<>("상도동", List.of(), NOW_MILLIS - 4_000)
+        );
+        snapshot.write(dongByStoreId, storeIdsByDong);
+
+        ExpiringLruCache<Long, String> restoredDongs = newDongCache();
+        ExpiringLruCache<String, List<Long>> restoredStoreIds = newStoreIdsCache();
+
+        // when
+        int storeCount = snapshot.readInto(restoredDongs, restoredStoreIds);
+
+        // then
+        assertThat(snapshot.exists()).isTrue();
+        assertThat(storeCount).isEqualTo(2);
+        assertThat(restoredDongs.snapshot()).containsExactlyElementsOf(dongByStoreId);
+        assertThat(restoredStoreIds.snapshot()).containsExactlyElementsOf(storeIdsByDong);
+    }
+
+    @Test
+    @DisplayName("저장 후 TTL이 지난 항목은 복원하지 않는다.")
+    void readInto_success_skipsEntriesExpiredSinceWrite() throws IOException {
+        // given
+        snapshot.write(
+                List.of(new CacheEntry<>(1L, "노량진동", NOW_MILLIS - TTL.toMillis() + 1_000),
+                        new CacheEntry<>(2L, "풍무동", NOW_MILLIS)),
+                List.of(new CacheEntry<>("노량진동", List.of(1L), NOW_MILLIS - TTL.toMillis() + 1_000))
+        );
+        nowMillis.addAndGet(1_000);
+
+        ExpiringLruCache<Long, String> restoredDongs = newDongCache();
+        ExpiringLruCache<String, List<Long>> restoredStoreIds = newStoreIdsCache();
+
+        // when
+        snapshot.readInto(restoredDongs, restoredStoreIds);
+
+        // then
+        assertThat(restoredDongs.snapshot()).containsExactly(new CacheEntry<>(2L, "풍무동", NOW_MILLIS));
+        assertThat(restoredStoreIds.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("중간에 잘린 스냅샷은 IOException으로 실패한다.")
+    void readInto_fail_whenFileIsTruncated() throws IOException {
+        // given
+        snapshot.write(
+                List.of(new CacheEntry<>(1L, "노량진동", NOW_MILLIS), new CacheEntry<>(2L, "풍무동", NOW_MILLIS)),
+                List.of(new CacheEntry<>("노량진동", List.of(1L), NOW_MILLIS))
+        );
+        byte[] bytes = Files.readAllBytes(snapshotPath);
+        Files.write(snapshotPath, Arrays.copyOf(bytes, bytes.length / 2));
+
+        // when & then
+        assertThatThrownBy(() -> snapshot.readInto(newDongCache(), newStoreIdsCache()))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("gzip이 아니거나 형식 표시가 다른 파일은 IOException으로 실패한다.")
+    void readInto_fail_whenFileIsCorrupt() throws IOException {
+        // given
+        Files.createDirectories(snapshotPath.getParent());
+        Files.write(snapshotPath, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        // when & then
+        assertThatThrownBy(() -> snapshot.readInto(newDongCache(), newStoreIdsCache()))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("같은 경로에 다시 저장하면 임시 파일 없이 새 스냅샷으로 교체된다.")
+    void write_success_replacesPreviousSnapshot() throws IOException {
+        // given
+        snapshot.write(List.of(new CacheEntry<>(1L, "노량진동", NOW_MILLIS)), List.of());
+
+        // when
+        snapshot.write(List.of(new CacheEntry<>(2L, "풍무동", NOW_MILLIS)), List.of());
+
+        // then
+        ExpiringLruCache<Long, String> restoredDongs = newDongCache();
+        snapshot.readInto(restoredDongs, newStoreIdsCache());
+        assertThat(restoredDongs.snapshot()).containsExactly(new CacheEntry<>(2L, "풍무동", NOW_MILLIS));
+        try (Stream<Path> files = Files.list(snapshotPath.getParent())) {
+            assertThat(files).containsExactly(snapshotPath);
+        }
+    }
+
+    private ExpiringLruCache<Long, String> newDongCache() {
+        return new ExpiringLruCache<>(TTL, 100, clock);
+    }
+
+    private ExpiringLruCache<String, List<Long>> newStoreIdsCache() {
+        return new ExpiringLruCache<>(TTL, 100, clock);
+    }
+}
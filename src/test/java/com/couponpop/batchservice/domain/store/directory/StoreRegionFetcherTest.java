@@ -0,0 +1,116 @@
+package com.couponpop.batchservice.domain.store.directory;
+
+import com.couponpop.batchservice.common.client.StoreSystemFeignClient;
+import com.couponpop.batchservice.common.response.ApiResponse;
+import com.couponpop.couponpopcoremodule.dto.store.response.StoreRegionInfoResponse;
+import feign.FeignException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StoreRegionFetcherTest {
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    private final StoreSystemFeignClient storeSystemFeignClient = mock(StoreSystemFeignClient.class);
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("청크를 병렬로 조회해도 순차 조회와 같은 순서로 모든 매장의 동 정보를 반환한다.")
+    void fetchStoresRegion_success_sameOrderAsSequentialFetch() {
+        // given
+        List<Long> storeIds = LongStream.rangeClosed(1, 2_345).boxed().toList();
+        when(storeSystemFeignClient.fetchStoresRegionByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> chunk = invocation.getArgument(0);
+            return apiResponse(toResponses(chunk));
+        });
+
+        StoreRegionFetcher storeRegionFetcher = newFetcher(3);
+
+        // when
+        List<StoreRegionInfoResponse> responses = storeRegionFetcher.fetchStoresRegion(storeIds);
+
+        // then
+        assertThat(responses).containsExactlyElementsOf(toResponses(storeIds));
+    }
+
+    @Test
+    @DisplayName("실패한 청크는 해당 청크만 다시 조회해 전체 결과를 완성한다.")
+    void fetchStoresRegion_success_retriesFailedChunkOnly() {
+        // given
+        List<Long> storeIds = LongStream.rangeClosed(1, 500).boxed().toList();
+        AtomicBoolean failed = new AtomicBoolean();
+        when(storeSystemFeignClient.fetchStoresRegionByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> chunk = invocation.getArgument(0);
+            // 첫 번째 청크의 첫 요청만 실패시킨다.
+            if (chunk.contains(1L) && failed.compareAndSet(false, true)) {
+                throw mock(FeignException.class);
+            }
+            return apiResponse(toResponses(chunk));
+        });
+
+        StoreRegionFetcher storeRegionFetcher = newFetcher(3);
+
+        // when
+        List<StoreRegionInfoResponse> responses = storeRegionFetcher.fetchStoresRegion(storeIds);
+
+        // then
+        assertThat(failed).isTrue();
+        assertThat(responses).containsExactlyElementsOf(toResponses(storeIds));
+    }
+
+    @Test
+    @DisplayName("재시도 횟수를 모두 소진하면 예외를 던진다.")
+    void fetchStoresRegion_fail_whenRetriesExhausted() {
+        // given
+        when(storeSystemFeignClient.fetchStoresRegionByIds(anyList())).thenThrow(mock(FeignException.class));
+
+        StoreRegionFetcher storeRegionFetcher = newFetcher(2);
+
+        // when & then
+        assertThatThrownBy(() -> storeRegionFetcher.fetchStoresRegion(List.of(1L, 2L, 3L)))
+                .isInstanceOf(FeignException.class);
+    }
+
+    private StoreRegionFetcher newFetcher(int maxAttempts) {
+        return new StoreRegionFetcher(
+                storeSystemFeignClient,
+                new ConcurrentTaskExecutor(executorService),
+                4,
+                200,
+                50,
+                1000,
+                Duration.ofMillis(500),
+                maxAttempts,
+                Duration.ZERO
+        );
+    }
+
+    private List<StoreRegionInfoResponse> toResponses(List<Long> storeIds) {
+        return storeIds.stream()
+                .map(storeId -> new StoreRegionInfoResponse(storeId, "동-" + (storeId % 7)))
+                .toList();
+    }
+
+    // 여러 스레드에서 호출되므로 목 대신 실제 응답 객체를 만든다.
+    private ApiResponse<List<StoreRegionInfoResponse>> apiResponse(List<StoreRegionInfoResponse> responses) {
+        return ApiResponse.success(responses).getBody();
+    }
+}
@@ -0,0 +1,175 @@
+package com.couponpop.batchservice.scale;
+
+import com.couponpop.batchservice.domain.store.directory.StoreRegionDirectory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.test.JobLauncherTestUtils;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * 두 배치 잡을 운영 규모의 데이터로 실행해 처리 속도, 최대 힙 사용량, 소요 시간을 측정하는 스케일 테스트입니다.
+ * 시간이 오래 걸리므로 기본 test 태스크에서는 제외되며 {@code ./gradlew scaleTest}로 실행합니다.
+ *
+ * <p>규모는 시스템 프로퍼티로 바꿀 수 있습니다. 예: {@code ./gradlew scaleTest -Pscale.histories=5000000 -Pscale.http-latency-ms=50}</p>
+ * <ul>
+ *     <li>Feign 클라이언트는 지연을 줄 수 있는 로컬 HTTP 스텁({@link StubServiceServer})을 호출합니다.</li>
+ *     <li>RabbitMQ 전송은 실제 메시지 변환 후 {@link LocalRabbitStandIn}이 받아 셉니다.</li>
+ *     <li>결과는 로그와 {@code build/reports/scale/*.json}에 남습니다.</li>
+ * </ul>
+ */
+@Slf4j
+@Tag("scale")
+@ActiveProfiles("test")
+@SpringBatchTest
+@SpringBootTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = "/sql/setup_before_scale_test.sql", config = @SqlConfig(encoding = "UTF-8"), executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/cleanup_after_scale_test.sql", config = @SqlConfig(encoding = "UTF-8"), executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class CouponUsageStatsScaleTest {
+
+    private static final int HISTORIES = Integer.getInteger("scale.histories", 1_000_000);
+    private static final int MEMBERS = Integer.getInteger("scale.members", 100_000);
+    private static final int STORES = Integer.getInteger("scale.stores", 10_000);
+    private static final int DONGS = Integer.getInteger("scale.dongs", 400);
+    private static final int EVENTS = Integer.getInteger("scale.events", 50_000);
+    private static final int TOKENS_PER_MEMBER = Integer.getInteger("scale.tokens-per-member", 1);
+    private static final double SKEW = Double.parseDouble(System.getProperty("scale.skew", "1.1"));
+    private static final Duration HTTP_LATENCY = Duration.ofMillis(Long.getLong("scale.http-latency-ms", 20));
+    private static final Duration PUBLISH_LATENCY = Duration.ofNanos(Long.getLong("scale.publish-latency-micros", 50) * 1_000);
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2025, 10, 31);
+    private static final int TARGET_HOUR = 18;
+
+    private static final StoreRegionLayout LAYOUT = new StoreRegionLayout(STORES, DONGS);
+    private static final StubServiceServer STUB_SERVER = startStubServer();
+
+    @Autowired
+    private JobLauncherTestUtils jobLauncherTestUtils;
+
+    @Autowired
+    @Qualifier("couponUsageStatsJob")
+    private Job couponUsageStatsJob;
+
+    @Autowired
+    @Qualifier("couponUsageStatsFcmSendJob")
+    private Job couponUsageStatsFcmSendJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StoreRegionDirectory storeRegionDirectory;
+
+    @MockitoSpyBean
+    private RabbitTemplate rabbitTemplate;
+
+    private LocalRabbitStandIn rabbitStandIn;
+    private ScaleDataGenerator generator;
+
+    @DynamicPropertySource
+    static void stubServiceProperties(DynamicPropertyRegistry registry) {
+        registry.add("client.store-service.url", STUB_SERVER::baseUrl);
+        registry.add("client.notification-service.url", STUB_SERVER::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        STUB_SERVER.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        storeRegionDirectory.invalidateAll();
+        generator = new ScaleDataGenerator(jdbcTemplate, LAYOUT, 42L);
+
+        rabbitStandIn = new LocalRabbitStandIn(PUBLISH_LATENCY);
+        doAnswer(rabbitStandIn).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any());
+    }
+
+    @Test
+    @DisplayName("쿠폰 사용 통계 집계 잡을 지정한 규모로 실행하고 처리 속도, 최대 힙, 소요 시간을 기록한다.")
+    void couponUsageStatsJob_reportsThroughputAtScale() throws Exception {
+        // given
+        generator.loadCouponHistories(HISTORIES, MEMBERS, SKEW, RUN_DATE);
+        jobLauncherTestUtils.setJob(couponUsageStatsJob);
+
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", RUN_DATE)
+                .addString("testId", "scale-" + System.nanoTime())
+                .toJobParameters();
+
+        // when
+        ScaleRunReport report = ScaleRunReport.measure("histories-" + HISTORIES, () -> jobLauncherTestUtils.launchJob(jobParameters)).write();
+
+        // then
+        assertThat(report.status()).isEqualTo("COMPLETED");
+        assertThat(report.readCountByStep().get("couponUsageDailyRollupStep")).isEqualTo(HISTORIES);
+        log.info("[scale] 매장 서비스 호출 {}회", STUB_SERVER.requestCount(StubServiceServer.STORE_REGIONS_PATH));
+    }
+
+    @Test
+    @DisplayName("쿠폰 사용 통계 FCM 발송 잡을 지정한 규모로 실행하고 처리 속도, 최대 힙, 소요 시간을 기록한다.")
+    void couponUsageStatsFcmSendJob_reportsThroughputAtScale() throws Exception {
+        // given
+        generator.loadCouponUsageStats(MEMBERS, SKEW, RUN_DATE);
+        generator.loadCouponEvents(EVENTS, SKEW, RUN_DATE.atTime(TARGET_HOUR, 0));
+        jobLauncherTestUtils.setJob(couponUsageStatsFcmSendJob);
+
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLocalDate("runDate", RUN_DATE)
+                .addLong("targetHour", (long) TARGET_HOUR)
+                .addString("testId", "scale-" + System.nanoTime())
+                .toJobParameters();
+
+        // when
+        ScaleRunReport report = ScaleRunReport.measure("members-" + MEMBERS, () -> jobLauncherTestUtils.launchJob(jobParameters)).write();
+
+        // then
+        assertThat(report.status()).isEqualTo("COMPLETED");
+        assertThat(rabbitStandIn.messageCount()).isPositive();
+        log.info("[scale] 발송 메시지 {}건 ({} bytes), 알림 서비스 호출 {}회, 매장 서비스 호출 {}회",
+                rabbitStandIn.messageCount(), rabbitStandIn.payloadBytes(),
+                STUB_SERVER.requestCount(StubServiceServer.FCM_TOKENS_PATH),
+                STUB_SERVER.requestCount(StubServiceServer.STORE_SEARCH_PATH));
+    }
+
+    private static StubServiceServer startStubServer() {
+        try {
+            return new StubServiceServer(LAYOUT, TOKENS_PER_MEMBER, HTTP_LATENCY);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
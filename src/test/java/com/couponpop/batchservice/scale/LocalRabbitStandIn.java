@@ -0,0 +1,51 @@
+package com.couponpop.batchservice.scale;
+
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 브로커 없이 RabbitTemplate의 send를 대신 받는 로컬 RabbitMQ 대역입니다.
+ * 메시지 변환까지는 실제 RabbitTemplate이 수행하고, 네트워크 전송 대신 메시지 수와 본문 크기를 센 뒤 지정한 지연만큼 기다립니다.
+ * 게시에 {@link CorrelationData}가 붙어 있으면 브로커 대신 바로 ack로 확인합니다.
+ */
+class LocalRabbitStandIn implements Answer<Void> {
+
+    private final Duration publishLatency;
+    private final AtomicLong messageCount = new AtomicLong();
+    private final AtomicLong payloadBytes = new AtomicLong();
+
+    LocalRabbitStandIn(Duration publishLatency) {
+        this.publishLatency = publishLatency;
+    }
+
+    @Override
+    public Void answer(InvocationOnMock invocation) {
+        Message message = invocation.getArgument(2);
+        messageCount.incrementAndGet();
+        payloadBytes.addAndGet(message.getBody().length);
+
+        if (!publishLatency.isZero()) {
+            LockSupport.parkNanos(publishLatency.toNanos());
+        }
+
+        CorrelationData correlationData = invocation.getArgument(3);
+        if (correlationData != null) {
+            correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+        }
+        return null;
+    }
+
+    long messageCount() {
+        return messageCount.get();
+    }
+
+    long payloadBytes() {
+        return payloadBytes.get();
+    }
+}
@@ -0,0 +1,126 @@
+package com.couponpop.batchservice.scale;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 스케일 테스트용 대량 데이터를 Testcontainers MySQL에 적재합니다.
+ * 회원과 매장은 {@link ZipfSampler}로 뽑아 일부 회원·매장에 사용량이 몰리게 하고, 다중 행 INSERT로 묶어 빠르게 넣습니다.
+ */
+@Slf4j
+class ScaleDataGenerator {
+
+    private static final int ROWS_PER_INSERT = 5_000;
+    private static final int STATS_AGGREGATION_DAYS = 20;
+    // 저녁·점심 시간대에 사용이 몰리도록 순위를 매긴 시간대
+    private static final int[] HOURS_BY_POPULARITY = {18, 12, 19, 13, 20, 17, 11, 21, 14, 16, 15, 10, 22, 9, 8, 23, 7, 0, 6, 1, 5, 2, 4, 3};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StoreRegionLayout layout;
+    private final SplittableRandom random;
+
+    ScaleDataGenerator(JdbcTemplate jdbcTemplate, StoreRegionLayout layout, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.layout = layout;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * runDate 기준 집계 기간(20일) 안에 USED 상태 쿠폰 사용 이력을 적재합니다.
+     */
+    void loadCouponHistories(int rows, int memberCount, double skew, LocalDate runDate) {
+
+        ZipfSampler memberSampler = new ZipfSampler(memberCount, skew);
+        ZipfSampler storeSampler = new ZipfSampler(layout.storeCount(), skew);
+        ZipfSampler hourSampler = new ZipfSampler(HOURS_BY_POPULARITY.length, 1.0);
+        LocalDateTime windowStart = runDate.minusDays(STATS_AGGREGATION_DAYS).atStartOfDay();
+
+        insertInBatches("coupon_histories", "member_id, coupon_id, store_id, coupon_event_id, coupon_status, created_at", 6, rows, (i, args) -> {
+            LocalDateTime usedAt = windowStart
+                    .plusDays(random.nextInt(STATS_AGGREGATION_DAYS + 1))
+                    .withHour(HOURS_BY_POPULARITY[hourSampler.sample(random) - 1])
+                    .withMinute(random.nextInt(60));
+            args.add((long) memberSampler.sample(random));
+            args.add((long) i + 1);
+            args.add((long) storeSampler.sample(random));
+            args.add(1L);
+            args.add("USED");
+            args.add(Timestamp.valueOf(usedAt));
+        });
+    }
+
+    /**
+     * 회원마다 최신 집계 결과 한 건을 적재합니다. 최다 사용 동은 Zipf 분포, 시간대는 인기 순으로 치우치게 뽑습니다.
+     * 집계 Writer처럼 같은 결과를 {@code coupon_usage_stats_latest}에도 채웁니다.
+     */
+    void loadCouponUsageStats(int memberCount, double skew, LocalDate aggregatedAt) {
+
+        ZipfSampler dongSampler = new ZipfSampler(layout.dongCount(), skew);
+        ZipfSampler hourSampler = new ZipfSampler(HOURS_BY_POPULARITY.length, 1.0);
+
+        insertInBatches("coupon_usage_stats", "member_id, top_dong, top_hour, aggregated_at", 4, memberCount, (i, args) -> {
+            args.add((long) i + 1);
+            args.add(layout.dongName(dongSampler.sample(random) - 1));
+            args.add(HOURS_BY_POPULARITY[hourSampler.sample(random) - 1]);
+            args.add(Date.valueOf(aggregatedAt));
+        });
+
+        jdbcTemplate.update("""
+                INSERT INTO coupon_usage_stats_latest (member_id, top_dong, top_hour, aggregated_at)
+                SELECT member_id, top_dong, top_hour, aggregated_at
+                FROM coupon_usage_stats
+                """);
+    }
+
+    /**
+     * 매장별 쿠폰 이벤트를 적재합니다. 약 절반은 기준 시각에 진행 중이고 남은 수량이 있습니다.
+     */
+    void loadCouponEvents(int events, double skew, LocalDateTime referenceTime) {
+
+        ZipfSampler storeSampler = new ZipfSampler(layout.storeCount(), skew);
+
+        insertInBatches("coupon_events", "store_id, event_start_at, event_end_at, total_count, issued_count", 5, events, (i, args) -> {
+            boolean active = random.nextBoolean();
+            LocalDateTime startAt = active ? referenceTime.minusDays(random.nextInt(1, 7)) : referenceTime.plusDays(random.nextInt(1, 7));
+            int totalCount = random.nextInt(10, 500);
+            args.add((long) storeSampler.sample(random));
+            args.add(Timestamp.valueOf(startAt));
+            args.add(Timestamp.valueOf(startAt.plusDays(7)));
+            args.add(totalCount);
+            args.add(random.nextInt(totalCount));
+        });
+    }
+
+    private void insertInBatches(String table, String columns, int columnCount, int rows, RowWriter rowWriter) {
+
+        long startedAt = System.nanoTime();
+        String rowPlaceholder = "(" + "?,".repeat(columnCount - 1) + "?)";
+
+        for (int from = 0; from < rows; from += ROWS_PER_INSERT) {
+            int count = Math.min(ROWS_PER_INSERT, rows - from);
+            List<Object> args = new ArrayList<>(count * columnCount);
+            for (int i = from; i < from + count; i++) {
+                rowWriter.write(i, args);
+            }
+
+            String sql = "INSERT INTO " + table + " (" + columns + ") VALUES " + String.join(",", Collections.nCopies(count, rowPlaceholder));
+            jdbcTemplate.update(sql, args.toArray());
+        }
+
+        log.info("{} {}건 적재 완료 ({} ms)", table, rows, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(int index, List<Object> args);
+    }
+}
@@ -0,0 +1,94 @@
+package com.couponpop.batchservice.scale;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+/**
+ * 스케일 테스트 한 번의 실행 결과입니다. 읽은 행 수, 처리 속도, 최대 힙 사용량, 전체 소요 시간을 남깁니다.
+ *
+ * @param readCountByStep 파티션 Step은 워커 Step 이름으로 합산한 Step별 읽은 행 수
+ * @param peakHeapBytes   힙 메모리 풀별 최대 사용량의 합. 풀마다 최대 시점이 달라 실제 최대치보다 약간 클 수 있다.
+ */
+@Slf4j
+record ScaleRunReport(
+        String jobName,
+        String scale,
+        String status,
+        Map<String, Long> readCountByStep,
+        long rowsRead,
+        long wallTimeMillis,
+        double rowsPerSecond,
+        long peakHeapBytes
+) {
+
+    private static final Path REPORT_DIR = Path.of("build", "reports", "scale");
+
+    /**
+     * 힙 최대 사용량 기록을 초기화한 뒤 잡을 실행하고 결과를 측정합니다.
+     */
+    static ScaleRunReport measure(String scale, Callable<JobExecution> jobRun) throws Exception {
+
+        System.gc();
+        ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long startedAt = System.nanoTime();
+        JobExecution jobExecution = jobRun.call();
+        Duration wallTime = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        long peakHeapBytes = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+
+        Map<String, Long> readCountByStep = jobExecution.getStepExecutions().stream()
+                .collect(Collectors.groupingBy(
+                        stepExecution -> stepExecution.getStepName().split(":")[0],
+                        Collectors.summingLong(StepExecution::getReadCount)
+                ));
+        long rowsRead = readCountByStep.values().stream().mapToLong(Long::longValue).sum();
+        double rowsPerSecond = rowsRead / Math.max(wallTime.toNanos() / 1_000_000_000.0, 1e-9);
+
+        return new ScaleRunReport(
+                jobExecution.getJobInstance().getJobName(),
+                scale,
+                jobExecution.getStatus().name(),
+                readCountByStep,
+                rowsRead,
+                wallTime.toMillis(),
+                rowsPerSecond,
+                peakHeapBytes
+        );
+    }
+
+    /**
+     * 결과를 로그로 남기고 build/reports/scale 아래 JSON 파일로 저장합니다.
+     */
+    ScaleRunReport write() throws IOException {
+
+        log.info("[scale] {} ({}) status={}, rows={}, wall={} ms, rows/sec={}, peakHeap={} MB, steps={}",
+                jobName, scale, status, rowsRead, wallTimeMillis, String.format("%.1f", rowsPerSecond),
+                peakHeapBytes / (1024 * 1024), readCountByStep);
+
+        Files.createDirectories(REPORT_DIR);
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(REPORT_DIR.resolve(jobName + "-" + scale + ".json").toFile(), this);
+        return this;
+    }
+}
@@ -0,0 +1,42 @@
+package com.couponpop.batchservice.scale;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * 스케일 테스트의 매장-동 배치입니다. 데이터 생성기와 매장 서비스 스텁이 같은 배치를 사용합니다.
+ * 매장 ID는 1부터 storeCount까지이며, 매장은 동에 번갈아 배정됩니다.
+ */
+record StoreRegionLayout(int storeCount, int dongCount) {
+
+    String dongOf(long storeId) {
+        return dongName((int) (storeId % dongCount));
+    }
+
+    List<Long> storeIdsOf(String dong) {
+        int index = dongIndex(dong);
+        if (index < 0) {
+            return List.of();
+        }
+        long first = index == 0 ? dongCount : index;
+        return LongStream.iterate(first, storeId -> storeId <= storeCount, storeId -> storeId + dongCount)
+                .boxed()
+                .toList();
+    }
+
+    String dongName(int index) {
+        return "스케일" + index + "동";
+    }
+
+    private int dongIndex(String dong) {
+        if (!dong.startsWith("스케일") || !dong.endsWith("동")) {
+            return -1;
+        }
+        try {
+            int index = Integer.parseInt(dong.substring("스케일".length(), dong.length() - 1));
+            return index < dongCount ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.couponpop.batchservice.scale;
+
+import com.couponpop.couponpopcoremodule.dto.fcmtoken.response.FcmTokensResponse;
+import com.couponpop.couponpopcoremodule.dto.store.response.StoreIdsByDongResponse;
+import com.couponpop.couponpopcoremodule.dto.store.response.StoreRegionInfoResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * 스케일 테스트에서 Feign 클라이언트가 호출하는 매장 서비스와 알림 서비스를 대신하는 로컬 HTTP 서버입니다.
+ * 요청마다 지정한 지연을 준 뒤 {@link StoreRegionLayout}에 맞는 응답을 돌려주며, 경로별 호출 수를 셉니다.
+ */
+class StubServiceServer implements AutoCloseable {
+
+    static final String STORE_REGIONS_PATH = "/internal/v1/stores/regions";
+    static final String STORE_SEARCH_PATH = "/internal/v1/stores/search";
+    static final String FCM_TOKENS_PATH = "/internal/v1/fcm-tokens/search";
+
+    private static final TypeReference<List<Long>> LONG_LIST = new TypeReference<>() {
+    };
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StoreRegionLayout layout;
+    private final int tokensPerMember;
+    private final Duration latency;
+    private final Map<String, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    StubServiceServer(StoreRegionLayout layout, int tokensPerMember, Duration latency) throws IOException {
+        this.layout = layout;
+        this.tokensPerMember = tokensPerMember;
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newFixedThreadPool(32);
+
+        server.createContext(STORE_REGIONS_PATH, exchange -> respond(exchange, LONG_LIST, storeIds -> storeIds.stream()
+                .map(storeId -> new StoreRegionInfoResponse(storeId, layout.dongOf(storeId)))
+                .toList()));
+        server.createContext(STORE_SEARCH_PATH, exchange -> respond(exchange, STRING_LIST, dongs -> dongs.stream()
+                .map(dong -> new StoreIdsByDongResponse(dong, layout.storeIdsOf(dong)))
+                .toList()));
+        server.createContext(FCM_TOKENS_PATH, exchange -> respond(exchange, LONG_LIST, memberIds -> memberIds.stream()
+                .map(memberId -> new FcmTokensResponse(memberId, IntStream.range(0, tokensPerMember)
+                        .mapToObj(i -> "scale-token-" + memberId + "-" + i)
+                        .toList()))
+                .toList()));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long requestCount(String path) {
+        AtomicLong count = requestCounts.get(path);
+        return count != null ? count.get() : 0;
+    }
+
+    private <T> void respond(HttpExchange exchange, TypeReference<T> requestType, Function<T, List<?>> handler) throws IOException {
+        try (exchange) {
+            requestCounts.computeIfAbsent(exchange.getHttpContext().getPath(), path -> new AtomicLong()).incrementAndGet();
+
+            T request;
+            try (InputStream body = exchange.getRequestBody()) {
+                request = objectMapper.readValue(body, requestType);
+            }
+            sleep(latency);
+
+            byte[] response = objectMapper.writeValueAsBytes(Map.of("data", handler.apply(request)));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
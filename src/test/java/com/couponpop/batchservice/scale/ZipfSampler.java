@@ -0,0 +1,30 @@
+package com.couponpop.batchservice.scale;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 1~n 순위를 P(k) ∝ 1 / k^skew 로 뽑습니다. 누적 분포를 미리 계산해 두고 이진 탐색합니다.
+ * skew가 0이면 균등 분포이고, 1 전후면 소수의 회원·매장에 이력이 몰리는 실제 분포와 비슷해집니다.
+ */
+class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int n, double skew) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 1; k <= n; k++) {
+            sum += 1.0 / Math.pow(k, skew);
+            cumulative[k - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return (index >= 0 ? index : -index - 1) + 1;
+    }
+}
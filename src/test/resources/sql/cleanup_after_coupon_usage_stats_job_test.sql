@@ -1,2 +1,7 @@
+-- 마이그레이션으로 만든 테이블은 남겨 두고 데이터만 비운다.
 DROP TABLE IF EXISTS coupon_histories;
-DROP TABLE IF EXISTS coupon_usage_stats;
\ No newline at end of file
+TRUNCATE TABLE coupon_usage_stats;
+TRUNCATE TABLE coupon_usage_stats_latest;
+TRUNCATE TABLE coupon_usage_daily_rollups;
+TRUNCATE TABLE coupon_usage_daily_rollup_dates;
+TRUNCATE TABLE coupon_usage_audience_bitmaps;
@@ -0,0 +1,4 @@
+-- 마이그레이션으로 만든 테이블은 남겨 두고 데이터만 비운다.
+TRUNCATE TABLE coupon_usage_stats;
+TRUNCATE TABLE coupon_usage_stats_archive;
+TRUNCATE TABLE coupon_usage_stats_fcm_send_ledger;
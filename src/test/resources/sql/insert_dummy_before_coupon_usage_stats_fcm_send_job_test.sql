@@ -3,6 +3,10 @@ INSERT INTO coupon_usage_stats (member_id, top_dong, top_hour, aggregated_at)
 VALUES (101, '노량진동', 10, '2025-10-25'),
        (101, '풍무동', 16, '2025-10-26');
 
+-- 10/25 집계까지 반영된 회원별 최신 결과 (10/26 결과가 필요한 테스트는 직접 갱신한다)
+INSERT INTO coupon_usage_stats_latest (member_id, top_dong, top_hour, aggregated_at)
+VALUES (101, '노량진동', 10, '2025-10-25');
+
 INSERT INTO coupon_events (store_id, event_start_at, event_end_at, total_count, issued_count)
 VALUES -- 노량진동: 기준 시각 10시에 3건 진행 중
        (1, '2025-10-25 06:00:00', '2025-10-25 15:00:00', 300, 120),
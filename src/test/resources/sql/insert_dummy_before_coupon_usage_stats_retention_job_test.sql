@@ -0,0 +1,20 @@
+-- 보존 기간(30일) 기준일: 2025-11-30 실행 시 2025-10-31 이전 집계분이 정리 대상
+INSERT INTO coupon_usage_stats (id, member_id, top_dong, top_hour, aggregated_at)
+VALUES (1, 1, '서교동', 11, '2025-10-01'),
+       (2, 2, '상도동', 13, '2025-10-01'),
+       (3, 1, '서교동', 11, '2025-10-15'),
+       (4, 3, '잠실동', 9, '2025-10-20'),
+       (5, 2, '상도동', 13, '2025-10-30'),
+       -- 보존 대상
+       (6, 1, '서교동', 12, '2025-10-31'),
+       (7, 2, '대치동', 18, '2025-11-15'),
+       (8, 3, '잠실동', 9, '2025-11-29');
+
+-- 발송 원장 보존 기간(7일) 기준: 2025-11-30 실행 시 2025-11-23 00:00 이전에 보낸 요청이 정리 대상
+INSERT INTO coupon_usage_stats_fcm_send_ledger (job_instance_id, trace_id, sent_at)
+VALUES (1, 'trace-1', '2025-11-01 10:00:00'),
+       (1, 'trace-2', '2025-11-01 10:00:01'),
+       (2, 'trace-3', '2025-11-22 23:59:59'),
+       -- 보존 대상
+       (3, 'trace-4', '2025-11-23 00:00:00'),
+       (4, 'trace-5', '2025-11-29 18:00:00');
@@ -1,17 +1,5 @@
--- 배치 테스트용 스키마 초기화
+-- 배치 서비스 테이블은 Flyway 마이그레이션으로 만들어지므로, 다른 서비스가 소유한 테이블만 만든다.
 DROP TABLE IF EXISTS coupon_events;
-DROP TABLE IF EXISTS coupon_usage_stats;
-
-CREATE TABLE coupon_usage_stats
-(
-    id            BIGINT AUTO_INCREMENT PRIMARY KEY,
-    member_id     BIGINT       NOT NULL,
-    top_dong      VARCHAR(255) NOT NULL,
-    top_hour      INT          NOT NULL,
-    aggregated_at DATE         NOT NULL,
-    created_at    DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP
-);
-
 CREATE TABLE coupon_events
 (
     id             BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -0,0 +1,26 @@
+-- 스케일 테스트용 스키마 초기화. 배치 서비스 테이블은 Flyway 마이그레이션으로 만들어지므로,
+-- 다른 서비스가 소유한 테이블만 운영 마이그레이션(V4)이 추가하는 인덱스와 함께 만든다.
+DROP TABLE IF EXISTS coupon_histories;
+CREATE TABLE coupon_histories
+(
+    id              BIGINT AUTO_INCREMENT PRIMARY KEY,
+    member_id       BIGINT                              NOT NULL,
+    coupon_id       BIGINT                              NOT NULL,
+    store_id        BIGINT                              NOT NULL,
+    coupon_event_id BIGINT                              NOT NULL,
+    coupon_status   ENUM ('ISSUED', 'USED', 'CANCELED') NOT NULL,
+    created_at      DATETIME                            NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    KEY idx_coupon_histories_batch_status_created (coupon_status, created_at, id, store_id, member_id)
+);
+
+DROP TABLE IF EXISTS coupon_events;
+CREATE TABLE coupon_events
+(
+    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    store_id       BIGINT   NOT NULL,
+    event_start_at DATETIME NOT NULL,
+    event_end_at   DATETIME NOT NULL,
+    total_count    INT      NOT NULL,
+    issued_count   INT      NOT NULL,
+    KEY idx_coupon_events_batch_store_period (store_id, event_start_at, event_end_at, total_count, issued_count)
+);